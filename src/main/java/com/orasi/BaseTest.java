@@ -19,6 +19,7 @@ import org.testng.annotations.Optional;
 import org.testng.annotations.Parameters;
 
 import com.orasi.utils.TestReporter;
+import com.orasi.utils.reporting.AsyncReporterSink;
 
 import cucumber.api.testng.TestNGCucumberRunner;
 
@@ -33,8 +34,9 @@ public class BaseTest {
 
 
     @BeforeSuite//(alwaysRun = true)
-    @Parameters({ "environment", "runLocation", "logLevel", "reportToMustard" })
-    public void beforeSuite(@Optional String environment, @Optional String runLocation, @Optional String logLevel, @Optional String reportToMustard) {
+    @Parameters({ "environment", "runLocation", "logLevel", "reportToMustard", "asyncReporting" })
+    public void beforeSuite(@Optional String environment, @Optional String runLocation, @Optional String logLevel, @Optional String reportToMustard,
+            @Optional String asyncReporting) {
 
         if (isNotEmpty(logLevel)) {
             log("Setting Test Reporter log level to [ " + logLevel + " ]");
@@ -64,6 +66,12 @@ public class BaseTest {
             log("Parameter [ reportToMustard ] was not set or empty");
         }
 
+        if (Boolean.parseBoolean(asyncReporting)
+                && !(TestReporter.getReporterSink() instanceof AsyncReporterSink)) {
+            log("Setting parameter [ asyncReporting ] to [ " + asyncReporting + " ]");
+            TestReporter.setReporterSink(new AsyncReporterSink());
+        }
+
         logTrace("Exiting BaseTest#setup");
     }
 
@@ -104,6 +112,7 @@ public class BaseTest {
 
         log("Ending test [ " + testName + " ] with status [ " + status + " ]. Execution time [ " + ((testResults.getEndMillis() - testResults.getStartMillis()) / 1000.0) + " ] seconds");
         logTrace("Exiting BaseTest#afterMethod");
+        TestReporter.flush();
     }
 
     protected void setRunLocation(String runLocation) {
@@ -73,7 +73,7 @@ public class Headers {
         for (Header header : headers) {
             allHeaders += "[" + header.getName() + ": " + header.getValue() + "] ";
         }
-        logTrace("Headers added " + allHeaders);
+        logTrace("Headers added {}", allHeaders);
 
         return headers;
     }
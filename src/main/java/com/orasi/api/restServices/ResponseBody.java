@@ -0,0 +1,128 @@
+package com.orasi.api.restServices;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+
+import com.orasi.api.restServices.exceptions.RestException;
+
+/**
+ * Raw bytes of a response body read in streaming mode. Small bodies are kept in memory as bytes, bodies larger than
+ * the spill threshold are written to a temporary file while they are read so they never have to fit in the heap.
+ * Nothing is decoded into a String unless asked for.
+ */
+final class ResponseBody {
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Charset charset;
+    private final ExposedByteArrayOutputStream memory;
+    private final File file;
+    private final long length;
+
+    private ResponseBody(Charset charset, ExposedByteArrayOutputStream memory, File file, long length) {
+        this.charset = charset;
+        this.memory = memory;
+        this.file = file;
+        this.length = length;
+    }
+
+    /**
+     * Reads the whole stream, spilling to a temporary file once more than <b>spillThreshold</b> bytes were read
+     */
+    static ResponseBody read(InputStream content, Charset charset, long spillThreshold) throws IOException {
+        ExposedByteArrayOutputStream memory = new ExposedByteArrayOutputStream();
+        if (content == null) {
+            return new ResponseBody(charset, memory, null, 0);
+        }
+
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long length = 0;
+        int read;
+        try (InputStream in = content) {
+            while ((read = in.read(buffer)) != -1) {
+                length += read;
+                if (length > spillThreshold) {
+                    File file = File.createTempFile("restResponse", ".body");
+                    file.deleteOnExit();
+                    try (OutputStream out = new FileOutputStream(file)) {
+                        memory.writeTo(out);
+                        out.write(buffer, 0, read);
+                        while ((read = in.read(buffer)) != -1) {
+                            out.write(buffer, 0, read);
+                            length += read;
+                        }
+                    }
+                    return new ResponseBody(charset, null, file, length);
+                }
+                memory.write(buffer, 0, read);
+            }
+        }
+        return new ResponseBody(charset, memory, null, length);
+    }
+
+    InputStream openStream() {
+        if (file == null) {
+            return memory.toInputStream();
+        }
+
+        try {
+            return new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE);
+        } catch (IOException e) {
+            throw new RestException("Failed to open response body stored in [ " + file.getAbsolutePath() + " ]", e);
+        }
+    }
+
+    String asString() {
+        if (file == null) {
+            return new String(memory.buffer(), 0, memory.size(), charset);
+        }
+
+        try {
+            return new String(Files.readAllBytes(file.toPath()), charset);
+        } catch (IOException e) {
+            throw new RestException("Failed to read response body stored in [ " + file.getAbsolutePath() + " ]", e);
+        }
+    }
+
+    long getLength() {
+        return length;
+    }
+
+    boolean isOnDisk() {
+        return file != null;
+    }
+
+    /**
+     * Deletes the temporary file, if the body was spilled to disk
+     */
+    void delete() {
+        if (file != null && file.exists() && !file.delete()) {
+            file.deleteOnExit();
+        }
+    }
+
+    /**
+     * Lets the bytes be read back without copying the internal buffer
+     */
+    private static final class ExposedByteArrayOutputStream extends ByteArrayOutputStream {
+        private ExposedByteArrayOutputStream() {
+            super(BUFFER_SIZE);
+        }
+
+        private byte[] buffer() {
+            return buf;
+        }
+
+        private InputStream toInputStream() {
+            return new ByteArrayInputStream(buf, 0, count);
+        }
+    }
+}
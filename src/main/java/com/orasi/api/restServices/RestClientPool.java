@@ -0,0 +1,244 @@
+package com.orasi.api.restServices;
+
+import static com.orasi.utils.TestReporter.logTrace;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.client.LaxRedirectStrategy;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+
+import com.orasi.api.restServices.exceptions.RestException;
+
+/**
+ * Thread safe, pooled HTTP client shared by {@link RestService} instances. Connections are kept alive and reused
+ * between requests to the same host, so only the first request pays for the TCP and TLS handshake.<br/>
+ * <br/>
+ * All RestServices use the default pool unless one is set with {@link RestService#setClientPool(RestClientPool)}.
+ * The default pool can be replaced with {@link #setDefault(RestClientPool)}, ie:<br/>
+ * <br/>
+ * <code>RestClientPool.setDefault(new RestClientPool.Builder().maxPerRoute(100).socketTimeout(60000).build());</code>
+ */
+public class RestClientPool implements Closeable {
+    public static final int DEFAULT_MAX_TOTAL = 200;
+    public static final int DEFAULT_MAX_PER_ROUTE = 50;
+    public static final int DEFAULT_CONNECT_TIMEOUT = 30000;
+    public static final int DEFAULT_CONNECTION_REQUEST_TIMEOUT = 60000;
+    public static final int DEFAULT_SOCKET_TIMEOUT = 0;
+    public static final long DEFAULT_KEEP_ALIVE = 30000;
+    public static final long DEFAULT_IDLE_TIMEOUT = 60000;
+    public static final int DEFAULT_VALIDATE_AFTER_INACTIVITY = 2000;
+
+    private static volatile RestClientPool defaultPool;
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient client;
+
+    /**
+     * Creates a pool using all default settings
+     */
+    public RestClientPool() {
+        this(new Builder());
+    }
+
+    private RestClientPool(Builder builder) {
+        logTrace("Entering RestClientPool#init");
+        connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(builder.maxTotal);
+        connectionManager.setDefaultMaxPerRoute(builder.maxPerRoute);
+        connectionManager.setValidateAfterInactivity(builder.validateAfterInactivity);
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(builder.connectTimeout)
+                .setConnectionRequestTimeout(builder.connectionRequestTimeout)
+                .setSocketTimeout(builder.socketTimeout)
+                .build();
+
+        client = HttpClientBuilder.create()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy(keepAliveStrategy(builder.keepAlive))
+                .setRedirectStrategy(new LaxRedirectStrategy())
+                .evictExpiredConnections()
+                .evictIdleConnections(builder.idleTimeout, TimeUnit.MILLISECONDS)
+                .build();
+        logTrace("Exiting RestClientPool#init");
+    }
+
+    /**
+     * @return The pool used by all RestServices that do not have their own pool set
+     */
+    public static RestClientPool getDefault() {
+        RestClientPool pool = defaultPool;
+        if (pool == null) {
+            synchronized (RestClientPool.class) {
+                pool = defaultPool;
+                if (pool == null) {
+                    pool = new RestClientPool();
+                    defaultPool = pool;
+                }
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * Replaces the default pool. The previous default pool is closed, so requests still running on it will fail
+     *
+     * @param pool
+     *            New default pool
+     */
+    public static void setDefault(RestClientPool pool) {
+        if (pool == null) {
+            throw new RestException("Default RestClientPool cannot be null");
+        }
+
+        RestClientPool previous;
+        synchronized (RestClientPool.class) {
+            previous = defaultPool;
+            defaultPool = pool;
+        }
+
+        if (previous != null && previous != pool) {
+            previous.close();
+        }
+    }
+
+    /**
+     * @return The shared client. Do not close it, close the pool instead
+     */
+    public CloseableHttpClient getClient() {
+        return client;
+    }
+
+    /**
+     * @return Leased, available and pending connections across all hosts
+     */
+    public PoolStats getStats() {
+        return connectionManager.getTotalStats();
+    }
+
+    /**
+     * Closes the client and all connections in the pool
+     */
+    @Override
+    public void close() {
+        logTrace("Closing RestClientPool");
+        try {
+            client.close();
+        } catch (IOException e) {
+            throw new RestException("Failed to close RestClientPool", e);
+        }
+    }
+
+    /**
+     * Uses the keep alive time the server sends back and falls back on the configured time if the server did not
+     * send one
+     */
+    private static ConnectionKeepAliveStrategy keepAliveStrategy(long keepAlive) {
+        return (response, context) -> {
+            long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return serverKeepAlive > 0 ? serverKeepAlive : keepAlive;
+        };
+    }
+
+    public static class Builder {
+        private int maxTotal = DEFAULT_MAX_TOTAL;
+        private int maxPerRoute = DEFAULT_MAX_PER_ROUTE;
+        private int connectTimeout = DEFAULT_CONNECT_TIMEOUT;
+        private int connectionRequestTimeout = DEFAULT_CONNECTION_REQUEST_TIMEOUT;
+        private int socketTimeout = DEFAULT_SOCKET_TIMEOUT;
+        private long keepAlive = DEFAULT_KEEP_ALIVE;
+        private long idleTimeout = DEFAULT_IDLE_TIMEOUT;
+        private int validateAfterInactivity = DEFAULT_VALIDATE_AFTER_INACTIVITY;
+
+        /**
+         * @param maxTotal
+         *            Maximum number of open connections across all hosts
+         */
+        public Builder maxTotal(int maxTotal) {
+            if (maxTotal < 1) {
+                throw new IllegalArgumentException("RestClientPool.Builder.maxTotal (" + maxTotal + ") must be greater than zero.");
+            }
+            this.maxTotal = maxTotal;
+            return this;
+        }
+
+        /**
+         * @param maxPerRoute
+         *            Maximum number of open connections to a single host
+         */
+        public Builder maxPerRoute(int maxPerRoute) {
+            if (maxPerRoute < 1) {
+                throw new IllegalArgumentException("RestClientPool.Builder.maxPerRoute (" + maxPerRoute + ") must be greater than zero.");
+            }
+            this.maxPerRoute = maxPerRoute;
+            return this;
+        }
+
+        /**
+         * @param connectTimeout
+         *            Milliseconds to wait for a connection to be established. 0 waits forever
+         */
+        public Builder connectTimeout(int connectTimeout) {
+            this.connectTimeout = connectTimeout;
+            return this;
+        }
+
+        /**
+         * @param connectionRequestTimeout
+         *            Milliseconds to wait for a free connection from the pool. 0 waits forever
+         */
+        public Builder connectionRequestTimeout(int connectionRequestTimeout) {
+            this.connectionRequestTimeout = connectionRequestTimeout;
+            return this;
+        }
+
+        /**
+         * @param socketTimeout
+         *            Milliseconds to wait for data from the server. 0 (default) waits forever
+         */
+        public Builder socketTimeout(int socketTimeout) {
+            this.socketTimeout = socketTimeout;
+            return this;
+        }
+
+        /**
+         * @param keepAlive
+         *            Milliseconds to keep an unused connection open when the server does not say how long it will
+         */
+        public Builder keepAlive(long keepAlive) {
+            this.keepAlive = keepAlive;
+            return this;
+        }
+
+        /**
+         * @param idleTimeout
+         *            Milliseconds after which idle connections are closed by the background evictor
+         */
+        public Builder idleTimeout(long idleTimeout) {
+            this.idleTimeout = idleTimeout;
+            return this;
+        }
+
+        /**
+         * @param validateAfterInactivity
+         *            Milliseconds a connection can be unused before it is checked for being stale before reuse
+         */
+        public Builder validateAfterInactivity(int validateAfterInactivity) {
+            this.validateAfterInactivity = validateAfterInactivity;
+            return this;
+        }
+
+        public RestClientPool build() {
+            return new RestClientPool(this);
+        }
+    }
+}
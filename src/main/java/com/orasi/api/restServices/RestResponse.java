@@ -5,6 +5,8 @@ import static com.orasi.utils.TestReporter.logInfo;
 import static com.orasi.utils.TestReporter.logTrace;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
 
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
@@ -14,19 +16,24 @@ import org.apache.http.ParseException;
 import org.apache.http.client.methods.HttpEntityEnclosingRequestBase;
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.entity.ContentType;
+import org.apache.http.protocol.HTTP;
 import org.apache.http.util.EntityUtils;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.json.XML;
 
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.filter.FilteringParserDelegate;
+import com.fasterxml.jackson.core.filter.JsonPointerBasedFilter;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.orasi.api.restServices.exceptions.RestException;
+import com.orasi.utils.JsonMapper;
 
 public class RestResponse {
-    private ObjectMapper mapper = new ObjectMapper(); // .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
     private HttpUriRequest originalRequest = null;
     private String originalRequestBody = "";
     private String method = null;
@@ -34,11 +41,25 @@ public class RestResponse {
     private int statusCode = 0;
     private String responseFormat = "";
     private String responseAsString = "";
+    private ResponseBody body = null;
     private String url = "";
     private String executionTime = "";
 
     public RestResponse(HttpUriRequest request, HttpResponse httpResponse, String executionTime) {
+        this(request, httpResponse, executionTime, false, 0);
+    }
+
+    /**
+     * @param streaming
+     *            True to keep the body as bytes and only turn it into a String when {@link #getResponse()} is called.
+     *            Mapping methods then read straight from the bytes
+     * @param spillThreshold
+     *            In streaming mode, bodies larger than this many bytes are written to a temporary file instead of
+     *            being kept in memory
+     */
+    public RestResponse(HttpUriRequest request, HttpResponse httpResponse, String executionTime, boolean streaming, long spillThreshold) {
         logTrace("Entering RestResponse#init");
+        this.executionTime = executionTime;
 
         logTrace("Storing orignal request for later usage");
         this.originalRequest = request;
@@ -57,25 +78,33 @@ public class RestResponse {
         }
 
         url = request.getURI().toString();
-        logTrace("Successfully stored URI [ " + url + " ]");
+        logTrace(() -> "Successfully stored URI [ " + url + " ]");
 
         method = request.getMethod();
-        logTrace("Successfully stored Request Method [ " + method + " ]");
+        logTrace(() -> "Successfully stored Request Method [ " + method + " ]");
 
         response = httpResponse;
 
         statusCode = response.getStatusLine().getStatusCode();
-        logTrace("Successfully stored Response Status Code [ " + statusCode + " ]");
+        logTrace(() -> "Successfully stored Response Status Code [ " + statusCode + " ]");
 
         responseFormat = ContentType.getOrDefault(response.getEntity()).getMimeType().replace("application/", "");
-        logTrace("Successfully stored Response Format [ " + responseFormat + " ]");
+        logTrace(() -> "Successfully stored Response Format [ " + responseFormat + " ]");
 
         try {
-            if (statusCode != NO_CONTENT || response.getEntity() != null) {
-                responseAsString = EntityUtils.toString(response.getEntity());
-                logInfo("Response Status returned [" + httpResponse.getStatusLine() + "]");
+            if (streaming) {
+                HttpEntity entity = response.getEntity();
+                body = ResponseBody.read(entity == null ? null : entity.getContent(), getCharset(entity), spillThreshold);
+                responseAsString = null;
+                logInfo(() -> "Response Status returned [" + httpResponse.getStatusLine() + "]");
+                logInfo(() -> "Response of [ " + body.getLength() + " ] bytes stored " + (body.isOnDisk() ? "on disk" : "in memory"));
+            } else {
+                if (statusCode != NO_CONTENT || response.getEntity() != null) {
+                    responseAsString = EntityUtils.toString(response.getEntity());
+                    logInfo(() -> "Response Status returned [" + httpResponse.getStatusLine() + "]");
+                }
+                logInfo(() -> "Response returned: " + responseAsString);
             }
-            logInfo("Response returned: " + responseAsString);
         } catch (ParseException | IOException e) {
             throw new RestException(e.getMessage(), e);
         }
@@ -90,10 +119,33 @@ public class RestResponse {
         return responseFormat;
     }
 
+    /**
+     * @return The response body. In streaming mode the body is only turned into a String on the first call
+     */
     public String getResponse() {
+        if (responseAsString == null) {
+            responseAsString = body.asString();
+        }
         return responseAsString;
     }
 
+    /**
+     * @return True if the body is kept as bytes until it is needed
+     */
+    public boolean isStreaming() {
+        return body != null;
+    }
+
+    /**
+     * Deletes the temporary file holding the body of a streaming response, if it was too big to keep in memory. The
+     * body cannot be read afterwards unless it was already turned into a String
+     */
+    public void discardBody() {
+        if (body != null) {
+            body.delete();
+        }
+    }
+
     public String getMethod() {
         return method;
     }
@@ -135,6 +187,15 @@ public class RestResponse {
      * @throws IOException
      */
     public <T> T mapJSONToObject(Class<T> clazz) {
+        if (responseAsString == null) {
+            try (InputStream stream = body.openStream()) {
+                return JsonMapper.getReader(clazz).readValue(stream);
+            } catch (JsonParseException e) {
+                throw new RestException("Failed to parse JSON", e);
+            } catch (IOException e) {
+                throw new RestException("Failed to Map JSON", e);
+            }
+        }
         return mapJSONToObject(responseAsString, clazz);
 
     }
@@ -149,7 +210,7 @@ public class RestResponse {
     public <T> T mapJSONToObject(String stringResponse, Class<T> clazz) {
         T map = null;
         try {
-            map = mapper.readValue(stringResponse, clazz);
+            map = JsonMapper.getReader(clazz).readValue(stringResponse);
         } catch (JsonParseException e) {
             throw new RestException("Failed to parse JSON", e);
         } catch (IOException e) {
@@ -168,7 +229,7 @@ public class RestResponse {
     public JsonNode mapJSONToTree(String stringResponse) {
 
         try {
-            return mapper.readTree(stringResponse);
+            return JsonMapper.getTreeReader().readTree(stringResponse);
         } catch (IOException e) {
             throw new RestException("Failed to read response:" + stringResponse, e);
         }
@@ -182,11 +243,48 @@ public class RestResponse {
      * @throws IOException
      */
     public JsonNode mapJSONToTree() {
+        if (responseAsString == null) {
+            try (InputStream stream = body.openStream()) {
+                return JsonMapper.getTreeReader().readTree(stream);
+            } catch (IOException e) {
+                throw new RestException("Failed to read response", e);
+            }
+        }
         return mapJSONToTree(responseAsString);
     }
 
+    /**
+     * Reads a single value out of the json response using a JSON pointer, ie <b>/data/0/id</b>. The response is
+     * parsed as a stream and only the matching value is turned into a tree, so large responses do not have to be
+     * read into a tree or object first
+     *
+     * @param jsonPointer
+     *            Path of the value, see RFC 6901
+     * @return The value, or null if nothing matched the pointer
+     */
+    public JsonNode getJsonValue(String jsonPointer) {
+        JsonPointer pointer;
+        try {
+            pointer = JsonPointer.compile(jsonPointer);
+        } catch (IllegalArgumentException e) {
+            throw new RestException("Invalid JSON pointer [ " + jsonPointer + " ]", e);
+        }
+
+        JsonFactory factory = JsonMapper.getMapper().getFactory();
+        try (JsonParser parser = responseAsString == null ? factory.createParser(body.openStream()) : factory.createParser(responseAsString);
+                JsonParser filtered = new FilteringParserDelegate(parser, new JsonPointerBasedFilter(pointer), false, false)) {
+            if (filtered.nextToken() == null) {
+                return null;
+            }
+            return JsonMapper.getTreeReader().readTree(filtered);
+        } catch (IOException e) {
+            throw new RestException("Failed to read [ " + jsonPointer + " ] from response", e);
+        }
+    }
+
     public String getResponseAsXML() {
         Object json = null;
+        String responseAsString = getResponse();
 
         try {
             json = new JSONObject(responseAsString);
@@ -206,4 +304,13 @@ public class RestResponse {
         return xml;
     }
 
+    /**
+     * Same charset EntityUtils#toString would use for the entity
+     */
+    private static Charset getCharset(HttpEntity entity) {
+        ContentType contentType = entity == null ? null : ContentType.get(entity);
+        Charset charset = contentType == null ? null : contentType.getCharset();
+        return charset == null ? HTTP.DEF_CONTENT_CHARSET : charset;
+    }
+
 }
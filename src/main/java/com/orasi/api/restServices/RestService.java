@@ -10,12 +10,21 @@ import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.apache.commons.lang3.time.StopWatch;
 import org.apache.http.Header;
-import org.apache.http.HttpResponse;
 import org.apache.http.NameValuePair;
 import org.apache.http.client.ClientProtocolException;
+import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpDelete;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpOptions;
@@ -23,25 +32,84 @@ import org.apache.http.client.methods.HttpPatch;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
 import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.protocol.HttpClientContext;
 import org.apache.http.client.utils.URLEncodedUtils;
 import org.apache.http.entity.ByteArrayEntity;
-import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClientBuilder;
-import org.apache.http.impl.client.LaxRedirectStrategy;
+import org.apache.http.impl.client.BasicCookieStore;
 import org.apache.http.message.BasicHeader;
+import org.testng.ITestResult;
+import org.testng.Reporter;
 
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonMappingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.orasi.api.restServices.Headers.HeaderType;
 import com.orasi.api.restServices.exceptions.RestException;
+import com.orasi.utils.JsonMapper;
+import com.orasi.utils.TestReporter;
 import com.orasi.utils.exception.DataProviderInputFileNotFound;
 import com.orasi.utils.io.FileLoader;
 
 public class RestService {
+    /**
+     * Number of threads of the executor shared by all RestServices for async and batch requests
+     */
+    public static final int DEFAULT_ASYNC_THREADS = 20;
+    private static volatile ExecutorService sharedAsyncExecutor = null;
+    private static final AtomicInteger asyncThreadCount = new AtomicInteger();
+
+    /**
+     * Bodies of streaming responses larger than this many bytes are written to a temporary file
+     */
+    public static final long DEFAULT_SPILL_THRESHOLD = 8 * 1024 * 1024;
+
     private List<BasicHeader> customHeaders = null;
+    private RestClientPool clientPool = null;
+    private Executor asyncExecutor = null;
+    private boolean streamingResponses = false;
+    private long spillThreshold = DEFAULT_SPILL_THRESHOLD;
+
+    /**
+     * Sends all requests of this RestService through the given pool instead of the default pool
+     *
+     * @param clientPool
+     *            Pool to use, or null to go back to {@link RestClientPool#getDefault()}
+     */
+    public void setClientPool(RestClientPool clientPool) {
+        this.clientPool = clientPool;
+    }
+
+    public RestClientPool getClientPool() {
+        return clientPool == null ? RestClientPool.getDefault() : clientPool;
+    }
+
+    /**
+     * Keeps response bodies as bytes instead of Strings, for services returning large payloads. The body is only
+     * turned into a String when {@link RestResponse#getResponse()} is called, mapping to objects and trees reads
+     * straight from the bytes, and {@link RestResponse#getJsonValue(String)} only reads what it needs
+     *
+     * @param streamingResponses
+     *            True to stream, false (default) to read every body into a String
+     */
+    public void setStreamingResponses(boolean streamingResponses) {
+        this.streamingResponses = streamingResponses;
+    }
+
+    public boolean isStreamingResponses() {
+        return streamingResponses;
+    }
+
+    /**
+     * @param spillThreshold
+     *            Number of bytes after which the body of a streaming response is written to a temporary file
+     */
+    public void setSpillThreshold(long spillThreshold) {
+        this.spillThreshold = spillThreshold;
+    }
+
+    public long getSpillThreshold() {
+        return spillThreshold;
+    }
 
     public void addCustomHeaders(String header, String value) {
         if (customHeaders == null) {
@@ -88,7 +156,7 @@ public class RestService {
      */
     public RestResponse sendGetRequest(String url, HeaderType type, List<NameValuePair> params) {
         logTrace("Entering RestService#sendGetRequest");
-        logTrace("Creating Http GET instance with URL of [ " + url + " ]");
+        logTrace(() -> "Creating Http GET instance with URL of [ " + url + " ]");
         HttpGet request = new HttpGet(url);
 
         if (params != null) {
@@ -104,7 +172,7 @@ public class RestService {
 
     public RestResponse sendPostRequest(String url, HeaderType type, List<NameValuePair> params, String json) {
         logTrace("Entering RestService#sendPostRequest");
-        logTrace("Creating Http POST instance with URL of [ " + url + " ]");
+        logTrace(() -> "Creating Http POST instance with URL of [ " + url + " ]");
         HttpPost httppost = new HttpPost(url);
 
         if (params != null) {
@@ -112,7 +180,7 @@ public class RestService {
         }
 
         if (json != null) {
-            logInfo("Adding json " + json);
+            logInfo(() -> "Adding json " + json);
             httppost.setEntity(createJsonEntity(json));
         }
 
@@ -159,7 +227,7 @@ public class RestService {
 
     public RestResponse sendPutRequest(String url, HeaderType type, List<NameValuePair> params, String json) {
         logTrace("Entering RestService#sendGetRequest");
-        logTrace("Creating Http PUT instance with URL of [ " + url + " ]");
+        logTrace(() -> "Creating Http PUT instance with URL of [ " + url + " ]");
         HttpPut httpPut = new HttpPut(url);
 
         if (params != null) {
@@ -167,7 +235,7 @@ public class RestService {
         }
 
         if (json != null) {
-            logInfo("Adding json " + json);
+            logInfo(() -> "Adding json " + json);
             httpPut.setEntity(createJsonEntity(json));
         }
 
@@ -211,7 +279,7 @@ public class RestService {
 
     public RestResponse sendPatchRequest(String url, HeaderType type, List<NameValuePair> params, String json) {
         logTrace("Entering RestService#sendPatchRequest");
-        logTrace("Creating Http PATCH instance with URL of [ " + url + " ]");
+        logTrace(() -> "Creating Http PATCH instance with URL of [ " + url + " ]");
         HttpPatch httpPatch = new HttpPatch(url);
         if (params != null) {
             httpPatch = new HttpPatch(createQueryParamUrl(url, params));
@@ -220,7 +288,7 @@ public class RestService {
         httpPatch.setHeaders(createHeaders(type));
 
         if (json != null) {
-            logInfo("Adding json [" + json + "]");
+            logInfo(() -> "Adding json [" + json + "]");
             httpPatch.setEntity(createJsonEntity(json));
         }
 
@@ -269,7 +337,7 @@ public class RestService {
 
     public RestResponse sendDeleteRequest(String url, HeaderType type, List<NameValuePair> params) {
         logTrace("Entering RestService#sendDeleteRequest");
-        logTrace("Creating Http DELETE instance with URL of [ " + url + " ]");
+        logTrace(() -> "Creating Http DELETE instance with URL of [ " + url + " ]");
         HttpDelete httpDelete = new HttpDelete(url);
 
         if (params != null) {
@@ -322,10 +390,193 @@ public class RestService {
         return sendRequest(httpOptions).getHeaders();
     }
 
+    /**
+     * Sends a GET request on a background thread
+     *
+     * @param url
+     *            for the service you are testing
+     * @return future completing with the response, or exceptionally with a RestException
+     */
+    public CompletableFuture<RestResponse> sendGetRequestAsync(String url) {
+        return sendAsync(rest -> rest.sendGetRequest(url));
+    }
+
+    public CompletableFuture<RestResponse> sendGetRequestAsync(String url, HeaderType type, List<NameValuePair> params) {
+        return sendAsync(rest -> rest.sendGetRequest(url, type, params));
+    }
+
+    public CompletableFuture<RestResponse> sendPostRequestAsync(String url, HeaderType type, String body) {
+        return sendAsync(rest -> rest.sendPostRequest(url, type, body));
+    }
+
+    public CompletableFuture<RestResponse> sendPostRequestAsync(String url, HeaderType type, List<NameValuePair> params, String json) {
+        return sendAsync(rest -> rest.sendPostRequest(url, type, params, json));
+    }
+
+    public CompletableFuture<RestResponse> sendPutRequestAsync(String url, HeaderType type, String json) {
+        return sendAsync(rest -> rest.sendPutRequest(url, type, json));
+    }
+
+    public CompletableFuture<RestResponse> sendPutRequestAsync(String url, HeaderType type, List<NameValuePair> params, String json) {
+        return sendAsync(rest -> rest.sendPutRequest(url, type, params, json));
+    }
+
+    public CompletableFuture<RestResponse> sendPatchRequestAsync(String url, HeaderType type, String json) {
+        return sendAsync(rest -> rest.sendPatchRequest(url, type, json));
+    }
+
+    public CompletableFuture<RestResponse> sendPatchRequestAsync(String url, HeaderType type, List<NameValuePair> params, String json) {
+        return sendAsync(rest -> rest.sendPatchRequest(url, type, params, json));
+    }
+
+    public CompletableFuture<RestResponse> sendDeleteRequestAsync(String url) {
+        return sendAsync(rest -> rest.sendDeleteRequest(url));
+    }
+
+    public CompletableFuture<RestResponse> sendDeleteRequestAsync(String url, HeaderType type, List<NameValuePair> params) {
+        return sendAsync(rest -> rest.sendDeleteRequest(url, type, params));
+    }
+
+    /**
+     * Runs any request of this RestService on a background thread, ie:<br/>
+     * <code>rest.sendAsync(r -&gt; r.sendPostRequest(url, HeaderType.JSON, json))</code><br/>
+     * The log level and TestNG test result of the calling thread are used on the background thread, so the logs still
+     * end up in the current test
+     *
+     * @param request
+     *            Request to send
+     * @return future completing with the response, or exceptionally with a RestException
+     */
+    public CompletableFuture<RestResponse> sendAsync(Function<RestService, RestResponse> request) {
+        Supplier<RestResponse> task = () -> request.apply(this);
+        return CompletableFuture.supplyAsync(inCallerContext(task), getAsyncExecutor());
+    }
+
+    /**
+     * Sends all requests, with at most <b>maxConcurrent</b> of them running at the same time, and waits for all of
+     * them to finish
+     *
+     * @param requests
+     *            Requests to send, ie <code>r -&gt; r.sendGetRequest(url)</code>
+     * @param maxConcurrent
+     *            Maximum number of requests in flight at once
+     * @return responses in the same order as the requests
+     * @throws RestException
+     *             if any of the requests failed, after all other requests finished
+     */
+    public List<RestResponse> sendBatch(List<Function<RestService, RestResponse>> requests, int maxConcurrent) {
+        try {
+            return sendBatchAsync(requests, maxConcurrent).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RestException("Failed to send batch of requests", e.getCause());
+        }
+    }
+
+    /**
+     * Same as {@link #sendBatch(List, int)}, without waiting for the requests to finish
+     *
+     * @param requests
+     *            Requests to send, ie <code>r -&gt; r.sendGetRequest(url)</code>
+     * @param maxConcurrent
+     *            Maximum number of requests in flight at once
+     * @return future completing with the responses in the same order as the requests
+     */
+    public CompletableFuture<List<RestResponse>> sendBatchAsync(List<Function<RestService, RestResponse>> requests, int maxConcurrent) {
+        if (maxConcurrent < 1) {
+            throw new RestException("Max concurrent requests must be greater than zero: [ " + maxConcurrent + " ]");
+        }
+        logTrace("Sending batch of [ {} ] requests with at most [ {} ] concurrent", requests.size(), maxConcurrent);
+
+        RestResponse[] responses = new RestResponse[requests.size()];
+        AtomicInteger next = new AtomicInteger();
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+        // Each worker keeps taking the next request until none are left, so there are never more than
+        // maxConcurrent requests in flight. A failed request does not stop the rest of the batch
+        Supplier<Void> worker = () -> {
+            int index;
+            while ((index = next.getAndIncrement()) < responses.length) {
+                try {
+                    responses[index] = requests.get(index).apply(this);
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                }
+            }
+            return null;
+        };
+
+        int workers = Math.min(maxConcurrent, requests.size());
+        CompletableFuture<?>[] running = new CompletableFuture<?>[workers];
+        for (int x = 0; x < workers; x++) {
+            running[x] = CompletableFuture.supplyAsync(inCallerContext(worker), getAsyncExecutor());
+        }
+
+        return CompletableFuture.allOf(running).thenApply(done -> {
+            if (failure.get() != null) {
+                throw failure.get();
+            }
+            return Arrays.asList(responses);
+        });
+    }
+
+    /**
+     * Runs the async and batch requests of this RestService on the given executor instead of the shared one
+     *
+     * @param asyncExecutor
+     *            Executor to use, or null to go back to the shared executor
+     */
+    public void setAsyncExecutor(Executor asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    public Executor getAsyncExecutor() {
+        if (asyncExecutor != null) {
+            return asyncExecutor;
+        }
+
+        ExecutorService executor = sharedAsyncExecutor;
+        if (executor == null) {
+            synchronized (RestService.class) {
+                executor = sharedAsyncExecutor;
+                if (executor == null) {
+                    executor = Executors.newFixedThreadPool(DEFAULT_ASYNC_THREADS, runnable -> {
+                        Thread thread = new Thread(runnable, "RestService-async-" + asyncThreadCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    sharedAsyncExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * Wraps the task so it runs with the log level and TestNG test result of the calling thread
+     */
+    private static <T> Supplier<T> inCallerContext(Supplier<T> task) {
+        int debugLevel = TestReporter.getDebugLevel();
+        ITestResult testResult = Reporter.getCurrentTestResult();
+        return () -> {
+            int previousDebugLevel = TestReporter.getDebugLevel();
+            ITestResult previousTestResult = Reporter.getCurrentTestResult();
+            TestReporter.setDebugLevel(debugLevel);
+            Reporter.setCurrentTestResult(testResult);
+            try {
+                return task.get();
+            } finally {
+                TestReporter.setDebugLevel(previousDebugLevel);
+                Reporter.setCurrentTestResult(previousTestResult);
+            }
+        };
+    }
+
     public static String getJsonFromObject(Object request) {
-        ObjectMapper mapper = new ObjectMapper();
         try {
-            return mapper.writerWithDefaultPrettyPrinter().writeValueAsString(request);
+            return JsonMapper.getPrettyWriter(request == null ? Object.class : request.getClass()).writeValueAsString(request);
         } catch (JsonProcessingException e) {
             throw new RestException("Failed to convert object to json", e);
         }
@@ -335,13 +586,17 @@ public class RestService {
         logTrace("Entering RestService#sendRequest");
         RestResponse response = null;
 
-        try (CloseableHttpClient httpClient = HttpClientBuilder.create().setRedirectStrategy(new LaxRedirectStrategy()).build()) {
-            logTrace("Sending request");
-            StopWatch execution = StopWatch.createStarted();
-            HttpResponse httpResponse = httpClient.execute(request);
+        // Cookies are not shared between requests, same as when every request had its own client
+        HttpClientContext context = HttpClientContext.create();
+        context.setCookieStore(new BasicCookieStore());
+
+        logTrace("Sending request");
+        StopWatch execution = StopWatch.createStarted();
+        try (CloseableHttpResponse httpResponse = getClientPool().getClient().execute(request, context)) {
             execution.stop();
             String executionTime = execution.toString();
-            response = new RestResponse(request, httpResponse, executionTime);
+            // RestResponse reads the whole entity, so the connection goes back to the pool when the response is closed
+            response = new RestResponse(request, httpResponse, executionTime, streamingResponses, spillThreshold);
         } catch (IOException e) {
             throw new RestException("Failed to send request to " + request.getURI().toString(), e);
         }
@@ -352,7 +607,7 @@ public class RestService {
 
     public static <T> T readJsonFromFile(String filePath, Class<T> clazz) {
         logTrace("Entering RestService#readJsonFromFile");
-        logTrace("Loading resource [ " + clazz.getClass().getResourceAsStream(filePath) + " ]");
+        logTrace(() -> "Loading resource [ " + clazz.getClass().getResourceAsStream(filePath) + " ]");
         String json = null;
 
         try {
@@ -373,10 +628,9 @@ public class RestService {
      * @throws IOException
      */
     private static <T> T mapJSONToObject(String stringResponse, Class<T> clazz) {
-        ObjectMapper mapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
         T map = null;
         try {
-            map = mapper.readValue(stringResponse, clazz);
+            map = JsonMapper.getReader(clazz, false).readValue(stringResponse);
         } catch (JsonParseException e) {
             throw new RestException("Failed to parse JSON", e);
         } catch (JsonMappingException e) {
@@ -419,9 +673,9 @@ public class RestService {
         for (NameValuePair param : params) {
             allParams += "[" + param.getName() + ": " + param.getValue() + "] ";
         }
-        logInfo("Adding Parameters " + allParams);
+        logInfo("Adding Parameters {}", allParams);
         url = url + "?" + URLEncodedUtils.format(params, "utf-8");
-        logInfo("URL with params: " + url);
+        logInfo("URL with params: {}", url);
         return url;
     }
 
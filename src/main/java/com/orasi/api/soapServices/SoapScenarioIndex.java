@@ -0,0 +1,83 @@
+package com.orasi.api.soapServices;
+
+import static com.orasi.utils.TestReporter.logTrace;
+
+import javax.xml.ws.WebServiceException;
+
+import com.orasi.utils.dataProviders.CSVDataProvider;
+import com.orasi.utils.io.DataFileCache;
+import com.orasi.utils.io.ExcelDocumentReader;
+
+/**
+ * Scenarios of the data sheets used by {@link SoapService#getTestScenario(String, String)}. The sheet is read through
+ * the {@link DataFileCache} and each scenario's xpath and value pairs are found the first time the scenario is asked
+ * for, then kept in the same cache as a table derived from the sheet. The pairs are found again once the file changes
+ * and are dropped together with the sheet.
+ */
+final class SoapScenarioIndex {
+    private SoapScenarioIndex() {
+    }
+
+    /**
+     * @param filePath
+     *            Absolute path of the excel or csv file
+     * @param scenario
+     *            Name of the scenario. The first column heading containing it is used
+     * @return Copy of the xpath and value pairs of the scenario
+     */
+    static Object[][] getScenario(String filePath, String scenario) {
+        return DataFileCache.getInstance().getDerived(filePath, "soap scenario [ " + scenario + " ]",
+                () -> findScenario(readSheet(filePath), scenario));
+    }
+
+    private static Object[][] readSheet(String filePath) {
+        if (filePath.toUpperCase().indexOf(".XLS") > 0) {
+            logTrace("Retrieving data from ExcelDocumentReader");
+            return new ExcelDocumentReader(filePath).readData("0", -1, 0);
+        }
+        logTrace("CSVDataProvider");
+        return CSVDataProvider.getData(filePath);
+    }
+
+    private static String[][] findScenario(Object[][] xlsSheet, String scenario) {
+        String[][] tabArray = null;
+        int startCol, endRow, endCol, ci, cj;
+
+        startCol = -1;
+
+        logTrace(() -> "Finding column with scenario [ " + scenario + " ]");
+        for (int column = 0; column < xlsSheet[0].length; column++) {
+            if (xlsSheet[0][column].toString().contains(scenario)) {
+                startCol = column;
+                break;
+            }
+        }
+        if (startCol == -1) {
+            throw new WebServiceException("Failed to find scenario [ " + scenario + " ] in CSV ");
+        }
+        endCol = startCol + 3;
+        logTrace(() -> "Found scenario [ " + scenario + " ]");
+        logTrace("Start Column [ {} ] ", startCol);
+        logTrace("End Column [ {} ]", startCol + 3);
+
+        logTrace("Determining last row of data in column [ {} ]", startCol + 1);
+        endRow = 0;
+        for (endRow = xlsSheet.length; xlsSheet[endRow - 1][startCol + 1].toString().isEmpty(); endRow--) {
+        }
+        logTrace("Found last row of data in column [ {} ]", startCol + 1);
+        logTrace("End Row [ {} ] ", endRow);
+
+        tabArray = new String[endRow - 1][2];
+        ci = 0;
+
+        logTrace("Transfer data from excel sheet to array");
+        for (int i = 1; i < endRow; i++, ci++) {
+            cj = 0;
+            for (int j = startCol + 1; j < endCol; j++, cj++) {
+                tabArray[ci][cj] = xlsSheet[i][j].toString();
+            }
+        }
+        logTrace("Successfully transfered data to array");
+        return tabArray;
+    }
+}
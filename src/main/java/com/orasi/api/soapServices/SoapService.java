@@ -4,32 +4,30 @@ import static com.orasi.utils.TestReporter.logDebug;
 import static com.orasi.utils.TestReporter.logInfo;
 import static com.orasi.utils.TestReporter.logTrace;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.nio.charset.Charset;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.xml.soap.MessageFactory;
 import javax.xml.soap.MimeHeaders;
-import javax.xml.soap.SOAPBody;
 import javax.xml.soap.SOAPConnection;
 import javax.xml.soap.SOAPConnectionFactory;
 import javax.xml.soap.SOAPConstants;
 import javax.xml.soap.SOAPException;
-import javax.xml.soap.SOAPFault;
 import javax.xml.soap.SOAPMessage;
-import javax.xml.ws.WebServiceException;
-import javax.xml.xpath.XPath;
+import javax.xml.transform.Source;
+import javax.xml.transform.stream.StreamSource;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpression;
 import javax.xml.xpath.XPathExpressionException;
-import javax.xml.xpath.XPathFactory;
 
+import org.apache.commons.io.output.ByteArrayOutputStream;
 import org.apache.commons.lang3.time.StopWatch;
 import org.testng.Reporter;
 import org.w3c.dom.Document;
+import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
 import com.orasi.api.soapServices.exceptions.HeaderNotFoundException;
@@ -38,11 +36,10 @@ import com.orasi.api.soapServices.exceptions.SoapException;
 import com.orasi.utils.Randomness;
 import com.orasi.utils.Regex;
 import com.orasi.utils.XMLTools;
-import com.orasi.utils.dataProviders.CSVDataProvider;
+import com.orasi.utils.XPathCache;
 import com.orasi.utils.exception.XPathInvalidExpression;
 import com.orasi.utils.exception.XPathNotFoundException;
 import com.orasi.utils.exception.XPathNullNodeValueException;
-import com.orasi.utils.io.ExcelDocumentReader;
 import com.orasi.utils.io.FileLoader;
 
 public abstract class SoapService {
@@ -58,6 +55,11 @@ public abstract class SoapService {
     private MimeHeaders responseHeaders = null;
     private String executionTime;
 
+    private static final ConcurrentMap<String, MessageFactory> MESSAGE_FACTORIES = new ConcurrentHashMap<>();
+    private static volatile SOAPConnectionFactory connectionFactory = null;
+    private static final String FAULT_XPATH = "/*[local-name()='Envelope']/*[local-name()='Body']/*[local-name()='Fault']";
+    private static final String FAULT_CODE_XPATH = "*[local-name()='faultcode'] | *[local-name()='Code']/*[local-name()='Value']";
+
     /*****************************
      **** Start Gets and Sets ****
      *****************************/
@@ -351,7 +353,10 @@ public abstract class SoapService {
 
     /**
      * Find and open the excel or csv file sent. If successful, look and find
-     * the matching scenario name then return its xpath and value data.
+     * the matching scenario name then return its xpath and value data.<br/>
+     * <br/>
+     * Each file is read once and each scenario found once, later calls for the same scenario are answered from the
+     * {@link com.orasi.utils.io.DataFileCache} until the file changes.
      *
      * @author Justin Phlegar
      * @version Created: 08/28/2014
@@ -363,62 +368,20 @@ public abstract class SoapService {
      */
     protected Object[][] getTestScenario(String filePath, String scenario) {
         logTrace("Entering SoapService#getTestScenario");
-        String[][] tabArray = null;
         logTrace("Getting file from Resources");
-        int startCol, endRow, endCol, ci, cj;
-
-        Object[][] xlsSheet = null;
-        if (filePath.toUpperCase().indexOf(".XLS") > 0) {
-            logTrace("Retrieving data from ExcelDocumentReader");
-            xlsSheet = new ExcelDocumentReader(FileLoader.getAbosutePathForResource(filePath)).readData("0", -1, 0);
-        } else {
-            logTrace("CSVDataProvider");
-            xlsSheet = CSVDataProvider.getData(FileLoader.getAbosutePathForResource(filePath));
-        }
+        Object[][] tabArray = SoapScenarioIndex.getScenario(FileLoader.getAbosutePathForResource(filePath), scenario);
         logTrace("Successfully retrieved data");
-
-        startCol = -1;
-
-        logTrace("Finding column with scenario [ " + scenario + " ]");
-        for (int column = 0; column < xlsSheet[0].length; column++) {
-            if (xlsSheet[0][column].toString().contains(scenario)) {
-                startCol = column;
-                break;
-            }
-        }
-        if (startCol == -1) {
-            throw new WebServiceException("Failed to find scenario [ " + scenario + " ] in CSV ");
-        }
-        endCol = startCol + 3;
-        logTrace("Found scenario [ " + scenario + " ]");
-        logTrace("Start Column [ " + startCol + " ] ");
-        logTrace("End Column [ " + (startCol + 3) + " ]");
-
-        logTrace("Determining last row of data in column [ " + (startCol + 1) + " ]");
-        endRow = 0;
-        for (endRow = xlsSheet.length; xlsSheet[endRow - 1][startCol + 1].toString().isEmpty(); endRow--) {
-        }
-        logTrace("Found last row of data in column [ " + (startCol + 1) + " ]");
-        logTrace("End Row [ " + endRow + " ] ");
-
-        tabArray = new String[endRow - 1][2];
-        ci = 0;
-
-        logTrace("Transfer data from excel sheet to array");
-        for (int i = 1; i < endRow; i++, ci++) {
-            cj = 0;
-            for (int j = startCol + 1; j < endCol; j++, cj++) {
-                tabArray[ci][cj] = xlsSheet[i][j].toString();
-            }
-        }
-        logTrace("Successfully transfered data to array");
         logTrace("Exiting SoapService#getTestScenario");
         return (tabArray);
     }
 
     /**
      * Takes the pre-built Request XML in memory and sends to the
-     * service
+     * service<br/>
+     * <br/>
+     * The request Document is written straight to bytes for the Soap Message and the response is parsed once,
+     * straight from the bytes received, into the response Document. The Soap Message Factory and Soap Connection
+     * Factory are created once and shared by all services.
      *
      * @author Justin Phlegar
      * @version Created: 08/28/2014
@@ -427,37 +390,27 @@ public abstract class SoapService {
         logTrace("Entering SoapService#sendRequest");
         SOAPMessage request = null;
         SOAPMessage response = null;
-        SOAPConnectionFactory connectionFactory = null;
         SOAPConnection connection = null;
-        SOAPBody responseBody = null;
-        MessageFactory messageFactory = null;
 
         try {
-            logTrace("Create Soap Message Factory");
-            messageFactory = MessageFactory.newInstance(soapVersion);
-            logTrace("Message Factory started");
-
-            logTrace("Loading request XML into byte stream");
-            InputStream in = new ByteArrayInputStream(getRequest().getBytes(Charset.defaultCharset()));
-            logTrace("Successfully loaded XML into stream");
-            logTrace("Loading byte stream into Message Factory");
-            request = messageFactory.createMessage(new MimeHeaders(), in);
+            logTrace("Loading request XML into Soap Message");
+            try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+                XMLTools.transformXmlToStream(getRequestDocument(), out);
+                request = getMessageFactory(soapVersion).createMessage(new MimeHeaders(), out.toInputStream());
+            }
             logTrace("Successfully generated Soap Message");
 
             if (requestHeaders.size() > 0) {
                 logTrace("Additional headers to be added");
                 for (String key : requestHeaders.keySet()) {
-                    logInfo("Adding header [" + key + " ] with value [" + requestHeaders.get(key) + " ]");
+                    logInfo(() -> "Adding header [" + key + " ] with value [" + requestHeaders.get(key) + " ]");
                     MimeHeaders soapHeader = request.getMimeHeaders();
                     soapHeader.addHeader(key, requestHeaders.get(key));
                 }
             }
 
-            logTrace("Create Soap Connection Factory");
-            connectionFactory = SOAPConnectionFactory.newInstance();
-
             logTrace("Create Soap Connection");
-            connection = connectionFactory.createConnection();
+            connection = getConnectionFactory().createConnection();
 
             logTrace("Send request to service");
             StopWatch execution = StopWatch.createStarted();
@@ -467,9 +420,8 @@ public abstract class SoapService {
 
             responseHeaders = response.getMimeHeaders();
 
-            logTrace("Successfully sent Soap Message. Normalizing response");
-            response.getSOAPBody().normalize();
-            responseBody = response.getSOAPBody();
+            logTrace("Successfully sent Soap Message. Convert response to XML document and store it");
+            setResponseDocument(makeResponseDocument(response));
         } catch (UnsupportedOperationException uoe) {
             throw new SoapException("Operation given did not match any operations in the service" + uoe.getCause());
         } catch (SOAPException soape) {
@@ -482,17 +434,8 @@ public abstract class SoapService {
         }
 
         logTrace("Checking for faults");
-        if (responseBody.hasFault()) {
-            SOAPFault newFault = responseBody.getFault();
-            intResponseStatusCode = newFault.getFaultCode();
-        } else {
-            intResponseStatusCode = "200";
-        }
-
-        logTrace("Convert response to XML document and store it");
-        Document doc = XMLTools.makeXMLDocument(response);
-        doc.normalize();
-        setResponseDocument(doc);
+        String faultCode = getFaultCode(getResponseDocument());
+        intResponseStatusCode = faultCode == null ? "200" : faultCode;
 
         logTrace("Successfully converted response to XML document");
         logTrace("Exiting SoapService#sendRequest");
@@ -523,14 +466,12 @@ public abstract class SoapService {
      */
     protected void setRequestNodeValueByXPath(Document doc, String xpath, String value) {
         logTrace("Entering SoapService#setRequestNodeValueByXPath");
-        XPathFactory xPathFactory = XPathFactory.newInstance();
-        XPath xPath = xPathFactory.newXPath();
         XPathExpression expr;
         NodeList nList = null;
 
         try {
-            logTrace("Checking validity of xpath [ " + xpath + " ]");
-            expr = xPath.compile(xpath);
+            logTrace(() -> "Checking validity of xpath [ " + xpath + " ]");
+            expr = XPathCache.compile(xpath);
             nList = (NodeList) expr.evaluate(doc, XPathConstants.NODESET);
         } catch (XPathExpressionException xpe) {
             throw new XPathInvalidExpression("Xpath evaluation failed with xpath [ " + xpath + " ] ", xpe.getCause());
@@ -546,7 +487,7 @@ public abstract class SoapService {
         }
 
         if (value.contains("fx:")) {
-            logTrace("Executing runtime function [ " + value + " ]");
+            logTrace("Executing runtime function [ {} ]", value);
             value = handleValueFunction(doc, value, xpath);
         }
 
@@ -557,7 +498,7 @@ public abstract class SoapService {
             } else if (value.equalsIgnoreCase("false")) {
                 value = "false";
             }
-            logTrace("Setting value [ " + value + " ] to xpath");
+            logTrace("Setting value [ {} ] to xpath", value);
             nList.item(0).setTextContent(value);
         }
 
@@ -623,7 +564,7 @@ public abstract class SoapService {
      */
     public void setRequestNodeValueByXPath(Object[][] scenarios) {
         for (int x = 0; x < scenarios.length; x++) {
-            logDebug("Set value [ " + scenarios[x][1].toString() + " ] to XPath [ " + scenarios[x][0].toString() + " ]");
+            logDebug("Set value [ {} ] to XPath [ {} ]", scenarios[x][1], scenarios[x][0]);
             setRequestNodeValueByXPath(getRequestDocument(), scenarios[x][0].toString(),
                     scenarios[x][1].toString());
         }
@@ -693,8 +634,6 @@ public abstract class SoapService {
      *
      */
     protected boolean validateNodeValueByXPath(Document doc, String xpath, String regexValue) {
-        XPathFactory xPathFactory = XPathFactory.newInstance();
-        XPath xPath = xPathFactory.newXPath();
         XPathExpression expr;
         NodeList nList = null;
         String xPathValue = "";
@@ -702,7 +641,7 @@ public abstract class SoapService {
 
         // Find the node based on xpath expression
         try {
-            expr = xPath.compile(xpath);
+            expr = XPathCache.compile(xpath);
             nList = (NodeList) expr.evaluate(doc, XPathConstants.NODESET);
         } catch (XPathExpressionException xpe) {
             errorMessage = "Failed to build xpath [ " + xpath + " ]. Please check format.";
@@ -891,6 +830,67 @@ public abstract class SoapService {
         }
     }
 
+    /**
+     * Message Factories are expensive to look up and safe to share, so one is kept per Soap protocol
+     */
+    private static MessageFactory getMessageFactory(String protocol) throws SOAPException {
+        MessageFactory factory = MESSAGE_FACTORIES.get(protocol);
+        if (factory == null) {
+            logTrace("Create Soap Message Factory");
+            factory = MessageFactory.newInstance(protocol);
+            MessageFactory existing = MESSAGE_FACTORIES.putIfAbsent(protocol, factory);
+            if (existing != null) {
+                factory = existing;
+            }
+        }
+        return factory;
+    }
+
+    private static SOAPConnectionFactory getConnectionFactory() throws SOAPException {
+        SOAPConnectionFactory factory = connectionFactory;
+        if (factory == null) {
+            logTrace("Create Soap Connection Factory");
+            factory = SOAPConnectionFactory.newInstance();
+            connectionFactory = factory;
+        }
+        return factory;
+    }
+
+    /**
+     * The response Soap Part keeps the bytes it received until its envelope is asked for, so they are parsed once
+     * into the response Document instead of being built into a Soap envelope, written out and parsed again
+     */
+    private static Document makeResponseDocument(SOAPMessage response) throws SOAPException {
+        Source content = response.getSOAPPart().getContent();
+        if (content instanceof StreamSource && ((StreamSource) content).getInputStream() != null) {
+            logTrace("Parsing response directly from the received bytes");
+            Document doc = XMLTools.makeXMLDocument(((StreamSource) content).getInputStream());
+            doc.normalize();
+            return doc;
+        }
+
+        logTrace("Response content is not a stream, converting the Soap Message");
+        response.getSOAPBody().normalize();
+        Document doc = XMLTools.makeXMLDocument(response);
+        doc.normalize();
+        return doc;
+    }
+
+    /**
+     * @return Soap 1.1 faultcode or Soap 1.2 Code/Value of the response fault, or null if the response has no fault
+     */
+    private static String getFaultCode(Document doc) {
+        try {
+            Node fault = (Node) XPathCache.compile(FAULT_XPATH).evaluate(doc, XPathConstants.NODE);
+            if (fault == null) {
+                return null;
+            }
+            return XPathCache.compile(FAULT_CODE_XPATH).evaluate(fault).trim();
+        } catch (XPathExpressionException e) {
+            throw new SoapException("Failed to check the response for a fault", e);
+        }
+    }
+
     private void closeSoapConnection(SOAPConnection connection) {
         try {
             logDebug("Closing Soap Connection");
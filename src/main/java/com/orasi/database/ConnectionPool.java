@@ -0,0 +1,571 @@
+package com.orasi.database;
+
+import static com.orasi.utils.TestReporter.logDebug;
+import static com.orasi.utils.TestReporter.logTrace;
+
+import java.io.Closeable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.orasi.database.exceptions.DatabaseException;
+
+/**
+ * Thread safe pool of JDBC connections to a single database and user. Opening a connection through a VPN can take
+ * longer than the query itself, so connections are kept open and handed out again instead of being closed.<br/>
+ * <br/>
+ * Connections are borrowed with {@link #getConnection()} and given back by closing them. Each thread gets back the
+ * connection it used last when that one is free, so queries from the same test keep hitting the same warm session.
+ * Connections that were unused for longer than the validation interval are checked with the validation query, or
+ * {@link Connection#isValid(int)} if there is none, before they are handed out. Idle connections above the minimum
+ * size are closed once they exceed the idle timeout.<br/>
+ * <br/>
+ * Each connection keeps its most recently used PreparedStatements, keyed by SQL text, so
+ * {@link Connection#prepareStatement(String)} with the same SQL does not make the database parse it again. Closing a
+ * cached statement only clears its parameters. Because of this a borrower should not run the same SQL again while the
+ * results of the previous run are still being read.<br/>
+ * <br/>
+ * {@link Database} shares one pool per connection string and user, see
+ * {@link Database#usePooledConnections(ConnectionPool.Builder)}, ie:<br/>
+ * <br/>
+ * <code>db.usePooledConnections(new ConnectionPool.Builder().minSize(2).maxSize(20).idleTimeout(300000));</code>
+ */
+public class ConnectionPool implements Closeable {
+    public static final int DEFAULT_MIN_SIZE = 0;
+    public static final int DEFAULT_MAX_SIZE = 10;
+    public static final long DEFAULT_IDLE_TIMEOUT = 600000;
+    public static final long DEFAULT_BORROW_TIMEOUT = 30000;
+    public static final long DEFAULT_VALIDATION_INTERVAL = 5000;
+    public static final int DEFAULT_VALIDATION_TIMEOUT = 5;
+    public static final int DEFAULT_STATEMENT_CACHE_SIZE = 50;
+
+    private static final ConcurrentMap<String, ConnectionPool> POOLS = new ConcurrentHashMap<>();
+    private static final ScheduledExecutorService EVICTOR = createEvictor();
+
+    private final String url;
+    private final String username;
+    private final String password;
+    private final int minSize;
+    private final int maxSize;
+    private final String validationQuery;
+    private final long idleTimeout;
+    private final long borrowTimeout;
+    private final long validationInterval;
+    private final int validationTimeout;
+    private final int statementCacheSize;
+
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Semaphore permits;
+    private final AtomicInteger total = new AtomicInteger();
+    private final ThreadLocal<PooledConnection> lastUsed = new ThreadLocal<>();
+    private final ScheduledFuture<?> maintenance;
+    private volatile boolean closed = false;
+
+    private ConnectionPool(Builder builder, String url, String username, String password, String defaultValidationQuery) {
+        logTrace("Entering ConnectionPool#init");
+        if (builder.minSize > builder.maxSize) {
+            throw new IllegalArgumentException("ConnectionPool minSize (" + builder.minSize + ") cannot be greater than maxSize (" + builder.maxSize + ").");
+        }
+
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.minSize = builder.minSize;
+        this.maxSize = builder.maxSize;
+        this.validationQuery = builder.validationQuery != null ? builder.validationQuery : defaultValidationQuery;
+        this.idleTimeout = builder.idleTimeout;
+        this.borrowTimeout = builder.borrowTimeout;
+        this.validationInterval = builder.validationInterval;
+        this.validationTimeout = builder.validationTimeout;
+        this.statementCacheSize = builder.statementCacheSize;
+        this.permits = new Semaphore(maxSize, true);
+
+        long period = Math.max(1000, idleTimeout / 2);
+        maintenance = EVICTOR.scheduleWithFixedDelay(this::maintain, 0, period, TimeUnit.MILLISECONDS);
+        logTrace("Exiting ConnectionPool#init");
+    }
+
+    /**
+     * Returns the pool shared by all Databases using the same connection string and user, creating it with the
+     * settings given if there is none yet. Settings of a pool that already exists are not changed
+     */
+    static ConnectionPool getPool(String url, String username, String password, Builder settings, String defaultValidationQuery) {
+        String key = url + "|" + username;
+        ConnectionPool pool = POOLS.get(key);
+        if (pool != null && !pool.closed) {
+            return pool;
+        }
+
+        return POOLS.compute(key, (k, existing) -> existing != null && !existing.closed
+                ? existing
+                : new ConnectionPool(settings, url, username, password, defaultValidationQuery));
+    }
+
+    /**
+     * Closes every pool created through {@link Database}, ie at the end of a suite
+     */
+    public static void closeAll() {
+        logTrace("Closing all database connection pools");
+        for (Iterator<ConnectionPool> pools = POOLS.values().iterator(); pools.hasNext();) {
+            ConnectionPool pool = pools.next();
+            pools.remove();
+            pool.close();
+        }
+    }
+
+    /**
+     * Borrows a connection, waiting up to the borrow timeout if all connections are in use. Closing the returned
+     * connection gives it back to the pool, along with any statement created from it that was not closed
+     *
+     * @return Open connection
+     */
+    public Connection getConnection() {
+        logTrace("Entering ConnectionPool#getConnection");
+        if (closed) {
+            throw new DatabaseException("Connection pool for [ " + url + " ] is closed");
+        }
+
+        try {
+            if (!permits.tryAcquire(borrowTimeout, TimeUnit.MILLISECONDS)) {
+                throw new DatabaseException("Timed out after [ " + borrowTimeout + " ] ms waiting for a connection to [ " + url
+                        + " ]. All [ " + maxSize + " ] connections are in use");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseException("Interrupted while waiting for a connection to [ " + url + " ]", e);
+        }
+
+        try {
+            PooledConnection pooled = takeIdle();
+            while (pooled != null && !isValid(pooled)) {
+                logDebug("Discarding connection that failed validation");
+                discard(pooled);
+                pooled = takeIdle();
+            }
+
+            if (pooled == null) {
+                pooled = open();
+            }
+
+            lastUsed.set(pooled);
+            logTrace("Exiting ConnectionPool#getConnection");
+            return pooled.lease();
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * @return Number of open connections, both borrowed and idle
+     */
+    public int getTotalConnections() {
+        return total.get();
+    }
+
+    /**
+     * @return Number of open connections waiting in the pool
+     */
+    public int getIdleConnections() {
+        return idle.size();
+    }
+
+    /**
+     * @return Number of connections currently borrowed
+     */
+    public int getActiveConnections() {
+        return maxSize - permits.availablePermits();
+    }
+
+    /**
+     * Closes all idle connections. Borrowed connections are closed when they are given back
+     */
+    @Override
+    public void close() {
+        logTrace("Closing ConnectionPool for [ " + url + " ]");
+        closed = true;
+        maintenance.cancel(false);
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            discard(pooled);
+        }
+    }
+
+    private PooledConnection takeIdle() {
+        PooledConnection preferred = lastUsed.get();
+        if (preferred != null && idle.remove(preferred)) {
+            return preferred;
+        }
+        return idle.pollFirst();
+    }
+
+    private PooledConnection open() {
+        logDebug(() -> "Opening new pooled connection to [ " + url + " ]");
+        total.incrementAndGet();
+        try {
+            return new PooledConnection(DriverManager.getConnection(url, username, password));
+        } catch (SQLException sqle) {
+            total.decrementAndGet();
+            throw new DatabaseException("Failed to open a connection to [ " + url + " ]", sqle);
+        }
+    }
+
+    private void discard(PooledConnection pooled) {
+        total.decrementAndGet();
+        try {
+            pooled.connection.close();
+        } catch (SQLException sqle) {
+            logDebug("Failed to close discarded connection: " + sqle.getMessage());
+        }
+    }
+
+    private boolean isValid(PooledConnection pooled) {
+        if (System.currentTimeMillis() - pooled.lastReturned < validationInterval) {
+            return true;
+        }
+
+        try {
+            if (validationQuery == null) {
+                return pooled.connection.isValid(validationTimeout);
+            }
+
+            try (Statement statement = pooled.connection.createStatement()) {
+                statement.setQueryTimeout(validationTimeout);
+                statement.execute(validationQuery);
+            }
+            return true;
+        } catch (SQLException sqle) {
+            return false;
+        } catch (AbstractMethodError ame) {
+            // Drivers older than JDBC 4 do not implement isValid
+            try {
+                return !pooled.connection.isClosed();
+            } catch (SQLException sqle) {
+                return false;
+            }
+        }
+    }
+
+    private void giveBack(PooledConnection pooled) {
+        try {
+            pooled.closeStatements();
+            if (closed || pooled.connection.isClosed()) {
+                discard(pooled);
+                return;
+            }
+
+            if (!pooled.connection.getAutoCommit()) {
+                pooled.connection.rollback();
+                pooled.connection.setAutoCommit(true);
+            }
+            pooled.lastReturned = System.currentTimeMillis();
+            idle.offerFirst(pooled);
+        } catch (SQLException sqle) {
+            logDebug("Discarding connection that could not be reset: " + sqle.getMessage());
+            discard(pooled);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Closes connections idle for longer than the idle timeout, oldest first, and opens connections until the
+     * minimum size is reached
+     */
+    private void maintain() {
+        try {
+            long now = System.currentTimeMillis();
+            for (Iterator<PooledConnection> oldest = idle.descendingIterator(); oldest.hasNext();) {
+                PooledConnection pooled = oldest.next();
+                if (total.get() <= minSize) {
+                    break;
+                }
+                if (now - pooled.lastReturned > idleTimeout && idle.remove(pooled)) {
+                    logDebug("Closing idle pooled connection");
+                    discard(pooled);
+                }
+            }
+
+            while (!closed && total.get() < minSize) {
+                idle.offerLast(open());
+            }
+        } catch (RuntimeException e) {
+            // Try again on the next run, borrowers will see the error if the database stays unreachable
+            logDebug("Failed to maintain connection pool for [ " + url + " ]: " + e.getMessage());
+        }
+    }
+
+    private static void closeQuietly(Statement statement) {
+        try {
+            statement.close();
+        } catch (SQLException sqle) {
+            logDebug("Failed to close statement: " + sqle.getMessage());
+        }
+    }
+
+    private static ScheduledExecutorService createEvictor() {
+        ScheduledThreadPoolExecutor evictor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "ConnectionPool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        evictor.setRemoveOnCancelPolicy(true);
+        return evictor;
+    }
+
+    /**
+     * A physical connection owned by the pool. Borrowers get a proxy that gives the connection back on close and
+     * tracks the statements created from it
+     */
+    private final class PooledConnection {
+        private final Connection connection;
+        private final List<Statement> statements = new ArrayList<>();
+        private final Map<String, PreparedStatement> statementCache = new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() <= statementCacheSize) {
+                    return false;
+                }
+                closeQuietly(eldest.getValue());
+                return true;
+            }
+        };
+        private volatile long lastReturned = System.currentTimeMillis();
+
+        private PooledConnection(Connection connection) {
+            this.connection = connection;
+        }
+
+        /**
+         * @return Cached statement for the SQL, prepared on first use. Closing it clears the parameters but keeps the
+         *         statement open for the next borrower
+         */
+        private synchronized PreparedStatement prepareCached(String sql) throws SQLException {
+            PreparedStatement statement = statementCache.get(sql);
+            if (statement == null || statement.isClosed()) {
+                statement = connection.prepareStatement(sql);
+                statementCache.put(sql, statement);
+            }
+
+            PreparedStatement cached = statement;
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[] { PreparedStatement.class }, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "close":
+                                cached.clearParameters();
+                                cached.clearBatch();
+                                return null;
+
+                            case "equals":
+                                return proxy == args[0];
+
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+
+                            default:
+                                try {
+                                    return method.invoke(cached, args);
+                                } catch (InvocationTargetException e) {
+                                    throw e.getCause();
+                                }
+                        }
+                    });
+        }
+
+        private Connection lease() {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { Connection.class },
+                    new Lease(this));
+        }
+
+        private synchronized void track(Statement statement) {
+            statements.add(statement);
+        }
+
+        private synchronized void closeStatements() {
+            for (Statement statement : statements) {
+                closeQuietly(statement);
+            }
+            statements.clear();
+        }
+    }
+
+    /**
+     * Handler behind a borrowed connection. After close every call but close and isClosed fails, so a connection
+     * given back cannot be used by accident while another thread has it
+     */
+    private final class Lease implements InvocationHandler {
+        private final PooledConnection pooled;
+        private boolean returned = false;
+
+        private Lease(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public synchronized Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        giveBack(pooled);
+                    }
+                    return null;
+
+                case "isClosed":
+                    return returned || pooled.connection.isClosed();
+
+                case "equals":
+                    return proxy == args[0];
+
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+
+                case "toString":
+                    return "Pooled " + pooled.connection.toString();
+
+                default:
+                    break;
+            }
+
+            if (returned) {
+                throw new SQLException("Connection has already been given back to the pool");
+            }
+
+            if (statementCacheSize > 0 && "prepareStatement".equals(method.getName()) && args.length == 1) {
+                return pooled.prepareCached((String) args[0]);
+            }
+
+            try {
+                Object result = method.invoke(pooled.connection, args);
+                if (result instanceof Statement) {
+                    pooled.track((Statement) result);
+                }
+                return result;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    public static class Builder {
+        private int minSize = DEFAULT_MIN_SIZE;
+        private int maxSize = DEFAULT_MAX_SIZE;
+        private String validationQuery = null;
+        private long idleTimeout = DEFAULT_IDLE_TIMEOUT;
+        private long borrowTimeout = DEFAULT_BORROW_TIMEOUT;
+        private long validationInterval = DEFAULT_VALIDATION_INTERVAL;
+        private int validationTimeout = DEFAULT_VALIDATION_TIMEOUT;
+        private int statementCacheSize = DEFAULT_STATEMENT_CACHE_SIZE;
+
+        /**
+         * @param minSize
+         *            Number of connections kept open even when idle
+         */
+        public Builder minSize(int minSize) {
+            if (minSize < 0) {
+                throw new IllegalArgumentException("ConnectionPool.Builder.minSize (" + minSize + ") cannot be negative.");
+            }
+            this.minSize = minSize;
+            return this;
+        }
+
+        /**
+         * @param maxSize
+         *            Maximum number of open connections
+         */
+        public Builder maxSize(int maxSize) {
+            if (maxSize < 1) {
+                throw new IllegalArgumentException("ConnectionPool.Builder.maxSize (" + maxSize + ") must be greater than zero.");
+            }
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        /**
+         * @param validationQuery
+         *            Query run to check a connection before it is reused, ie <code>select 1 from dual</code>. Defaults
+         *            to the query of the Database type, or {@link Connection#isValid(int)}
+         */
+        public Builder validationQuery(String validationQuery) {
+            this.validationQuery = validationQuery;
+            return this;
+        }
+
+        /**
+         * @param idleTimeout
+         *            Milliseconds an unused connection above the minimum size is kept open
+         */
+        public Builder idleTimeout(long idleTimeout) {
+            this.idleTimeout = idleTimeout;
+            return this;
+        }
+
+        /**
+         * @param borrowTimeout
+         *            Milliseconds to wait for a connection when all connections are in use
+         */
+        public Builder borrowTimeout(long borrowTimeout) {
+            this.borrowTimeout = borrowTimeout;
+            return this;
+        }
+
+        /**
+         * @param validationInterval
+         *            Milliseconds a connection can be unused before it is validated again
+         */
+        public Builder validationInterval(long validationInterval) {
+            this.validationInterval = validationInterval;
+            return this;
+        }
+
+        /**
+         * @param validationTimeout
+         *            Seconds to wait for the validation query
+         */
+        public Builder validationTimeout(int validationTimeout) {
+            this.validationTimeout = validationTimeout;
+            return this;
+        }
+
+        /**
+         * @param statementCacheSize
+         *            Number of PreparedStatements kept open per connection. 0 turns statement caching off
+         */
+        public Builder statementCacheSize(int statementCacheSize) {
+            if (statementCacheSize < 0) {
+                throw new IllegalArgumentException("ConnectionPool.Builder.statementCacheSize (" + statementCacheSize + ") cannot be negative.");
+            }
+            this.statementCacheSize = statementCacheSize;
+            return this;
+        }
+
+        /**
+         * Creates a pool that is not shared with {@link Database}
+         */
+        public ConnectionPool build(String url, String username, String password) {
+            return new ConnectionPool(this, url, username, password, null);
+        }
+    }
+}
@@ -5,18 +5,26 @@ import static com.orasi.utils.TestReporter.logTrace;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.orasi.database.exceptions.DatabaseException;
 
 public abstract class Database {
+    public static final int DEFAULT_FETCH_SIZE = 500;
+    public static final int DEFAULT_BATCH_SIZE = 1000;
 
     protected String driver = null;
     private String host = null;
@@ -25,6 +33,13 @@ public abstract class Database {
     private String username = null;
     private String password = null;
     protected String connectionString = null;
+    protected String validationQuery = null;
+    private int fetchSize = DEFAULT_FETCH_SIZE;
+    private ConnectionPool.Builder poolSettings = null;
+    private QueryCache queryCache = null;
+
+    private static volatile ConnectionPool.Builder defaultPoolSettings = null;
+    private static final Set<String> LOADED_DRIVERS = ConcurrentHashMap.newKeySet();
 
     protected void setDbDriver(String driver) {
         this.driver = driver;
@@ -82,12 +97,119 @@ public abstract class Database {
         return connectionString;
     }
 
+    /**
+     * Query used to check pooled connections before they are reused. Set by each database type, null uses
+     * {@link Connection#isValid(int)}
+     */
+    protected String getValidationQuery() {
+        return validationQuery;
+    }
+
+    /**
+     * Borrow connections from a pool shared by all Databases with the same connection string and user instead of
+     * opening a new connection for every query. Uses the default pool settings
+     */
+    public void usePooledConnections() {
+        usePooledConnections(new ConnectionPool.Builder());
+    }
+
+    /**
+     * Borrow connections from a pool shared by all Databases with the same connection string and user instead of
+     * opening a new connection for every query. The settings are only used by the first Database that creates the
+     * pool
+     *
+     * @param settings
+     *            Sizes and timeouts of the pool
+     */
+    public void usePooledConnections(ConnectionPool.Builder settings) {
+        if (settings == null) {
+            throw new DatabaseException("Connection pool settings cannot be null");
+        }
+        poolSettings = settings;
+    }
+
+    /**
+     * Open and close a new connection for every query. This is the default unless
+     * {@link #setDefaultPoolSettings(ConnectionPool.Builder)} was used
+     */
+    public void useDirectConnections() {
+        poolSettings = null;
+    }
+
+    /**
+     * @return True if queries borrow connections from a pool
+     */
+    public boolean isPooled() {
+        return poolSettings != null || defaultPoolSettings != null;
+    }
+
+    /**
+     * Makes every Database pool its connections unless it calls {@link #useDirectConnections()} after this, ie to turn
+     * pooling on for a whole suite
+     *
+     * @param settings
+     *            Sizes and timeouts used for all pools, or null to stop pooling by default
+     */
+    public static void setDefaultPoolSettings(ConnectionPool.Builder settings) {
+        defaultPoolSettings = settings;
+    }
+
+    /**
+     * @return An open connection, borrowed from the pool if pooling is on. Closing it gives it back to the pool
+     */
+    protected Connection getConnection() throws SQLException {
+        loadDriver();
+        ConnectionPool.Builder settings = poolSettings != null ? poolSettings : defaultPoolSettings;
+        if (settings == null) {
+            logTrace(() -> "Attempt to connect to database [ " + connectionString + " ]");
+            return DriverManager.getConnection(connectionString, username, password);
+        }
+
+        logTrace(() -> "Attempt to borrow pooled connection to database [ " + connectionString + " ]");
+        return ConnectionPool.getPool(connectionString, username, password, settings, getValidationQuery()).getConnection();
+    }
+
+    /**
+     * Use the shared {@link QueryCache#getDefault()} for {@link #getResultSet(String)} and
+     * {@link #getResultSet(String, Object...)}. Only turn this on for read only reference data
+     */
+    public void useQueryCache() {
+        useQueryCache(QueryCache.getDefault());
+    }
+
+    /**
+     * Answer {@link #getResultSet(String)} and {@link #getResultSet(String, Object...)} from the cache when the same
+     * query, with the same parameters, was run against the same database before. Only turn this on for read only
+     * reference data
+     *
+     * @param cache
+     *            Cache to use, can be shared between Databases
+     */
+    public void useQueryCache(QueryCache cache) {
+        if (cache == null) {
+            throw new DatabaseException("Query cache cannot be null");
+        }
+        queryCache = cache;
+    }
+
+    /**
+     * Run every query against the database. This is the default
+     */
+    public void disableQueryCache() {
+        queryCache = null;
+    }
+
     public Object[][] getResultSet(String query) {
+        if (queryCache != null) {
+            return queryCache.get(connectionString, username, query, null, () -> queryResultSet(query));
+        }
+        return queryResultSet(query);
+    }
+
+    private Object[][] queryResultSet(String query) {
         logTrace("Entering Database#getResultSet");
-        loadDriver();
 
-        logTrace("Attempt to connect to database [ " + connectionString + " ]");
-        try (Connection connection = DriverManager.getConnection(connectionString, username, password);) {
+        try (Connection connection = getConnection()) {
             logTrace("Connection successful");
 
             logTrace("Running query");
@@ -103,23 +225,199 @@ public abstract class Database {
         }
     }
 
+    /**
+     * Runs the SQL as a PreparedStatement with the parameters bound in order, ie
+     * <code>getResultSet("select * from orders where status = ? and region = ?", "OPEN", 12)</code>. The database can
+     * reuse the plan of the SQL for every set of values, and pooled connections reuse the statement itself
+     *
+     * @param sql
+     *            SQL query with a ? for each parameter
+     * @param params
+     *            Values of the parameters. Null values are bound as SQL NULL
+     * @return Column names in the first row followed by the values of each row
+     */
+    public Object[][] getResultSet(String sql, Object... params) {
+        if (queryCache != null) {
+            return queryCache.get(connectionString, username, sql, params, () -> queryResultSet(sql, params));
+        }
+        return queryResultSet(sql, params);
+    }
+
+    private Object[][] queryResultSet(String sql, Object... params) {
+        logTrace("Entering Database#getResultSet");
+
+        try (Connection connection = getConnection();
+                PreparedStatement statement = prepare(connection, sql, params);
+                ResultSet rs = statement.executeQuery()) {
+            logTrace("Query results returned with no errors. Parsing results");
+            Object[][] parsedRs = extract(rs);
+            logTrace("Exiting Database#getResultSet");
+            return parsedRs;
+        } catch (Exception e) {
+            throw new DatabaseException("Failed to extract data into a Recordset", e);
+        }
+    }
+
+    /**
+     * Runs the query and reads the results straight into a {@link Recordset}, keeping numeric and date columns as
+     * primitives instead of Strings
+     *
+     * @param query
+     *            SQL query to run
+     * @return Recordset positioned on the first row
+     */
+    public Recordset getRecordset(String query) {
+        logTrace("Entering Database#getRecordset");
+
+        try (Connection connection = getConnection();
+                ResultSet rs = runQuery(connection, query)) {
+            logTrace("Query results returned with no errors. Reading results into Recordset");
+            Recordset recordset = Recordset.read(rs);
+            logTrace("Exiting Database#getRecordset");
+            return recordset;
+        } catch (Exception e) {
+            throw new DatabaseException("Failed to extract data into a Recordset", e);
+        }
+    }
+
+    /**
+     * Same as {@link #getRecordset(String)}, running the SQL as a PreparedStatement with the parameters bound in order
+     */
+    public Recordset getRecordset(String sql, Object... params) {
+        logTrace("Entering Database#getRecordset");
+
+        try (Connection connection = getConnection();
+                PreparedStatement statement = prepare(connection, sql, params);
+                ResultSet rs = statement.executeQuery()) {
+            logTrace("Query results returned with no errors. Reading results into Recordset");
+            Recordset recordset = Recordset.read(rs);
+            logTrace("Exiting Database#getRecordset");
+            return recordset;
+        } catch (Exception e) {
+            throw new DatabaseException("Failed to extract data into a Recordset", e);
+        }
+    }
+
+    /**
+     * Runs an insert, update or delete as a PreparedStatement with the parameters bound in order
+     *
+     * @param sql
+     *            SQL statement with a ? for each parameter
+     * @param params
+     *            Values of the parameters. Null values are bound as SQL NULL
+     * @return Number of rows changed
+     */
+    public int executeUpdate(String sql, Object... params) {
+        logTrace("Entering Database#executeUpdate");
+        try (Connection connection = getConnection();
+                PreparedStatement statement = prepare(connection, sql, params)) {
+            int count = statement.executeUpdate();
+            logTrace(() -> "Rows updated [ " + count + " ]");
+            logTrace("Exiting Database#executeUpdate");
+            return count;
+        } catch (Exception e) {
+            throw new DatabaseException("Failed to execute SQL statement", e);
+        }
+    }
+
+    /**
+     * Runs the same insert, update or delete once for each set of parameters, sending them to the database in batches
+     * of {@link #DEFAULT_BATCH_SIZE}. All rows are committed together, or rolled back if any of them fails, ie to
+     * set up test data:<br/>
+     * <br/>
+     * <code>db.executeBatch("insert into customers (id, name) values (?, ?)", Arrays.asList(new Object[] { 1, "Bob" }, new Object[] { 2, "Sue" }));</code>
+     *
+     * @param sql
+     *            SQL statement with a ? for each parameter
+     * @param rows
+     *            Values of the parameters for each execution
+     * @return Update count of each execution, in the order given
+     */
+    public int[] executeBatch(String sql, List<Object[]> rows) {
+        logTrace("Entering Database#executeBatch");
+        if (rows == null || rows.isEmpty()) {
+            throw new DatabaseException("Batch for [ " + sql + " ] must contain at least one row of parameters");
+        }
+
+        try (Connection connection = getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            int[] counts = new int[rows.size()];
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                int executed = 0;
+                for (int row = 0; row < rows.size(); row++) {
+                    bind(statement, rows.get(row));
+                    statement.addBatch();
+                    if ((row + 1) % DEFAULT_BATCH_SIZE == 0 || row == rows.size() - 1) {
+                        int[] batch = statement.executeBatch();
+                        System.arraycopy(batch, 0, counts, executed, batch.length);
+                        executed += batch.length;
+                    }
+                }
+                connection.commit();
+            } catch (SQLException sqle) {
+                connection.rollback();
+                throw sqle;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+
+            logTrace(() -> "Batch executed with [ " + rows.size() + " ] rows");
+            logTrace("Exiting Database#executeBatch");
+            return counts;
+        } catch (SQLException e) {
+            throw new DatabaseException("Failed to execute batch for [ " + sql + " ]", e);
+        }
+    }
+
+    private PreparedStatement prepare(Connection connection, String sql, Object... params) throws SQLException {
+        logTrace("Preparing statement");
+        logTrace(sql);
+        PreparedStatement statement = connection.prepareStatement(sql);
+        statement.setFetchSize(fetchSize);
+        bind(statement, params);
+        return statement;
+    }
+
+    private static void bind(PreparedStatement statement, Object[] params) throws SQLException {
+        if (params == null) {
+            return;
+        }
+
+        for (int index = 1; index <= params.length; index++) {
+            Object param = params[index - 1];
+            if (param == null) {
+                statement.setNull(index, Types.NULL);
+            } else {
+                statement.setObject(index, param);
+            }
+        }
+    }
+
     private void loadDriver() {
         logTrace("Entering Database#loadDriver");
+        if (LOADED_DRIVERS.contains(driver)) {
+            logTrace("Exiting Database#loadDriver");
+            return;
+        }
+
         try {
-            logTrace("Attempting to load driver [ " + driver + " ]");
+            logTrace(() -> "Attempting to load driver [ " + driver + " ]");
             Class.forName(driver);
-            logTrace("Successfully loaded driver [ " + driver + " ]");
+            LOADED_DRIVERS.add(driver);
+            logTrace(() -> "Successfully loaded driver [ " + driver + " ]");
         } catch (ClassNotFoundException cnfe) {
             throw new DatabaseException("Error loading driver", cnfe);
         }
         logTrace("Exiting Database#loadDriver");
     }
 
-    private static ResultSet runQuery(Connection connection, String query) {
+    private ResultSet runQuery(Connection connection, String query) {
         logDebug("Entering Database#runQuery");
         try {
             logDebug("Attempting to create Database Statement object from current connection");
-            Statement statement = connection.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            Statement statement = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
             logDebug("Successfully created Database Statement");
 
             logDebug("Attempting to execute query");
@@ -136,82 +434,128 @@ public abstract class Database {
     }
 
     /**
-     * Returns an ArrayList of ArrayLists of Strings extracted from a
-     * ResultSet retrieved from the database.
+     * Returns the column names followed by every row of a ResultSet, with all values as Strings. The ResultSet is
+     * read forward once, so the driver never has to buffer the whole result to count the rows first
      *
      * @param resultSet
      *            ResultSet to extract Strings from
-     * @return an ArrayList of ArrayLists of Strings
-     * @throws SQLException
-     *             if an SQL exception occurs
+     * @return Column names in the first row followed by the values of each row
      */
     private static Object[][] extract(ResultSet resultSet) {
         logTrace("Entering Database#extract");
-        // get row and column count
-        int rowCount = 0;
+        RowIterator rows = new RowIterator(resultSet);
+
+        List<String[]> table = new ArrayList<>();
+        table.add(rows.getColumnNames());
+
+        logTrace("Extacting data from ResultSet and storing in Object[][]");
+        while (rows.hasNext()) {
+            table.add(rows.nextValues());
+        }
+
+        logTrace(() -> "Extraction complete. Rows extracted [ " + (table.size() - 1) + " ]");
+        logTrace("Exiting Database#extract");
+        return table.toArray(new String[table.size()][]);
+    }
+
+    /**
+     * Runs the query and reads the results one row at a time as they are iterated, for queries too large to hold in
+     * memory. The connection stays open until the last row was read or the iterator is closed, so use it in a
+     * try-with-resources block if it may not be read to the end, ie:<br/>
+     * <br/>
+     * <code>try (RowIterator rows = db.getRowIterator(query)) { while (rows.hasNext()) { ... } }</code>
+     *
+     * @param query
+     *            SQL query to run
+     * @return Iterator over the rows of the query
+     */
+    public RowIterator getRowIterator(String query) {
+        logTrace("Entering Database#getRowIterator");
+        Connection connection = null;
+        ResultSet rs = null;
         try {
-            logTrace("Determining number of rows in results");
-            resultSet.last();
-            rowCount = resultSet.getRow();
-            resultSet.beforeFirst();
-            logTrace("Rows to to be extracted [ " + rowCount + " ] ");
-        } catch (Exception ex) {
-            rowCount = 0;
+            connection = getConnection();
+            logTrace("Running query");
+            logTrace(query);
+            rs = runQuery(connection, query);
+            RowIterator rows = new RowIterator(rs, rs.getStatement(), connection);
+            logTrace("Exiting Database#getRowIterator");
+            return rows;
+        } catch (Exception e) {
+            closeQuietly(rs);
+            closeQuietly(connection);
+            throw new DatabaseException("Failed to run query for row iteration", e);
         }
+    }
+
+    /**
+     * Same as {@link #getRowIterator(String)}, running the SQL as a PreparedStatement with the parameters bound in
+     * order
+     */
+    public RowIterator getRowIterator(String sql, Object... params) {
+        logTrace("Entering Database#getRowIterator");
+        Connection connection = null;
+        PreparedStatement statement = null;
         try {
+            connection = getConnection();
+            statement = prepare(connection, sql, params);
+            RowIterator rows = new RowIterator(statement.executeQuery(), statement, connection);
+            logTrace("Exiting Database#getRowIterator");
+            return rows;
+        } catch (Exception e) {
+            closeQuietly(statement);
+            closeQuietly(connection);
+            throw new DatabaseException("Failed to run query for row iteration", e);
+        }
+    }
 
-            logTrace("Determining number of columns in results");
-            int columnCount = resultSet.getMetaData().getColumnCount();
-            logTrace("Columns to to be extracted [ " + columnCount + " ] ");
-
-            logTrace("Generating Object array for the size of String[" + (rowCount + 1) + "][" + columnCount + "] (One row added for column headers)");
-            Object[][] table = new String[rowCount + 1][columnCount];
-
-            logTrace("Retrieve Result Set metadata");
-            ResultSetMetaData rsmd = resultSet.getMetaData();
-
-            logTrace("Extacting data from ResultSet and storing in Object[][]");
-            for (int rowNum = 0; rowNum <= rowCount; rowNum++) {
-                for (int colNum = 0, rsColumn = 1; colNum < columnCount; colNum++, rsColumn++) {
-
-                    if (rowNum == 0) {
-                        table[rowNum][colNum] = resultSet.getMetaData().getColumnName(rsColumn);
-                    } else if (resultSet.getString(colNum + 1) == null) {
-                        // System.out.println("null");
-                        table[rowNum][colNum] = "NULL";
-                    } else {
-                        try {
-                            switch (rsmd.getColumnType(rsColumn)) {
-
-                                case Types.DATE:
-                                    table[rowNum][colNum] = String.valueOf(resultSet.getTimestamp(rsColumn));
-                                    break;
-
-                                case Types.TIMESTAMP:
-                                    table[rowNum][colNum] = String.valueOf(resultSet.getTimestamp(rsColumn));
-                                    break;
-
-                                case Types.TIME:
-                                    table[rowNum][colNum] = resultSet.getTime(rsColumn);
-                                    break;
-
-                                default:
-                                    table[rowNum][colNum] = resultSet.getString(rsColumn).intern();
-                                    break;
-                            }
-                        } catch (Exception e) {
-                            table[rowNum][colNum] = resultSet.getString(rsColumn).intern();
-                        }
-                    }
-                }
-                resultSet.next();
-            }
+    /**
+     * Same as {@link #getRowIterator(String)} as a Stream. The Stream must be closed, ie in a try-with-resources
+     * block, unless it is read to the end
+     *
+     * @param query
+     *            SQL query to run
+     * @return Stream of the rows of the query
+     */
+    public Stream<Row> getRowStream(String query) {
+        return stream(getRowIterator(query));
+    }
 
-            logTrace("Extraction complete");
-            logTrace("Exiting Database#extract");
-            return table;
-        } catch (SQLException sql) {
-            throw new DatabaseException("Failed to generate result set", sql);
+    /**
+     * Same as {@link #getRowStream(String)}, running the SQL as a PreparedStatement with the parameters bound in order
+     */
+    public Stream<Row> getRowStream(String sql, Object... params) {
+        return stream(getRowIterator(sql, params));
+    }
+
+    private static Stream<Row> stream(RowIterator rows) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(rows::close);
+    }
+
+    /**
+     * @param fetchSize
+     *            Number of rows the driver fetches from the database per round trip. 0 uses the driver default
+     */
+    public void setFetchSize(int fetchSize) {
+        if (fetchSize < 0) {
+            throw new DatabaseException("Fetch size cannot be negative. Fetch size entered was: " + fetchSize);
+        }
+        this.fetchSize = fetchSize;
+    }
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    private static void closeQuietly(AutoCloseable resource) {
+        if (resource == null) {
+            return;
+        }
+        try {
+            resource.close();
+        } catch (Exception e) {
+            logDebug("Failed to close [ " + resource + " ]: " + e.getMessage());
         }
     }
 
@@ -221,4 +565,10 @@ public abstract class Database {
         return list.toArray(new Object[][] {});
     }
 
+    public Object[][] getResultSetAsDataProvider(String sql, Object... params) {
+        List<Object[]> list = new ArrayList<>(Arrays.asList(getResultSet(sql, params)));
+        list.remove(0);
+        return list.toArray(new Object[][] {});
+    }
+
 }
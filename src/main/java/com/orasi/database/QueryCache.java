@@ -0,0 +1,152 @@
+package com.orasi.database;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import com.orasi.utils.TableCache;
+
+/**
+ * Bounded cache of query results for read only reference data, ie state or product code tables that many tests look
+ * up. Results are keyed by connection string, user, SQL and parameters, expire after a time to live, and the least
+ * recently used results are dropped once the cache is full. Concurrent lookups of the same result run the query once,
+ * see {@link TableCache}.<br/>
+ * <br/>
+ * Caching is turned on per Database with {@link Database#useQueryCache(QueryCache)}. Results are never refreshed when
+ * the data changes, use {@link #invalidate(String)} or {@link #invalidateAll()} after changing cached tables.
+ */
+public class QueryCache {
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+    public static final long DEFAULT_TIME_TO_LIVE = 300000;
+
+    private static volatile QueryCache defaultCache;
+
+    private final long timeToLive;
+    private final TableCache<Key, Long> results;
+
+    /**
+     * Creates a cache of up to {@link #DEFAULT_MAX_ENTRIES} results kept for {@link #DEFAULT_TIME_TO_LIVE} ms
+     */
+    public QueryCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_TIME_TO_LIVE);
+    }
+
+    /**
+     * @param maxEntries
+     *            Maximum number of results kept
+     * @param timeToLive
+     *            Milliseconds a result is used before the query is run again
+     */
+    public QueryCache(int maxEntries, long timeToLive) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("QueryCache maxEntries (" + maxEntries + ") must be greater than zero.");
+        }
+        if (timeToLive < 1) {
+            throw new IllegalArgumentException("QueryCache timeToLive (" + timeToLive + ") must be greater than zero.");
+        }
+        this.timeToLive = timeToLive;
+        this.results = new TableCache<>(maxEntries, result -> 1);
+    }
+
+    /**
+     * @return Cache shared by all Databases that call {@link Database#useQueryCache()}
+     */
+    public static QueryCache getDefault() {
+        QueryCache cache = defaultCache;
+        if (cache == null) {
+            synchronized (QueryCache.class) {
+                cache = defaultCache;
+                if (cache == null) {
+                    cache = new QueryCache();
+                    defaultCache = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Returns the cached result, or runs the query through the loader and caches its result
+     */
+    Object[][] get(String connectionString, String username, String sql, Object[] params, Supplier<Object[][]> loader) {
+        long now = System.currentTimeMillis();
+        return results.get(new Key(connectionString, username, sql, params), expires -> expires > now, now + timeToLive, loader);
+    }
+
+    /**
+     * Removes the results of the SQL for all parameters and databases
+     */
+    public void invalidate(String sql) {
+        results.removeIf(key -> key.sql.equals(sql));
+    }
+
+    /**
+     * Removes all results
+     */
+    public void invalidateAll() {
+        results.clear();
+    }
+
+    /**
+     * @return Number of lookups answered from the cache
+     */
+    public long getHitCount() {
+        return results.getHitCount();
+    }
+
+    /**
+     * @return Number of lookups that had to run the query
+     */
+    public long getMissCount() {
+        return results.getMissCount();
+    }
+
+    /**
+     * @return Number of results currently cached, including expired results not yet replaced
+     */
+    public int size() {
+        return results.size();
+    }
+
+    private static final class Key {
+        private final String connectionString;
+        private final String username;
+        private final String sql;
+        private final Object[] params;
+        private final int hash;
+
+        private Key(String connectionString, String username, String sql, Object[] params) {
+            this.connectionString = connectionString;
+            this.username = username;
+            this.sql = sql;
+            this.params = params == null ? new Object[0] : params.clone();
+            this.hash = Objects.hash(connectionString, username, sql, Arrays.deepHashCode(this.params));
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return hash == key.hash
+                    && sql.equals(key.sql)
+                    && Objects.equals(connectionString, key.connectionString)
+                    && Objects.equals(username, key.username)
+                    && Arrays.deepEquals(params, key.params);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return sql;
+        }
+    }
+}
@@ -1,20 +1,114 @@
 package com.orasi.database;
 
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import com.orasi.database.exceptions.DatabaseException;
+
+/**
+ * Results of a query stored by column. Recordsets read straight from the database with
+ * {@link Database#getRecordset(String)} keep whole number columns in primitive arrays, everything else as the Strings
+ * the driver returned, so values are the same Strings {@link Database#getResultSet(String)} would return. Floating
+ * point and date columns also keep their primitive values, so reading them as numbers or Timestamps does not parse the
+ * text again.
+ * <br/>
+ * <br/>
+ * Column names are looked up in a map built once, not case sensitive, so reading every row by column name costs the
+ * same as reading it by index.
+ */
 public class Recordset {
+    private static final int INITIAL_CAPACITY = 64;
+
     private int columnRow = 0;
     private int startRow = 1;
     private int totalRows = 0;
     private int totalColumns = 0;
     private int currentRow = 1;
     private Object[][] rs = null;
+    private final String[] columnNames;
+    private final Column[] columns;
+    private final Map<String, Integer> columnIndexes = new HashMap<>();
 
     public Recordset(Object[][] rs) {
         this.rs = rs;
         this.totalRows = rs.length - 1;
         this.totalColumns = rs[columnRow].length;
+
+        columnNames = new String[totalColumns];
+        columns = new Column[totalColumns];
+        for (int column = 0; column < totalColumns; column++) {
+            columnNames[column] = rs[columnRow][column].toString();
+            StringColumn values = new StringColumn(totalRows);
+            for (int row = startRow; row <= totalRows; row++) {
+                values.add(rs[row][column] == null ? null : rs[row][column].toString());
+            }
+            columns[column] = values;
+        }
+        indexColumns();
+    }
+
+    private Recordset(String[] columnNames, Column[] columns, int totalRows) {
+        this.columnNames = columnNames;
+        this.columns = columns;
+        this.totalRows = totalRows;
+        this.totalColumns = columns.length;
+        indexColumns();
     }
 
+    /**
+     * Reads the ResultSet forward into typed columns
+     */
+    static Recordset read(ResultSet resultSet) throws SQLException {
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        String[] names = new String[columnCount];
+        Column[] columns = new Column[columnCount];
+        for (int column = 0; column < columnCount; column++) {
+            names[column] = metaData.getColumnName(column + 1);
+            columns[column] = Column.forType(metaData, column + 1);
+        }
+
+        int rows = 0;
+        while (resultSet.next()) {
+            for (int column = 0; column < columnCount; column++) {
+                columns[column].read(resultSet, column + 1);
+            }
+            rows++;
+        }
+        return new Recordset(names, columns, rows);
+    }
+
+    private void indexColumns() {
+        for (int column = 0; column < totalColumns; column++) {
+            columnIndexes.putIfAbsent(columnNames[column].toLowerCase(Locale.ROOT), column);
+        }
+    }
+
+    /**
+     * @return Column names in the first row followed by the values of each row. Built on first use for Recordsets
+     *         read from the database
+     */
     public Object[][] getArray() {
+        if (rs == null) {
+            Object[][] table = new String[totalRows + 1][];
+            table[columnRow] = columnNames.clone();
+            for (int row = startRow; row <= totalRows; row++) {
+                String[] values = new String[totalColumns];
+                for (int column = 0; column < totalColumns; column++) {
+                    values[column] = columns[column].getValue(row - startRow);
+                }
+                table[row] = values;
+            }
+            rs = table;
+        }
         return rs;
     }
 
@@ -71,26 +165,12 @@ public class Recordset {
     }
 
     public int getColumnIndex(String name) {
-        int index = 0;
-        for (int columnIndex = 0; columnIndex < totalColumns; columnIndex++) {
-            if (rs[columnRow][columnIndex].toString().equalsIgnoreCase(name)) {
-                index = columnIndex + 1;
-                break;
-            }
-        }
-        return index;
+        Integer index = columnIndexes.get(name.toLowerCase(Locale.ROOT));
+        return index == null ? 0 : index + 1;
     }
 
     public String getValue(String columnName) {
-        int index = -1;
-        if (columnName.isEmpty()) {
-            throw new RuntimeException("Column name cannot be blank. Column name entered was: " + columnName);
-        }
-        index = getColumnIndex(columnName) - 1;
-        if (index == -1) {
-            return ""; // Return blank value if no column found
-        }
-        return rs[currentRow][index].toString();
+        return getValue(columnName, currentRow);
     }
 
     public String getValue(String columnName, int row) {
@@ -105,7 +185,7 @@ public class Recordset {
         if (index == -1) {
             return ""; // Return blank value if no column found
         }
-        return rs[row][index].toString();
+        return valueAt(index, row);
     }
 
     public String getValue(int column, int row) {
@@ -115,7 +195,36 @@ public class Recordset {
         if (row < 0) {
             throw new RuntimeException("Start row value needs to be 1 or greater. Start row entered was: " + row);
         }
-        return rs[row][--column].toString();
+        return valueAt(--column, row);
+    }
+
+    /**
+     * @return Value of the column in the current row as a number. Whole number and decimal columns are returned
+     *         without parsing
+     */
+    public long getLong(String columnName) {
+        return column(columnName).getLong(dataRow(currentRow));
+    }
+
+    /**
+     * @return Value of the column in the current row as a decimal number
+     */
+    public double getDouble(String columnName) {
+        return column(columnName).getDouble(dataRow(currentRow));
+    }
+
+    /**
+     * @return Value of a date or timestamp column in the current row, or null if it is NULL
+     */
+    public Timestamp getTimestamp(String columnName) {
+        return column(columnName).getTimestamp(dataRow(currentRow));
+    }
+
+    /**
+     * @return True if the column is NULL in the current row
+     */
+    public boolean isNull(String columnName) {
+        return column(columnName).isNull(dataRow(currentRow));
     }
 
     public void removeColumn(String columnName) {
@@ -123,11 +232,251 @@ public class Recordset {
     }
 
     public String printString() {
-        return PrettyPrinter.print(rs);
+        return PrettyPrinter.print(getArray());
     }
 
     public void print() {
-        System.out.println(PrettyPrinter.print(rs));
+        System.out.println(PrettyPrinter.print(getArray()));
+    }
+
+    private String valueAt(int column, int row) {
+        if (column < 0 || column >= totalColumns || row > totalRows) {
+            throw new ArrayIndexOutOfBoundsException("No value at column [ " + (column + 1) + " ] and row [ " + row + " ]");
+        }
+        return row == columnRow ? columnNames[column] : columns[column].getValue(row - startRow);
+    }
+
+    private Column column(String columnName) {
+        int index = getColumnIndex(columnName) - 1;
+        if (index == -1) {
+            throw new DatabaseException("Column [ " + columnName + " ] was not found in the Recordset");
+        }
+        return columns[index];
+    }
+
+    private int dataRow(int row) {
+        if (row < startRow || row > totalRows) {
+            throw new DatabaseException("Row [ " + row + " ] is outside of the Recordset. Rows: " + totalRows);
+        }
+        return row - startRow;
+    }
+
+    /**
+     * Values of one column, in row order starting at 0. NULLs are tracked separately so primitive columns can hold
+     * them
+     */
+    private abstract static class Column {
+        protected final BitSet nulls = new BitSet();
+        protected int size = 0;
+
+        static Column forType(ResultSetMetaData metaData, int column) throws SQLException {
+            switch (metaData.getColumnType(column)) {
+                case Types.TINYINT:
+                case Types.SMALLINT:
+                case Types.INTEGER:
+                case Types.BIGINT:
+                    return new LongColumn();
+
+                case Types.NUMERIC:
+                case Types.DECIMAL:
+                    // Only whole numbers that fit a long print the same as the driver does
+                    int precision = metaData.getPrecision(column);
+                    return metaData.getScale(column) == 0 && precision > 0 && precision <= 18
+                            ? new LongColumn()
+                            : new StringColumn(INITIAL_CAPACITY);
+
+                case Types.REAL:
+                    // Single precision, read with getFloat as the driver stores it
+                    return new DoubleColumn(true);
+
+                case Types.FLOAT:
+                case Types.DOUBLE:
+                    return new DoubleColumn(false);
+
+                case Types.DATE:
+                case Types.TIMESTAMP:
+                    return new TimestampColumn();
+
+                default:
+                    return new StringColumn(INITIAL_CAPACITY);
+            }
+        }
+
+        abstract void read(ResultSet resultSet, int column) throws SQLException;
+
+        /**
+         * @return Value of a row that is not NULL
+         */
+        abstract String format(int row);
+
+        String getValue(int row) {
+            return nulls.get(row) ? "NULL" : format(row);
+        }
+
+        boolean isNull(int row) {
+            return nulls.get(row);
+        }
+
+        long getLong(int row) {
+            return isNull(row) ? 0 : Long.parseLong(format(row));
+        }
+
+        double getDouble(int row) {
+            return isNull(row) ? 0 : Double.parseDouble(format(row));
+        }
+
+        Timestamp getTimestamp(int row) {
+            return isNull(row) ? null : Timestamp.valueOf(format(row));
+        }
+
+        protected int grow(int capacity) {
+            return capacity == 0 ? INITIAL_CAPACITY : capacity * 2;
+        }
     }
 
+    private static final class LongColumn extends Column {
+        private long[] values = new long[INITIAL_CAPACITY];
+
+        @Override
+        void read(ResultSet resultSet, int column) throws SQLException {
+            long value = resultSet.getLong(column);
+            if (resultSet.wasNull()) {
+                nulls.set(size);
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, grow(values.length));
+            }
+            values[size++] = value;
+        }
+
+        @Override
+        String format(int row) {
+            return Long.toString(values[row]);
+        }
+
+        @Override
+        long getLong(int row) {
+            return values[row];
+        }
+
+        @Override
+        double getDouble(int row) {
+            return values[row];
+        }
+    }
+
+    private static final class DoubleColumn extends Column {
+        private final boolean single;
+        private final StringColumn text = new StringColumn(INITIAL_CAPACITY);
+        private double[] values = new double[INITIAL_CAPACITY];
+
+        private DoubleColumn(boolean single) {
+            this.single = single;
+        }
+
+        @Override
+        void read(ResultSet resultSet, int column) throws SQLException {
+            double value = single ? resultSet.getFloat(column) : resultSet.getDouble(column);
+            if (resultSet.wasNull()) {
+                nulls.set(size);
+            }
+            // Drivers print floating point numbers their own way, ie "1" or "1E-5", so keep their text
+            text.read(resultSet, column);
+            if (size == values.length) {
+                values = Arrays.copyOf(values, grow(values.length));
+            }
+            values[size++] = value;
+        }
+
+        @Override
+        String format(int row) {
+            return text.format(row);
+        }
+
+        @Override
+        long getLong(int row) {
+            return (long) values[row];
+        }
+
+        @Override
+        double getDouble(int row) {
+            return values[row];
+        }
+    }
+
+    /**
+     * Stores milliseconds and nanoseconds separately so the Timestamp can be rebuilt exactly. The text is kept as the
+     * driver printed it, ie a DATE prints without a time
+     */
+    private static final class TimestampColumn extends Column {
+        private final StringColumn text = new StringColumn(INITIAL_CAPACITY);
+        private long[] millis = new long[INITIAL_CAPACITY];
+        private int[] nanos = new int[INITIAL_CAPACITY];
+
+        @Override
+        void read(ResultSet resultSet, int column) throws SQLException {
+            Timestamp value = resultSet.getTimestamp(column);
+            if (value == null) {
+                nulls.set(size);
+            }
+            text.read(resultSet, column);
+            if (size == millis.length) {
+                millis = Arrays.copyOf(millis, grow(millis.length));
+                nanos = Arrays.copyOf(nanos, millis.length);
+            }
+            if (value != null) {
+                millis[size] = value.getTime();
+                nanos[size] = value.getNanos();
+            }
+            size++;
+        }
+
+        @Override
+        String format(int row) {
+            return text.format(row);
+        }
+
+        @Override
+        long getLong(int row) {
+            return isNull(row) ? 0 : millis[row];
+        }
+
+        @Override
+        Timestamp getTimestamp(int row) {
+            if (isNull(row)) {
+                return null;
+            }
+            Timestamp timestamp = new Timestamp(millis[row]);
+            timestamp.setNanos(nanos[row]);
+            return timestamp;
+        }
+    }
+
+    private static final class StringColumn extends Column {
+        private String[] values;
+
+        private StringColumn(int capacity) {
+            values = new String[Math.max(capacity, 1)];
+        }
+
+        @Override
+        void read(ResultSet resultSet, int column) throws SQLException {
+            add(resultSet.getString(column));
+        }
+
+        private void add(String value) {
+            if (value == null) {
+                nulls.set(size);
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, grow(values.length));
+            }
+            values[size++] = value;
+        }
+
+        @Override
+        String format(int row) {
+            return values[row];
+        }
+    }
 }
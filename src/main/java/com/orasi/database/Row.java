@@ -0,0 +1,62 @@
+package com.orasi.database;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import com.orasi.database.exceptions.DatabaseException;
+
+/**
+ * A single row of a query, as returned by {@link Database#getRowIterator(String)} and
+ * {@link Database#getRowStream(String)}. Values are formatted the same way as {@link Database#getResultSet(String)},
+ * so null columns are returned as "NULL" and dates as timestamps
+ */
+public class Row {
+    private final Map<String, Integer> columnIndexes;
+    private final String[] values;
+
+    Row(Map<String, Integer> columnIndexes, String[] values) {
+        this.columnIndexes = columnIndexes;
+        this.values = values;
+    }
+
+    /**
+     * @param columnName
+     *            Name of the column, not case sensitive
+     * @return Value of the column, or blank if the query did not return the column
+     */
+    public String getValue(String columnName) {
+        if (columnName == null || columnName.isEmpty()) {
+            throw new DatabaseException("Column name cannot be blank. Column name entered was: " + columnName);
+        }
+        Integer index = columnIndexes.get(columnName);
+        return index == null ? "" : values[index];
+    }
+
+    /**
+     * @param column
+     *            Position of the column, starting at 1
+     * @return Value of the column
+     */
+    public String getValue(int column) {
+        if (column < 1 || column > values.length) {
+            throw new DatabaseException("Column needs to be between 1 and " + values.length + ". Column entered was: " + column);
+        }
+        return values[column - 1];
+    }
+
+    public int getColumnCount() {
+        return values.length;
+    }
+
+    /**
+     * @return Copy of the values in column order
+     */
+    public String[] toArray() {
+        return values.clone();
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(values);
+    }
+}
@@ -0,0 +1,165 @@
+package com.orasi.database;
+
+import static com.orasi.utils.TestReporter.logDebug;
+import static com.orasi.utils.TestReporter.logTrace;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+
+import com.orasi.database.exceptions.DatabaseException;
+
+/**
+ * Reads a ResultSet forward one row at a time, so only the rows the driver fetched so far are in memory. Each cell is
+ * read once and formatted as a String the same way {@link Database#getResultSet(String)} does.<br/>
+ * <br/>
+ * The iterator closes the ResultSet, along with the statement and connection it was given, as soon as the last row
+ * was read. If it is not read to the end it must be closed, ie in a try-with-resources block
+ */
+public class RowIterator implements Iterator<Row>, AutoCloseable {
+    private final ResultSet resultSet;
+    private final AutoCloseable[] resources;
+    private final String[] columnNames;
+    private final int[] columnTypes;
+    private final Map<String, Integer> columnIndexes;
+    private boolean fetched = false;
+    private boolean hasRow = false;
+    private boolean closed = false;
+
+    /**
+     * @param resultSet
+     *            ResultSet to read, positioned before the first row
+     * @param resources
+     *            Statement, connection or anything else to close after the ResultSet, in the order given
+     */
+    public RowIterator(ResultSet resultSet, AutoCloseable... resources) {
+        this.resultSet = resultSet;
+        this.resources = resources;
+        try {
+            ResultSetMetaData metaData = resultSet.getMetaData();
+            int columnCount = metaData.getColumnCount();
+            columnNames = new String[columnCount];
+            columnTypes = new int[columnCount];
+            Map<String, Integer> indexes = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            for (int column = 0; column < columnCount; column++) {
+                columnNames[column] = metaData.getColumnName(column + 1);
+                columnTypes[column] = metaData.getColumnType(column + 1);
+                indexes.putIfAbsent(columnNames[column], column);
+            }
+            columnIndexes = Collections.unmodifiableMap(indexes);
+        } catch (SQLException sqle) {
+            close();
+            throw new DatabaseException("Failed to read the columns of the result set", sqle);
+        }
+        logTrace(() -> "Columns to to be extracted [ " + columnNames.length + " ] ");
+    }
+
+    /**
+     * @return Copy of the column names in column order
+     */
+    public String[] getColumnNames() {
+        return columnNames.clone();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!fetched) {
+            if (closed) {
+                return false;
+            }
+            try {
+                hasRow = resultSet.next();
+            } catch (SQLException sqle) {
+                close();
+                throw new DatabaseException("Failed to read the next row of the result set", sqle);
+            }
+            fetched = true;
+            if (!hasRow) {
+                close();
+            }
+        }
+        return hasRow;
+    }
+
+    @Override
+    public Row next() {
+        return new Row(columnIndexes, nextValues());
+    }
+
+    /**
+     * Reads the next row without wrapping it in a {@link Row}
+     */
+    String[] nextValues() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more rows in the result set");
+        }
+        fetched = false;
+
+        String[] values = new String[columnTypes.length];
+        try {
+            for (int column = 0; column < columnTypes.length; column++) {
+                values[column] = readValue(column + 1, columnTypes[column]);
+            }
+        } catch (SQLException sqle) {
+            close();
+            throw new DatabaseException("Failed to generate result set", sqle);
+        }
+        return values;
+    }
+
+    private String readValue(int column, int type) throws SQLException {
+        String value;
+        switch (type) {
+            case Types.DATE:
+            case Types.TIMESTAMP:
+                try {
+                    Timestamp timestamp = resultSet.getTimestamp(column);
+                    value = timestamp == null ? null : timestamp.toString();
+                } catch (SQLException sqle) {
+                    value = resultSet.getString(column);
+                }
+                break;
+
+            default:
+                value = resultSet.getString(column);
+                break;
+        }
+        return value == null ? "NULL" : value;
+    }
+
+    /**
+     * Closes the ResultSet and the resources given with it. Safe to call more than once
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        hasRow = false;
+        fetched = true;
+
+        closeQuietly(resultSet);
+        for (AutoCloseable resource : resources) {
+            closeQuietly(resource);
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable resource) {
+        if (resource == null) {
+            return;
+        }
+        try {
+            resource.close();
+        } catch (Exception e) {
+            logDebug("Failed to close [ " + resource + " ]: " + e.getMessage());
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.orasi.database.Database;
 public class MySQLDatabase extends Database {
     public MySQLDatabase(String host, String port, String dbName) {
         super.driver = "com.mysql.jdbc.Driver";
+        super.validationQuery = "select 1";
         super.connectionString = "jdbc:mysql://" + host + ":" + port + "/" + dbName;
     }
 }
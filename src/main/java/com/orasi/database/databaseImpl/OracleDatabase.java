@@ -13,11 +13,13 @@ public class OracleDatabase extends Database {
         System.setProperty("oracle.net.tns_admin", tns);
 
         super.driver = "oracle.jdbc.driver.OracleDriver";
+        super.validationQuery = "select 1 from dual";
         super.connectionString = "jdbc:oracle:thin:@" + tnsName.toUpperCase();
     }
 
     public OracleDatabase(String host, String port, String sid) {
         super.driver = "oracle.jdbc.driver.OracleDriver";
+        super.validationQuery = "select 1 from dual";
         super.connectionString = "jdbc:oracle:thin:@" + host + ":" + port + ":"
                 + sid;
     }
@@ -5,6 +5,7 @@ import com.orasi.database.Database;
 public class SQLServerDatabase extends Database {
     public SQLServerDatabase(String host, String port, String dbName) {
         super.driver = "com.microsoft.jdbc.sqlserver.SQLServerDriver";
+        super.validationQuery = "select 1";
         super.connectionString = "jdbc:microsoft:sqlserver://" + host + ":" + port + ";DatabaseName=" + dbName;
     }
 }
@@ -0,0 +1,114 @@
+package com.orasi.utils;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Holds the Jackson ObjectMapper shared by the whole framework, along with an ObjectReader and ObjectWriter per class.
+ * ObjectMapper is expensive to create and only caches serializers per instance, so it should not be created per call.
+ * The readers and writers are immutable and thread safe, so they can be used from parallel tests.<br/>
+ * <br/>
+ * The mapper should not be configured directly once it is in use. Use
+ * {@link #configure(DeserializationFeature, boolean)}, {@link #configure(SerializationFeature, boolean)} or
+ * {@link #setMapper(ObjectMapper)} instead, these swap in a new mapper and start with empty caches.
+ */
+public class JsonMapper {
+    private static volatile Cache cache = new Cache(new ObjectMapper());
+
+    private JsonMapper() {
+    }
+
+    /**
+     * @return The shared mapper. Do not change its configuration
+     */
+    public static ObjectMapper getMapper() {
+        return cache.mapper;
+    }
+
+    /**
+     * Replaces the shared mapper, ie to register modules
+     *
+     * @param mapper
+     *            Fully configured mapper
+     */
+    public static synchronized void setMapper(ObjectMapper mapper) {
+        if (mapper == null) {
+            throw new IllegalArgumentException("Shared ObjectMapper cannot be null");
+        }
+        cache = new Cache(mapper);
+    }
+
+    public static synchronized void configure(DeserializationFeature feature, boolean state) {
+        cache = new Cache(cache.mapper.copy().configure(feature, state));
+    }
+
+    public static synchronized void configure(SerializationFeature feature, boolean state) {
+        cache = new Cache(cache.mapper.copy().configure(feature, state));
+    }
+
+    /**
+     * @return Reader for the class using the configuration of the shared mapper
+     */
+    public static ObjectReader getReader(Class<?> clazz) {
+        Cache current = cache;
+        return current.readers.computeIfAbsent(clazz, key -> current.mapper.readerFor(key));
+    }
+
+    /**
+     * @param failOnUnknownProperties
+     *            False to ignore json fields the class does not have
+     * @return Reader for the class
+     */
+    public static ObjectReader getReader(Class<?> clazz, boolean failOnUnknownProperties) {
+        Cache current = cache;
+        if (current.mapper.isEnabled(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES) == failOnUnknownProperties) {
+            return getReader(clazz);
+        }
+        return current.overriddenReaders.computeIfAbsent(clazz, key -> failOnUnknownProperties
+                ? current.mapper.readerFor(key).with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                : current.mapper.readerFor(key).without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES));
+    }
+
+    /**
+     * @return Reader for trees of JsonNodes
+     */
+    public static ObjectReader getTreeReader() {
+        return cache.treeReader;
+    }
+
+    /**
+     * @return Writer for the class using the configuration of the shared mapper
+     */
+    public static ObjectWriter getWriter(Class<?> clazz) {
+        Cache current = cache;
+        return current.writers.computeIfAbsent(clazz, key -> current.mapper.writerFor(key));
+    }
+
+    /**
+     * @return Writer for the class that indents the json
+     */
+    public static ObjectWriter getPrettyWriter(Class<?> clazz) {
+        Cache current = cache;
+        return current.prettyWriters.computeIfAbsent(clazz, key -> current.mapper.writerFor(key).withDefaultPrettyPrinter());
+    }
+
+    private static final class Cache {
+        private final ObjectMapper mapper;
+        private final ObjectReader treeReader;
+        private final ConcurrentMap<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+        private final ConcurrentMap<Class<?>, ObjectReader> overriddenReaders = new ConcurrentHashMap<>();
+        private final ConcurrentMap<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+        private final ConcurrentMap<Class<?>, ObjectWriter> prettyWriters = new ConcurrentHashMap<>();
+
+        private Cache(ObjectMapper mapper) {
+            this.mapper = mapper;
+            this.treeReader = mapper.reader();
+        }
+    }
+}
@@ -4,7 +4,7 @@ import org.apache.commons.lang.time.StopWatch;
 
 public class Sleeper {
     public static void sleep(long millis) {
-        TestReporter.logTrace("Sleeping for [ " + millis + " ] milliseconds");
+        TestReporter.logTrace(() -> "Sleeping for [ " + millis + " ] milliseconds");
         StopWatch stopwatch = new StopWatch();
         stopwatch.start();
         do {
@@ -0,0 +1,243 @@
+package com.orasi.utils;
+
+import static com.orasi.utils.TestReporter.logTrace;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import com.orasi.AutomationException;
+
+/**
+ * Bounded loading cache of tables, used by {@link com.orasi.database.QueryCache} and
+ * {@link com.orasi.utils.io.DataFileCache}. Each table is kept with a stamp, ie when it expires or the size of the file
+ * it was read from, and loaded again once the stamp is out of date.<br/>
+ * <br/>
+ * When several threads ask for a table that is not cached yet, only one of them loads it and the others wait for its
+ * result. Failed loads are not cached. Tables are returned as copies, so callers may change them. Once the weight of
+ * all tables is over the maximum the least recently used tables are dropped, a table heavier than the maximum is never
+ * kept.
+ *
+ * @param <K>
+ *            Key of a table
+ * @param <S>
+ *            Stamp telling whether a table is still current
+ */
+public class TableCache<K, S> {
+    private final long maxWeight;
+    private final ToLongFunction<Object[][]> weigher;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final Map<K, Entry<S>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight = 0;
+    private volatile Consumer<K> removalListener = key -> {
+    };
+
+    /**
+     * @param maxWeight
+     *            Maximum weight of all tables kept
+     * @param weigher
+     *            Weight of a table, ie 1 per table or the number of cells
+     */
+    public TableCache(long maxWeight, ToLongFunction<Object[][]> weigher) {
+        if (maxWeight < 1) {
+            throw new IllegalArgumentException("TableCache maxWeight (" + maxWeight + ") must be greater than zero.");
+        }
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    /**
+     * @param removalListener
+     *            Called with the key of every table that was dropped or invalidated, after it was removed. Not called
+     *            for tables replaced because their stamp was out of date
+     */
+    public void setRemovalListener(Consumer<K> removalListener) {
+        this.removalListener = removalListener;
+    }
+
+    /**
+     * Returns the cached table, or loads it and caches the result
+     *
+     * @param key
+     *            Key of the table
+     * @param isCurrent
+     *            Tells whether the stamp of the cached table is still current
+     * @param stamp
+     *            Stamp kept with the table if it has to be loaded
+     * @param loader
+     *            Loads the table
+     * @return Copy of the table
+     */
+    public Object[][] get(K key, Predicate<? super S> isCurrent, S stamp, Supplier<Object[][]> loader) {
+        Entry<S> entry;
+        boolean load = false;
+
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry == null || !isCurrent.test(entry.stamp)) {
+                if (entry != null) {
+                    logTrace("Cached table [ {} ] is out of date", key);
+                }
+                removed(entries.put(key, entry = new Entry<>(stamp)));
+                load = true;
+            }
+        }
+
+        if (load) {
+            misses.incrementAndGet();
+            logTrace("Table [ {} ] not cached, loading it", key);
+            Object[][] table;
+            try {
+                table = loader.get();
+            } catch (RuntimeException | Error e) {
+                synchronized (entries) {
+                    entries.remove(key, entry);
+                }
+                entry.table.completeExceptionally(e);
+                throw e;
+            }
+            entry.table.complete(table);
+            loaded(key, entry, table);
+        } else {
+            hits.incrementAndGet();
+            logTrace("Using cached table [ {} ]", key);
+        }
+
+        try {
+            return copy(entry.table.join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new AutomationException("Failed to load table [ " + key + " ]", e.getCause());
+        }
+    }
+
+    /**
+     * Weighs a table that was just loaded and drops the least recently used tables until the cache fits
+     */
+    private void loaded(K key, Entry<S> entry, Object[][] table) {
+        long size = Math.max(1, weigher.applyAsLong(table));
+        List<K> dropped = new ArrayList<>();
+
+        synchronized (entries) {
+            if (entries.get(key) != entry) {
+                return;
+            }
+            entry.weight = size;
+            weight += size;
+
+            for (Iterator<Map.Entry<K, Entry<S>>> eldest = entries.entrySet().iterator(); weight > maxWeight && eldest.hasNext();) {
+                Map.Entry<K, Entry<S>> evict = eldest.next();
+                // Tables still loading weigh nothing yet and are skipped
+                if (evict.getValue().weight > 0 && (evict.getValue() != entry || size > maxWeight)) {
+                    eldest.remove();
+                    removed(evict.getValue());
+                    dropped.add(evict.getKey());
+                }
+            }
+        }
+
+        if (!dropped.isEmpty()) {
+            logTrace("Dropped [ {} ] least recently used tables", dropped.size());
+            dropped.forEach(removalListener);
+        }
+    }
+
+    private void removed(Entry<S> entry) {
+        if (entry != null) {
+            weight -= entry.weight;
+            entry.weight = 0;
+        }
+    }
+
+    /**
+     * Removes every table whose key matches
+     */
+    public void removeIf(Predicate<? super K> filter) {
+        List<K> dropped = new ArrayList<>();
+        synchronized (entries) {
+            for (Iterator<Map.Entry<K, Entry<S>>> iterator = entries.entrySet().iterator(); iterator.hasNext();) {
+                Map.Entry<K, Entry<S>> cached = iterator.next();
+                if (filter.test(cached.getKey())) {
+                    iterator.remove();
+                    removed(cached.getValue());
+                    dropped.add(cached.getKey());
+                }
+            }
+        }
+        dropped.forEach(removalListener);
+    }
+
+    /**
+     * Removes all tables
+     */
+    public void clear() {
+        removeIf(key -> true);
+    }
+
+    /**
+     * @return True if a table whose key matches is cached or loading
+     */
+    public boolean containsKey(Predicate<? super K> filter) {
+        synchronized (entries) {
+            return entries.keySet().stream().anyMatch(filter);
+        }
+    }
+
+    /**
+     * @return Number of lookups answered from the cache
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * @return Number of lookups that had to load the table
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * @return Number of tables currently cached, including tables still loading or out of date
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private static Object[][] copy(Object[][] table) {
+        Object[][] copy = table.clone();
+        for (int row = 0; row < copy.length; row++) {
+            if (copy[row] != null) {
+                copy[row] = copy[row].clone();
+            }
+        }
+        return copy;
+    }
+
+    private static final class Entry<S> {
+        private final CompletableFuture<Object[][]> table = new CompletableFuture<>();
+        private final S stamp;
+        private long weight = 0;
+
+        private Entry(S stamp) {
+            this.stamp = stamp;
+        }
+    }
+}
@@ -8,7 +8,9 @@ import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.List;
+import java.util.function.Supplier;
 import java.util.logging.Level;
+import java.util.regex.Pattern;
 
 import org.apache.commons.io.FileUtils;
 import org.openqa.selenium.OutputType;
@@ -25,11 +27,16 @@ import com.orasi.api.restServices.exceptions.RestException;
 import com.orasi.api.soapServices.SoapService;
 import com.orasi.api.soapServices.exceptions.SoapException;
 import com.orasi.utils.date.SimpleDate;
+import com.orasi.utils.reporting.AsyncReporterSink;
+import com.orasi.utils.reporting.ReporterSink;
+import com.orasi.utils.reporting.ScreenshotWriter;
+import com.orasi.utils.reporting.SynchronousReporterSink;
 import com.orasi.web.OrasiDriver;
 
 public class TestReporter {
     private static boolean printToConsole = true;
     private static boolean printClassPath = true;
+    private static volatile ReporterSink sink = new SynchronousReporterSink();
     private static ThreadLocal<Boolean> assertFailed = new ThreadLocal<Boolean>();
     /**
      * No additional info printed to console
@@ -52,6 +59,13 @@ public class TestReporter {
 
     private static ThreadLocal<Integer> debugLevel = new ThreadLocal<>();
 
+    /**
+     * Classes that are skipped when looking up the caller to print in the log
+     */
+    private static final Pattern IGNORED_CALLERS = Pattern.compile("sun.reflect|com.orasi.utils.TestReporter|com.orasi.utils.TestReporter|com.orasi.utils.PageLoaded|java.lang.reflect|"
+            + "java.lang.Thread|com.sun.proxy|org.testng.internal|java.util.concurrent.ThreadPoolExecutor|com.orasi.utils.debugging");
+    private static final Pattern HTML_TAGS = Pattern.compile("<[^>]*>");
+
     /**
      *
      * @param level
@@ -66,7 +80,8 @@ public class TestReporter {
     }
 
     public static int getDebugLevel() {
-        return debugLevel.get() == null ? 0 : debugLevel.get();
+        Integer level = debugLevel.get();
+        return level == null ? 0 : level;
     }
 
     private static String getTimestamp() {
@@ -76,26 +91,19 @@ public class TestReporter {
     }
 
     private static String trimHtml(String log) {
-        return log.replaceAll("<[^>]*>", "");
+        return HTML_TAGS.matcher(log).replaceAll("");
     }
 
     private static String getClassPath() {
         String path = " > ";
         if (getPrintFullClassPath()) {
             StackTraceElement[] elements = Thread.currentThread().getStackTrace();
-            int x = 0;
-            String filename = "";
-            for (StackTraceElement element : elements) {
-                filename = element.getClassName();
-                if (x == 0 || x == 1 || x == 2) {
-                    x++;
-                    continue;
-                } else if (!filename.matches("sun.reflect|com.orasi.utils.TestReporter|com.orasi.utils.TestReporter|com.orasi.utils.PageLoaded|java.lang.reflect|"
-                        + "java.lang.Thread|com.sun.proxy|org.testng.internal|java.util.concurrent.ThreadPoolExecutor|com.orasi.utils.debugging")) {
+            for (int x = 3; x < elements.length; x++) {
+                StackTraceElement element = elements[x];
+                if (!IGNORED_CALLERS.matcher(element.getClassName()).matches()) {
                     path = element.getClassName() + "#" + element.getMethodName();
                     break;
                 }
-
             }
         }
         return path + " > ";
@@ -117,22 +125,82 @@ public class TestReporter {
         return printClassPath;
     }
 
-    public static void logStep(String step) {
-        Reporter.log("<br/><b><font size = 4>Step: " + step
-                + "</font></b><br/>");
+    /**
+     * Changes where the report and console output is written to. By default everything is written on the calling
+     * thread, use {@link AsyncReporterSink} to have a background thread write it instead. Any output still pending in
+     * the previous sink is flushed first
+     *
+     * @param reporterSink
+     *            Sink to write all output to
+     */
+    public static void setReporterSink(ReporterSink reporterSink) {
+        if (reporterSink == null) {
+            throw new IllegalArgumentException("Reporter sink cannot be null");
+        }
+
+        ReporterSink previous = sink;
+        sink = reporterSink;
+        previous.flush();
+        if (previous instanceof AsyncReporterSink) {
+            ((AsyncReporterSink) previous).shutdown();
+        }
+    }
+
+    public static ReporterSink getReporterSink() {
+        return sink;
+    }
+
+    /**
+     * Blocks until all output logged so far has been written to the TestNG report and the console. Called after
+     * each test method so the report of a test is complete before TestNG picks it up
+     */
+    public static void flush() {
+        sink.flush();
+    }
+
+    private static void report(String html) {
+        sink.write(Reporter.getCurrentTestResult(), html, false, null);
+    }
+
+    private static void reportEscaped(String html) {
+        sink.write(Reporter.getCurrentTestResult(), html, true, null);
+    }
+
+    private static void report(String html, String consoleLine) {
+        sink.write(Reporter.getCurrentTestResult(), html, false, getPrintToConsole() ? () -> consoleLine : null);
+    }
+
+    /**
+     * Reports the HTML and prints the console prefix followed by the message without HTML tags. Stripping the tags
+     * is left to the sink so it does not have to happen on the test thread
+     */
+    private static void report(String html, String consolePrefix, String consoleMessage) {
+        sink.write(Reporter.getCurrentTestResult(), html, false,
+                getPrintToConsole() ? () -> consolePrefix + trimHtml(consoleMessage) : null);
+    }
+
+    private static void console(String consoleLine) {
         if (getPrintToConsole()) {
-            System.out.println(step);
+            sink.write(Reporter.getCurrentTestResult(), null, false, () -> consoleLine);
         }
     }
 
-    public static void logScenario(String scenario) {
-        Reporter.log("<br/><b><font size = 4>Data Scenario: " + scenario
-                + "</font></b><br/>");
+    private static void console(String consolePrefix, String consoleMessage) {
         if (getPrintToConsole()) {
-            System.out.println(getTimestamp() + trimHtml(scenario));
+            sink.write(Reporter.getCurrentTestResult(), null, false, () -> consolePrefix + trimHtml(consoleMessage));
         }
     }
 
+    public static void logStep(String step) {
+        report("<br/><b><font size = 4>Step: " + step
+                + "</font></b><br/>", step);
+    }
+
+    public static void logScenario(String scenario) {
+        report("<br/><b><font size = 4>Data Scenario: " + scenario
+                + "</font></b><br/>", getTimestamp(), scenario);
+    }
+
     public static void interfaceLog(String message) {
         logInfo(message);
     }
@@ -141,18 +209,52 @@ public class TestReporter {
         logInfo("<font size = 2 color=\"red\">" + message + "</font>");
     }
 
-    public static void log(String message) {
-        Reporter.log(getTimestamp() + " <i><b>" + getClassPath() + message + "</b></i><br />");
-        if (getPrintToConsole()) {
-            System.out.println(getTimestamp() + getClassPath() + trimHtml(message));
+    /**
+     * Same as {@link #interfaceLog(String)}, but the message is only built when the debug level is at least INFO
+     *
+     * @param message
+     */
+    public static void interfaceLog(Supplier<String> message) {
+        logInfo(message);
+    }
+
+    /**
+     * Same as {@link #interfaceLog(String, boolean)}, but the message is only built when the debug level is at least
+     * INFO
+     *
+     * @param message
+     */
+    public static void interfaceLog(Supplier<String> message, boolean failed) {
+        if (getDebugLevel() >= INFO) {
+            interfaceLog(message.get(), failed);
         }
     }
 
+    /**
+     * Same as {@link #interfaceLog(String)}, but each <b>{}</b> in the message is replaced by the next argument only
+     * when the debug level is at least INFO
+     *
+     * @param message
+     *            Message containing <b>{}</b> placeholders
+     * @param args
+     *            Values to put in the placeholders
+     */
+    public static void interfaceLog(String message, Object... args) {
+        logInfo(message, args);
+    }
+
+    public static void log(String message) {
+        String classPath = getClassPath();
+        String timestamp = getTimestamp();
+        report(timestamp + " <i><b>" + classPath + message + "</b></i><br />",
+                timestamp + classPath, message);
+    }
+
     public static void logFailure(String message) {
-        Reporter.log(getTimestamp() + " <font size = 2 color=\"red\"><b><u> ERROR :: " + getClassPath() + message + "</font></u></b><br />");
-        if (getPrintToConsole()) {
-            System.out.println(getTimestamp() + trimHtml("ERROR :: " + getClassPath() + trimHtml(message)));
-        }
+        String classPath = getClassPath();
+        String timestamp = getTimestamp();
+        report(timestamp + " <font size = 2 color=\"red\"><b><u> ERROR :: " + classPath + message + "</font></u></b><br />",
+                timestamp, "ERROR :: " + classPath + message);
     }
 
     /**
@@ -162,8 +264,35 @@ public class TestReporter {
      */
     public static void logTrace(String message) {
         if (getDebugLevel() >= TRACE) {
-            Reporter.log(getTimestamp() + "TRACE :: " + getClassPath() + message + "<br />");
-            System.out.println(getTimestamp() + "TRACE :: " + getClassPath() + (trimHtml(message).trim()));
+            writeLevelLog("TRACE :: ", message);
+        }
+    }
+
+    /**
+     * Use to output low-level granular steps. The message is only built when the debug level is TRACE, so callers
+     * can pass in concatenations without paying for them on every call
+     *
+     * @param message
+     *            Supplier building the message to log
+     */
+    public static void logTrace(Supplier<String> message) {
+        if (getDebugLevel() >= TRACE) {
+            writeLevelLog("TRACE :: ", message.get());
+        }
+    }
+
+    /**
+     * Use to output low-level granular steps. Each <b>{}</b> in the message is replaced by the next argument, but only
+     * when the debug level is TRACE
+     *
+     * @param message
+     *            Message containing <b>{}</b> placeholders
+     * @param args
+     *            Values to put in the placeholders
+     */
+    public static void logTrace(String message, Object... args) {
+        if (getDebugLevel() >= TRACE) {
+            writeLevelLog("TRACE :: ", formatMessage(message, args));
         }
     }
 
@@ -174,8 +303,35 @@ public class TestReporter {
      */
     public static void logInfo(String message) {
         if (getDebugLevel() >= INFO) {
-            Reporter.log(getTimestamp() + " INFO :: " + getClassPath() + message + "<br />");
-            System.out.println(getTimestamp() + " INFO :: " + getClassPath() + trimHtml(message).trim());
+            writeLevelLog(" INFO :: ", message);
+        }
+    }
+
+    /**
+     * Use to output useful information such as URL's, parameters, and RQ/RS. The message is only built when the debug
+     * level is at least INFO
+     *
+     * @param message
+     *            Supplier building the message to log
+     */
+    public static void logInfo(Supplier<String> message) {
+        if (getDebugLevel() >= INFO) {
+            writeLevelLog(" INFO :: ", message.get());
+        }
+    }
+
+    /**
+     * Use to output useful information such as URL's, parameters, and RQ/RS. Each <b>{}</b> in the message is
+     * replaced by the next argument, but only when the debug level is at least INFO
+     *
+     * @param message
+     *            Message containing <b>{}</b> placeholders
+     * @param args
+     *            Values to put in the placeholders
+     */
+    public static void logInfo(String message, Object... args) {
+        if (getDebugLevel() >= INFO) {
+            writeLevelLog(" INFO :: ", formatMessage(message, args));
         }
     }
 
@@ -186,27 +342,75 @@ public class TestReporter {
      */
     public static void logDebug(String message) {
         if (getDebugLevel() >= DEBUG) {
-            Reporter.log(getTimestamp() + "DEBUG :: " + getClassPath() + message + "<br />");
-            System.out.println(getTimestamp() + "DEBUG :: " + getClassPath() + trimHtml(message).trim());
+            writeLevelLog("DEBUG :: ", message);
         }
     }
 
-    public static void logNoHtmlTrim(String message) {
-        Reporter.log(getTimestamp() + " :: " + getClassPath() + message + "<br />");
-        if (getPrintToConsole()) {
-            System.out.println(getTimestamp() + getClassPath() + message.trim());
+    /**
+     * Use to output debugging information. The message is only built when the debug level is at least DEBUG
+     *
+     * @param message
+     *            Supplier building the message to log
+     */
+    public static void logDebug(Supplier<String> message) {
+        if (getDebugLevel() >= DEBUG) {
+            writeLevelLog("DEBUG :: ", message.get());
         }
     }
 
-    public static void logNoXmlTrim(String message) {
-        Reporter.setEscapeHtml(true);
-        Reporter.log("");
-        Reporter.log(message);
-        Reporter.setEscapeHtml(false);
-        Reporter.log("<br /");
-        if (getPrintToConsole()) {
-            System.out.println(getTimestamp() + getClassPath() + message.trim());
+    /**
+     * Use to output debugging information. Each <b>{}</b> in the message is replaced by the next argument, but only
+     * when the debug level is at least DEBUG
+     *
+     * @param message
+     *            Message containing <b>{}</b> placeholders
+     * @param args
+     *            Values to put in the placeholders
+     */
+    public static void logDebug(String message, Object... args) {
+        if (getDebugLevel() >= DEBUG) {
+            writeLevelLog("DEBUG :: ", formatMessage(message, args));
+        }
+    }
+
+    private static void writeLevelLog(String level, String message) {
+        String prefix = getTimestamp() + level + getClassPath();
+        sink.write(Reporter.getCurrentTestResult(), prefix + message + "<br />", false,
+                () -> prefix + trimHtml(message).trim());
+    }
+
+    /**
+     * Replaces each <b>{}</b> in the message with the next argument
+     */
+    private static String formatMessage(String message, Object... args) {
+        if (args == null || args.length == 0) {
+            return message;
+        }
+
+        StringBuilder builder = new StringBuilder(message.length() + 16 * args.length);
+        int start = 0;
+        int argIndex = 0;
+        int placeholder;
+        while (argIndex < args.length && (placeholder = message.indexOf("{}", start)) != -1) {
+            builder.append(message, start, placeholder).append(String.valueOf(args[argIndex++]));
+            start = placeholder + 2;
         }
+        builder.append(message, start, message.length());
+        return builder.toString();
+    }
+
+    public static void logNoHtmlTrim(String message) {
+        String timestamp = getTimestamp();
+        String classPath = getClassPath();
+        report(timestamp + " :: " + classPath + message + "<br />");
+        console(timestamp + classPath + message.trim());
+    }
+
+    public static void logNoXmlTrim(String message) {
+        reportEscaped("");
+        reportEscaped(message);
+        report("<br /");
+        console(getTimestamp() + getClassPath() + message.trim());
     }
 
     public static void assertTrue(boolean condition, String description) {
@@ -214,15 +418,11 @@ public class TestReporter {
             Assert.assertTrue(condition, description);
         } catch (AssertionError failure) {
             logFailure("Assert True - " + description);
-            if (getPrintToConsole()) {
-                System.out.println(getTimestamp() + "Assert True - " + trimHtml(description));
-            }
+            console(getTimestamp() + "Assert True - ", description);
             Assert.fail(description);
         }
-        Reporter.log(getTimestamp() + " <font size = 2 color=\"green\"><b><u>Assert True - " + description + "</font></u></b><br />");
-        if (getPrintToConsole()) {
-            System.out.println(getTimestamp() + "Assert True - " + trimHtml(description));
-        }
+        report(getTimestamp() + " <font size = 2 color=\"green\"><b><u>Assert True - " + description + "</font></u></b><br />",
+                getTimestamp() + "Assert True - ", description);
     }
 
     public static void assertFalse(boolean condition, String description) {
@@ -230,15 +430,11 @@ public class TestReporter {
             Assert.assertFalse(condition, description);
         } catch (AssertionError failure) {
             logFailure("Assert False - " + description);
-            if (getPrintToConsole()) {
-                System.out.println(getTimestamp() + "Assert False - " + trimHtml(description));
-            }
+            console(getTimestamp() + "Assert False - ", description);
             Assert.fail(description);
         }
-        Reporter.log(getTimestamp() + " <font size = 2 color=\"green\"><b><u>Assert False - " + description + "</font></u></b><br />");
-        if (getPrintToConsole()) {
-            System.out.println(getTimestamp() + "Assert False - " + trimHtml(description));
-        }
+        report(getTimestamp() + " <font size = 2 color=\"green\"><b><u>Assert False - " + description + "</font></u></b><br />",
+                getTimestamp() + "Assert False - ", description);
     }
 
     public static void assertEquals(Object value1, Object value2, String description) {
@@ -246,15 +442,11 @@ public class TestReporter {
             Assert.assertEquals(value1, value2, description);
         } catch (AssertionError failure) {
             logFailure("Assert Equals - " + description);
-            if (getPrintToConsole()) {
-                System.out.println(getTimestamp() + "Assert Equals - " + trimHtml(description));
-            }
+            console(getTimestamp() + "Assert Equals - ", description);
             Assert.fail(description);
         }
-        Reporter.log(getTimestamp() + " <font size = 2 color=\"green\"><b><u>Assert Equals - " + description + "</font></u></b><br />");
-        if (getPrintToConsole()) {
-            System.out.println(getTimestamp() + "Assert Equals - " + trimHtml(description));
-        }
+        report(getTimestamp() + " <font size = 2 color=\"green\"><b><u>Assert Equals - " + description + "</font></u></b><br />",
+                getTimestamp() + "Assert Equals - ", description);
     }
 
     public static void assertNotEquals(Object value1, Object value2, String description) {
@@ -262,15 +454,11 @@ public class TestReporter {
             Assert.assertNotEquals(value1, value2, description);
         } catch (AssertionError failure) {
             logFailure("Assert Not Equals - " + description);
-            if (getPrintToConsole()) {
-                System.out.println(getTimestamp() + "Assert Not Equals - " + trimHtml(description));
-            }
+            console(getTimestamp() + "Assert Not Equals - ", description);
             Assert.fail(description);
         }
-        Reporter.log(getTimestamp() + " <font size = 2 color=\"green\"><b><u>Assert Not Equals - " + description + "</font></u></b><br />");
-        if (getPrintToConsole()) {
-            System.out.println(getTimestamp() + "Assert Not Equals - " + trimHtml(description));
-        }
+        report(getTimestamp() + " <font size = 2 color=\"green\"><b><u>Assert Not Equals - " + description + "</font></u></b><br />",
+                getTimestamp() + "Assert Not Equals - ", description);
     }
 
     public static void assertGreaterThanZero(int value) {
@@ -278,15 +466,11 @@ public class TestReporter {
             Assert.assertTrue(value > 0);
         } catch (AssertionError failure) {
             logFailure("Assert Greater Than Zero - " + value);
-            if (getPrintToConsole()) {
-                System.out.println(getTimestamp() + "Assert Greater Than Zero - Assert " + value + " is greater than zero");
-            }
+            console(getTimestamp() + "Assert Greater Than Zero - Assert " + value + " is greater than zero");
             Assert.fail("Assert " + value + " is greater than zero");
         }
-        Reporter.log(getTimestamp() + " <font size = 2 color=\"green\"><b><u>Assert Greater Than Zero - Assert " + value + " is greater than zero</font></u></b><br />");
-        if (getPrintToConsole()) {
-            System.out.println(getTimestamp() + "Assert Greater Than Zero - Assert " + value + " is greater than zero");
-        }
+        report(getTimestamp() + " <font size = 2 color=\"green\"><b><u>Assert Greater Than Zero - Assert " + value + " is greater than zero</font></u></b><br />");
+        console(getTimestamp() + "Assert Greater Than Zero - Assert " + value + " is greater than zero");
     }
 
     public static void assertGreaterThanZero(float value) {
@@ -302,15 +486,11 @@ public class TestReporter {
             Assert.assertNull(condition, description);
         } catch (AssertionError failure) {
             logFailure("Assert Null - " + description);
-            if (getPrintToConsole()) {
-                System.out.println(getTimestamp() + "Assert Null - " + trimHtml(description));
-            }
+            console(getTimestamp() + "Assert Null - ", description);
             Assert.fail(description);
         }
-        Reporter.log(getTimestamp() + " <font size = 2 color=\"green\"><b><u>Assert Null - " + description + "</font></u></b><br />");
-        if (getPrintToConsole()) {
-            System.out.println(getTimestamp() + "Assert Null - " + trimHtml(description));
-        }
+        report(getTimestamp() + " <font size = 2 color=\"green\"><b><u>Assert Null - " + description + "</font></u></b><br />",
+                getTimestamp() + "Assert Null - ", description);
     }
 
     public static void assertNotNull(Object condition, String description) {
@@ -318,30 +498,22 @@ public class TestReporter {
             Assert.assertNotNull(condition, description);
         } catch (AssertionError failure) {
             logFailure("Assert Not Null - " + description);
-            if (getPrintToConsole()) {
-                System.out.println(getTimestamp() + "Assert Not Null - " + trimHtml(description));
-            }
+            console(getTimestamp() + "Assert Not Null - ", description);
             Assert.fail(description);
         }
-        Reporter.log(getTimestamp() + "<font size = 2 color=\"green\"><b><u>Assert Not Null - " + description + "</font></u></b><br />");
-        if (getPrintToConsole()) {
-            System.out.println(getTimestamp() + "Assert Not Null - " + trimHtml(description));
-        }
+        report(getTimestamp() + "<font size = 2 color=\"green\"><b><u>Assert Not Null - " + description + "</font></u></b><br />",
+                getTimestamp() + "Assert Not Null - ", description);
     }
 
     public static boolean softAssertTrue(boolean condition, String description) {
         try {
             Assert.assertTrue(condition, description);
-            Reporter.log(getTimestamp() + " <font size = 2 color=\"green\"><b><u>Assert True - " + description
-                    + "</font></u></b><br />");
-            if (getPrintToConsole()) {
-                System.out.println(getTimestamp() + "Assert True - " + trimHtml(description));
-            }
+            report(getTimestamp() + " <font size = 2 color=\"green\"><b><u>Assert True - " + description
+                    + "</font></u></b><br />",
+                    getTimestamp() + "Assert True - ", description);
         } catch (AssertionError failure) {
-            Reporter.log(getTimestamp() + "<font size = 2 color=\"red\"><b><u>Assert True - " + description + "</b></u></font><br />");
-            if (getPrintToConsole()) {
-                System.out.println(getTimestamp() + "Assert True - " + trimHtml(description));
-            }
+            report(getTimestamp() + "<font size = 2 color=\"red\"><b><u>Assert True - " + description + "</b></u></font><br />",
+                    getTimestamp() + "Assert True - ", description);
             assertFailed.set(true);
             return false;
         }
@@ -352,16 +524,12 @@ public class TestReporter {
 
         try {
             Assert.assertEquals(value1, value2, description);
-            Reporter.log(getTimestamp() + " <font size = 2 color=\"green\"><b><u>Assert Equals - " + description
-                    + "</font></u></b><br />");
-            if (getPrintToConsole()) {
-                System.out.println(getTimestamp() + "Assert Equals - " + trimHtml(description));
-            }
+            report(getTimestamp() + " <font size = 2 color=\"green\"><b><u>Assert Equals - " + description
+                    + "</font></u></b><br />",
+                    getTimestamp() + "Assert Equals - ", description);
         } catch (AssertionError failure) {
-            Reporter.log(getTimestamp() + "<font size = 2 color=\"red\"><b><u>Assert Equals - " + description + "</b></u></font><br />");
-            if (getPrintToConsole()) {
-                System.out.println(getTimestamp() + "Assert Equals - " + trimHtml(description));
-            }
+            report(getTimestamp() + "<font size = 2 color=\"red\"><b><u>Assert Equals - " + description + "</b></u></font><br />",
+                    getTimestamp() + "Assert Equals - ", description);
             assertFailed.set(true);
             return false;
         }
@@ -372,16 +540,12 @@ public class TestReporter {
     public static boolean softAssertFalse(boolean condition, String description) {
         try {
             Assert.assertFalse(condition, description);
-            Reporter.log(getTimestamp() + " <font size = 2 color=\"green\"><b><u>Assert False - " + description
-                    + "</font></u></b><br />");
-            if (getPrintToConsole()) {
-                System.out.println(getTimestamp() + "Assert False - " + trimHtml(description));
-            }
+            report(getTimestamp() + " <font size = 2 color=\"green\"><b><u>Assert False - " + description
+                    + "</font></u></b><br />",
+                    getTimestamp() + "Assert False - ", description);
         } catch (AssertionError failure) {
-            Reporter.log(getTimestamp() + "<font size = 2 color=\"red\"><b><u>Assert False - " + description + "</b></u></font><br />");
-            if (getPrintToConsole()) {
-                System.out.println(getTimestamp() + "Assert False - " + trimHtml(description));
-            }
+            report(getTimestamp() + "<font size = 2 color=\"red\"><b><u>Assert False - " + description + "</b></u></font><br />",
+                    getTimestamp() + "Assert False - ", description);
             assertFailed.set(true);
             return false;
         }
@@ -392,18 +556,14 @@ public class TestReporter {
         try {
             Assert.assertNull(condition, description);
         } catch (AssertionError failure) {
-            Reporter.log(getTimestamp() + "<font size = 2 color=\"red\"><b>Assert Null - " + description + "</font></u></b><br />");
-            if (getPrintToConsole()) {
-                System.out.println(getTimestamp() + "Assert Null - " + trimHtml(description));
-            }
+            report(getTimestamp() + "<font size = 2 color=\"red\"><b>Assert Null - " + description + "</font></u></b><br />",
+                    getTimestamp() + "Assert Null - ", description);
             assertFailed.set(true);
             return false;
         }
-        Reporter.log(getTimestamp() + " <font size = 2 color=\"green\"><b><u>Assert Null - " + description
-                + "</font></u></b><br />");
-        if (getPrintToConsole()) {
-            System.out.println(getTimestamp() + "Assert Null - " + trimHtml(description));
-        }
+        report(getTimestamp() + " <font size = 2 color=\"green\"><b><u>Assert Null - " + description
+                + "</font></u></b><br />",
+                getTimestamp() + "Assert Null - ", description);
 
         return true;
     }
@@ -412,18 +572,14 @@ public class TestReporter {
         try {
             Assert.assertNotNull(condition, description);
         } catch (AssertionError failure) {
-            Reporter.log(getTimestamp() + "<font size = 2 color=\"red\"><b>Assert Not Null - " + description + "</font></u></b><br />");
-            if (getPrintToConsole()) {
-                System.out.println(getTimestamp() + "Assert Not Null - " + trimHtml(description));
-            }
+            report(getTimestamp() + "<font size = 2 color=\"red\"><b>Assert Not Null - " + description + "</font></u></b><br />",
+                    getTimestamp() + "Assert Not Null - ", description);
             assertFailed.set(true);
             return false;
         }
-        Reporter.log(getTimestamp() + "<font size = 2 color=\"green\"><b><u>Assert Not Null - " + description
-                + "</font></u></b><br />");
-        if (getPrintToConsole()) {
-            System.out.println(getTimestamp() + "Assert Not Null - " + trimHtml(description));
-        }
+        report(getTimestamp() + "<font size = 2 color=\"green\"><b><u>Assert Not Null - " + description
+                + "</font></u></b><br />",
+                getTimestamp() + "Assert Not Null - ", description);
 
         return true;
     }
@@ -432,7 +588,7 @@ public class TestReporter {
         boolean failed = assertFailed.get() == null ? false : assertFailed.get();
         if (failed) {
             assertFailed.set(false);
-            Reporter.log(getTimestamp() + "<font size = 2 color=\"red\"><b>Soft assertions failed - see failures above</font></u></b><br />");
+            report(getTimestamp() + "<font size = 2 color=\"red\"><b>Soft assertions failed - see failures above</font></u></b><br />");
             Assert.fail("Soft assertions failed - see testNG report for details");
         }
     }
@@ -448,15 +604,34 @@ public class TestReporter {
     }
 
     public static void logScreenshot(WebDriver driver, String fileLocation, String slash) {
-        File file = new File("");
-
         try {
-            file = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
-            FileUtils.copyFile(file, new File(fileLocation));
+            byte[] png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+            FileUtils.writeByteArrayToFile(new File(fileLocation), png);
         } catch (IOException e) {
             throw new AutomationException("Failed to capture screenshot", e);
         }
 
+        reportScreenshot(fileLocation, slash);
+    }
+
+    /**
+     * Links a screenshot that was already taken in the report. The file is written on a background thread, see
+     * {@link ScreenshotWriter}, so the same bytes can also be attached to other reports without taking another
+     * screenshot
+     *
+     * @param png
+     *            Screenshot as taken by the driver
+     * @param fileLocation
+     *            File to write the screenshot to
+     * @param slash
+     *            Directory separator of the file location
+     */
+    public static void logScreenshot(byte[] png, String fileLocation, String slash) {
+        ScreenshotWriter.write(png, new File(fileLocation));
+        reportScreenshot(fileLocation, slash);
+    }
+
+    private static void reportScreenshot(String fileLocation, String slash) {
         String jenkinsPath = System.getProperty("jenkinsJobUrl");
         String jenkinsName = System.getProperty("jenkinsJobName");
         String jenkinsWorkspace = System.getProperty("jenkinsHome") + slash + "workspace" + slash;
@@ -469,10 +644,10 @@ public class TestReporter {
             String webFileLocation = fileLocation.replace(jenkinsWorkspace + jenkinsName, jenkinsPath + "ws/");
 
             TestReporter.logInfo("Web File Location : " + webFileLocation);
-            Reporter.log("<a  target='_blank' href='" + webFileLocation + "'><img src='" + webFileLocation + "' height='200' width='300'/></a>");
+            report("<a  target='_blank' href='" + webFileLocation + "'><img src='" + webFileLocation + "' height='200' width='300'/></a>");
         } else {
             TestReporter.logInfo("File Location : " + fileLocation);
-            Reporter.log("<a  target='_blank' href='" + fileLocation + "'> <img src='file:///" + fileLocation + "' height='200' width='300'/> </a>");
+            report("<a  target='_blank' href='" + fileLocation + "'> <img src='file:///" + fileLocation + "' height='200' width='300'/> </a>");
         }
     }
 
@@ -484,16 +659,12 @@ public class TestReporter {
         }
         String request = sp.getRequest().replaceAll("</*>", "</*>");
         String response = sp.getResponse();
-        Reporter.log("<font size = 2><b>Endpoint: " + sp.getServiceURL() + "</b></font><br/>" + failFormat + "<b><br/> SOAP REQUEST [ " + sp.getServiceName() + "#" + sp.getOperationName() + " ] </b></font>");
-        Reporter.setEscapeHtml(true);
-        Reporter.log(request);
-        Reporter.setEscapeHtml(false);
-        Reporter.log("<br/><br/>");
-        Reporter.log(failFormat + "<b> SOAP RESPONSE [ " + sp.getServiceName() + "#" + sp.getOperationName() + " ]. Execution time: [ " + sp.getExecutionTime() + " ]</b></font>");
-        Reporter.setEscapeHtml(true);
-        Reporter.log(response);
-        Reporter.setEscapeHtml(false);
-        Reporter.log("<br/>");
+        report("<font size = 2><b>Endpoint: " + sp.getServiceURL() + "</b></font><br/>" + failFormat + "<b><br/> SOAP REQUEST [ " + sp.getServiceName() + "#" + sp.getOperationName() + " ] </b></font>");
+        reportEscaped(request);
+        report("<br/><br/>");
+        report(failFormat + "<b> SOAP RESPONSE [ " + sp.getServiceName() + "#" + sp.getOperationName() + " ]. Execution time: [ " + sp.getExecutionTime() + " ]</b></font>");
+        reportEscaped(response);
+        report("<br/>");
 
         if (!pass) {
             throw new SoapException(message);
@@ -506,16 +677,12 @@ public class TestReporter {
             failFormat = "<font size = 2 color=\"red\">";
             logFailure(message);
         }
-        Reporter.log("<font size = 2><b>Endpoint: " + rs.getMethod() + " " + rs.getURL() + "</b><br/>" + failFormat + "<b>REST REQUEST </b></font>");
-        Reporter.setEscapeHtml(true);
-        Reporter.log(rs.getRequestBody().replaceAll("</*>", "</*>"));
-        Reporter.setEscapeHtml(false);
-        Reporter.log("<br/>");
-        Reporter.log(failFormat + "<br/><b>REST RESPONSE. Execution time: [ " + rs.getExecutionTime() + " ]</b></font>");
-        Reporter.setEscapeHtml(true);
-        Reporter.log(rs.getResponse());
-        Reporter.setEscapeHtml(false);
-        Reporter.log("<br/>");
+        report("<font size = 2><b>Endpoint: " + rs.getMethod() + " " + rs.getURL() + "</b><br/>" + failFormat + "<b>REST REQUEST </b></font>");
+        reportEscaped(rs.getRequestBody().replaceAll("</*>", "</*>"));
+        report("<br/>");
+        report(failFormat + "<br/><b>REST RESPONSE. Execution time: [ " + rs.getExecutionTime() + " ]</b></font>");
+        reportEscaped(rs.getResponse());
+        report("<br/>");
 
         if (!pass) {
             throw new RestException(message);
@@ -534,7 +701,7 @@ public class TestReporter {
         // Only capture logs for chrome browser
         if (driver != null) {
             if (driver.getDriverCapability().browserName().equalsIgnoreCase("chrome")) {
-                Reporter.log("<br/><b><font size = 4>Chrome Browser Console errors: </font></b><br/>");
+                report("<br/><b><font size = 4>Chrome Browser Console errors: </font></b><br/>");
                 LogEntries logs = driver.manage().logs().get("browser");
                 List<LogEntry> logList = logs.getAll();
                 String color = "red";
@@ -542,16 +709,16 @@ public class TestReporter {
                 boolean flag = false;
                 for (LogEntry entry : logList) {
                     if (entry.getLevel() == Level.SEVERE) {
-                        Reporter.log(" <font size = 2 color=\"" + color + "\"><b> Level :: " + entry.getLevel().getName()
+                        report(" <font size = 2 color=\"" + color + "\"><b> Level :: " + entry.getLevel().getName()
                                 + "</font></b><br />");
-                        Reporter.log(" <font size = 2 color=\"" + color + "\"><b> Message :: " + entry.getMessage()
+                        report(" <font size = 2 color=\"" + color + "\"><b> Message :: " + entry.getMessage()
                                 + "</font></b><br />");
                         flag = true;
                     }
                 }
 
                 if (!flag) {
-                    Reporter.log("NO ERRORS");
+                    report("NO ERRORS");
                 }
             }
         } else {
@@ -0,0 +1,67 @@
+package com.orasi.utils;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.TransformerFactory;
+
+/**
+ * Per thread DocumentBuilder and Transformer used by {@link XMLTools}. Looking up the factories goes through the
+ * service loader, and building a parser or transformer from them costs far more than the parse of a typical SOAP
+ * message, so each thread creates them once and reuses them.<br/>
+ * <br/>
+ * Neither DocumentBuilder nor Transformer is thread safe, so instances must not be handed to other threads. Both are
+ * reset before they are handed out, so settings changed by a previous caller do not leak into the next one.
+ */
+final class XMLParserPool {
+    private static final ThreadLocal<XMLParserPool> POOL = ThreadLocal.withInitial(XMLParserPool::new);
+
+    private DocumentBuilder builder;
+    private Transformer transformer;
+
+    private XMLParserPool() {
+    }
+
+    /**
+     * @return Builder of the current thread that is not namespace aware and ignores element content whitespace
+     * @throws ParserConfigurationException
+     *             if the builder could not be created
+     */
+    static DocumentBuilder getDocumentBuilder() throws ParserConfigurationException {
+        XMLParserPool pool = POOL.get();
+        if (pool.builder == null) {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setNamespaceAware(false);
+            factory.setIgnoringElementContentWhitespace(true);
+            pool.builder = factory.newDocumentBuilder();
+        } else {
+            pool.builder.reset();
+        }
+        return pool.builder;
+    }
+
+    /**
+     * @return Transformer of the current thread that writes indented UTF-8 xml with the xml declaration
+     * @throws TransformerConfigurationException
+     *             if the transformer could not be created
+     */
+    static Transformer getTransformer() throws TransformerConfigurationException {
+        XMLParserPool pool = POOL.get();
+        if (pool.transformer == null) {
+            pool.transformer = TransformerFactory.newInstance().newTransformer();
+        } else {
+            pool.transformer.reset();
+        }
+
+        // reset() drops the output properties, so they are applied every time
+        pool.transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "no");
+        pool.transformer.setOutputProperty(OutputKeys.METHOD, "xml");
+        pool.transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+        pool.transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
+        pool.transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "4");
+        return pool.transformer;
+    }
+}
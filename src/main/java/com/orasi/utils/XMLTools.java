@@ -6,25 +6,22 @@ import static com.orasi.utils.TestReporter.logTrace;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.StringWriter;
 
 import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.soap.SOAPException;
 import javax.xml.soap.SOAPMessage;
-import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
-import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpression;
 import javax.xml.xpath.XPathExpressionException;
-import javax.xml.xpath.XPathFactory;
 
 import org.apache.commons.io.output.ByteArrayOutputStream;
 import org.w3c.dom.Document;
@@ -56,14 +53,12 @@ public class XMLTools {
      */
     public static Document addAttribute(Document doc, String attributeName, String xpath) {
         logTrace("Entering XMLTools#addAttribute");
-        logDebug("Adding Attribute [ " + attributeName + " ] to XPath [ " + xpath + " ]");
-        XPathFactory xPathFactory = XPathFactory.newInstance();
-        XPath xPath = xPathFactory.newXPath();
+        logDebug(() -> "Adding Attribute [ " + attributeName + " ] to XPath [ " + xpath + " ]");
         XPathExpression expr;
         NodeList nList = null;
         try {
             logTrace("Checking validity of xpath");
-            expr = xPath.compile(xpath);
+            expr = XPathCache.compile(xpath);
             nList = (NodeList) expr.evaluate(doc, XPathConstants.NODESET);
         } catch (XPathExpressionException xpe) {
             throw new XPathInvalidExpression("Xpath evaluation failed with xpath [ " + xpath + " ] ", xpe);
@@ -80,7 +75,7 @@ public class XMLTools {
         element.setAttribute(attributeName, "");
 
         logTrace("At least one node found on Xpath. Adding Attribute to Node");
-        logTrace("Successfully added Attribute [ " + attributeName + " ]");
+        logTrace(() -> "Successfully added Attribute [ " + attributeName + " ]");
         logTrace("Exiting XMLTools#addAttribute");
         return doc;
     }
@@ -99,14 +94,12 @@ public class XMLTools {
      */
     public static Document removeAttribute(Document doc, String attributeName, String xpath) {
         logTrace("Entering XMLTools#removeAttribute");
-        logDebug("Removing Attribute [ " + attributeName + " ] to XPath [ " + xpath + " ]");
-        XPathFactory xPathFactory = XPathFactory.newInstance();
-        XPath xPath = xPathFactory.newXPath();
+        logDebug(() -> "Removing Attribute [ " + attributeName + " ] to XPath [ " + xpath + " ]");
         XPathExpression expr;
         NodeList nList = null;
         try {
             logTrace("Checking validity of xpath");
-            expr = xPath.compile(xpath);
+            expr = XPathCache.compile(xpath);
             nList = (NodeList) expr.evaluate(doc, XPathConstants.NODESET);
         } catch (XPathExpressionException xpe) {
             throw new XPathInvalidExpression("Xpath evaluation failed with xpath [ " + xpath + " ] ", xpe);
@@ -123,7 +116,7 @@ public class XMLTools {
         Element element = (Element) nList.item(0);
         element.removeAttribute(attributeName);
 
-        logTrace("Successfully removed Attribute [ " + attributeName + " ]");
+        logTrace(() -> "Successfully removed Attribute [ " + attributeName + " ]");
         logTrace("Exiting XMLTools#removeAttribute");
         return doc;
     }
@@ -142,9 +135,7 @@ public class XMLTools {
      */
     public static Document addNamespace(Document doc, String namespace, String xpath) {
         logTrace("Entering XMLTools#addNamespace");
-        logDebug("Adding Namespace [ " + namespace + " ] to XPath [ " + xpath + " ]");
-        XPathFactory xPathFactory = XPathFactory.newInstance();
-        XPath xPath = xPathFactory.newXPath();
+        logDebug(() -> "Adding Namespace [ " + namespace + " ] to XPath [ " + xpath + " ]");
         XPathExpression expr;
         NodeList nList = null;
         String[] values = namespace.split(",");
@@ -155,7 +146,7 @@ public class XMLTools {
         String namespaceURL = values[1];
         try {
             logTrace("Checking validity of xpath");
-            expr = xPath.compile(xpath);
+            expr = XPathCache.compile(xpath);
             nList = (NodeList) expr.evaluate(doc, XPathConstants.NODESET);
         } catch (XPathExpressionException xpe) {
             throw new XPathInvalidExpression("Xpath evaluation failed with xpath [ " + xpath + " ] ", xpe);
@@ -172,7 +163,7 @@ public class XMLTools {
         Element element = (Element) nList.item(0);
         element.setAttributeNS("http://www.w3.org/2000/xmlns/", namespaceName, namespaceURL);
 
-        logTrace("Successfully added namespace [ " + namespace + " ]");
+        logTrace(() -> "Successfully added namespace [ " + namespace + " ]");
         logTrace("Exiting XMLTools#addNamespace");
         return doc;
     }
@@ -191,15 +182,13 @@ public class XMLTools {
      */
     public static Document addNode(Document doc, String nodeName, String xpath) {
         logTrace("Entering XMLTools#addNode");
-        logDebug("Adding Node [ " + nodeName + " ] on XPath [ " + xpath + " ]");
-        XPathFactory xPathFactory = XPathFactory.newInstance();
-        XPath xPath = xPathFactory.newXPath();
+        logDebug(() -> "Adding Node [ " + nodeName + " ] on XPath [ " + xpath + " ]");
         XPathExpression expr;
         NodeList nList = null;
 
         try {
             logTrace("Checking validity of xpath");
-            expr = xPath.compile(xpath);
+            expr = XPathCache.compile(xpath);
             nList = (NodeList) expr.evaluate(doc, XPathConstants.NODESET);
         } catch (XPathExpressionException xpe) {
             throw new XPathInvalidExpression("Xpath evaluation failed with xpath [ " + xpath + " ] ", xpe);
@@ -221,7 +210,7 @@ public class XMLTools {
         // Add the new node structure to the previous parent node
         nList.item(0).appendChild(node);
 
-        logTrace("Successfully added node [ " + nodeName + " ]");
+        logTrace(() -> "Successfully added node [ " + nodeName + " ]");
         logTrace("Exiting XMLTools#addNode");
         return doc;
     }
@@ -239,15 +228,13 @@ public class XMLTools {
      */
     public static Document removeNode(Document doc, String xpath) {
         logTrace("Entering XMLTools#removeNode");
-        XPathFactory xPathFactory = XPathFactory.newInstance();
-        XPath xPath = xPathFactory.newXPath();
         XPathExpression expr;
         NodeList nList = null;
 
-        logDebug("Remove node from xpath [ " + xpath + " ]");
+        logDebug(() -> "Remove node from xpath [ " + xpath + " ]");
         try {
             logTrace("Checking validity of xpath");
-            expr = xPath.compile(xpath);
+            expr = XPathCache.compile(xpath);
             nList = (NodeList) expr.evaluate(doc, XPathConstants.NODESET);
         } catch (XPathExpressionException e1) {
             throw new XPathInvalidExpression("Xpath evaluation failed with xpath [ " + xpath + " ] ");
@@ -279,16 +266,14 @@ public class XMLTools {
      */
     public static String getValueByXpath(Document doc, String xpath) {
         logTrace("Entering XMLTools#getValueByXpath");
-        logDebug("Get value from XPath [ " + xpath + " ]");
-        XPathFactory xPathFactory = XPathFactory.newInstance();
-        XPath xPath = xPathFactory.newXPath();
+        logDebug(() -> "Get value from XPath [ " + xpath + " ]");
         XPathExpression expr;
         NodeList nList = null;
 
         // Evaluate the xpath
         try {
             logTrace("Checking validity of xpath");
-            expr = xPath.compile(xpath);
+            expr = XPathCache.compile(xpath);
             nList = (NodeList) expr.evaluate(doc, XPathConstants.NODESET);
         } catch (XPathExpressionException xpe) {
             throw new XPathInvalidExpression("Xpath evaluation failed with xpath [ " + xpath + " ] ", xpe);
@@ -307,7 +292,8 @@ public class XMLTools {
     }
 
     /**
-     * Generate an XML Document from SOAPMessage
+     * Generate an XML Document from SOAPMessage. The message is written once into a growing buffer and parsed
+     * straight from that buffer, without copying it into an array or a String first
      *
      * @author Justin Phlegar
      * @version Created: 08/28/2014
@@ -317,21 +303,15 @@ public class XMLTools {
      */
     public static Document makeXMLDocument(SOAPMessage soapXML) {
         logTrace("Entering XMLTools#makeXMLDocument");
-        logTrace("Creating Document factory");
         Document doc = null;
 
-        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream();) {
+        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
             logTrace("Attempting to transform SoapMessage to XML");
             soapXML.writeTo(outputStream);
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            factory.setNamespaceAware(false);
-            factory.setIgnoringElementContentWhitespace(true);
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            try (ByteArrayInputStream inputStream = new ByteArrayInputStream(outputStream.toByteArray())) {
-                InputSource source = new InputSource(new ByteArrayInputStream(outputStream.toByteArray()));
+            try (InputStream inputStream = outputStream.toInputStream()) {
+                InputSource source = new InputSource(inputStream);
                 source.setEncoding("ISO-8859-1");
-                doc = builder.parse(source);
-                source = null;
+                doc = XMLParserPool.getDocumentBuilder().parse(source);
             }
         } catch (ParserConfigurationException pce) {
             throw new AutomationException("Failed to create a Document Builder Factory", pce);
@@ -358,19 +338,12 @@ public class XMLTools {
      */
     public static Document makeXMLDocument(String xml) {
         logTrace("Entering XMLTools#makeXMLDocument");
-        logTrace("Creating Document factory");
-        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-        factory.setNamespaceAware(false);
-        factory.setIgnoringElementContentWhitespace(true);
-        DocumentBuilder builder;
         Document doc = null;
-        try (ByteArrayInputStream inputStream = new ByteArrayInputStream(xml.toString().getBytes());) {
+        try (ByteArrayInputStream inputStream = new ByteArrayInputStream(xml.getBytes())) {
             logTrace("Attempting to transform String to XML");
-            builder = factory.newDocumentBuilder();
             InputSource source = new InputSource(inputStream);
             source.setEncoding("ISO-8859-1");
-            doc = builder.parse(source);
-            source = null;
+            doc = XMLParserPool.getDocumentBuilder().parse(source);
         } catch (ParserConfigurationException pce) {
             throw new AutomationException("Failed to create a Document Builder Factory", pce);
         } catch (SAXException saxe) {
@@ -386,6 +359,38 @@ public class XMLTools {
 
     }
 
+    /**
+     * Generate an XML Document from a stream of bytes, ie a file or http response, without reading it into a String
+     * first. The encoding is taken from the xml declaration, or UTF-8 if there is none. The stream is not closed
+     *
+     * @param xml
+     *            Stream of XML to transform to XML Document
+     * @return Document xml of stream
+     */
+    public static Document makeXMLDocument(InputStream xml) {
+        logTrace("Entering XMLTools#makeXMLDocument");
+        if (xml == null) {
+            throw new AutomationException("Input stream of XML cannot be null");
+        }
+
+        Document doc = null;
+        try {
+            logTrace("Attempting to transform stream to XML");
+            doc = XMLParserPool.getDocumentBuilder().parse(xml);
+        } catch (ParserConfigurationException pce) {
+            throw new AutomationException("Failed to create a Document Builder Factory", pce);
+        } catch (SAXException saxe) {
+            throw new AutomationException("Failed to parse the xml", saxe);
+        } catch (IOException ioe) {
+            throw new AutomationException("Failed to read the source XML", ioe);
+        }
+
+        logTrace("Successfully transformed stream to XML. Normalize document");
+        doc.getDocumentElement().normalize();
+        logTrace("Exiting XMLTools#makeXMLDocument");
+        return doc;
+    }
+
     /**
      * Generate an XML Document from String
      *
@@ -397,14 +402,10 @@ public class XMLTools {
      */
     public static Document makeXMLDocument(File file) {
         logTrace("Entering XMLTools#makeXMLDocument");
-        logTrace("Creating Document factory");
-        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-        factory.setNamespaceAware(false);
-        factory.setIgnoringElementContentWhitespace(true);
         Document doc = null;
         try {
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            logTrace("Attempting to from file and save as to XML. File [ " + file.getPath() + " ]");
+            DocumentBuilder builder = XMLParserPool.getDocumentBuilder();
+            logTrace(() -> "Attempting to from file and save as to XML. File [ " + file.getPath() + " ]");
             doc = builder.parse(file);
         } catch (SAXException saxe) {
             throw new AutomationException("Failed to parse the xml", saxe);
@@ -433,22 +434,14 @@ public class XMLTools {
     public static String transformXmlToString(Document doc) {
         logTrace("Entering XMLTools#transformXmlToString");
 
-        TransformerFactory tf = TransformerFactory.newInstance();
         Transformer transformer = null;
         logTrace("Starting XML to String transformer");
         try {
-            transformer = tf.newTransformer();
+            transformer = XMLParserPool.getTransformer();
         } catch (TransformerConfigurationException e) {
             throw new SoapException("Failed to create XML Transformer", e);
         }
 
-        logTrace("Adding XML transformer properties");
-        transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "no");
-        transformer.setOutputProperty(OutputKeys.METHOD, "xml");
-        transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-        transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
-        transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "4");
-
         String xml;
         try (StringWriter sw = new StringWriter()) {
 
@@ -466,6 +459,29 @@ public class XMLTools {
         return xml;
     }
 
+    /**
+     * Write a XML Document as UTF-8 bytes to a stream, without building a String first. Output is formatted the same
+     * as {@link #transformXmlToString(Document)}. The stream is not closed
+     *
+     * @param doc
+     *            XML Document to write
+     * @param out
+     *            Stream to write the xml to
+     */
+    public static void transformXmlToStream(Document doc, OutputStream out) {
+        logTrace("Entering XMLTools#transformXmlToStream");
+        try {
+            XMLParserPool.getTransformer().transform(new DOMSource(doc), new StreamResult(out));
+        } catch (TransformerConfigurationException e) {
+            throw new SoapException("Failed to create XML Transformer", e);
+        } catch (TransformerException e) {
+            logTrace("Failed to transform XML to stream");
+            throw new SoapException(
+                    "Failed to transform Request XML Document. Ensure XML Document has been successfully loaded.", e);
+        }
+        logTrace("Exiting XMLTools#transformXmlToStream");
+    }
+
     /**
      * A recursive method that will iterate through all nodes and delete Comment nodes
      *
@@ -500,11 +516,10 @@ public class XMLTools {
      */
     public static Document removeWhiteSpace(Document doc) {
         logTrace("Entering XMLTools#removeWhiteSpace");
-        XPath xp = XPathFactory.newInstance().newXPath();
         NodeList nl = null;
         try {
             logTrace("Get Node list of all whitespace nodes");
-            nl = (NodeList) xp.evaluate("//text()[normalize-space(.)='']", doc,
+            nl = (NodeList) XPathCache.compile("//text()[normalize-space(.)='']").evaluate(doc,
                     XPathConstants.NODESET);
         } catch (XPathExpressionException e) {
             throw new XPathNotFoundException("Xpath evaluation failed to normalize white space");
@@ -534,13 +549,11 @@ public class XMLTools {
      */
     public static NodeList getNodeList(Document doc, String xpath) {
         logTrace("Entering XMLTools#getNodeList");
-        XPathFactory xPathFactory = XPathFactory.newInstance();
-        XPath xPath = xPathFactory.newXPath();
         XPathExpression expr;
         NodeList nList = null;
         try {
             logTrace("Checking validity of xpath");
-            expr = xPath.compile(xpath);
+            expr = XPathCache.compile(xpath);
             nList = (NodeList) expr.evaluate(doc, XPathConstants.NODESET);
         } catch (XPathExpressionException xpe) {
             throw new XPathInvalidExpression("Xpath evaluation failed with xpath [ " + xpath + " ] ");
@@ -571,13 +584,11 @@ public class XMLTools {
      */
     public static NodeList getNodeList(Node nodeList, String xpath) {
         logTrace("Entering XMLTools#getNodeList");
-        XPathFactory xPathFactory = XPathFactory.newInstance();
-        XPath xPath = xPathFactory.newXPath();
         XPathExpression expr;
         NodeList nList = null;
         try {
             logTrace("Checking validity of xpath");
-            expr = xPath.compile(xpath);
+            expr = XPathCache.compile(xpath);
             nList = (NodeList) expr.evaluate(nodeList, XPathConstants.NODESET);
         } catch (XPathExpressionException xpe) {
             throw new XPathInvalidExpression("Xpath evaluation failed with xpath [ " + xpath + " ] ", xpe);
@@ -607,13 +618,11 @@ public class XMLTools {
      */
     public static Node getNode(Node nodeList, String xpath) {
         logTrace("Entering XMLTools#getNode");
-        XPathFactory xPathFactory = XPathFactory.newInstance();
-        XPath xPath = xPathFactory.newXPath();
         XPathExpression expr;
         NodeList nList = null;
         try {
             logTrace("Checking validity of xpath");
-            expr = xPath.compile(xpath);
+            expr = XPathCache.compile(xpath);
             nList = (NodeList) expr.evaluate(nodeList, XPathConstants.NODESET);
         } catch (XPathExpressionException xpe) {
             throw new XPathInvalidExpression("Xpath evaluation failed with xpath [ " + xpath + " ] ", xpe);
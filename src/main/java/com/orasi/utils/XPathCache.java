@@ -0,0 +1,65 @@
+package com.orasi.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+
+/**
+ * Cache of compiled XPath expressions. Looking up the XPathFactory goes through the service loader and compiling the
+ * same xpath for every call adds up when a scenario sets dozens of nodes per request.<br/>
+ * <br/>
+ * Neither XPath nor XPathExpression is thread safe, so every thread gets its own XPath and its own least recently used
+ * cache of up to {@link #MAX_EXPRESSIONS} expressions, keyed by the xpath string.
+ */
+public class XPathCache {
+    /**
+     * Maximum number of compiled expressions kept per thread
+     */
+    public static final int MAX_EXPRESSIONS = 256;
+
+    private static final ThreadLocal<XPathCache> CACHE = ThreadLocal.withInitial(XPathCache::new);
+
+    private final XPath xPath = XPathFactory.newInstance().newXPath();
+    private final Map<String, XPathExpression> expressions = new LinkedHashMap<String, XPathExpression>(64, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, XPathExpression> eldest) {
+            return size() > MAX_EXPRESSIONS;
+        }
+    };
+
+    private XPathCache() {
+    }
+
+    /**
+     * Returns the compiled expression for the xpath, compiling it on first use in the current thread. The returned
+     * expression must not be handed to other threads
+     *
+     * @param xpath
+     *            xpath to compile
+     * @return Compiled expression
+     * @throws XPathExpressionException
+     *             if the xpath is invalid. Invalid xpaths are not cached
+     */
+    public static XPathExpression compile(String xpath) throws XPathExpressionException {
+        XPathCache cache = CACHE.get();
+        XPathExpression expression = cache.expressions.get(xpath);
+        if (expression == null) {
+            expression = cache.xPath.compile(xpath);
+            cache.expressions.put(xpath, expression);
+        }
+        return expression;
+    }
+
+    /**
+     * Removes all compiled expressions of the current thread
+     */
+    public static void clear() {
+        CACHE.get().expressions.clear();
+    }
+}
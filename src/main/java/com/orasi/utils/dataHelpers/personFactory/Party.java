@@ -10,13 +10,13 @@ public class Party {
 
     public Party(int numberOfPeople) {
         logTrace("Entering Party#init with number of People");
-        logTrace("Creating party with [" + numberOfPeople + "] party");
+        logTrace(() -> "Creating party with [" + numberOfPeople + "] party");
 
         for (int x = 0; x < numberOfPeople; x++) {
-            logTrace("Generating Person [" + (x + 1) + "]");
+            logTrace("Generating Person [{}]", x + 1);
             addPerson(new Person());
 
-            logTrace("Setting Person [" + (x + 1) + "] Address, Phone and Email to primary Person");
+            logTrace("Setting Person [{}] Address, Phone and Email to primary Person", x + 1);
             party.get(x).getAllAddresses().get(0).setPrimary(true);
             party.get(x).getAllAddresses().get(0).setStreetName(party.get(0).primaryAddress().getStreetName());
             party.get(x).getAllAddresses().get(0).setStreetNumber(party.get(0).primaryAddress().getStreetNumber());
@@ -27,7 +27,7 @@ public class Party {
             party.get(x).getAllAddresses().get(0).setOptIn(true);
             party.get(x).getAllPhones().get(0).setPrimary(true);
             party.get(x).getAllEmails().get(0).setPrimary(true);
-            logTrace("\n" + party.get(x).toString().replace("<br/>", "\n"));
+            logTrace("\n{}", party.get(x).toString().replace("<br/>", "\n"));
         }
 
         logTrace("Set first Person as Primary Person");
@@ -2,18 +2,22 @@ package com.orasi.utils.dataProviders;
 
 import static com.orasi.utils.TestReporter.logTrace;
 
-import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.Reader;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 import com.orasi.AutomationException;
 import com.orasi.utils.exception.DataProviderInputFileNotFound;
+import com.orasi.utils.io.DataFileCache;
 import com.orasi.utils.io.FileLoader;
 
 public class CSVDataProvider {
-    private static String delimiter = ",";
+    private static final String DEFAULT_DELIMITER = ",";
 
     /**
      * This gets the test data from a csv file. It returns all the data
@@ -26,14 +30,94 @@ public class CSVDataProvider {
      * @return 2d array of test data
      */
     public static Object[][] getData(String filePath) {
+        return getData(filePath, DEFAULT_DELIMITER);
+    }
+
+    /**
+     * Same as {@link #getData(String)} for files separated by another character, ie "|" or a tab. The parsed file is
+     * kept in the {@link DataFileCache} until it changes
+     *
+     * @param filePath
+     *            the file path of the CSV file
+     * @param delimiterValue
+     *            Character between fields. A regex escaped character, ie "\\|", is also accepted
+     * @return 2d array of test data
+     */
+    public static Object[][] getData(String filePath, String delimiterValue) {
         logTrace("Entering CSVDataProvider#getData");
-        String line = "";
-        String[][] dataArray = null;
-        List<String> csvRowList = new ArrayList<String>();
-        String[] rowSplit;
-        int columnCount = 0;
-        int rowCount = 0;
+        char delimiter = toDelimiter(delimiterValue);
+        String path = resolve(filePath);
+        Object[][] data = DataFileCache.getInstance().get(path, "delimiter [ " + delimiter + " ]", () -> read(path, delimiter));
+        logTrace("Exiting CSVDataProvider#getData");
+        return data;
+    }
+
+    private static Object[][] read(String filePath, char delimiter) {
+        List<String[]> rows = new ArrayList<>();
+        try (RowIterator iterator = new RowIterator(open(filePath, delimiter, false))) {
+            logTrace("Read in file and load each row into a List");
+            while (iterator.hasNext()) {
+                rows.add(iterator.nextRow());
+            }
+        }
+        logTrace(() -> "Successfully read in [ " + rows.size() + " ] rows from file");
+        return rows.toArray(new String[rows.size()][]);
+    }
+
+    /**
+     * Reads the test data from a csv file one row at a time as TestNG asks for it, so large files are never fully
+     * loaded. Rows are the same as the ones {@link #getData(String)} returns, starting with the column headings.<br/>
+     * <br/>
+     * The file is closed after the last row was read.
+     *
+     * <pre>
+     * {@literal @}DataProvider(name = "customers")
+     * public Iterator&lt;Object[]&gt; customers() {
+     *     return CSVDataProvider.getDataIterator("/excelsheets/Customers.csv");
+     * }
+     * </pre>
+     *
+     * @param filePath
+     *            the file path of the CSV file
+     * @return Iterator of rows of test data
+     */
+    public static Iterator<Object[]> getDataIterator(String filePath) {
+        return getDataIterator(filePath, DEFAULT_DELIMITER, false);
+    }
+
+    /**
+     * Same as {@link #getDataIterator(String)} for files separated by another character
+     *
+     * @param filePath
+     *            the file path of the CSV file
+     * @param delimiterValue
+     *            Character between fields
+     * @return Iterator of rows of test data
+     */
+    public static Iterator<Object[]> getDataIterator(String filePath, String delimiterValue) {
+        return getDataIterator(filePath, delimiterValue, false);
+    }
+
+    /**
+     * Same as {@link #getDataIterator(String, String)}, optionally memory mapping the file. Mapping lets the operating
+     * system page in very large files as they are read instead of copying them through a buffered stream
+     *
+     * @param filePath
+     *            the file path of the CSV file
+     * @param delimiterValue
+     *            Character between fields
+     * @param memoryMapped
+     *            True to memory map the file. Files inside a jar are read normally
+     * @return Iterator of rows of test data
+     */
+    public static Iterator<Object[]> getDataIterator(String filePath, String delimiterValue, boolean memoryMapped) {
+        logTrace("Entering CSVDataProvider#getDataIterator");
+        RowIterator iterator = new RowIterator(open(resolve(filePath), toDelimiter(delimiterValue), memoryMapped));
+        logTrace("Exiting CSVDataProvider#getDataIterator");
+        return iterator;
+    }
 
+    private static String resolve(String filePath) {
         // Get the file location from the project main/resources folder
         if (!(filePath.contains(":") || filePath.startsWith("/"))) {
             URL file = CSVDataProvider.class.getResource(filePath);
@@ -45,57 +129,79 @@ public class CSVDataProvider {
 
         // in case file path has a %20 for a whitespace, replace with actual
         // whitespace
-        filePath = filePath.replace("%20", " ");
-
-        logTrace("File path of CSV to open [ " + filePath + " ]");
-        // open the CSV and add each line into a list
-        try (BufferedReader bufferedReader = FileLoader.openTextFileFromProject(filePath)) {
-            logTrace("Successfully loaded FileReader object into BufferedReader");
+        return filePath.replace("%20", " ");
+    }
 
-            logTrace("Read in file and load each line into a List");
-            while ((line = bufferedReader.readLine()) != null) {
-                csvRowList.add(line);
-            }
-            logTrace("Successfully read in [ " + csvRowList.size() + " ] lines from file");
+    private static CSVReader open(String filePath, char delimiter, boolean memoryMapped) {
+        logTrace("File path of CSV to open [ {} ]", filePath);
+        try {
+            Reader reader = memoryMapped
+                    ? FileLoader.openMappedTextFileFromProject(filePath)
+                    : FileLoader.openTextFileFromProject(filePath);
+            logTrace("Successfully opened file");
+            return new CSVReader(reader, delimiter);
         } catch (IOException e) {
             throw new AutomationException("Failed to read in CSV file", e);
         }
+    }
 
-        logTrace("Determining column count based on delimiter [ " + delimiter + " ]");
-        columnCount = csvRowList.get(0).split(delimiter).length;
-        logTrace("Found [ " + (columnCount + 1) + " ] columns");
+    private static char toDelimiter(String delimiterValue) {
+        logTrace(() -> "Using delimiter [ " + delimiterValue + " ]");
+        if (delimiterValue != null && delimiterValue.length() == 2 && delimiterValue.charAt(0) == '\\') {
+            // Delimiters used to be split on as a regex, so escaped characters are still accepted
+            return delimiterValue.charAt(1) == 't' ? '\t' : delimiterValue.charAt(1);
+        }
+        if (delimiterValue == null || delimiterValue.length() != 1) {
+            throw new AutomationException("CSV delimiter must be a single character. Delimiter entered was [ " + delimiterValue + " ]");
+        }
+        return delimiterValue.charAt(0);
+    }
 
-        logTrace("Determining row count");
-        rowCount = csvRowList.size();
-        logTrace("Found [ " + (rowCount + 1) + " ] rows");
+    /**
+     * Shapes the records into rows as wide as the column headings. Missing values are blank and values past the last
+     * heading are dropped
+     */
+    private static class RowIterator implements Iterator<Object[]>, AutoCloseable {
+        private final CSVReader reader;
+        private int columnCount = -1;
 
-        logTrace("Attempting to create an array based on rows and columns. Array to built [" + (rowCount + 1) + "][" + (columnCount) + "]");
-        dataArray = new String[rowCount][columnCount];
+        private RowIterator(CSVReader reader) {
+            this.reader = reader;
+        }
 
-        // transform the list into 2d array
-        // start at row 1 since, first row 0 is column headings
-        logTrace("Transferring data to Array");
-        for (int rowNum = 0; rowNum <= rowCount - 1; rowNum++) {
+        @Override
+        public boolean hasNext() {
+            return reader.hasNext();
+        }
 
-            // take the row which is a string, and split it
-            rowSplit = csvRowList.get(rowNum).split(delimiter);
+        @Override
+        public Object[] next() {
+            return nextRow();
+        }
 
-            for (int colNum = 0; colNum < columnCount; colNum++) {
-                try {
-                    dataArray[rowNum][colNum] = rowSplit[colNum];
-                } catch (ArrayIndexOutOfBoundsException e) {
-                    dataArray[rowNum][colNum] = "";
-                }
+        private String[] nextRow() {
+            if (!reader.hasNext()) {
+                throw new NoSuchElementException("No more rows in the CSV file");
+            }
+            String[] record = reader.next();
+            if (columnCount == -1) {
+                columnCount = record.length;
+                logTrace("Found [ {} ] columns", columnCount);
+            }
+            if (record.length == columnCount) {
+                return record;
             }
-        }
 
-        logTrace("Exiting CSVDataProvider#getData");
-        return dataArray;
-    }
+            String[] row = Arrays.copyOf(record, columnCount);
+            for (int column = record.length; column < columnCount; column++) {
+                row[column] = "";
+            }
+            return row;
+        }
 
-    public static Object[][] getData(String filePath, String delimiterValue) {
-        logTrace("Overriding default delimiter of [ , ] to be [ " + delimiter + " ]");
-        delimiter = delimiterValue;
-        return getData(filePath);
+        @Override
+        public void close() {
+            reader.close();
+        }
     }
 }
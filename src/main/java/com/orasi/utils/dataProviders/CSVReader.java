@@ -0,0 +1,186 @@
+package com.orasi.utils.dataProviders;
+
+import static com.orasi.utils.TestReporter.logDebug;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import com.orasi.AutomationException;
+
+/**
+ * Reads CSV records one at a time following RFC 4180. Fields may be wrapped in double quotes to hold the delimiter,
+ * line breaks or quotes, which are escaped by doubling them (""). Records end with LF, CRLF or CR, and a byte order
+ * mark at the start of the file is skipped.<br/>
+ * <br/>
+ * Each character is looked at once, straight from a buffer filled from the Reader, so only the current record is held
+ * in memory. The Reader is closed once the last record was read. If the records are not read to the end the CSVReader
+ * must be closed, ie in a try-with-resources block
+ */
+public class CSVReader implements Iterator<String[]>, Closeable {
+    private static final char QUOTE = '"';
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Reader reader;
+    private final char delimiter;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder field = new StringBuilder();
+    private final List<String> fields = new ArrayList<>();
+    private int position = 0;
+    private int limit = 0;
+    private int line = 1;
+    private String[] next;
+    private boolean fetched = false;
+    private boolean closed = false;
+
+    /**
+     * @param reader
+     *            Text to read. Does not need to be buffered
+     * @param delimiter
+     *            Character between fields
+     */
+    public CSVReader(Reader reader, char delimiter) {
+        if (delimiter == QUOTE || delimiter == '\r' || delimiter == '\n') {
+            throw new IllegalArgumentException("CSV delimiter can not be a quote or line break");
+        }
+        this.reader = reader;
+        this.delimiter = delimiter;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!fetched) {
+            next = closed ? null : readRecord();
+            fetched = true;
+            if (next == null) {
+                close();
+            }
+        }
+        return next != null;
+    }
+
+    /**
+     * @return Fields of the next record. Records may have a different number of fields
+     */
+    @Override
+    public String[] next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more records in the CSV file");
+        }
+        fetched = false;
+        return next;
+    }
+
+    private String[] readRecord() {
+        try {
+            if (line == 1 && peek() == BYTE_ORDER_MARK) {
+                position++;
+            }
+
+            int c = read();
+            if (c == -1) {
+                return null;
+            }
+
+            fields.clear();
+            field.setLength(0);
+            boolean quoted = false;
+            int startLine = line;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        throw new AutomationException("CSV field starting on line [ " + startLine + " ] is missing its closing quote");
+                    } else if (c == QUOTE) {
+                        if (peek() == QUOTE) {
+                            position++;
+                            field.append(QUOTE);
+                        } else {
+                            quoted = false;
+                        }
+                    } else {
+                        if (c == '\n') {
+                            line++;
+                        }
+                        field.append((char) c);
+                    }
+                } else if (c == delimiter) {
+                    endField();
+                } else if (c == '\n' || c == '\r' || c == -1) {
+                    if (c == '\r' && peek() == '\n') {
+                        position++;
+                    }
+                    if (c != -1) {
+                        line++;
+                    }
+                    endField();
+                    return fields.toArray(new String[fields.size()]);
+                } else if (c == QUOTE && field.length() == 0) {
+                    quoted = true;
+                    startLine = line;
+                } else {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+        } catch (IOException e) {
+            close();
+            throw new AutomationException("Failed to read in CSV file", e);
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    private void endField() {
+        fields.add(field.toString());
+        field.setLength(0);
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++];
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        int read;
+        do {
+            read = reader.read(buffer, 0, BUFFER_SIZE);
+        } while (read == 0);
+        if (read == -1) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+
+    /**
+     * Closes the Reader. Safe to call more than once
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            reader.close();
+        } catch (IOException e) {
+            logDebug("Failed to close CSV file: " + e.getMessage());
+        }
+    }
+}
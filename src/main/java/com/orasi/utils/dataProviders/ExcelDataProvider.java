@@ -1,6 +1,7 @@
 package com.orasi.utils.dataProviders;
 
 import java.net.URL;
+import java.util.Iterator;
 
 import com.orasi.utils.exception.DataProviderInputFileNotFound;
 import com.orasi.utils.io.ExcelDocumentReader;
@@ -9,6 +10,7 @@ public class ExcelDataProvider {
     private String filePath;
     private String sheetName;
     private int row;
+    private boolean streaming = false;
 
     public ExcelDataProvider(String filePath, String sheetName) {
         this(filePath, sheetName, -1);
@@ -25,7 +27,31 @@ public class ExcelDataProvider {
         this.row = rowToRead;
     }
 
+    /**
+     * When true, .xlsx files are streamed row by row instead of loading the whole workbook. See
+     * {@link ExcelDocumentReader#setStreaming(boolean)}
+     */
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+
     public Object[][] getTestData() {
-        return new ExcelDocumentReader(this.filePath).readData(this.sheetName, this.row);
+        ExcelDocumentReader reader = new ExcelDocumentReader(this.filePath);
+        reader.setStreaming(streaming);
+        return reader.readData(this.sheetName, this.row);
+    }
+
+    /**
+     * Same rows as {@link #getTestData()}, read one at a time as TestNG asks for them. .xlsx files are streamed, so
+     * large sheets are never fully loaded. When a row to read was given only that row is returned
+     *
+     * @return Iterator of rows of test data
+     */
+    public Iterator<Object[]> getTestDataIterator() {
+        ExcelDocumentReader reader = new ExcelDocumentReader(this.filePath);
+        if (this.row == -1) {
+            return reader.readRows(this.sheetName, 1, -1);
+        }
+        return reader.readRows(this.sheetName, this.row, this.row);
     }
 }
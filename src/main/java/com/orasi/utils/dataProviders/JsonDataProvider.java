@@ -2,16 +2,25 @@ package com.orasi.utils.dataProviders;
 
 import static com.orasi.utils.TestReporter.logTrace;
 
+import java.io.BufferedReader;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
 
-import org.json.JSONArray;
-import org.json.JSONException;
-import org.json.JSONObject;
+import org.apache.commons.io.IOUtils;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.orasi.api.restServices.exceptions.RestException;
+import com.orasi.utils.JsonMapper;
 import com.orasi.utils.exception.DataProviderInputFileException;
 import com.orasi.utils.exception.DataProviderInputFileNotFound;
+import com.orasi.utils.io.DataFileCache;
 import com.orasi.utils.io.FileLoader;
 
 public class JsonDataProvider {
@@ -75,98 +84,271 @@ public class JsonDataProvider {
      * <br/>
      * &nbsp;&nbsp; }
      *
+     * <br/>
+     * <br/>
+     * The parsed file is kept in the {@link DataFileCache} until it changes
+     *
      * @param filePath
      *            filepath starting from src/main/resources
      * @return Object[][] for the dataprovider
      */
     public static Object[][] getData(String filePath) {
         logTrace("Entering JsonDataProvider#getData");
+        Object[][] dataArray = DataFileCache.getInstance().get(filePath, "testData", () -> read(filePath));
+        logTrace("Exitting JsonDataProvider#getData");
+        return dataArray;
+    }
 
-        logTrace("Attempt to load json file");
-        String json = null;
-        JSONArray testData = null;
+    /**
+     * Same rows as {@link #getData(String)}, parsed one iteration at a time as TestNG asks for them, so large files
+     * are never fully loaded. The file is closed once the last iteration was read.
+     *
+     * @param filePath
+     *            filepath starting from src/main/resources
+     * @return Iterator of iterations for the dataprovider
+     */
+    public static Iterator<Object[]> getDataIterator(String filePath) {
+        logTrace("Entering JsonDataProvider#getDataIterator");
+        IterationIterator iterator = new IterationIterator(filePath);
+        logTrace("Exitting JsonDataProvider#getDataIterator");
+        return iterator;
+    }
 
-        try {
-            json = FileLoader.loadFileFromProjectAsString(filePath);
-        } catch (FileNotFoundException fnfe) {
-            throw new DataProviderInputFileNotFound("Failed to locate json file in path [ " + filePath + " ]");
-        } catch (IOException ioe) {
-            throw new RestException("Failed to read json file", ioe);
+    private static Object[][] read(String filePath) {
+        List<String[]> rows = new ArrayList<>();
+        try (IterationIterator iterator = new IterationIterator(filePath)) {
+            logTrace("Transferring data to Array");
+            while (iterator.hasNext()) {
+                rows.add(iterator.nextRow());
+            }
         }
+        logTrace(() -> "Rows will be [ " + rows.size() + " ]");
+        return rows.toArray(new String[rows.size()][]);
+    }
 
-        logTrace("Json file loaded, attempt to parse");
-        try {
-            testData = new JSONObject(json).getJSONArray("testData");
-        } catch (JSONException e) {
-            throw new DataProviderInputFileException("First JSON object was not [ testData ]");
-        }
+    /**
+     * Returns text and numbers as they are and objects or arrays as json
+     */
+    private static String asString(JsonNode node) {
+        return node.isValueNode() ? node.asText() : node.toString();
+    }
+
+    /**
+     * Reads the testData iterations with a token parser, keeping only the current iteration in memory. Every iteration
+     * is checked against the column count of the first iteration as it is read
+     */
+    private static class IterationIterator implements Iterator<Object[]>, AutoCloseable {
+        private final String filePath;
+        private final JsonParser parser;
+        private int columns = -1;
+        private int rowNum = 0;
+        private String[] next;
+        private boolean fetched = true;
+        private boolean closed = false;
+
+        private IterationIterator(String filePath) {
+            this.filePath = filePath;
 
-        logTrace("Determing dataprovider array rows");
-        int rows = testData.length();
-        logTrace("Rows will be [ " + rows + " ]");
+            logTrace("Attempt to load json file");
+            BufferedReader reader;
+            try {
+                reader = FileLoader.openTextFileFromProject(filePath);
+            } catch (FileNotFoundException fnfe) {
+                throw new DataProviderInputFileNotFound("Failed to locate json file in path [ " + filePath + " ]");
+            } catch (IOException ioe) {
+                throw new RestException("Failed to read json file", ioe);
+            }
+
+            try {
+                parser = JsonMapper.getMapper().getFactory().createParser(reader);
+            } catch (IOException ioe) {
+                IOUtils.closeQuietly(reader);
+                throw new RestException("Failed to read json file", ioe);
+            }
 
-        logTrace("Parsing data parameters");
-        JSONArray data;
-        try {
-            data = (JSONArray) testData.getJSONObject(0).get("data");
-        } catch (JSONException e) {
-            throw new DataProviderInputFileException("Inner data JSON object was not found");
+            logTrace("Json file loaded, attempt to parse");
+            try {
+                moveToTestData();
+                // Reading the first iteration sets the column count and fails fast on an empty file
+                next = readIteration();
+                if (next == null) {
+                    throw new DataProviderInputFileException("Inner data JSON object was not found");
+                }
+            } catch (RuntimeException e) {
+                close();
+                throw e;
+            }
         }
 
-        logTrace("Determing dataprovider array columns");
-        int columns = data.length() + 1;
-        logTrace("Columns will be [ " + columns + " ]");
+        private void moveToTestData() {
+            try {
+                if (parser.nextToken() == JsonToken.START_OBJECT) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String field = parser.getCurrentName();
+                        JsonToken value = parser.nextToken();
+                        if ("testData".equals(field)) {
+                            if (value == JsonToken.START_ARRAY) {
+                                return;
+                            }
+                            break;
+                        }
+                        parser.skipChildren();
+                    }
+                }
+            } catch (IOException ioe) {
+                throw failure(ioe);
+            }
+            throw new DataProviderInputFileException("First JSON object was not [ testData ]");
+        }
 
-        Object[][] dataArray = new String[rows][columns];
-        logTrace("Transferring data to Array");
+        @Override
+        public boolean hasNext() {
+            if (!fetched) {
+                next = closed ? null : readIteration();
+                fetched = true;
+                if (next == null) {
+                    close();
+                }
+            }
+            return next != null;
+        }
 
-        int rowNum,
-                colNum,
-                iterationColumnLength;
+        @Override
+        public Object[] next() {
+            return nextRow();
+        }
 
-        String iterationName = null,
-                parameterName = null,
-                parameterValue = null;
+        private String[] nextRow() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more iterations in the json file");
+            }
+            fetched = false;
+            return next;
+        }
 
-        for (rowNum = 0; rowNum < rows; rowNum++) {
+        /**
+         * @return The next iteration, or null after the last one
+         */
+        private String[] readIteration() {
             try {
-                iterationName = testData.getJSONObject(rowNum).get("iterationName").toString();
-            } catch (JSONException e2) {
-                throw new DataProviderInputFileException("TestData iteration [ " + (rowNum + 1) + " ] is missing it's [ iterationName ] object");
-            }
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    if (parser.getCurrentToken() == JsonToken.END_ARRAY) {
+                        return null;
+                    }
+                    if (rowNum == 0) {
+                        throw new DataProviderInputFileException("Inner data JSON object was not found");
+                    }
+                    throw new DataProviderInputFileException("TestData iteration [ " + (rowNum + 1) + " ] is missing it's [ iterationName ] object");
+                }
 
-            logTrace("Storing data parameters for iteration name [ " + iterationName + " ]");
-            dataArray[rowNum][0] = iterationName;
+                String iterationName = null;
+                List<JsonNode[]> parameters = null;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.getCurrentName();
+                    JsonToken token = parser.nextToken();
+                    if ("iterationName".equals(field)) {
+                        iterationName = asString(parser.readValueAsTree());
+                    } else if ("data".equals(field) && token == JsonToken.START_ARRAY) {
+                        parameters = readParameters();
+                    } else {
+                        if ("data".equals(field)) {
+                            parameters = null;
+                        }
+                        parser.skipChildren();
+                    }
+                }
 
-            for (colNum = 1; colNum < columns; colNum++) {
-                try {
-                    parameterName = ((JSONArray) testData.getJSONObject(rowNum).get("data")).getJSONObject(colNum - 1).get("name").toString();
-                    logTrace("Storing data parameter for iteration name [ " + iterationName + " ] and data parameter name [ " + parameterName + " ]");
-                } catch (JSONException e2) {
-                    parameterName = null;
+                if (rowNum == 0) {
+                    logTrace("Determing dataprovider array columns");
+                    if (parameters == null) {
+                        throw new DataProviderInputFileException("Inner data JSON object was not found");
+                    }
+                    columns = parameters.size() + 1;
+                    logTrace(() -> "Columns will be [ " + columns + " ]");
                 }
+                rowNum++;
+                return toRow(iterationName, parameters);
+            } catch (IOException ioe) {
+                throw failure(ioe);
+            }
+        }
 
-                try {
-                    iterationColumnLength = ((JSONArray) testData.getJSONObject(0).get("data")).length();
-                    if (columns != iterationColumnLength + 1) {
-                        throw new DataProviderInputFileException("Number of parameters for iterationName [ " + iterationName + " ] was [ " + iterationColumnLength + " ] instead of [ " + (columns - 1) + " ] as expected");
+        /**
+         * @return Name and value node of each parameter, either may be null
+         */
+        private List<JsonNode[]> readParameters() throws IOException {
+            List<JsonNode[]> parameters = new ArrayList<>();
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                JsonNode[] parameter = new JsonNode[2];
+                if (parser.getCurrentToken() == JsonToken.START_OBJECT) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String field = parser.getCurrentName();
+                        parser.nextToken();
+                        if ("name".equals(field)) {
+                            parameter[0] = parser.readValueAsTree();
+                        } else if ("value".equals(field)) {
+                            parameter[1] = parser.readValueAsTree();
+                        } else {
+                            parser.skipChildren();
+                        }
                     }
-                    parameterValue = ((JSONArray) testData.getJSONObject(rowNum).get("data")).getJSONObject(colNum - 1).get("value").toString();
-                    dataArray[rowNum][colNum] = parameterValue;
-                    logTrace("Storing data parameter for iteration name [ " + iterationName + " ] and data parameter name [ " + parameterName + " ] with value [ " + parameterValue + " ]");
-                } catch (JSONException e) {
+                } else {
+                    parser.skipChildren();
+                }
+                parameters.add(parameter);
+            }
+            return parameters;
+        }
+
+        private String[] toRow(String iterationName, List<JsonNode[]> parameters) {
+            if (iterationName == null) {
+                throw new DataProviderInputFileException("TestData iteration [ " + rowNum + " ] is missing it's [ iterationName ] object");
+            }
+
+            if (parameters != null && parameters.size() != columns - 1) {
+                throw new DataProviderInputFileException("Number of parameters for iterationName [ " + iterationName + " ] was [ " + parameters.size() + " ] instead of [ " + (columns - 1) + " ] as expected");
+            }
+
+            logTrace("Storing data parameters for iteration name [ {} ]", iterationName);
+            String[] row = new String[columns];
+            row[0] = iterationName;
+
+            for (int colNum = 1; colNum < columns; colNum++) {
+                JsonNode[] parameter = parameters == null ? null : parameters.get(colNum - 1);
+                String parameterName = parameter == null || parameter[0] == null ? null : asString(parameter[0]);
+                JsonNode parameterValue = parameter == null ? null : parameter[1];
+                if (parameterValue == null) {
                     if (null == parameterName) {
                         throw new DataProviderInputFileException("Failed to find [ value ] in data iteration name [ " + iterationName + " ]");
                     } else {
                         throw new DataProviderInputFileException("Failed to find [ value ] for parameter [ " + parameterName + " ] in data iteration name [ " + iterationName + " ]");
                     }
                 }
+                row[colNum] = asString(parameterValue);
+                logTrace("Storing data parameter for iteration name [ {} ] and data parameter name [ {} ] with value [ {} ]", iterationName, parameterName, row[colNum]);
             }
+            return row;
+        }
 
+        private RuntimeException failure(IOException ioe) {
+            close();
+            if (ioe instanceof JsonProcessingException) {
+                return new DataProviderInputFileException("Failed to parse json file [ " + filePath + " ]");
+            }
+            return new RestException("Failed to read json file", ioe);
         }
 
-        logTrace("Exitting JsonDataProvider#getData");
-        return dataArray;
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                parser.close();
+            } catch (IOException ioe) {
+                logTrace("Failed to close json file [ {} ]", filePath);
+            }
+        }
     }
-
 }
@@ -0,0 +1,234 @@
+package com.orasi.utils.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import com.orasi.utils.TableCache;
+
+/**
+ * Process wide cache of parsed data files, so a workbook or CSV file shared by many test classes and threads is only
+ * parsed once. {@link com.orasi.utils.dataProviders.CSVDataProvider}, {@link com.orasi.utils.dataProviders.JsonDataProvider},
+ * {@link ExcelDocumentReader} and the SOAP scenario lookup all read through it.<br/>
+ * <br/>
+ * Tables are keyed by the canonical path of the file plus what was read from it, ie the sheet and rows. The file's
+ * last modified time and size are checked on every lookup and the file is parsed again once either changes. Loading
+ * and copying work as described in {@link TableCache}.<br/>
+ * <br/>
+ * The cache holds up to {@link #DEFAULT_MAX_CELLS} cells, the least recently used tables are dropped once it is full.
+ * Files that are not on disk, ie inside a jar, are never cached.
+ */
+public class DataFileCache {
+    public static final long DEFAULT_MAX_CELLS = 1000000;
+
+    private static final DataFileCache INSTANCE = new DataFileCache(DEFAULT_MAX_CELLS);
+
+    private final TableCache<Key, FileStamp> tables;
+    private volatile boolean enabled = true;
+
+    /**
+     * @param maxCells
+     *            Maximum number of cells kept across all tables
+     */
+    public DataFileCache(long maxCells) {
+        if (maxCells < 1) {
+            throw new IllegalArgumentException("DataFileCache maxCells (" + maxCells + ") must be greater than zero.");
+        }
+        tables = new TableCache<>(maxCells, DataFileCache::countCells);
+        tables.setRemovalListener(this::removed);
+    }
+
+    /**
+     * @return Cache shared by all data providers
+     */
+    public static DataFileCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the cached table, or parses the file through the loader and caches the result
+     *
+     * @param filePath
+     *            Path of the file on disk, or of a resource in the project
+     * @param variant
+     *            What is read from the file, ie the sheet name and rows. Tables of one file with different variants
+     *            are cached separately
+     * @param loader
+     *            Parses the file
+     * @return Copy of the table
+     */
+    public Object[][] get(String filePath, String variant, Supplier<Object[][]> loader) {
+        return get(filePath, variant, false, loader);
+    }
+
+    /**
+     * Returns a table built from data read through this cache, ie the rows of one scenario found in a sheet, or builds
+     * it through the loader. Derived tables are checked against the file like any other table and are dropped
+     * together with the last table parsed from the file
+     *
+     * @param filePath
+     *            Path of the file the table is built from
+     * @param name
+     *            Name of the derived table, unique for the file
+     * @param loader
+     *            Builds the table, usually from a table returned by {@link #get(String, String, Supplier)}
+     * @return Copy of the table
+     */
+    public Object[][] getDerived(String filePath, String name, Supplier<Object[][]> loader) {
+        return get(filePath, name, true, loader);
+    }
+
+    private Object[][] get(String filePath, String variant, boolean derived, Supplier<Object[][]> loader) {
+        File file = getFile(filePath);
+        if (!enabled || !file.isFile()) {
+            return loader.get();
+        }
+
+        FileStamp stamp = new FileStamp(file);
+        return tables.get(new Key(getCanonicalPath(file), variant, derived), stamp::equals, stamp, loader);
+    }
+
+    /**
+     * Drops the derived tables of a file once none of the tables they were built from are cached
+     */
+    private void removed(Key key) {
+        if (!key.derived && !tables.containsKey(cached -> !cached.derived && cached.path.equals(key.path))) {
+            tables.removeIf(cached -> cached.derived && cached.path.equals(key.path));
+        }
+    }
+
+    private static long countCells(Object[][] table) {
+        long size = 0;
+        for (Object[] row : table) {
+            size += row == null ? 1 : Math.max(row.length, 1);
+        }
+        return size;
+    }
+
+    /**
+     * Removes every table read from the file
+     */
+    public void invalidate(String filePath) {
+        String path = getCanonicalPath(getFile(filePath));
+        tables.removeIf(key -> key.path.equals(path));
+    }
+
+    /**
+     * Removes all tables
+     */
+    public void invalidateAll() {
+        tables.clear();
+    }
+
+    /**
+     * @param enabled
+     *            False to parse files on every request. Cached tables are kept until invalidated
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return Number of lookups answered from the cache
+     */
+    public long getHitCount() {
+        return tables.getHitCount();
+    }
+
+    /**
+     * @return Number of lookups that had to parse the file
+     */
+    public long getMissCount() {
+        return tables.getMissCount();
+    }
+
+    /**
+     * @return Number of tables currently cached
+     */
+    public int size() {
+        return tables.size();
+    }
+
+    /**
+     * Finds the file the same way {@link FileLoader#openTextFileFromProject(String)} does
+     */
+    private static File getFile(String filePath) {
+        String path = filePath.replace("%20", " ");
+        File file = new File(path);
+        if (!file.isFile()) {
+            file = new File(FileLoader.getAbosutePathForResource(path.startsWith("/") ? path : "/" + path).replace("%20", " "));
+        }
+        return file;
+    }
+
+    private static String getCanonicalPath(File file) {
+        try {
+            return file.getCanonicalPath();
+        } catch (IOException e) {
+            return file.getAbsolutePath();
+        }
+    }
+
+    private static final class FileStamp {
+        private final long lastModified;
+        private final long length;
+
+        private FileStamp(File file) {
+            this.lastModified = file.lastModified();
+            this.length = file.length();
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof FileStamp)) {
+                return false;
+            }
+            FileStamp stamp = (FileStamp) other;
+            return lastModified == stamp.lastModified && length == stamp.length;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(lastModified, length);
+        }
+    }
+
+    private static final class Key {
+        private final String path;
+        private final String variant;
+        private final boolean derived;
+
+        private Key(String path, String variant, boolean derived) {
+            this.path = path;
+            this.variant = variant;
+            this.derived = derived;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return path.equals(key.path) && Objects.equals(variant, key.variant) && derived == key.derived;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(path, variant, derived);
+        }
+
+        @Override
+        public String toString() {
+            return path + (variant == null ? "" : " " + variant);
+        }
+    }
+}
@@ -8,11 +8,17 @@ import static org.apache.poi.ss.usermodel.Cell.CELL_TYPE_STRING;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
@@ -25,6 +31,8 @@ public class ExcelDocumentReader {
     private Cell cell;
     private String filepath;
     private int startRow = 1;
+    private boolean streaming = false;
+    private final DataFormatter formatter = new DataFormatter();
 
     public ExcelDocumentReader(String filepath) {
         this.filepath = filepath;
@@ -33,6 +41,22 @@ public class ExcelDocumentReader {
     public ExcelDocumentReader() {
     }
 
+    /**
+     * When true, .xlsx files are read row by row from the sheet XML instead of loading the whole workbook into memory.
+     * The data returned is the same, large workbooks are read faster and with far less memory. Has no effect on .xls
+     * files
+     *
+     * @param streaming
+     *            True to stream .xlsx files
+     */
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+
+    public boolean isStreaming() {
+        return streaming;
+    }
+
     /**
      * This gets the test data from excel workbook by the sheet specified. It returns all the data
      * as a 2d array
@@ -61,38 +85,41 @@ public class ExcelDocumentReader {
         return readData(filepath, sheetName, rowToRead);
     }
 
+    /**
+     * Same as {@link #readData(String, String)} for a single row, or every row when rowToRead is -1. The parsed sheet
+     * is kept in the {@link DataFileCache} until the file changes
+     */
     public Object[][] readData(String filepath, String sheetName, int rowToRead) {
+        int firstRow = startRow;
+        if (startRow <= 1 && rowToRead != -1) {
+            // Reading a single row also makes it the start row of this reader
+            startRow = rowToRead;
+        }
+        String variant = "sheet [ " + sheetName + " ] row [ " + rowToRead + " ] start row [ " + firstRow + " ]";
+        return DataFileCache.getInstance().get(FileLoader.getAbosutePathForResource(filepath), variant,
+                () -> readSheet(filepath, sheetName, rowToRead, firstRow));
+    }
+
+    private Object[][] readSheet(String filepath, String sheetName, int rowToRead, int startRow) {
 
         String[][] tabArray = null;
         int totalRows = 1;
 
         try {
 
-            // Access the required test data sheet
-            if (filepath.toUpperCase().indexOf(".XLSX") > 0) {
-                excelWBook = new XSSFWorkbook(FileLoader.getAbosutePathForResource(filepath)); // XLSX
-            } else {
-                FileInputStream excelFile = new FileInputStream(FileLoader.getAbosutePathForResource(filepath));
-                excelWBook = new HSSFWorkbook(excelFile); // XLS
-            }
-
-            if (StringUtils.isNumeric(sheetName)) {
-                excelWSheet = excelWBook.getSheetAt(Integer.valueOf(sheetName));
-            } else {
-                excelWSheet = excelWBook.getSheet(sheetName);
-            }
+            SheetRows rows = openSheetRows(filepath, sheetName);
 
             int startCol = 0;
             int offsetRows = 0;
             int ci, cj;
 
             if (startRow > 1) {
-                totalRows = excelWSheet.getLastRowNum();
+                totalRows = rows.getLastRowNum();
                 offsetRows = totalRows - startRow;
             } else if (rowToRead == -1 && startRow == 0) {
-                totalRows = excelWSheet.getLastRowNum() + 1;
+                totalRows = rows.getLastRowNum() + 1;
             } else if (rowToRead == -1) {
-                totalRows = excelWSheet.getLastRowNum();
+                totalRows = rows.getLastRowNum();
             } else {
                 startRow = rowToRead;
                 totalRows = startRow;
@@ -100,7 +127,7 @@ public class ExcelDocumentReader {
 
             // you can write a function as well to get Column count
 
-            int totalCols = excelWSheet.getRow(startRow).getLastCellNum();
+            int totalCols = rows.getLastCellNum(startRow);
 
             tabArray = new String[totalRows - offsetRows][totalCols];
             if (offsetRows != 0) {
@@ -112,7 +139,7 @@ public class ExcelDocumentReader {
             for (int i = startRow; i <= totalRows - offsetRows; i++, ci++) {
                 cj = 0;
                 for (int j = startCol; j < totalCols; j++, cj++) {
-                    tabArray[ci][cj] = getCellData(i, j);
+                    tabArray[ci][cj] = rows.getCellData(i, j);
                 }
             }
 
@@ -124,6 +151,75 @@ public class ExcelDocumentReader {
         return (tabArray);
     }
 
+    /**
+     * Reads the rows of a sheet one at a time, so large sheets can be handed to TestNG as an Iterator data provider.
+     * .xlsx files are always streamed from the sheet XML, .xls files are loaded first.<br/>
+     * <br/>
+     * Every row is as wide as the first row read, with blank values for missing cells. The file is closed once the
+     * last row was read.
+     *
+     * @param sheetName
+     *            the excel sheet, or its index starting at 0
+     * @param firstRow
+     *            Index of the first row to read, starting at 0 for the column headings
+     * @param lastRow
+     *            Index of the last row to read, or -1 to read to the end of the sheet
+     * @return Iterator of rows of test data
+     */
+    public Iterator<Object[]> readRows(String sheetName, int firstRow, int lastRow) {
+        Iterator<String[]> rows;
+        if (isXlsx(filepath)) {
+            rows = new ExcelStreamReader(FileLoader.getAbosutePathForResource(filepath), sheetName, formatter);
+        } else {
+            List<String[]> loaded = new ArrayList<>();
+            try {
+                SheetRows sheetRows = openSheetRows(filepath, sheetName);
+                for (int i = 0; i <= sheetRows.getLastRowNum(); i++) {
+                    String[] row = new String[Math.max(sheetRows.getLastCellNum(i), 0)];
+                    for (int j = 0; j < row.length; j++) {
+                        row[j] = sheetRows.getCellData(i, j);
+                    }
+                    loaded.add(row);
+                }
+            } catch (FileNotFoundException e) {
+                throw new AutomationException("Failed to locate Excel file");
+            } catch (IOException e) {
+                throw new AutomationException("Could not read Excel file");
+            }
+            rows = loaded.iterator();
+        }
+        return new RowIterator(rows, firstRow, lastRow);
+    }
+
+    private static boolean isXlsx(String filepath) {
+        return filepath.toUpperCase().indexOf(".XLSX") > 0;
+    }
+
+    private SheetRows openSheetRows(String filepath, String sheetName) throws IOException {
+        if (streaming && isXlsx(filepath)) {
+            List<String[]> rows = new ArrayList<>();
+            try (ExcelStreamReader reader = new ExcelStreamReader(FileLoader.getAbosutePathForResource(filepath), sheetName, formatter)) {
+                reader.forEachRemaining(rows::add);
+            }
+            return new StreamedSheetRows(rows);
+        }
+
+        // Access the required test data sheet
+        if (isXlsx(filepath)) {
+            excelWBook = new XSSFWorkbook(FileLoader.getAbosutePathForResource(filepath)); // XLSX
+        } else {
+            FileInputStream excelFile = new FileInputStream(FileLoader.getAbosutePathForResource(filepath));
+            excelWBook = new HSSFWorkbook(excelFile); // XLS
+        }
+
+        if (StringUtils.isNumeric(sheetName)) {
+            excelWSheet = excelWBook.getSheetAt(Integer.valueOf(sheetName));
+        } else {
+            excelWSheet = excelWBook.getSheet(sheetName);
+        }
+        return new WorkbookSheetRows();
+    }
+
     private String getCellData(int rowNum, int colNum) {
         cell = excelWSheet.getRow(rowNum).getCell(colNum);
         if (cell == null) {
@@ -132,7 +228,6 @@ public class ExcelDocumentReader {
         String cellData = "";
         switch (cell.getCellType()) {
             case CELL_TYPE_NUMERIC:
-                DataFormatter formatter = new DataFormatter();
                 cellData = formatter.formatCellValue(cell);
                 break;
 
@@ -154,4 +249,108 @@ public class ExcelDocumentReader {
 
         return cellData;
     }
+
+    /**
+     * Rows of the sheet being read, either from a loaded workbook or streamed from the file
+     */
+    private interface SheetRows {
+        int getLastRowNum();
+
+        int getLastCellNum(int rowNum);
+
+        String getCellData(int rowNum, int colNum);
+    }
+
+    private class WorkbookSheetRows implements SheetRows {
+        @Override
+        public int getLastRowNum() {
+            return excelWSheet.getLastRowNum();
+        }
+
+        @Override
+        public int getLastCellNum(int rowNum) {
+            Row row = excelWSheet.getRow(rowNum);
+            return row == null ? 0 : row.getLastCellNum();
+        }
+
+        @Override
+        public String getCellData(int rowNum, int colNum) {
+            return ExcelDocumentReader.this.getCellData(rowNum, colNum);
+        }
+    }
+
+    private static class StreamedSheetRows implements SheetRows {
+        private final List<String[]> rows;
+
+        private StreamedSheetRows(List<String[]> rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public int getLastRowNum() {
+            return Math.max(rows.size() - 1, 0);
+        }
+
+        @Override
+        public int getLastCellNum(int rowNum) {
+            return rows.get(rowNum).length;
+        }
+
+        @Override
+        public String getCellData(int rowNum, int colNum) {
+            String[] row = rows.get(rowNum);
+            return colNum < row.length ? row[colNum] : "";
+        }
+    }
+
+    /**
+     * Skips to the first row and shapes each row to the width of the first row
+     */
+    private static class RowIterator implements Iterator<Object[]> {
+        private final Iterator<String[]> rows;
+        private final int lastRow;
+        private int rowNum = 0;
+        private int columnCount = -1;
+
+        private RowIterator(Iterator<String[]> rows, int firstRow, int lastRow) {
+            this.rows = rows;
+            this.lastRow = lastRow;
+            while (rowNum < firstRow && rows.hasNext()) {
+                rows.next();
+                rowNum++;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (lastRow != -1 && rowNum > lastRow) {
+                if (rows instanceof ExcelStreamReader) {
+                    ((ExcelStreamReader) rows).close();
+                }
+                return false;
+            }
+            return rows.hasNext();
+        }
+
+        @Override
+        public Object[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more rows in the Excel sheet");
+            }
+            String[] row = rows.next();
+            rowNum++;
+            if (columnCount == -1) {
+                columnCount = row.length;
+            }
+            if (row.length == columnCount) {
+                return row;
+            }
+
+            String[] shaped = Arrays.copyOf(row, columnCount);
+            for (int column = row.length; column < columnCount; column++) {
+                shaped[column] = "";
+            }
+            return shaped;
+        }
+    }
 }
@@ -0,0 +1,327 @@
+package com.orasi.utils.io;
+
+import static com.orasi.utils.TestReporter.logDebug;
+import static com.orasi.utils.TestReporter.logTrace;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.BuiltinFormats;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.xml.sax.SAXException;
+
+import com.orasi.AutomationException;
+
+/**
+ * Reads the rows of one sheet of an .xlsx file as they are parsed from the sheet XML, instead of loading the whole
+ * workbook like {@link org.apache.poi.xssf.usermodel.XSSFWorkbook} does. Only the shared strings and styles of the
+ * workbook are kept in memory.<br/>
+ * <br/>
+ * Cells are formatted the same way {@link ExcelDocumentReader} formats them, so formula cells return their formula and
+ * numbers are formatted with the cell's data format. Formulas shared across a range are only written out in the first
+ * cell of the range, the other cells return their last calculated value.<br/>
+ * <br/>
+ * Every row from the first to the last row of the sheet is returned, rows missing from the file are returned empty.
+ * The file is closed once the last row was read, if the rows are not read to the end the reader must be closed.
+ */
+class ExcelStreamReader implements Iterator<String[]>, Closeable {
+    private static final XMLInputFactory XML_INPUT_FACTORY = XMLInputFactory.newInstance();
+    private static final String[] EMPTY_ROW = new String[0];
+
+    static {
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    private final OPCPackage excelPackage;
+    private final DataFormatter formatter;
+    private final List<String> cells = new ArrayList<>();
+    private ReadOnlySharedStringsTable sharedStrings;
+    private StylesTable styles;
+    private InputStream sheetStream;
+    private XMLStreamReader sheet;
+    private int nextRow = 0;
+    private int parsedRow = -1;
+    private String[] parsedCells;
+    private boolean closed = false;
+
+    /**
+     * @param filepath
+     *            Path of the .xlsx file on disk
+     * @param sheetName
+     *            Name of the sheet, or its index starting at 0
+     * @param formatter
+     *            Formatter used for every numeric cell
+     */
+    ExcelStreamReader(String filepath, String sheetName, DataFormatter formatter) {
+        logTrace("Entering ExcelStreamReader#init");
+        this.formatter = formatter;
+
+        File file = new File(filepath);
+        if (!file.isFile()) {
+            throw new AutomationException("Failed to locate Excel file");
+        }
+
+        try {
+            excelPackage = OPCPackage.open(file, PackageAccess.READ);
+        } catch (OpenXML4JException | RuntimeException e) {
+            throw new AutomationException("Could not read Excel file", e);
+        }
+
+        try {
+            XSSFReader reader = new XSSFReader(excelPackage);
+            sharedStrings = new ReadOnlySharedStringsTable(excelPackage);
+            styles = reader.getStylesTable();
+            sheetStream = openSheet(reader, sheetName);
+            sheet = XML_INPUT_FACTORY.createXMLStreamReader(sheetStream);
+        } catch (IOException | OpenXML4JException | SAXException | XMLStreamException | RuntimeException e) {
+            close();
+            if (e instanceof AutomationException) {
+                throw (AutomationException) e;
+            }
+            throw new AutomationException("Could not read Excel file", e);
+        }
+        logTrace("Exiting ExcelStreamReader#init");
+    }
+
+    private static InputStream openSheet(XSSFReader reader, String sheetName) throws IOException, OpenXML4JException {
+        boolean byIndex = StringUtils.isNumeric(sheetName);
+        XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+        for (int index = 0; sheets.hasNext(); index++) {
+            InputStream sheet = sheets.next();
+            if (byIndex ? index == Integer.parseInt(sheetName) : sheets.getSheetName().equalsIgnoreCase(sheetName)) {
+                logTrace("Found sheet [ {} ]", sheets.getSheetName());
+                return sheet;
+            }
+            sheet.close();
+        }
+        throw new AutomationException("Failed to find sheet [ " + sheetName + " ] in Excel file");
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (parsedRow < nextRow && !closed) {
+            try {
+                parsedCells = readRow();
+            } catch (XMLStreamException | RuntimeException e) {
+                close();
+                throw new AutomationException("Could not read Excel file", e);
+            }
+            if (parsedCells == null) {
+                close();
+            }
+        }
+        return parsedRow >= nextRow;
+    }
+
+    /**
+     * @return Cells of the next row, up to the last cell in the row
+     */
+    @Override
+    public String[] next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more rows in the Excel sheet");
+        }
+        return nextRow++ == parsedRow ? parsedCells : EMPTY_ROW;
+    }
+
+    /**
+     * Moves to the next row element and reads its cells
+     *
+     * @return Cells of the row, or null when there are no more rows
+     */
+    private String[] readRow() throws XMLStreamException {
+        while (sheet.hasNext()) {
+            if (sheet.next() == XMLStreamConstants.START_ELEMENT && "row".equals(sheet.getLocalName())) {
+                String reference = sheet.getAttributeValue(null, "r");
+                parsedRow = reference == null ? parsedRow + 1 : Integer.parseInt(reference) - 1;
+
+                cells.clear();
+                while (sheet.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                    if ("c".equals(sheet.getLocalName())) {
+                        readCell();
+                    } else {
+                        skipElement();
+                    }
+                }
+                return cells.toArray(new String[cells.size()]);
+            }
+        }
+        parsedRow = -1;
+        return null;
+    }
+
+    private void readCell() throws XMLStreamException {
+        String reference = sheet.getAttributeValue(null, "r");
+        String type = sheet.getAttributeValue(null, "t");
+        String style = sheet.getAttributeValue(null, "s");
+        String value = null;
+        String formula = null;
+        StringBuilder inline = null;
+
+        while (sheet.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            switch (sheet.getLocalName()) {
+                case "v":
+                    value = sheet.getElementText();
+                    break;
+
+                case "f":
+                    formula = sheet.getElementText();
+                    break;
+
+                case "is":
+                    inline = new StringBuilder();
+                    readInlineString(inline);
+                    break;
+
+                default:
+                    skipElement();
+                    break;
+            }
+        }
+
+        int column = reference == null ? cells.size() : getColumnIndex(reference);
+        while (cells.size() < column) {
+            cells.add("");
+        }
+        String data = formatCell(type, style, value, formula, inline);
+        if (column < cells.size()) {
+            cells.set(column, data);
+        } else {
+            cells.add(data);
+        }
+    }
+
+    /**
+     * Appends the text of every run of an inline string, leaving out phonetic runs
+     */
+    private void readInlineString(StringBuilder inline) throws XMLStreamException {
+        int depth = 1;
+        boolean phonetic = false;
+        while (depth > 0) {
+            int event = sheet.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+                if ("rPh".equals(sheet.getLocalName())) {
+                    phonetic = true;
+                } else if ("t".equals(sheet.getLocalName()) && !phonetic) {
+                    inline.append(sheet.getElementText());
+                    depth--;
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+                if ("rPh".equals(sheet.getLocalName())) {
+                    phonetic = false;
+                }
+            }
+        }
+    }
+
+    private void skipElement() throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = sheet.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    private String formatCell(String type, String style, String value, String formula, StringBuilder inline) {
+        if (formula != null && !formula.isEmpty()) {
+            return formula;
+        }
+        if (inline != null) {
+            return inline.toString();
+        }
+        if (value == null) {
+            return "";
+        }
+
+        if (type == null || "n".equals(type)) {
+            return formatNumber(style, value);
+        }
+        switch (type) {
+            case "s":
+                return sharedStrings.getEntryAt(Integer.parseInt(value));
+
+            case "b":
+                return String.valueOf("1".equals(value));
+
+            case "e":
+                return "";
+
+            default:
+                return value;
+        }
+    }
+
+    private String formatNumber(String style, String value) {
+        int formatIndex = 0;
+        String formatString = null;
+        if (styles != null && styles.getNumCellStyles() > 0) {
+            XSSFCellStyle cellStyle = styles.getStyleAt(style == null ? 0 : Integer.parseInt(style));
+            formatIndex = cellStyle.getDataFormat();
+            formatString = cellStyle.getDataFormatString();
+        }
+        if (formatString == null) {
+            formatString = BuiltinFormats.getBuiltinFormat(formatIndex);
+        }
+        return formatter.formatRawCellContents(Double.parseDouble(value), formatIndex, formatString);
+    }
+
+    /**
+     * @return Index starting at 0 of the column in a cell reference, ie 2 for C5
+     */
+    private static int getColumnIndex(String reference) {
+        int column = 0;
+        for (int index = 0; index < reference.length() && Character.isLetter(reference.charAt(index)); index++) {
+            column = column * 26 + Character.toUpperCase(reference.charAt(index)) - 'A' + 1;
+        }
+        return column - 1;
+    }
+
+    /**
+     * Closes the sheet and the file. Safe to call more than once
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (sheet != null) {
+                sheet.close();
+            }
+            if (sheetStream != null) {
+                sheetStream.close();
+            }
+        } catch (IOException | XMLStreamException e) {
+            logDebug("Failed to close Excel sheet: " + e.getMessage());
+        }
+        // Read only packages are closed without saving by reverting them
+        excelPackage.revert();
+    }
+}
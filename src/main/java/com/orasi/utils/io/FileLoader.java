@@ -6,7 +6,13 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.Reader;
 import java.net.URL;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
 
 import org.apache.commons.io.IOUtils;
 
@@ -17,7 +23,7 @@ public class FileLoader {
     public static String loadFileFromProjectAsString(String filePath) throws IOException {
         logTrace("Entering FileLoader#loadFileFromProjectAsString");
 
-        logTrace("Attempting to load file from path [ " + filePath + " ]");
+        logTrace(() -> "Attempting to load file from path [ " + filePath + " ]");
         BufferedReader resource;
         resource = openTextFileFromProject(filePath);
 
@@ -42,7 +48,7 @@ public class FileLoader {
             throw new InvalidFileException("File path of [ " + filePath + " ] was invalid or file was unreadable");
         }
 
-        logTrace("Attempting to load file from path [ " + filePath + " ]");
+        logTrace("Attempting to load file from path [ {} ]", filePath);
         FileReader fileReader = new FileReader(getAbosutePathForResource(filePath));
         logTrace("Successfully loaded file into FileReader");
 
@@ -55,10 +61,39 @@ public class FileLoader {
         return bufferedReader;
     }
 
+    /**
+     * Opens a text file by memory mapping it instead of reading it through a buffered stream. Large files are paged in
+     * by the operating system as they are read and are not copied onto the heap. Files inside a jar can not be mapped
+     * and are opened with {@link #openTextFileFromProject(String)} instead
+     *
+     * @param filePath
+     *            Path on disk, or of a resource in the project
+     * @return Reader decoding the file with the platform charset, same as {@link #openTextFileFromProject(String)}
+     */
+    public static Reader openMappedTextFileFromProject(String filePath) throws IOException {
+        logTrace("Entering FileLoader#openMappedTextFileFromProject");
+        filePath = filePath.replace("%20", " ");
+        String path = new File(filePath).isFile() ? filePath : getAbosutePathForResource(filePath.startsWith("/") ? filePath : "/" + filePath);
+        if (!new File(path).isFile()) {
+            logTrace("File [ {} ] is not on disk and can not be mapped", path);
+            logTrace("Exiting FileLoader#openMappedTextFileFromProject");
+            return openTextFileFromProject(filePath);
+        }
+
+        logTrace("Attempting to map file from path [ {} ]", path);
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(new File(path).toPath(), StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+        }
+        logTrace("Exiting FileLoader#openMappedTextFileFromProject");
+        return new MappedFileReader(buffer, Charset.defaultCharset());
+    }
+
     public static boolean isReadableFile(String filePath) {
         logTrace("Entering FileLoader#isReadableFile");
 
-        logTrace("Validating file from path [ " + filePath + " ] is readable");
+        logTrace(() -> "Validating file from path [ " + filePath + " ] is readable");
         boolean readable = false;
         File file = new File(filePath);
         if (!file.isDirectory() && file.exists() && file.canRead()) {
@@ -67,7 +102,7 @@ public class FileLoader {
             readable = true;
         }
 
-        logTrace("File was readable returning [ " + readable + " ]");
+        logTrace("File was readable returning [ {} ]", readable);
         logTrace("Exiting FileLoader#isReadableFile");
         return readable;
     }
@@ -0,0 +1,60 @@
+package com.orasi.utils.io;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Reader over a memory mapped file. Bytes are decoded straight from the mapped pages into the caller's buffer, so the
+ * file is never copied onto the heap and the operating system pages it in as it is read
+ */
+class MappedFileReader extends Reader {
+    private final MappedByteBuffer buffer;
+    private final CharsetDecoder decoder;
+    private boolean flushed = false;
+    private boolean closed = false;
+
+    MappedFileReader(MappedByteBuffer buffer, Charset charset) {
+        this.buffer = buffer;
+        this.decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    @Override
+    public int read(char[] chars, int offset, int length) throws IOException {
+        if (closed) {
+            throw new IOException("Reader is closed");
+        }
+        if (length == 0) {
+            return 0;
+        }
+
+        CharBuffer out = CharBuffer.wrap(chars, offset, length);
+        while (out.position() == offset && !flushed) {
+            CoderResult result = decoder.decode(buffer, out, true);
+            if (result.isError()) {
+                result.throwException();
+            } else if (result.isUnderflow()) {
+                decoder.flush(out);
+                flushed = true;
+            } else if (out.position() == offset) {
+                // A surrogate pair does not fit in a single char
+                break;
+            }
+        }
+
+        int read = out.position() - offset;
+        return read == 0 && flushed ? -1 : read;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+}
@@ -2,13 +2,9 @@ package com.orasi.utils.listeners;
 
 import static org.openqa.selenium.OutputType.BYTES;
 
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.IOException;
 import java.lang.reflect.Method;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
-import java.util.Base64;
 import java.util.Date;
 import java.util.List;
 
@@ -19,6 +15,7 @@ import org.openqa.selenium.remote.Augmenter;
 import org.testng.IInvokedMethod;
 import org.testng.IReporter;
 import org.testng.ISuite;
+import org.testng.ITestContext;
 import org.testng.ITestResult;
 import org.testng.Reporter;
 import org.testng.TestListenerAdapter;
@@ -30,6 +27,7 @@ import com.orasi.utils.Constants;
 import com.orasi.utils.Preamble;
 import com.orasi.utils.TestReporter;
 import com.orasi.utils.mustard.Mustard;
+import com.orasi.utils.reporting.ScreenshotWriter;
 import com.orasi.web.OrasiDriver;
 import com.orasi.web.WebBaseTest;
 
@@ -72,39 +70,28 @@ public class TestListener extends TestListenerAdapter implements IReporter {
         Reporter.setCurrentTestResult(result);
 
         if (driver != null) {
+            byte[] screenshot = null;
             WebDriver augmentDriver = driver.getWebDriver();
             if (!(augmentDriver instanceof HtmlUnitDriver)) {
                 if (runLocation == "remote") {
                     augmentDriver = new Augmenter().augment(driver.getWebDriver());
                 }
 
-                new File(destDir).mkdirs();
-
-                // Capture a screenshot for TestNG reporting
-                TestReporter.logScreenshot(augmentDriver, destFile, slash);
-                // Capture a screenshot for Allure reporting
-                failedScreenshot(augmentDriver);
+                // Take a single screenshot and share it between the TestNG, Allure and Mustard reports
+                screenshot = captureScreenshot(augmentDriver);
+                if (screenshot != null) {
+                    // Link the screenshot for TestNG reporting, the file is written in the background
+                    TestReporter.logScreenshot(screenshot, destFile, slash);
+                    // Attach the screenshot for Allure reporting
+                    failedScreenshot(screenshot);
+                }
             }
 
             // Log any console errors
             TestReporter.logConsoleErrors(driver);
 
             if (reportToMustard) {
-                String screenshot = null;
-                File file = new File(destFile);
-
-                try (FileInputStream fileInputStreamReader = new FileInputStream(file);) {
-
-                    byte[] bytes = new byte[(int) file.length()];
-
-                    fileInputStreamReader.read(bytes);
-                    screenshot = Base64.getEncoder().encodeToString(bytes);
-                } catch (IOException throwAway) {
-                    // Screenshot attempt failed
-                    TestReporter.logTrace("Failed to convert screenshot for mustard:" + throwAway.getMessage());
-                }
-
-                Mustard.postResultsToMustard(driver, result, runLocation, screenshot);
+                Mustard.postResultsToMustardWithScreenshot(driver, result, runLocation, screenshot);
             }
         } else if (reportToMustard) {
             Mustard.postResultsToMustard(result);
@@ -138,6 +125,14 @@ public class TestListener extends TestListenerAdapter implements IReporter {
         }
     }
 
+    @Override
+    public void onFinish(ITestContext context) {
+        // Make sure output queued by an asynchronous reporter sink is in the report before it is generated
+        TestReporter.flush();
+        ScreenshotWriter.flush();
+        Mustard.flush();
+    }
+
     @Override
     public void generateReport(List<XmlSuite> xmlSuites,
             List<ISuite> suites, String outputDirectory) {
@@ -150,6 +145,24 @@ public class TestListener extends TestListenerAdapter implements IReporter {
         return ((TakesScreenshot) driver).getScreenshotAs(BYTES);
     }
 
+    /**
+     * Attaches a screenshot that was already taken to the Allure report
+     */
+    @Attachment(type = "image/png")
+    public static byte[] failedScreenshot(byte[] screenshot) {
+        return screenshot;
+    }
+
+    private static byte[] captureScreenshot(WebDriver driver) {
+        try {
+            return ((TakesScreenshot) driver).getScreenshotAs(BYTES);
+        } catch (RuntimeException e) {
+            // Screenshot attempt failed
+            TestReporter.logTrace(() -> "Failed to capture screenshot: " + e.getMessage());
+            return null;
+        }
+    }
+
     private Preamble getPreambleAnnotation(IInvokedMethod method) {
         if (!method.isTestMethod()) {
             return null;
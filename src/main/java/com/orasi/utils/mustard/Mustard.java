@@ -4,14 +4,13 @@ import static org.apache.commons.lang3.StringUtils.isNotEmpty;
 import static org.testng.ITestResult.SKIP;
 import static org.testng.ITestResult.SUCCESS;
 
+import java.io.File;
 import java.util.ResourceBundle;
 
 import org.apache.commons.lang.exception.ExceptionUtils;
 import org.testng.ITestResult;
 
-import com.orasi.api.restServices.Headers.HeaderType;
 import com.orasi.Beta;
-import com.orasi.api.restServices.RestService;
 import com.orasi.utils.Constants;
 import com.orasi.web.OrasiDriver;
 
@@ -24,18 +23,24 @@ public class Mustard {
 
     private static String mustardURL = appURLRepository.getString("MUSTARD_URL") + "results";
     private static String mustardKey = appURLRepository.getString("MUSTARD_PROJECT_KEY");
+    private static volatile MustardPublisher publisher = null;
 
     @Beta
     public static void postResultsToMustard(OrasiDriver driver, ITestResult result, String runLocation, String base64Screenshot) {
-        String device_id = driver.getDriverCapability().platform().name() + "_" + driver.getDriverCapability().browserName() + "_" + driver.getDriverCapability().browserVersion().replace(".", "_");
-        MustardResult mustardResult = new MustardResult();
-
-        if ("sauce".equalsIgnoreCase(runLocation)) {
-            String sauceURL = appURLRepository.getString("SAUCELABS_URL") + driver.getSessionId();
-            mustardResult.getResult().setLink(sauceURL);
+        MustardResult mustardResult = createResult(driver, runLocation);
+        if (isNotEmpty(base64Screenshot)) {
+            mustardResult.getResult().setScreenshot("data:image/png;base64," + base64Screenshot);
         }
+        sendResult(getDeviceId(driver), result, null, mustardResult);
+    }
 
-        sendResult(device_id, result, base64Screenshot, mustardResult);
+    /**
+     * Same as {@link #postResultsToMustard(OrasiDriver, ITestResult, String, String)} with the screenshot as it was
+     * taken, so it is only encoded when it is sent
+     */
+    @Beta
+    public static void postResultsToMustardWithScreenshot(OrasiDriver driver, ITestResult result, String runLocation, byte[] screenshot) {
+        sendResult(getDeviceId(driver), result, screenshot, createResult(driver, runLocation));
     }
 
     @Beta
@@ -44,9 +49,48 @@ public class Mustard {
         sendResult("API", result, null, mustardResult);
     }
 
-    private static void sendResult(String device_id, ITestResult result, String base64Screenshot, MustardResult mustardResult) {
-        RestService request = new RestService();
+    /**
+     * Waits for the results posted so far to be sent, see {@link MustardPublisher#flush()}
+     */
+    @Beta
+    public static void flush() {
+        if (publisher != null) {
+            publisher.flush();
+        }
+    }
+
+    /**
+     * @return Publisher sending the results of this run to the Mustard server, spooling them to a folder of the
+     *         server and project under <code>java.io.tmpdir/mustard-spool</code> when they cannot be sent
+     */
+    @Beta
+    public static MustardPublisher getPublisher() {
+        if (publisher == null) {
+            synchronized (Mustard.class) {
+                if (publisher == null) {
+                    publisher = new MustardPublisher(mustardURL, MustardPublisher.getSpoolFolder(
+                            new File(System.getProperty("java.io.tmpdir"), "mustard-spool"), mustardURL, mustardKey));
+                }
+            }
+        }
+        return publisher;
+    }
 
+    private static String getDeviceId(OrasiDriver driver) {
+        return driver.getDriverCapability().platform().name() + "_" + driver.getDriverCapability().browserName() + "_" + driver.getDriverCapability().browserVersion().replace(".", "_");
+    }
+
+    private static MustardResult createResult(OrasiDriver driver, String runLocation) {
+        MustardResult mustardResult = new MustardResult();
+
+        if ("sauce".equalsIgnoreCase(runLocation)) {
+            String sauceURL = appURLRepository.getString("SAUCELABS_URL") + driver.getSessionId();
+            mustardResult.getResult().setLink(sauceURL);
+        }
+        return mustardResult;
+    }
+
+    private static void sendResult(String device_id, ITestResult result, byte[] screenshot, MustardResult mustardResult) {
         String test_name = result.getTestClass().getName();
         test_name = test_name.substring(test_name.lastIndexOf('.') + 1, test_name.length()) + "_" + result.getMethod().getMethodName();
         String status = "";
@@ -70,11 +114,6 @@ public class Mustard {
             mustardResult.getResult().setStacktrace(ExceptionUtils.getFullStackTrace(result.getThrowable()));
         }
 
-        if (isNotEmpty(base64Screenshot)) {
-            mustardResult.getResult().setScreenshot("data:image/png;base64," + base64Screenshot);
-        }
-
-        request.sendPostRequest(mustardURL, HeaderType.JSON, RestService.getJsonFromObject(mustardResult));
-
+        getPublisher().publish(mustardResult, screenshot);
     }
 }
@@ -0,0 +1,463 @@
+package com.orasi.utils.mustard;
+
+import static com.orasi.utils.TestReporter.logTrace;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import com.orasi.Beta;
+import com.orasi.api.restServices.Headers.HeaderType;
+import com.orasi.api.restServices.RestClientPool;
+import com.orasi.api.restServices.RestResponse;
+import com.orasi.api.restServices.RestService;
+
+/**
+ * Sends results to Mustard on a background thread, so test threads do not wait for the results server. Results are
+ * queued on a bounded queue and a single worker thread sends them in batches, with the results of a batch sent at the
+ * same time over pooled connections. Screenshots are only Base64 encoded by the worker.<br/>
+ * <br/>
+ * Results the server fails to take (connection errors or 5xx responses) are sent again, waiting twice as long before
+ * every attempt. After the last attempt, or when the queue is full because the server is slow, results are written
+ * as json files to a spool folder instead of being lost or holding up the tests. Spooled results, including those of
+ * earlier runs, are sent again once a batch went through and on every {@link #flush()}, which TestListener calls when
+ * a test finishes.<br/>
+ * <br/>
+ * A spool folder must only hold results of one endpoint and project, see {@link #getSpoolFolder(File, String, String)}.
+ * Several runs may share it: each spooled file is claimed by renaming it before it is sent, so only one run sends it.
+ * Claims of runs that stopped while sending are given up after ten minutes.
+ */
+@Beta
+public class MustardPublisher {
+    public static final int DEFAULT_CAPACITY = 1024;
+    public static final int DEFAULT_BATCH_SIZE = 20;
+    public static final int DEFAULT_MAX_ATTEMPTS = 3;
+    public static final long DEFAULT_RETRY_DELAY = 500;
+    public static final int DEFAULT_SOCKET_TIMEOUT = 10000;
+
+    private static final String SPOOL_PREFIX = "mustard-result-";
+    private static final String SPOOL_SUFFIX = ".json";
+    private static final String CLAIM_SUFFIX = ".sending";
+    private static final long STALE_CLAIM_MILLIS = TimeUnit.MINUTES.toMillis(10);
+    private static final long IDLE_POLL_MILLIS = 100;
+    private static final long FLUSH_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final String url;
+    private final File spoolFolder;
+    private final int batchSize;
+    private final BlockingQueue<Pending> queue;
+    private final RestService rest = new RestService();
+    private final AtomicLong queued = new AtomicLong();
+    private final AtomicLong handled = new AtomicLong();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong spooled = new AtomicLong();
+    private final AtomicInteger spoolSequence = new AtomicInteger();
+    private final Object spoolLock = new Object();
+    private final Thread worker;
+    private volatile int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+    private volatile long retryDelay = DEFAULT_RETRY_DELAY;
+    private volatile boolean running = true;
+
+    /**
+     * @param url
+     *            Results endpoint of the Mustard server
+     * @param spoolFolder
+     *            Folder results are written to when they cannot be sent
+     */
+    public MustardPublisher(String url, File spoolFolder) {
+        this(url, spoolFolder, DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @param url
+     *            Results endpoint of the Mustard server
+     * @param spoolFolder
+     *            Folder results are written to when they cannot be sent
+     * @param capacity
+     *            Maximum number of results waiting to be sent before results are spooled instead
+     * @param batchSize
+     *            Maximum number of results sent at once
+     */
+    public MustardPublisher(String url, File spoolFolder, int capacity, int batchSize) {
+        if (capacity < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("Capacity and batch size must be greater than zero");
+        }
+        this.url = url;
+        this.spoolFolder = spoolFolder;
+        this.batchSize = batchSize;
+        queue = new ArrayBlockingQueue<>(capacity);
+
+        rest.setClientPool(new RestClientPool.Builder()
+                .maxPerRoute(batchSize)
+                .socketTimeout(DEFAULT_SOCKET_TIMEOUT)
+                .build());
+
+        worker = new Thread(this::sendLoop, "Mustard-publisher");
+        worker.setDaemon(true);
+        worker.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "Mustard-publisher-shutdown"));
+    }
+
+    /**
+     * @param parent
+     *            Folder holding the spool folders of all endpoints and projects
+     * @param url
+     *            Results endpoint of the Mustard server
+     * @param projectKey
+     *            Mustard project the results belong to
+     * @return Spool folder only used for results of the endpoint and project
+     */
+    public static File getSpoolFolder(File parent, String url, String projectKey) {
+        String project = String.valueOf(projectKey).replaceAll("[^A-Za-z0-9_-]", "_");
+        return new File(parent, project + "-" + Integer.toHexString((url + "|" + projectKey).hashCode()));
+    }
+
+    /**
+     * @param maxAttempts
+     *            Number of times a result is sent before it is spooled
+     */
+    public void setMaxAttempts(int maxAttempts) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Max attempts must be greater than zero");
+        }
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * @param retryDelay
+     *            Milliseconds to wait before the second attempt, doubled for every attempt after it
+     */
+    public void setRetryDelay(long retryDelay) {
+        this.retryDelay = retryDelay;
+    }
+
+    /**
+     * Queues the result to be sent
+     *
+     * @param result
+     *            Result to send. Must not be changed afterwards
+     * @param screenshot
+     *            Screenshot to add to the result, or null
+     */
+    public void publish(MustardResult result, byte[] screenshot) {
+        Pending pending = new Pending(result, screenshot);
+        if (!running || !queue.offer(pending)) {
+            logTrace("Mustard results queue is full, spooling result");
+            spool(pending.toJson());
+            return;
+        }
+        queued.incrementAndGet();
+    }
+
+    /**
+     * Waits up to 30 seconds for every result queued so far to be sent or spooled, then sends spooled results again.
+     * Results still queued once the time is up are spooled
+     */
+    public void flush() {
+        if (Thread.currentThread() == worker) {
+            return;
+        }
+
+        long target = queued.get();
+        long deadline = System.nanoTime() + FLUSH_TIMEOUT_NANOS;
+        while (handled.get() < target && worker.isAlive() && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        if (handled.get() < target) {
+            List<Pending> remaining = new ArrayList<>();
+            queue.drainTo(remaining);
+            logTrace("Mustard server too slow, spooling [ {} ] results", remaining.size());
+            for (Pending pending : remaining) {
+                spool(pending.toJson());
+                handled.incrementAndGet();
+            }
+        } else {
+            resendSpooled();
+        }
+    }
+
+    /**
+     * Sends or spools everything that is still queued and stops the worker thread. Results published afterwards are
+     * spooled
+     */
+    public void shutdown() {
+        flush();
+        running = false;
+        worker.interrupt();
+    }
+
+    /**
+     * @return Number of results waiting to be sent
+     */
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    /**
+     * @return Number of results the server took
+     */
+    public long getSentCount() {
+        return sent.get();
+    }
+
+    /**
+     * @return Number of results written to the spool folder
+     */
+    public long getSpooledCount() {
+        return spooled.get();
+    }
+
+    private void sendLoop() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+            } catch (InterruptedException e) {
+                queue.drainTo(batch, batchSize);
+                if (batch.isEmpty()) {
+                    continue;
+                }
+            }
+
+            try {
+                List<String> json = new ArrayList<>(batch.size());
+                for (Pending pending : batch) {
+                    json.add(pending.toJson());
+                }
+                if (sendWithRetry(json)) {
+                    resendSpooled();
+                }
+            } catch (RuntimeException e) {
+                logTrace(() -> "Failed to publish Mustard results: " + e.getMessage());
+            } finally {
+                handled.addAndGet(batch.size());
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Sends the results, retrying the failed ones and spooling those that still fail after the last attempt
+     *
+     * @return True if every result was sent
+     */
+    private boolean sendWithRetry(List<String> json) {
+        List<String> remaining = json;
+        for (int attempt = 1; !remaining.isEmpty(); attempt++) {
+            remaining = failed(remaining, send(remaining));
+            if (remaining.isEmpty()) {
+                return true;
+            }
+            if (attempt >= maxAttempts || !running) {
+                break;
+            }
+
+            long delay = retryDelay << (attempt - 1);
+            logTrace("Mustard server did not take [ {} ] results, retrying in [ {} ] ms", remaining.size(), delay);
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                break;
+            }
+        }
+
+        for (String result : remaining) {
+            spool(result);
+        }
+        return false;
+    }
+
+    /**
+     * Sends all results at the same time
+     *
+     * @return Which of the results the server took
+     */
+    private boolean[] send(List<String> json) {
+        boolean[] accepted = new boolean[json.size()];
+        List<Function<RestService, RestResponse>> requests = new ArrayList<>(json.size());
+        for (int index = 0; index < json.size(); index++) {
+            int current = index;
+            requests.add(service -> {
+                try {
+                    RestResponse response = service.sendPostRequest(url, HeaderType.JSON, json.get(current));
+                    if (response.getStatusCode() >= 500) {
+                        logTrace("Mustard server returned status [ {} ]", response.getStatusCode());
+                    } else {
+                        if (response.getStatusCode() >= 400) {
+                            logTrace(() -> "Mustard server rejected result with status [ " + response.getStatusCode() + " ]: " + response.getResponse());
+                        }
+                        accepted[current] = true;
+                    }
+                } catch (RuntimeException e) {
+                    logTrace(() -> "Failed to send result to Mustard: " + e.getMessage());
+                }
+                return null;
+            });
+        }
+        rest.sendBatch(requests, batchSize);
+
+        for (boolean result : accepted) {
+            if (result) {
+                sent.incrementAndGet();
+            }
+        }
+        return accepted;
+    }
+
+    private static List<String> failed(List<String> json, boolean[] accepted) {
+        List<String> failed = new ArrayList<>();
+        for (int index = 0; index < accepted.length; index++) {
+            if (!accepted[index]) {
+                failed.add(json.get(index));
+            }
+        }
+        return failed;
+    }
+
+    private void spool(String json) {
+        File file = new File(spoolFolder, SPOOL_PREFIX + System.currentTimeMillis() + "-" + spoolSequence.incrementAndGet() + SPOOL_SUFFIX);
+        try {
+            Files.createDirectories(spoolFolder.toPath());
+            Files.write(file.toPath(), json.getBytes(StandardCharsets.UTF_8));
+            spooled.incrementAndGet();
+            logTrace("Spooled Mustard result to [ {} ]", file);
+        } catch (IOException e) {
+            logTrace(() -> "Failed to spool Mustard result [ " + file + " ]: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Sends the spooled results once each, keeping the files of results the server did not take
+     */
+    private void resendSpooled() {
+        synchronized (spoolLock) {
+            releaseStaleClaims();
+            File[] files = spoolFolder.listFiles((folder, name) -> name.startsWith(SPOOL_PREFIX) && name.endsWith(SPOOL_SUFFIX));
+            if (files == null || files.length == 0) {
+                return;
+            }
+            Arrays.sort(files);
+            logTrace("Sending [ {} ] spooled Mustard results", files.length);
+
+            for (int start = 0; start < files.length; start += batchSize) {
+                List<File> batch = Arrays.asList(files).subList(start, Math.min(start + batchSize, files.length));
+                List<String> json = new ArrayList<>(batch.size());
+                List<File> claimed = new ArrayList<>(batch.size());
+                for (File file : batch) {
+                    File claim = claim(file);
+                    if (claim == null) {
+                        // Claimed by another run
+                        continue;
+                    }
+                    try {
+                        json.add(new String(Files.readAllBytes(claim.toPath()), StandardCharsets.UTF_8));
+                        claimed.add(claim);
+                    } catch (IOException e) {
+                        logTrace(() -> "Failed to read spooled Mustard result [ " + claim + " ]: " + e.getMessage());
+                        release(claim);
+                    }
+                }
+                if (json.isEmpty()) {
+                    continue;
+                }
+
+                boolean[] accepted = send(json);
+                boolean allSent = true;
+                for (int index = 0; index < accepted.length; index++) {
+                    if (accepted[index]) {
+                        claimed.get(index).delete();
+                    } else {
+                        release(claimed.get(index));
+                        allSent = false;
+                    }
+                }
+                if (!allSent) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Renames the spooled file so no other run sends it
+     *
+     * @return The renamed file, or null if another run claimed it first
+     */
+    private static File claim(File file) {
+        File claim = new File(file.getPath() + CLAIM_SUFFIX);
+        try {
+            Files.move(file.toPath(), claim.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            return null;
+        }
+        claim.setLastModified(System.currentTimeMillis());
+        return claim;
+    }
+
+    /**
+     * Renames the claimed file back so it is sent again later
+     */
+    private static void release(File claim) {
+        String path = claim.getPath();
+        File file = new File(path.substring(0, path.length() - CLAIM_SUFFIX.length()));
+        try {
+            Files.move(claim.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logTrace(() -> "Failed to release spooled Mustard result [ " + claim + " ]: " + e.getMessage());
+        }
+    }
+
+    private void releaseStaleClaims() {
+        File[] claims = spoolFolder.listFiles((folder, name) -> name.startsWith(SPOOL_PREFIX) && name.endsWith(SPOOL_SUFFIX + CLAIM_SUFFIX));
+        if (claims == null) {
+            return;
+        }
+        long stale = System.currentTimeMillis() - STALE_CLAIM_MILLIS;
+        for (File claim : claims) {
+            if (claim.lastModified() < stale) {
+                logTrace("Releasing stale claim of spooled Mustard result [ {} ]", claim);
+                release(claim);
+            }
+        }
+    }
+
+    private static final class Pending {
+        private final MustardResult result;
+        private final byte[] screenshot;
+
+        private Pending(MustardResult result, byte[] screenshot) {
+            this.result = result;
+            this.screenshot = screenshot;
+        }
+
+        private String toJson() {
+            if (screenshot != null && screenshot.length > 0) {
+                result.getResult().setScreenshot("data:image/png;base64," + Base64.getEncoder().encodeToString(screenshot));
+            }
+            return RestService.getJsonFromObject(result);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.orasi.utils.reporting;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import org.testng.ITestResult;
+import org.testng.Reporter;
+
+/**
+ * Sink that queues output on a bounded, lock-free queue and lets a single background thread write it to the TestNG
+ * report and the console in batches. Test threads only pay for building the HTML; stripping the HTML for the console
+ * and the I/O happens on the writer thread.<br/>
+ * <br/>
+ * Entries are written in the order they were queued, so output of a single thread stays in order. Within a batch the
+ * HTML is grouped per test so the current test result is only switched once per test, and all console lines of the
+ * batch are printed with a single call.<br/>
+ * <br/>
+ * If the queue is full the calling thread waits for the writer to catch up instead of dropping output. Call
+ * {@link #flush()} before reading the report output, which BaseTest and TestListener already do after each test
+ * method.
+ */
+public class AsyncReporterSink implements ReporterSink {
+    public static final int DEFAULT_CAPACITY = 8192;
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long FLUSH_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final Queue<Entry> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong queued = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final int capacity;
+    private final int batchSize;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public AsyncReporterSink() {
+        this(DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @param capacity
+     *            Maximum number of entries waiting to be written before test threads have to wait
+     * @param batchSize
+     *            Maximum number of entries the writer handles at once
+     */
+    public AsyncReporterSink(int capacity, int batchSize) {
+        if (capacity < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("Capacity and batch size must be greater than zero");
+        }
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+
+        writer = new Thread(this::drainLoop, "TestReporter-writer");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "TestReporter-shutdown"));
+    }
+
+    @Override
+    public void write(ITestResult result, String html, boolean escapeHtml, Supplier<String> console) {
+        Entry entry = new Entry(result, html, escapeHtml, console);
+        if (!running) {
+            writeEntryDirectly(entry);
+            return;
+        }
+
+        int current;
+        while ((current = size.get()) >= capacity || !size.compareAndSet(current, current + 1)) {
+            if (current >= capacity) {
+                LockSupport.unpark(writer);
+                LockSupport.parkNanos(this, FULL_PARK_NANOS);
+                if (!running) {
+                    writeEntryDirectly(entry);
+                    return;
+                }
+            }
+        }
+
+        queue.offer(entry);
+        queued.incrementAndGet();
+        if (current == 0) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    @Override
+    public void flush() {
+        if (Thread.currentThread() == writer) {
+            return;
+        }
+
+        long target = queued.get();
+        long deadline = System.nanoTime() + FLUSH_TIMEOUT_NANOS;
+        while (written.get() < target && writer.isAlive() && System.nanoTime() < deadline) {
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(this, FULL_PARK_NANOS);
+        }
+        System.out.flush();
+    }
+
+    /**
+     * Writes everything that is still queued and stops the writer thread. Anything written afterwards goes straight
+     * to the report on the calling thread
+     */
+    public void shutdown() {
+        flush();
+        running = false;
+        LockSupport.unpark(writer);
+    }
+
+    /**
+     * @return Number of entries waiting to be written
+     */
+    public int getPendingCount() {
+        return size.get();
+    }
+
+    private void drainLoop() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            Entry entry;
+            while (batch.size() < batchSize && (entry = queue.poll()) != null) {
+                batch.add(entry);
+            }
+
+            if (batch.isEmpty()) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                continue;
+            }
+
+            size.addAndGet(-batch.size());
+            writeBatch(batch);
+            written.addAndGet(batch.size());
+            batch.clear();
+        }
+    }
+
+    private void writeBatch(List<Entry> batch) {
+        StringBuilder console = new StringBuilder();
+        Map<ITestResult, List<Entry>> htmlByTest = new LinkedHashMap<>();
+
+        for (Entry entry : batch) {
+            if (entry.html != null) {
+                htmlByTest.computeIfAbsent(entry.result, key -> new ArrayList<>()).add(entry);
+            }
+
+            if (entry.console != null) {
+                try {
+                    console.append(entry.console.get()).append(System.lineSeparator());
+                } catch (RuntimeException e) {
+                    console.append("Failed to build log message: ").append(e).append(System.lineSeparator());
+                }
+            }
+        }
+
+        for (Map.Entry<ITestResult, List<Entry>> test : htmlByTest.entrySet()) {
+            Reporter.setCurrentTestResult(test.getKey());
+            for (Entry entry : test.getValue()) {
+                writeHtml(entry);
+            }
+        }
+        Reporter.setCurrentTestResult(null);
+
+        if (console.length() > 0) {
+            System.out.print(console);
+        }
+    }
+
+    private void writeEntryDirectly(Entry entry) {
+        if (entry.html != null) {
+            writeHtml(entry);
+        }
+        if (entry.console != null) {
+            System.out.println(entry.console.get());
+        }
+    }
+
+    private static void writeHtml(Entry entry) {
+        if (entry.escapeHtml) {
+            Reporter.setEscapeHtml(true);
+            Reporter.log(entry.html);
+            Reporter.setEscapeHtml(false);
+        } else {
+            Reporter.log(entry.html);
+        }
+    }
+
+    private static final class Entry {
+        private final ITestResult result;
+        private final String html;
+        private final boolean escapeHtml;
+        private final Supplier<String> console;
+
+        private Entry(ITestResult result, String html, boolean escapeHtml, Supplier<String> console) {
+            this.result = result;
+            this.html = html;
+            this.escapeHtml = escapeHtml;
+            this.console = console;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.orasi.utils.reporting;
+
+import java.util.function.Supplier;
+
+import org.testng.ITestResult;
+
+/**
+ * Destination for everything {@link com.orasi.utils.TestReporter} writes to the TestNG report and to the console.
+ * The default sink writes on the calling thread, {@link AsyncReporterSink} hands the output to a background writer
+ *
+ * @see com.orasi.utils.TestReporter#setReporterSink(ReporterSink)
+ */
+public interface ReporterSink {
+
+    /**
+     * Writes a single entry
+     *
+     * @param result
+     *            Test result the HTML belongs to, captured on the test thread. May be null outside of a test
+     * @param html
+     *            Text to add to the TestNG report, or null for console only
+     * @param escapeHtml
+     *            True if TestNG should escape the HTML before adding it to the report
+     * @param console
+     *            Builds the line to print to the console, or null for report only. Only called once, possibly on
+     *            another thread, so it must not depend on thread state of the caller
+     */
+    void write(ITestResult result, String html, boolean escapeHtml, Supplier<String> console);
+
+    /**
+     * Blocks until everything written before this call has reached the TestNG report and the console
+     */
+    void flush();
+}
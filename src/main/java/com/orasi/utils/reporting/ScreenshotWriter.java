@@ -0,0 +1,77 @@
+package com.orasi.utils.reporting;
+
+import static com.orasi.utils.TestReporter.logTrace;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.orasi.AutomationException;
+
+/**
+ * Writes screenshots to disk on a single background thread, so a failing test does not wait for the file to be written.
+ * Screenshots are written in the order they were queued. Call {@link #flush()} before reading the screenshot folder,
+ * which TestListener already does when a test finishes.
+ */
+public class ScreenshotWriter {
+    private static final long FLUSH_TIMEOUT_SECONDS = 30;
+
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Screenshot-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(ScreenshotWriter::flush, "Screenshot-writer-shutdown"));
+    }
+
+    private ScreenshotWriter() {
+    }
+
+    /**
+     * Queues the screenshot to be written, creating any missing folders
+     *
+     * @param png
+     *            Screenshot as taken by the driver. Must not be changed afterwards
+     * @param destination
+     *            File to write
+     * @return Completes once the file was written, or exceptionally if it could not be
+     */
+    public static CompletableFuture<Void> write(byte[] png, File destination) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                File folder = destination.getAbsoluteFile().getParentFile();
+                if (folder != null) {
+                    Files.createDirectories(folder.toPath());
+                }
+                Files.write(destination.toPath(), png);
+                logTrace("Screenshot written to [ {} ]", destination);
+            } catch (IOException e) {
+                logTrace(() -> "Failed to write screenshot [ " + destination + " ]: " + e.getMessage());
+                throw new AutomationException("Failed to write screenshot [ " + destination + " ]", e);
+            }
+        }, WRITER);
+    }
+
+    /**
+     * Waits up to 30 seconds for every screenshot queued so far to be written
+     */
+    public static void flush() {
+        try {
+            CompletableFuture.runAsync(() -> {
+            }, WRITER).get(FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (TimeoutException | ExecutionException | RejectedExecutionException e) {
+            logTrace(() -> "Screenshots still pending after flush: " + e.getMessage());
+        }
+    }
+}
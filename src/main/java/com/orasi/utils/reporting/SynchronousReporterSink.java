@@ -0,0 +1,34 @@
+package com.orasi.utils.reporting;
+
+import java.util.function.Supplier;
+
+import org.testng.ITestResult;
+import org.testng.Reporter;
+
+/**
+ * Default sink. Writes straight to the TestNG report and the console on the calling thread
+ */
+public class SynchronousReporterSink implements ReporterSink {
+
+    @Override
+    public void write(ITestResult result, String html, boolean escapeHtml, Supplier<String> console) {
+        if (html != null) {
+            if (escapeHtml) {
+                Reporter.setEscapeHtml(true);
+                Reporter.log(html);
+                Reporter.setEscapeHtml(false);
+            } else {
+                Reporter.log(html);
+            }
+        }
+
+        if (console != null) {
+            System.out.println(console.get());
+        }
+    }
+
+    @Override
+    public void flush() {
+        System.out.flush();
+    }
+}
@@ -12,7 +12,7 @@ public class AlertHandler {
     public static boolean isAlertPresent(WebDriver driver, int timeout) {
         logTrace("Entering AlertHandler#isAlertPresent");
         try {
-            logTrace("Waiting for [ " + timeout + " ] seconds for an Alert to appear");
+            logTrace(() -> "Waiting for [ " + timeout + " ] seconds for an Alert to appear");
             WebDriverWait wait = new WebDriverWait(driver, timeout);
             wait.until(ExpectedConditions.alertIsPresent());
             logTrace("Alert found");
@@ -29,7 +29,7 @@ public class AlertHandler {
         logTrace("Entering AlertHandler#handleAllAlerts");
         int alert = 0;
         while (isAlertPresent(driver, timeout)) {
-            logTrace("Handling Alert [ " + alert + 1 + " ] ");
+            logTrace(() -> "Handling Alert [ " + alert + 1 + " ] ");
             alertHandler(driver);
         }
         logTrace("Exiting AlertHandler#handleAllAlerts");
@@ -72,7 +72,7 @@ public class AlertHandler {
         logTrace("Entering AlertHandler#alertHandler(driver)");
         try {
             Alert alert = driver.switchTo().alert();
-            logTrace("Closing alert popup with text [ " + alert.getText() + " ]");
+            logTrace(() -> "Closing alert popup with text [ " + alert.getText() + " ]");
             alert.accept();
         } catch (Exception throwAway) {
         }
@@ -83,7 +83,7 @@ public class AlertHandler {
         logTrace("Entering AlertHandler#alertHandler(driver, inputText)");
         try {
             Alert alert = driver.switchTo().alert();
-            logTrace("Sending text [ " + inputText + " ] to Alert popup");
+            logTrace(() -> "Sending text [ " + inputText + " ] to Alert popup");
             alert.sendKeys(inputText);
             alertHandler(driver);
         } catch (Exception throwAway) {
@@ -95,7 +95,7 @@ public class AlertHandler {
         logTrace("Entering AlertHandler#alertHandler(driver, credentials)");
         try {
             Alert alert = driver.switchTo().alert();
-            logTrace("Closing alert popup with text [ " + alert.getText() + " ] with authentication user");
+            logTrace(() -> "Closing alert popup with text [ " + alert.getText() + " ] with authentication user");
             alert.authenticateUsing(credentials);
         } catch (Exception throwAway) {
         }
@@ -0,0 +1,29 @@
+package com.orasi.web;
+
+/**
+ * State of an element that can be read for many elements at once with
+ * {@link OrasiDriver#getElementStates(java.util.List, ElementProperty...)}
+ */
+public enum ElementProperty {
+    /** The element is on the page */
+    PRESENT,
+    /** The element takes up space on the page and is not hidden by CSS */
+    DISPLAYED,
+    /** The element is not disabled */
+    ENABLED,
+    /** The checkbox, radio button or option is checked or selected */
+    SELECTED,
+    /** Rendered text of the element, trimmed */
+    TEXT,
+    /** Current value of an input, select or textarea */
+    VALUE,
+    /** Tag name of the element in lower case */
+    TAG_NAME;
+
+    /**
+     * @return Name of the property in the snapshot returned by the browser
+     */
+    String getKey() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,317 @@
+package com.orasi.web;
+
+import static com.orasi.utils.TestReporter.logTrace;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import com.orasi.web.webelements.Element;
+
+/**
+ * Snapshot of the state of several elements, read from the browser with a single script instead of one WebDriver
+ * command per element and property. Use {@link OrasiDriver#getElementStates(List, ElementProperty...)} or
+ * {@link PageLoaded#getElementStates(OrasiDriver, List, ElementProperty...)} to take one.<br/>
+ * <br/>
+ * Elements are found by the browser for id, css, xpath, name, class name and tag name locators. Other locators, ie
+ * Angular locators, are found by the driver first. Only the first element matching a locator is read. The checks are
+ * close to, but not the same as, the ones of WebDriver: displayed means the element takes up space on the page and is
+ * not hidden by CSS, and text is the rendered text of the element, empty when it is not displayed.
+ */
+public final class ElementStates {
+    private static final String READ_STATES = "var targets = arguments[0], properties = arguments[1], attributes = arguments[2], states = [];"
+            + "function find(target) {"
+            + "  var value = target[1];"
+            + "  try {"
+            + "    switch (target[0]) {"
+            + "      case 'element': return target[2];"
+            + "      case 'id': return document.getElementById(value);"
+            + "      case 'css': return document.querySelector(value);"
+            + "      case 'xpath': return document.evaluate(value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;"
+            + "      case 'name': return document.getElementsByName(value)[0] || null;"
+            + "      case 'class': return document.getElementsByClassName(value)[0] || null;"
+            + "      case 'tag': return document.getElementsByTagName(value)[0] || null;"
+            + "    }"
+            + "  } catch (e) {}"
+            + "  return null;"
+            + "}"
+            + "function displayed(el) {"
+            + "  if (el.tagName.toLowerCase() === 'input' && String(el.type).toLowerCase() === 'hidden') { return false; }"
+            + "  if (el.getClientRects().length === 0) { return false; }"
+            + "  var style = window.getComputedStyle(el), rect = el.getBoundingClientRect();"
+            + "  return style.visibility !== 'hidden' && style.visibility !== 'collapse' && style.opacity !== '0' && (rect.width > 0 || rect.height > 0);"
+            + "}"
+            + "function read(el, property) {"
+            + "  switch (property) {"
+            + "    case 'present': return true;"
+            + "    case 'displayed': return displayed(el);"
+            + "    case 'enabled': return !el.disabled;"
+            + "    case 'selected': return !!(el.checked || el.selected);"
+            + "    case 'text': return displayed(el) ? String(el.innerText === undefined ? el.textContent : el.innerText).trim() : '';"
+            + "    case 'value': return el.value === undefined || el.value === null ? null : String(el.value);"
+            + "    case 'tag_name': return el.tagName.toLowerCase();"
+            + "  }"
+            + "  return null;"
+            + "}"
+            + "for (var i = 0; i < targets.length; i++) {"
+            + "  var el = find(targets[i]), state = { present: !!el, attributes: {} };"
+            + "  if (el) {"
+            + "    for (var p = 0; p < properties.length; p++) { state[properties[p]] = read(el, properties[p]); }"
+            + "    for (var a = 0; a < attributes.length; a++) { state.attributes[attributes[a]] = el.getAttribute(attributes[a]); }"
+            + "  }"
+            + "  states.push(state);"
+            + "}"
+            + "return states;";
+
+    private final List<Object> elements;
+    private final List<State> states;
+
+    private ElementStates(List<Object> elements, List<State> states) {
+        this.elements = elements;
+        this.states = states;
+    }
+
+    /**
+     * Reads the properties and attributes of all elements with one script
+     *
+     * @param driver
+     *            Driver to run the script with
+     * @param elements
+     *            {@link Element}s, {@link WebElement}s or {@link By} locators
+     * @param properties
+     *            Properties to read. Whether the element is present is always read
+     * @param attributes
+     *            Names of attributes to read
+     * @return Snapshot of the states, in the order of the elements
+     */
+    static ElementStates read(OrasiDriver driver, List<?> elements, Collection<ElementProperty> properties, Collection<String> attributes) {
+        logTrace("Entering ElementStates#read");
+        logTrace("Reading state of [ {} ] elements", elements.size());
+        Set<ElementProperty> read = properties.isEmpty() ? EnumSet.noneOf(ElementProperty.class) : EnumSet.copyOf(properties);
+        read.add(ElementProperty.PRESENT);
+        Set<String> readAttributes = new LinkedHashSet<>(attributes);
+
+        List<Object> targets = new ArrayList<>(elements.size());
+        int elementTimeout = driver.getElementTimeout();
+        boolean timeoutChanged = false;
+        try {
+            for (Object element : elements) {
+                By by = getLocator(element);
+                String type = by == null ? null : getScriptLocatorType(by);
+                if (by == null) {
+                    targets.add(Arrays.asList("element", "", element));
+                } else if (type != null) {
+                    String locator = by.toString();
+                    targets.add(Arrays.asList(type, locator.substring(locator.indexOf(": ") + 2)));
+                } else {
+                    // The browser cannot evaluate this locator, so look it up without waiting for it to show up
+                    if (!timeoutChanged && elementTimeout != 0) {
+                        driver.setElementTimeout(0);
+                        timeoutChanged = true;
+                    }
+                    List<WebElement> found = driver.getWebDriver().findElements(by);
+                    targets.add(found.isEmpty() ? Arrays.asList("missing", "") : Arrays.asList("element", "", found.get(0)));
+                }
+            }
+        } finally {
+            if (timeoutChanged) {
+                driver.setElementTimeout(elementTimeout);
+            }
+        }
+
+        List<String> keys = new ArrayList<>(read.size());
+        for (ElementProperty property : read) {
+            keys.add(property.getKey());
+        }
+
+        List<State> states = new ArrayList<>(elements.size());
+        Object result = driver.executeJavaScript(READ_STATES, targets, keys, new ArrayList<>(readAttributes));
+        if (result instanceof List) {
+            for (Object state : (List<?>) result) {
+                states.add(new State((Map<?, ?>) state, read, readAttributes));
+            }
+        }
+        if (states.size() != elements.size()) {
+            throw new WebException("Failed to read state of elements, browser returned [ " + result + " ]", driver);
+        }
+
+        logTrace("Exiting ElementStates#read");
+        return new ElementStates(new ArrayList<>(elements), states);
+    }
+
+    /**
+     * @return The locator of the element, or null for a WebElement
+     */
+    private static By getLocator(Object element) {
+        if (element instanceof By) {
+            return (By) element;
+        } else if (element instanceof Element) {
+            return ((Element) element).getElementLocator();
+        } else if (element instanceof WebElement) {
+            return null;
+        }
+        throw new IllegalArgumentException("Can only read the state of an Element, WebElement or By, not [ " + element + " ]");
+    }
+
+    /**
+     * @return How the script finds elements of the locator, or null if it cannot
+     */
+    private static String getScriptLocatorType(By by) {
+        if (by instanceof By.ById) {
+            return "id";
+        } else if (by instanceof By.ByCssSelector) {
+            return "css";
+        } else if (by instanceof By.ByXPath) {
+            return "xpath";
+        } else if (by instanceof By.ByName) {
+            return "name";
+        } else if (by instanceof By.ByClassName) {
+            return "class";
+        } else if (by instanceof By.ByTagName) {
+            return "tag";
+        }
+        return null;
+    }
+
+    /**
+     * @return Number of elements read
+     */
+    public int size() {
+        return states.size();
+    }
+
+    /**
+     * @param index
+     *            Position of the element in the list that was read
+     * @return State of the element
+     */
+    public State get(int index) {
+        return states.get(index);
+    }
+
+    /**
+     * @param element
+     *            Element, WebElement or By locator as it was passed in
+     * @return State of the first matching element
+     */
+    public State get(Object element) {
+        // Page object elements are proxies that do not equal themselves, so look for the same instance first
+        for (int index = 0; index < elements.size(); index++) {
+            if (elements.get(index) == element) {
+                return states.get(index);
+            }
+        }
+        for (int index = 0; index < elements.size(); index++) {
+            if (element != null && element.equals(elements.get(index))) {
+                return states.get(index);
+            }
+        }
+        throw new IllegalArgumentException("State of [ " + element + " ] was not read");
+    }
+
+    /**
+     * @return States in the order of the elements
+     */
+    public List<State> getStates() {
+        return Collections.unmodifiableList(states);
+    }
+
+    /**
+     * @return True if every element is on the page
+     */
+    public boolean allPresent() {
+        return states.stream().allMatch(State::isPresent);
+    }
+
+    /**
+     * @return True if every element is displayed. Requires {@link ElementProperty#DISPLAYED}
+     */
+    public boolean allDisplayed() {
+        return states.stream().allMatch(State::isDisplayed);
+    }
+
+    /**
+     * @return True if every element is enabled. Requires {@link ElementProperty#ENABLED}
+     */
+    public boolean allEnabled() {
+        return states.stream().allMatch(State::isEnabled);
+    }
+
+    /**
+     * State of a single element. Reading a property or attribute that was not requested throws an
+     * IllegalArgumentException. Elements that are not on the page are not displayed, enabled or selected and have no
+     * text, value, tag name or attributes.
+     */
+    public static final class State {
+        private final Map<?, ?> values;
+        private final Set<ElementProperty> properties;
+        private final Set<String> attributes;
+
+        private State(Map<?, ?> values, Set<ElementProperty> properties, Set<String> attributes) {
+            this.values = values;
+            this.properties = properties;
+            this.attributes = attributes;
+        }
+
+        public boolean isPresent() {
+            return Boolean.TRUE.equals(values.get(ElementProperty.PRESENT.getKey()));
+        }
+
+        public boolean isDisplayed() {
+            return Boolean.TRUE.equals(get(ElementProperty.DISPLAYED));
+        }
+
+        public boolean isEnabled() {
+            return Boolean.TRUE.equals(get(ElementProperty.ENABLED));
+        }
+
+        public boolean isSelected() {
+            return Boolean.TRUE.equals(get(ElementProperty.SELECTED));
+        }
+
+        public String getText() {
+            return (String) get(ElementProperty.TEXT);
+        }
+
+        public String getValue() {
+            return (String) get(ElementProperty.VALUE);
+        }
+
+        public String getTagName() {
+            return (String) get(ElementProperty.TAG_NAME);
+        }
+
+        public String getAttribute(String name) {
+            if (!attributes.contains(name)) {
+                throw new IllegalArgumentException("Attribute [ " + name + " ] was not read");
+            }
+            Object elementAttributes = values.get("attributes");
+            if (!(elementAttributes instanceof Map)) {
+                return null;
+            }
+            Object value = ((Map<?, ?>) elementAttributes).get(name);
+            return value == null ? null : value.toString();
+        }
+
+        private Object get(ElementProperty property) {
+            if (!properties.contains(property)) {
+                throw new IllegalArgumentException("Property [ " + property + " ] was not read");
+            }
+            return values.get(property.getKey());
+        }
+
+        @Override
+        public String toString() {
+            return values.toString();
+        }
+    }
+}
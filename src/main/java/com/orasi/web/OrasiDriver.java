@@ -1,6 +1,9 @@
 package com.orasi.web;
 
 import java.net.URL;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -56,6 +59,8 @@ public class OrasiDriver implements WebDriver, TakesScreenshot {
     private int currentPageTimeout;
     private int currentElementTimeout;
     private int currentScriptTimeout;
+    private boolean syncOnDomChanges = false;
+    private PageReadiness pageReadiness = PageReadiness.domComplete();
     public static boolean DEFAULT_SYNC_HANDLER = true;
 
     public OrasiDriver() {
@@ -249,6 +254,46 @@ public class OrasiDriver implements WebDriver, TakesScreenshot {
         return currentElementTimeout;
     }
 
+    /**
+     * Method to set what {@link PageLoaded#isPageReady(OrasiDriver)} waits for
+     * Example usage: getDriver().setPageReadiness(PageReadiness.domComplete().withNoPendingRequests());
+     *
+     * @param pageReadiness
+     *            - readiness policy, DOM complete by default
+     */
+    public void setPageReadiness(PageReadiness pageReadiness) {
+        this.pageReadiness = pageReadiness;
+    }
+
+    /**
+     * Method to return the readiness policy used by {@link PageLoaded#isPageReady(OrasiDriver)}
+     *
+     * @return - readiness policy
+     */
+    public PageReadiness getPageReadiness() {
+        return pageReadiness;
+    }
+
+    /**
+     * Method to have element syncs wait in the browser for the next change of the page between checks, instead of
+     * polling on a fixed interval. Needs a script timeout of at least one second
+     *
+     * @param syncOnDomChanges
+     *            - true to wait for DOM changes, false (default) to poll
+     */
+    public void setSyncOnDomChanges(boolean syncOnDomChanges) {
+        this.syncOnDomChanges = syncOnDomChanges;
+    }
+
+    /**
+     * Method to return if element syncs wait for DOM changes
+     *
+     * @return - true if element syncs wait for DOM changes
+     */
+    public boolean isSyncOnDomChanges() {
+        return syncOnDomChanges;
+    }
+
     /**
      * Used when you want to upload a local file to the remote webdriver for use
      * on the selenium grid nodes.
@@ -559,6 +604,36 @@ public class OrasiDriver implements WebDriver, TakesScreenshot {
         return ((JavascriptExecutor) driver).executeAsyncScript(script, parameters);
     }
 
+    /**
+     * Method to read the state of many elements with a single JavaScript call, instead of one WebDriver command per
+     * element and property
+     * Example usage: getDriver().getElementStates(Arrays.asList(btnLogin, By.id("user")), ElementProperty.DISPLAYED).allDisplayed();
+     *
+     * @param elements
+     *            - Elements, WebElements or Selenium <b><i>By</i></b> locators of the elements to read
+     * @param properties
+     *            - properties to read of every element
+     * @return Snapshot of the states, in the order of the elements
+     */
+    public ElementStates getElementStates(List<?> elements, ElementProperty... properties) {
+        return ElementStates.read(this, elements, Arrays.asList(properties), Collections.emptyList());
+    }
+
+    /**
+     * Method to read the state and attributes of many elements with a single JavaScript call
+     *
+     * @param elements
+     *            - Elements, WebElements or Selenium <b><i>By</i></b> locators of the elements to read
+     * @param properties
+     *            - properties to read of every element
+     * @param attributes
+     *            - names of the attributes to read of every element
+     * @return Snapshot of the states, in the order of the elements
+     */
+    public ElementStates getElementStates(List<?> elements, Collection<ElementProperty> properties, Collection<String> attributes) {
+        return ElementStates.read(this, elements, properties, attributes);
+    }
+
     /**
      * Method to return the RemoteWebDriver session ID
      *
@@ -1,14 +1,17 @@
 package com.orasi.web;
 
 import static com.orasi.utils.TestReporter.logFailure;
+import static com.orasi.utils.TestReporter.logTrace;
 
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
+import org.openqa.selenium.JavascriptException;
 import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.ScriptTimeoutException;
 import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.WebDriverException;
 
-import com.orasi.utils.Sleeper;
 import com.orasi.web.exceptions.PageInitialization;
 import com.orasi.web.webelements.Element;
 
@@ -21,6 +24,63 @@ import com.orasi.web.webelements.Element;
  *
  */
 public class PageLoaded {
+    private static final long MILLISECONDS_TO_POLL_FOR_READY = 100;
+    private static final long SCRIPT_TIMEOUT_MARGIN = 500;
+
+    /**
+     * Checks the page against the policy passed as arguments: target ready
+     * state, whether to wait for requests, quiet period in milliseconds. The
+     * request tracker is injected on the first check of every page. Not every
+     * browser fires loadend, so open requests are also checked on every check
+     */
+    private static final String READY_CHECK = "var target = arguments[0], trackRequests = arguments[1], quietPeriod = arguments[2];"
+            + "if (trackRequests && !window.__orasiRequests) {"
+            + "  var tracker = window.__orasiRequests = { pending: 0, lastChange: Date.now(), xhrs: [] };"
+            + "  var started = function() { tracker.pending++; tracker.lastChange = Date.now(); };"
+            + "  var finished = function() { tracker.pending = Math.max(0, tracker.pending - 1); tracker.lastChange = Date.now(); };"
+            + "  if (window.XMLHttpRequest) {"
+            + "    var send = XMLHttpRequest.prototype.send;"
+            + "    XMLHttpRequest.prototype.send = function() {"
+            + "      var xhr = this, done = false;"
+            + "      xhr.__orasiEnd = function() { if (!done) { done = true; finished(); } };"
+            + "      started(); tracker.xhrs.push(xhr); xhr.addEventListener('loadend', xhr.__orasiEnd);"
+            + "      try { return send.apply(xhr, arguments); } catch (e) { xhr.__orasiEnd(); throw e; }"
+            + "    };"
+            + "  }"
+            + "  if (window.fetch) {"
+            + "    var fetch = window.fetch;"
+            + "    window.fetch = function() {"
+            + "      started();"
+            + "      try { return fetch.apply(this, arguments).then(function(r) { finished(); return r; }, function(e) { finished(); throw e; }); }"
+            + "      catch (e) { finished(); throw e; }"
+            + "    };"
+            + "  }"
+            + "}"
+            + "var isReady = function() {"
+            + "  var state = document.readyState;"
+            + "  if (target === 'complete' ? state !== 'complete' : state === 'loading') { return false; }"
+            + "  var requests = window.__orasiRequests;"
+            + "  if (requests) {"
+            + "    requests.xhrs = requests.xhrs.filter(function(xhr) { if (xhr.readyState === 4) { xhr.__orasiEnd(); } return xhr.readyState !== 4; });"
+            + "  }"
+            + "  return !trackRequests || !requests || (requests.pending === 0 && Date.now() - requests.lastChange >= quietPeriod);"
+            + "};";
+
+    private static final String IS_READY = READY_CHECK + "return isReady();";
+
+    /**
+     * Resolves true once the page is ready, or false once the maximum wait
+     * in milliseconds passed as fourth argument is over
+     */
+    private static final String WAIT_FOR_READY = READY_CHECK
+            + "var callback = arguments[arguments.length - 1], maxWait = arguments[3], start = Date.now();"
+            + "var check = function() {"
+            + "  if (isReady()) { callback(true); }"
+            + "  else if (Date.now() - start >= maxWait) { callback(false); }"
+            + "  else { setTimeout(check, 25); }"
+            + "};"
+            + "check();";
+
     /**
      * This waits for a specified element on the page to be found on the page by
      * the driver Uses the default test time out set by WebDriverSetup
@@ -92,6 +152,37 @@ public class PageLoaded {
 
     }
 
+    /**
+     * Reads the state of many elements with a single JavaScript call, so
+     * validating a page does not take one round trip to the browser per
+     * element and property
+     *
+     * @param oDriver
+     *            The webDriver
+     * @param elements
+     *            Elements, WebElements or By locators of the elements to read
+     * @param properties
+     *            Properties to read of every element
+     * @return Snapshot of the states, in the order of the elements
+     */
+    public static ElementStates getElementStates(OrasiDriver oDriver, List<?> elements, ElementProperty... properties) {
+        return oDriver.getElementStates(elements, properties);
+    }
+
+    /**
+     * Checks with a single JavaScript call that all elements are on the page
+     * and displayed
+     *
+     * @param oDriver
+     *            The webDriver
+     * @param elements
+     *            Elements, WebElements or By locators of the elements to check
+     * @return True if every element is displayed, false otherwise
+     */
+    public static boolean areElementsDisplayed(OrasiDriver oDriver, List<?> elements) {
+        return oDriver.getElementStates(elements, ElementProperty.DISPLAYED).allDisplayed();
+    }
+
     /**
      * This uses the HTML DOM readyState property to wait until a page is
      * finished loading. It will wait for the ready state to be either
@@ -122,27 +213,7 @@ public class PageLoaded {
      *         found
      */
     public static boolean isDomInteractive(OrasiDriver oDriver, int timeout) {
-        int count = 0;
-        Object obj = null;
-
-        do {
-            // this returns a boolean
-            obj = oDriver.executeJavaScript(
-                    "var result = document.readyState; return (result == 'complete' || result == 'interactive');");
-            if (count == timeout) {
-                break;
-            }
-            Sleeper.sleep(500);
-            count++;
-
-        } while (obj.equals(false));
-
-        if (count < (timeout * 2)) {
-            return true;
-        }
-
-        return false;
-
+        return isPageReady(oDriver, PageReadiness.domInteractive(), timeout);
     }
 
     /**
@@ -198,26 +269,103 @@ public class PageLoaded {
      *         found
      */
     public static boolean isDomComplete(OrasiDriver oDriver, int timeout) {
-        int count = 0;
-        Object obj = null;
+        return isPageReady(oDriver, PageReadiness.domComplete(), timeout);
+    }
 
-        do {
-            // this returns a boolean
-            obj = oDriver.executeJavaScript("var result = document.readyState; return (result == 'complete');");
+    /**
+     * Waits for the page to be ready as defined by the readiness policy of
+     * the driver, see {@link OrasiDriver#setPageReadiness(PageReadiness)}.
+     * Uses the page timeout of the driver
+     *
+     * @param oDriver
+     *            The webDriver
+     * @return True if the page was ready before the timeout, false otherwise
+     */
+    public static boolean isPageReady(OrasiDriver oDriver) {
+        return isPageReady(oDriver, oDriver.getPageReadiness(), oDriver.getPageTimeout());
+    }
 
-            if (count == timeout) {
-                break;
-            } else {
-                Sleeper.sleep(500);
-                count++;
+    /**
+     * Waits in the browser for the page to be ready, so the check returns as
+     * soon as the page is ready instead of on the next poll. Each wait runs
+     * for at most the script timeout of the driver and is started again until
+     * the timeout is over, also when the page navigates while waiting. If the
+     * browser cannot run asynchronous scripts the page is checked every 100
+     * milliseconds instead. Other errors, ie an open alert or a closed window,
+     * are thrown right away.
+     *
+     * @param oDriver
+     *            The webDriver
+     * @param readiness
+     *            What the page should reach, ie
+     *            <code>PageReadiness.domComplete().withNoPendingRequests()</code>
+     * @param timeout
+     *            Integer value of number seconds to wait for a page to be
+     *            ready. The page is always checked at least once
+     * @return True if the page was ready before the timeout, false otherwise
+     */
+    public static boolean isPageReady(OrasiDriver oDriver, PageReadiness readiness, int timeout) {
+        logTrace("Entering PageLoaded#isPageReady");
+        logTrace(() -> "Waiting up to [ " + timeout + " ] seconds for page to be ready: " + readiness);
+        long deadline = System.currentTimeMillis() + timeout * 1000L;
+        long scriptTimeout = Math.max(MILLISECONDS_TO_POLL_FOR_READY, oDriver.getScriptTimeout() * 1000L - SCRIPT_TIMEOUT_MARGIN);
+        Object[] arguments = { readiness.getReadyState().getValue(), readiness.isNoPendingRequests(), readiness.getQuietPeriod(), 0L };
+        boolean polling = false;
+
+        do {
+            try {
+                boolean ready;
+                if (polling) {
+                    ready = Boolean.TRUE.equals(oDriver.executeJavaScript(IS_READY, arguments));
+                } else {
+                    arguments[3] = Math.min(Math.max(0, deadline - System.currentTimeMillis()), scriptTimeout);
+                    ready = Boolean.TRUE.equals(oDriver.executeAsyncJavaScript(WAIT_FOR_READY, arguments));
+                }
+                if (ready) {
+                    logTrace("Exiting PageLoaded#isPageReady");
+                    return true;
+                }
+                if (polling) {
+                    pause(deadline);
+                }
+            } catch (ScriptTimeoutException ste) {
+                // The browser gave up before the script did, so check on every poll instead
+                logTrace("Script timed out waiting for page, polling instead");
+                polling = true;
+            } catch (WebDriverException wde) {
+                if (!isNavigating(wde)) {
+                    logTrace("Exiting PageLoaded#isPageReady");
+                    throw wde;
+                }
+                logTrace(() -> "Page navigated while checking if it is ready, checking again: " + wde.getMessage());
+                pause(deadline);
             }
+        } while (System.currentTimeMillis() < deadline);
 
-        } while (obj.equals(false));
+        logTrace(() -> "Page not ready after [ " + timeout + " ] seconds: " + readiness);
+        logTrace("Exiting PageLoaded#isPageReady");
+        return false;
+    }
 
-        if (count < timeout * 2) {
+    /**
+     * @return True if the error is caused by the page navigating while the
+     *         script ran, so checking again can succeed. Errors like an open
+     *         alert or a closed window are not
+     */
+    private static boolean isNavigating(WebDriverException wde) {
+        if (wde instanceof JavascriptException || wde instanceof StaleElementReferenceException) {
             return true;
-        } else {
-            return false;
+        }
+        String message = String.valueOf(wde.getMessage()).toLowerCase();
+        return wde.getClass() == WebDriverException.class
+                && (message.contains("unloaded") || message.contains("context was destroyed") || message.contains("cannot find context"));
+    }
+
+    private static void pause(long deadline) {
+        try {
+            Thread.sleep(Math.max(0, Math.min(MILLISECONDS_TO_POLL_FOR_READY, deadline - System.currentTimeMillis())));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
 }
\ No newline at end of file
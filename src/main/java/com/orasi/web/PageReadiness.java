@@ -0,0 +1,90 @@
+package com.orasi.web;
+
+/**
+ * What {@link PageLoaded#isPageReady(OrasiDriver, PageReadiness, int)} waits for before a page counts as loaded. A page
+ * is ready once every condition of the policy is met:
+ * <ul>
+ * <li>document.readyState reached 'interactive' or 'complete'</li>
+ * <li>optionally, no XMLHttpRequest or fetch calls are in flight, and none were for the quiet period</li>
+ * </ul>
+ * Requests are counted by a tracker injected into the page on the first check. Requests that started before the
+ * tracker was injected are not counted, so it is most useful for the calls made after the page loaded, ie after a click.
+ * Policies are immutable, the <b>with</b> methods return a new policy.
+ */
+public final class PageReadiness {
+    public enum ReadyState {
+        INTERACTIVE("interactive"),
+        COMPLETE("complete");
+
+        private final String value;
+
+        ReadyState(String value) {
+            this.value = value;
+        }
+
+        public String getValue() {
+            return value;
+        }
+    }
+
+    private final ReadyState readyState;
+    private final boolean noPendingRequests;
+    private final long quietPeriod;
+
+    private PageReadiness(ReadyState readyState, boolean noPendingRequests, long quietPeriod) {
+        this.readyState = readyState;
+        this.noPendingRequests = noPendingRequests;
+        this.quietPeriod = quietPeriod;
+    }
+
+    /**
+     * @return Policy waiting for the ready state to be 'interactive' or 'complete'
+     */
+    public static PageReadiness domInteractive() {
+        return new PageReadiness(ReadyState.INTERACTIVE, false, 0);
+    }
+
+    /**
+     * @return Policy waiting for the ready state to be 'complete'
+     */
+    public static PageReadiness domComplete() {
+        return new PageReadiness(ReadyState.COMPLETE, false, 0);
+    }
+
+    /**
+     * @return Same policy that also waits for all XMLHttpRequest and fetch calls to finish
+     */
+    public PageReadiness withNoPendingRequests() {
+        return new PageReadiness(readyState, true, quietPeriod);
+    }
+
+    /**
+     * @param quietPeriod
+     *            Milliseconds no request may have started or finished, so requests made in response to other requests
+     *            are waited for too. Only used together with {@link #withNoPendingRequests()}
+     * @return Same policy with the quiet period
+     */
+    public PageReadiness withQuietPeriod(long quietPeriod) {
+        if (quietPeriod < 0) {
+            throw new IllegalArgumentException("Quiet period cannot be negative: [ " + quietPeriod + " ]");
+        }
+        return new PageReadiness(readyState, noPendingRequests, quietPeriod);
+    }
+
+    public ReadyState getReadyState() {
+        return readyState;
+    }
+
+    public boolean isNoPendingRequests() {
+        return noPendingRequests;
+    }
+
+    public long getQuietPeriod() {
+        return quietPeriod;
+    }
+
+    @Override
+    public String toString() {
+        return "readyState [ " + readyState.getValue() + " ]" + (noPendingRequests ? ", no pending requests for [ " + quietPeriod + " ] ms" : "");
+    }
+}
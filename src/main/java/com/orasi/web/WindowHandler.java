@@ -45,13 +45,13 @@ public class WindowHandler {
         }
 
         try {
-            logTrace("Initializing WebDriverWait with wait time of [ " + timeoutInSeconds + " ] seconds");
+            logTrace("Initializing WebDriverWait with wait time of [ {} ] seconds", timeoutInSeconds);
             WebDriverWait wait = new WebDriverWait(driver, timeoutInSeconds);
-            logTrace("Calling findWindowWithTitleAndSwitchToIt(\"" + windowNameOrHandle + "\"");
+            logTrace(() -> "Calling findWindowWithTitleAndSwitchToIt(\"" + windowNameOrHandle + "\"");
             wait.until(ExtendedExpectedConditions.findWindowWithTitleAndSwitchToIt(windowNameOrHandle));
-            logTrace("Successfully found Window with title of [ " + windowNameOrHandle + " ]");
+            logTrace(() -> "Successfully found Window with title of [ " + windowNameOrHandle + " ]");
         } catch (TimeoutException e) {
-            logTrace("Failed to find Window with title of [ " + windowNameOrHandle + " ]");
+            logTrace(() -> "Failed to find Window with title of [ " + windowNameOrHandle + " ]");
             logTrace("Exiting WindowHandler#waitUntilWindowExistsWithTitle");
             return false;
         }
@@ -93,13 +93,13 @@ public class WindowHandler {
         }
 
         try {
-            logTrace("Initializing WebDriverWait with wait time of [ " + timeoutInSeconds + " ] seconds");
+            logTrace("Initializing WebDriverWait with wait time of [ {} ] seconds", timeoutInSeconds);
             WebDriverWait wait = new WebDriverWait(driver, timeoutInSeconds);
-            logTrace("Calling findWindowContainsTitleAndSwitchToIt(\"" + windowNameOrHandle + "\"");
+            logTrace(() -> "Calling findWindowContainsTitleAndSwitchToIt(\"" + windowNameOrHandle + "\"");
             wait.until(ExtendedExpectedConditions.findWindowContainsTitleAndSwitchToIt(windowNameOrHandle));
-            logTrace("Successfully found Window with title of [ " + windowNameOrHandle + " ]");
+            logTrace(() -> "Successfully found Window with title of [ " + windowNameOrHandle + " ]");
         } catch (TimeoutException e) {
-            logTrace("Failed to find Window with title of [ " + windowNameOrHandle + " ]");
+            logTrace(() -> "Failed to find Window with title of [ " + windowNameOrHandle + " ]");
             logTrace("Entering Exiting#waitUntilWindowExistsTitleContains");
             return false;
         }
@@ -141,13 +141,13 @@ public class WindowHandler {
         }
 
         try {
-            logTrace("Initializing WebDriverWait with wait time of [ " + timeoutInSeconds + " ] seconds");
+            logTrace("Initializing WebDriverWait with wait time of [ {} ] seconds", timeoutInSeconds);
             WebDriverWait wait = new WebDriverWait(driver, timeoutInSeconds);
-            logTrace("Calling findWindowMatchesTitleAndSwitchToIt(\"" + regex + "\"");
+            logTrace(() -> "Calling findWindowMatchesTitleAndSwitchToIt(\"" + regex + "\"");
             wait.until(ExtendedExpectedConditions.findWindowMatchesTitleAndSwitchToIt(regex));
-            logTrace("Successfully found Window with title of [ " + regex + " ]");
+            logTrace(() -> "Successfully found Window with title of [ " + regex + " ]");
         } catch (TimeoutException e) {
-            logTrace("Failed to find Window with title of [ " + regex + " ]");
+            logTrace(() -> "Failed to find Window with title of [ " + regex + " ]");
             logTrace("Entering Exiting#waitUntilWindowExistsTitleMatches");
             return false;
         }
@@ -187,13 +187,13 @@ public class WindowHandler {
         }
 
         try {
-            logTrace("Initializing WebDriverWait with wait time of [ " + timeoutInSeconds + " ] seconds");
+            logTrace("Initializing WebDriverWait with wait time of [ {} ] seconds", timeoutInSeconds);
             WebDriverWait wait = new WebDriverWait(driver, timeoutInSeconds);
-            logTrace("Calling numberOfWindowsToBe(\"" + expectedNumberOfWindows + "\"");
+            logTrace(() -> "Calling numberOfWindowsToBe(\"" + expectedNumberOfWindows + "\"");
             wait.until(ExpectedConditions.numberOfWindowsToBe(expectedNumberOfWindows));
-            logTrace("Successfully found number of windows to be [ " + expectedNumberOfWindows + " ]");
+            logTrace(() -> "Successfully found number of windows to be [ " + expectedNumberOfWindows + " ]");
         } catch (TimeoutException e) {
-            logTrace("Failed to find number of windows to be [ " + expectedNumberOfWindows + " ]");
+            logTrace(() -> "Failed to find number of windows to be [ " + expectedNumberOfWindows + " ]");
             logTrace("Entering Exiting#waitUntilNumberOfWindowsAre");
             return false;
         }
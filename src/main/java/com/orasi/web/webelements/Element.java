@@ -211,10 +211,10 @@ public interface Element extends WebElement, WrapsElement, Locatable {
 
     /**
      * @author Justin
-     * @return locator - type of element that was used to create element using
+     * @return locator - {@link By} that was used to create element using
      *         {@link FindBy}
      */
-    // By getElementLocator();
+    By getElementLocator();
 
     /**
      * @author Justin
@@ -29,15 +29,15 @@ public class ButtonImpl extends ElementImpl implements Button {
     public void click() {
         logTrace("Entering ButtonImpl#click");
         try {
-            logTrace("Attempting to invoke method [ Click ] on element [ " + by.toString() + " ] ");
+            logTrace(() -> "Attempting to invoke method [ Click ] on element [ " + by.toString() + " ] ");
             getWrappedElement().click();
         } catch (RuntimeException rte) {
-            interfaceLog("Clicked Button [ <b>" + getElementLocatorInfo() + "</b>]", true);
+            interfaceLog(() -> "Clicked Button [ <b>" + getElementLocatorInfo() + "</b>]", true);
             throw rte;
         }
 
-        interfaceLog("Clicked Button [ <b>" + getElementLocatorInfo() + "</b>]");
-        logTrace("Successfully invoked method [ Click ] on element [ " + by.toString() + " ] ");
+        interfaceLog(() -> "Clicked Button [ <b>" + getElementLocatorInfo() + "</b>]");
+        logTrace(() -> "Successfully invoked method [ Click ] on element [ " + by.toString() + " ] ");
         logTrace("Exiting ButtonImpl#click");
     }
 
@@ -45,16 +45,16 @@ public class ButtonImpl extends ElementImpl implements Button {
     public void jsClick() {
         logTrace("Entering ButtonImpl#jsClick");
         try {
-            logTrace("Attempting to executed [ jsClick ] on element [ " + by.toString() + " ] ");
+            logTrace(() -> "Attempting to executed [ jsClick ] on element [ " + by.toString() + " ] ");
             getWrappedDriver().executeJavaScript("arguments[0].click();", getWrappedElement());
-            logTrace("Successfully executed [ jsClick ] on element [ " + by.toString() + " ] ");
+            logTrace(() -> "Successfully executed [ jsClick ] on element [ " + by.toString() + " ] ");
         } catch (RuntimeException rte) {
             logFailure("Clicked Button [ <b>" + getElementLocatorInfo() + "</b>]");
-            logTrace("Failed to execute [ jsClick ] on element [ " + by.toString() + " ] ");
+            logTrace(() -> "Failed to execute [ jsClick ] on element [ " + by.toString() + " ] ");
             logTrace("Exiting ButtonImpl#jsClick");
             throw new WebException(rte.getMessage(), driver);
         }
-        interfaceLog("Clicked Button [ <b>" + getElementLocatorInfo() + "</b>]");
+        interfaceLog(() -> "Clicked Button [ <b>" + getElementLocatorInfo() + "</b>]");
         logTrace("Exiting ButtonImpl#jsClick");
 
     }
@@ -45,11 +45,11 @@ public class CheckboxImpl extends ElementImpl implements Checkbox {
             try {
                 toggle();
             } catch (RuntimeException rte) {
-                interfaceLog(" Checking the Checkbox [ <b>" + getElementLocatorInfo() + " </b>]", true);
+                interfaceLog(() -> " Checking the Checkbox [ <b>" + getElementLocatorInfo() + " </b>]", true);
                 logTrace("Exiting CheckboxImpl#uncheck");
                 throw rte;
             }
-            interfaceLog(" Checking the Checkbox [ <b>" + getElementLocatorInfo() + " </b>]");
+            interfaceLog(() -> " Checking the Checkbox [ <b>" + getElementLocatorInfo() + " </b>]");
         }
         logTrace("Exiting CheckboxImpl#check");
     }
@@ -61,12 +61,12 @@ public class CheckboxImpl extends ElementImpl implements Checkbox {
             try {
                 toggle();
             } catch (RuntimeException rte) {
-                interfaceLog(" Unchecking the Checkbox [ <b>" + getElementLocatorInfo() + " </b>]", true);
+                interfaceLog(() -> " Unchecking the Checkbox [ <b>" + getElementLocatorInfo() + " </b>]", true);
                 logTrace("Exiting CheckboxImpl#uncheck");
                 throw rte;
             }
 
-            interfaceLog(" Unchecking the Checkbox [ <b>" + getElementLocatorInfo() + " </b>]");
+            interfaceLog(() -> " Unchecking the Checkbox [ <b>" + getElementLocatorInfo() + " </b>]");
         }
         logTrace("Exiting CheckboxImpl#uncheck");
     }
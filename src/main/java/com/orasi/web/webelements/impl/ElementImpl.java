@@ -1,6 +1,5 @@
 package com.orasi.web.webelements.impl;
 
-import static com.orasi.utils.Constants.MILLISECONDS_TO_POLL_FOR_ELEMENT;
 import static com.orasi.utils.TestReporter.interfaceLog;
 import static com.orasi.utils.TestReporter.logInfo;
 import static com.orasi.utils.TestReporter.logTrace;
@@ -9,7 +8,7 @@ import static com.orasi.web.OrasiDriver.DEFAULT_SYNC_HANDLER;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 
 import org.apache.commons.lang.time.StopWatch;
 import org.openqa.selenium.By;
@@ -21,7 +20,6 @@ import org.openqa.selenium.Point;
 import org.openqa.selenium.Rectangle;
 import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.TakesScreenshot;
-import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
@@ -61,12 +59,12 @@ public class ElementImpl implements Element {
         this.driver = driver;
         try {
             logTrace("Entering ElementImpl#init");
-            logTrace("Inital search for element [ " + by + "]");
+            logTrace(() -> "Inital search for element [ " + by + "]");
             WebDriverWait wait = new WebDriverWait(driver, 1);
             element = wait.until(ExpectedConditions.presenceOfElementLocated(by));
-            logTrace("Element [ " + by + "] found and stored");
+            logTrace(() -> "Element [ " + by + "] found and stored");
         } catch (WebDriverException throwAway) {
-            logTrace("Element [ " + by + "] NOT found intially, will search again later");
+            logTrace(() -> "Element [ " + by + "] NOT found intially, will search again later");
         }
         logTrace("Exiting ElementImpl#init");
     }
@@ -80,10 +78,10 @@ public class ElementImpl implements Element {
         try {
             getWrappedElement().click();
         } catch (RuntimeException rte) {
-            interfaceLog("Clicked [ <font size = 2 color=\"red\"><b> " + getElementLocatorInfo() + " </font></b>]");
+            interfaceLog(() -> "Clicked [ <font size = 2 color=\"red\"><b> " + getElementLocatorInfo() + " </font></b>]");
             throw rte;
         }
-        interfaceLog("Clicked [ <b>" + getElementLocatorInfo() + " </b>]");
+        interfaceLog(() -> "Clicked [ <b>" + getElementLocatorInfo() + " </b>]");
         logTrace("Exiting ElementImpl#click");
     }
 
@@ -91,7 +89,7 @@ public class ElementImpl implements Element {
     public void jsClick() {
         logTrace("Entering ElementImpl#jsClick");
         getWrappedDriver().executeJavaScript("arguments[0].scrollIntoView(true);arguments[0].click();", getWrappedElement());
-        interfaceLog("Clicked [ <b>" + getElementLocatorInfo() + " </b>]");
+        interfaceLog(() -> "Clicked [ <b>" + getElementLocatorInfo() + " </b>]");
         logTrace("Exiting ElementImpl#jsClick");
     }
 
@@ -99,7 +97,7 @@ public class ElementImpl implements Element {
     public void focus() {
         logTrace("Entering ElementImpl#focus");
         new Actions(getWrappedDriver()).moveToElement(getWrappedElement()).perform();
-        interfaceLog("Focus on  [ <b>" + getElementLocatorInfo() + " </b>]");
+        interfaceLog(() -> "Focus on  [ <b>" + getElementLocatorInfo() + " </b>]");
         logTrace("Exiting ElementImpl#focus");
     }
 
@@ -107,7 +105,7 @@ public class ElementImpl implements Element {
     public void focusClick() {
         logTrace("Entering ElementImpl#focusClick");
         new Actions(getWrappedDriver()).moveToElement(getWrappedElement()).click().perform();
-        interfaceLog("Focus Clicked [ <b>" + getElementLocatorInfo() + " </b>]");
+        interfaceLog(() -> "Focus Clicked [ <b>" + getElementLocatorInfo() + " </b>]");
         logTrace("Exiting ElementImpl#focusClick");
     }
 
@@ -134,7 +132,7 @@ public class ElementImpl implements Element {
     public Point getLocation() {
         logTrace("Entering ElementImpl#getLocation");
         Point point = getWrappedElement().getLocation();
-        logInfo("Location of element: X = [ " + point.getX() + " ], Y = [ " + point.getY() + " ] ");
+        logInfo(() -> "Location of element: X = [ " + point.getX() + " ], Y = [ " + point.getY() + " ] ");
         logTrace("Exiting ElementImpl#getLocation");
         return point;
     }
@@ -156,7 +154,7 @@ public class ElementImpl implements Element {
     public String getAttribute(String name) {
         logTrace("Entering ElementImpl#getAttribute");
         String value = getWrappedElement().getAttribute(name);
-        logInfo("Attribute value for [ " + name + " ] is [ " + value + " ]");
+        logInfo(() -> "Attribute value for [ " + name + " ] is [ " + value + " ]");
         logTrace("Exiting ElementImpl#getAttribute");
         return value;
     }
@@ -168,7 +166,7 @@ public class ElementImpl implements Element {
     public String getCssValue(String propertyName) {
         logTrace("Entering ElementImpl#getCssValue");
         String value = getWrappedElement().getCssValue(propertyName);
-        logInfo("CSS property value for [ " + propertyName + " ] is [ " + value + " ]");
+        logInfo(() -> "CSS property value for [ " + propertyName + " ] is [ " + value + " ]");
         logTrace("Exiting ElementImpl#getCssValue");
         return value;
     }
@@ -180,7 +178,7 @@ public class ElementImpl implements Element {
     public Dimension getSize() {
         logTrace("Entering ElementImpl#getSize");
         Dimension dimension = getWrappedElement().getSize();
-        logInfo("Location of element: height = [ " + dimension.getHeight() + " ], width = [ " + dimension.getWidth() + " ] ");
+        logInfo(() -> "Location of element: height = [ " + dimension.getHeight() + " ], width = [ " + dimension.getWidth() + " ] ");
         logTrace("Exiting ElementImpl#getSize");
         return dimension;
     }
@@ -203,7 +201,7 @@ public class ElementImpl implements Element {
     public String getText() {
         logTrace("Entering ElementImpl#getText");
         String text = getWrappedElement().getText();
-        logInfo("Text found in element [ " + text + " ]");
+        logInfo(() -> "Text found in element [ " + text + " ]");
         logTrace("Exiting ElementImpl#getText");
         return text;
     }
@@ -215,7 +213,7 @@ public class ElementImpl implements Element {
     public String getTagName() {
         logTrace("Entering ElementImpl#getTagName");
         String name = getWrappedElement().getTagName();
-        logInfo("Tagname of element [ " + name + " ]");
+        logInfo(() -> "Tagname of element [ " + name + " ]");
         logTrace("Exiting ElementImpl#getTagName");
         return name;
     }
@@ -271,7 +269,7 @@ public class ElementImpl implements Element {
     public void clear() {
         logTrace("Entering ElementImpl#clear");
         getWrappedElement().clear();
-        interfaceLog("Clear text from Element [ <b>" + getElementLocatorInfo() + " </b> ]");
+        interfaceLog(() -> "Clear text from Element [ <b>" + getElementLocatorInfo() + " </b> ]");
         logTrace("Exiting ElementImpl#clear");
     }
 
@@ -301,8 +299,7 @@ public class ElementImpl implements Element {
                 }
             }
 
-            interfaceLog(" Send Keys [ <b>" + keys + "</b> ] to Textbox [ <b>"
-                    + getElementIdentifier() + " </b> ]");
+            interfaceLog(" Send Keys [ <b>{}</b> ] to Textbox [ <b>{} </b> ]", keys, getElementIdentifier());
         }
         logTrace("Exiting ElementImpl#sendKeys");
     }
@@ -312,26 +309,28 @@ public class ElementImpl implements Element {
         logTrace("Entering ElementImpl#getWrappedElement");
         WebElement tempElement = null;
         try {
-            logTrace("Validate element [ " + by.toString() + " ] is not null");
+            logTrace(() -> "Validate element [ " + by.toString() + " ] is not null");
             if (element == null) {
-                logTrace("Element [ " + by.toString() + " ] is null, attempt to reload the element");
+                logTrace(() -> "Element [ " + by.toString() + " ] is null, attempt to reload the element");
                 tempElement = reload();
-                logTrace("Successfully reloaded element [ " + by.toString() + " ]");
+                element = tempElement;
+                logTrace(() -> "Successfully reloaded element [ " + by.toString() + " ]");
             } else {
                 tempElement = element;
             }
 
-            logTrace("Validate element [ " + by.toString() + " ] is not stale");
+            logTrace(() -> "Validate element [ " + by.toString() + " ] is not stale");
             tempElement.isEnabled();
-            logTrace("Successfully validated element [ " + by.toString() + " ] is usable");
+            logTrace(() -> "Successfully validated element [ " + by.toString() + " ] is usable");
             logTrace("Exiting ElementImpl#getWrappedElement");
             return tempElement;
         } catch (StaleElementReferenceException | NullPointerException e) {
 
             try {
-                logTrace("Element [ " + by.toString() + " ] is stale, attempt to reload the element");
+                logTrace(() -> "Element [ " + by.toString() + " ] is stale, attempt to reload the element");
                 tempElement = reload();
-                logTrace("Successfully reloaded element [ " + by.toString() + " ]");
+                element = tempElement;
+                logTrace(() -> "Successfully reloaded element [ " + by.toString() + " ]");
                 logTrace("Exiting ElementImpl#getWrappedElement");
                 return tempElement;
             } catch (NullPointerException sere) {
@@ -339,7 +338,7 @@ public class ElementImpl implements Element {
                 return element;
             }
         } catch (NoSuchElementException nsee) {
-            logTrace("Failed to reload element [ " + by.toString() + " ]");
+            logTrace(() -> "Failed to reload element [ " + by.toString() + " ]");
             logTrace("Exiting ElementImpl#getWrappedElement");
             throw nsee;
         }
@@ -408,6 +407,11 @@ public class ElementImpl implements Element {
 
     }
 
+    @Override
+    public By getElementLocator() {
+        return by;
+    }
+
     @Override
     public String getElementLocatorInfo() {
         return by.toString();
@@ -473,28 +477,21 @@ public class ElementImpl implements Element {
         } catch (ArrayIndexOutOfBoundsException aiobe) {
         }
 
-        interfaceLog("<i>Syncing to element [<b>" + getElementLocatorInfo()
-                + "</b> ] to be <b>VISIBLE</b> within [ <b>" + timeout + "</b> ] seconds.</i>");
+        interfaceLog("<i>Syncing to element [<b>{}</b> ] to be <b>VISIBLE</b> within [ <b>{}</b> ] seconds.</i>", getElementLocatorInfo(), timeout);
 
         StopWatch stopwatch = new StopWatch();
         boolean found = false;
         long timeLapse;
 
-        WebDriverWait wait = new WebDriverWait(driver, 1);
         stopwatch.start();
-        while (((stopwatch.getTime()) / 1000.0) < timeout && !found) {
-            try {
-                found = wait.pollingEvery(MILLISECONDS_TO_POLL_FOR_ELEMENT, TimeUnit.MILLISECONDS).until(ExtendedExpectedConditions.elementToBeVisible(reload()));
-            } catch (NoSuchElementException | ClassCastException | StaleElementReferenceException | TimeoutException te) {
-            }
-        }
+        found = new ElementSync(this).until(ElementSync.visible(), timeout);
         stopwatch.stop();
         timeLapse = stopwatch.getTime();
         stopwatch.reset();
 
         if (!found && failTestOnSync) {
             logTrace("Element not <b>VISIBLE</b> and failTestOnSync is [ TRUE ]");
-            interfaceLog("<i>Element [<b>" + getElementLocatorInfo()
+            interfaceLog(() -> "<i>Element [<b>" + getElementLocatorInfo()
                     + " </b>] is not <b>VISIBLE</b> on the page after [ "
                     + (timeLapse) / 1000.0 + " ] seconds.</i>");
             throw new ElementNotVisibleException(
@@ -502,14 +499,14 @@ public class ElementImpl implements Element {
                             + (timeLapse) / 1000.0 + " ] seconds.",
                     driver);
         } else if (!found) {
-            interfaceLog("<i>Element [<b>" + getElementLocatorInfo()
+            interfaceLog(() -> "<i>Element [<b>" + getElementLocatorInfo()
                     + " </b>] is not <b>VISIBLE</b> on the page after [ "
                     + (timeLapse) / 1000.0 + " ] seconds.</i>");
             logTrace("Exiting ElementImpl#syncVisible");
             return found;
         }
 
-        interfaceLog("<i>Element [<b>" + getElementLocatorInfo() + " </b>] is <b>VISIBLE</b> on the page after [ " + (timeLapse) / 1000.0 + " ] seconds.</i>");
+        interfaceLog(() -> "<i>Element [<b>" + getElementLocatorInfo() + " </b>] is <b>VISIBLE</b> on the page after [ " + (timeLapse) / 1000.0 + " ] seconds.</i>");
         if (Highlight.getDebugMode()) {
             Highlight.highlightSuccess(driver, reload());
         }
@@ -551,19 +548,12 @@ public class ElementImpl implements Element {
         }
 
         StopWatch stopwatch = new StopWatch();
-        interfaceLog("<i>Syncing to element [<b>" + getElementLocatorInfo()
-                + "</b> ] to be <b>HIDDEN</b> within [ <b>" + timeout + "</b> ] seconds.</i>");
+        interfaceLog("<i>Syncing to element [<b>{}</b> ] to be <b>HIDDEN</b> within [ <b>{}</b> ] seconds.</i>", getElementLocatorInfo(), timeout);
 
         boolean found = false;
         long timeLapse;
         stopwatch.start();
-        WebDriverWait wait = new WebDriverWait(driver, 1);
-        while (((stopwatch.getTime()) / 1000.0) < timeout && !found) {
-            try {
-                found = wait.pollingEvery(MILLISECONDS_TO_POLL_FOR_ELEMENT, TimeUnit.MILLISECONDS).until(ExtendedExpectedConditions.elementToBeHidden(reload()));
-            } catch (NoSuchElementException | ClassCastException | StaleElementReferenceException | TimeoutException te) {
-            }
-        }
+        found = new ElementSync(this).until(ElementSync.hidden(), timeout);
 
         stopwatch.stop();
         timeLapse = stopwatch.getTime();
@@ -571,7 +561,7 @@ public class ElementImpl implements Element {
 
         if (!found && failTestOnSync) {
             logTrace("Element not <b>HIDDEN</b> and failTestOnSync is [ TRUE ]");
-            interfaceLog("<i>Element [<b>" + getElementLocatorInfo()
+            interfaceLog(() -> "<i>Element [<b>" + getElementLocatorInfo()
                     + " </b>] is not <b>HIDDEN</b> on the page after [ "
                     + (timeLapse) / 1000.0 + " ] seconds.</i>");
             throw new ElementNotHiddenException(
@@ -579,14 +569,14 @@ public class ElementImpl implements Element {
                             + (timeLapse) / 1000.0 + " ] seconds.",
                     driver);
         } else if (!found) {
-            interfaceLog("<i>Element [<b>" + getElementLocatorInfo()
+            interfaceLog(() -> "<i>Element [<b>" + getElementLocatorInfo()
                     + " </b>] is not <b>HIDDEN</b> on the page after [ "
                     + (timeLapse) / 1000.0 + " ] seconds.</i>");
             logTrace("Exiting ElementImpl#syncHidden");
             return found;
         }
 
-        interfaceLog("<i>Element [<b>" + getElementLocatorInfo() + " </b>] is <b>HIDDEN</b> on the page after [ " + (timeLapse) / 1000.0 + " ] seconds.</i>");
+        interfaceLog(() -> "<i>Element [<b>" + getElementLocatorInfo() + " </b>] is <b>HIDDEN</b> on the page after [ " + (timeLapse) / 1000.0 + " ] seconds.</i>");
         logTrace("Exiting ElementImpl#syncHidden");
         return found;
     }
@@ -612,9 +602,7 @@ public class ElementImpl implements Element {
     public boolean syncEnabled(Object... args) {
         logTrace("Entering ElementImpl#syncEnabled");
         int requestedTimeout = getWrappedDriver().getElementTimeout();
-        int currentElementTimeout = getWrappedDriver().getElementTimeout();
         boolean failTestOnSync = DEFAULT_SYNC_HANDLER;
-        driver.setElementTimeout(1);
 
         try {
             if (args[0] != null) {
@@ -629,22 +617,9 @@ public class ElementImpl implements Element {
         boolean found = false;
         long timeLapse;
         StopWatch stopwatch = new StopWatch();
-        interfaceLog("<i>Syncing to element [<b>" + getElementLocatorInfo()
-                + "</b> ] to be <b>ENABLED</b> within [ <b>" + requestedTimeout + "</b> ] seconds.</i>");
+        interfaceLog("<i>Syncing to element [<b>{}</b> ] to be <b>ENABLED</b> within [ <b>{}</b> ] seconds.</i>", getElementLocatorInfo(), requestedTimeout);
         stopwatch.start();
-        WebDriverWait wait = new WebDriverWait(driver, 1);
-
-        while (((stopwatch.getTime()) / 1000.0) < requestedTimeout && !found) {
-            try {
-                if (Highlight.getDebugMode()) {
-                    Highlight.highlightDebug(driver, reload());
-                }
-                found = wait.pollingEvery(MILLISECONDS_TO_POLL_FOR_ELEMENT, TimeUnit.MILLISECONDS).until(ExpectedConditions.elementToBeClickable(reload())) != null;
-            } catch (NoSuchElementException | ClassCastException | StaleElementReferenceException | TimeoutException te) {
-            }
-        }
-
-        driver.setElementTimeout(currentElementTimeout);
+        found = new ElementSync(this).until(highlightingDebug(ElementSync.enabled()), requestedTimeout);
 
         stopwatch.stop();
         timeLapse = stopwatch.getTime();
@@ -652,7 +627,7 @@ public class ElementImpl implements Element {
 
         if (!found && failTestOnSync) {
             Highlight.highlightError(driver, element);
-            interfaceLog("<i>Element [<b>" + getElementLocatorInfo()
+            interfaceLog(() -> "<i>Element [<b>" + getElementLocatorInfo()
                     + " </b>] is not <b>ENABLED</b> on the page after [ "
                     + (timeLapse) / 1000.0 + " ] seconds.</i>");
             throw new ElementNotEnabledException(
@@ -660,14 +635,14 @@ public class ElementImpl implements Element {
                             + (timeLapse) / 1000.0 + " ] seconds.",
                     driver);
         } else if (!found) {
-            interfaceLog("<i>Element [<b>" + getElementLocatorInfo()
+            interfaceLog(() -> "<i>Element [<b>" + getElementLocatorInfo()
                     + " </b>] is not <b>ENABLED</b> on the page after [ "
                     + (timeLapse) / 1000.0 + " ] seconds.</i>");
             logTrace("Exiting ElementImpl#syncEnabled");
             return found;
         }
 
-        interfaceLog("<i>Element [<b>" + getElementLocatorInfo()
+        interfaceLog(() -> "<i>Element [<b>" + getElementLocatorInfo()
                 + " </b>] is <b>ENABLED</b> on the page after [ "
                 + (timeLapse) / 1000.0 + " ] seconds.</i>");
         if (Highlight.getDebugMode()) {
@@ -712,20 +687,9 @@ public class ElementImpl implements Element {
         boolean found = false;
         long timeLapse;
         StopWatch stopwatch = new StopWatch();
-        interfaceLog("<i>Syncing to element [<b>" + getElementLocatorInfo()
-                + "</b> ] to be <b>DISABLED</b> within [ <b>" + timeout + "</b> ] seconds.</i>");
+        interfaceLog("<i>Syncing to element [<b>{}</b> ] to be <b>DISABLED</b> within [ <b>{}</b> ] seconds.</i>", getElementLocatorInfo(), timeout);
         stopwatch.start();
-        WebDriverWait wait = new WebDriverWait(driver, 1);
-
-        while (((stopwatch.getTime()) / 1000.0) < timeout && !found) {
-            try {
-                if (Highlight.getDebugMode()) {
-                    Highlight.highlightDebug(driver, reload());
-                }
-                found = wait.pollingEvery(MILLISECONDS_TO_POLL_FOR_ELEMENT, TimeUnit.MILLISECONDS).until(ExpectedConditions.not(ExpectedConditions.elementToBeClickable(reload()))) != null;
-            } catch (NoSuchElementException | ClassCastException | StaleElementReferenceException | TimeoutException te) {
-            }
-        }
+        found = new ElementSync(this).until(highlightingDebug(ElementSync.enabled().negate()), timeout);
 
         stopwatch.stop();
         timeLapse = stopwatch.getTime();
@@ -733,7 +697,7 @@ public class ElementImpl implements Element {
 
         if (!found && failTestOnSync) {
             Highlight.highlightError(driver, reload());
-            interfaceLog("<i>Element [<b>" + getElementLocatorInfo()
+            interfaceLog(() -> "<i>Element [<b>" + getElementLocatorInfo()
                     + " </b>] is not <b>DISABLED</b> on the page after [ "
                     + (timeLapse) / 1000.0 + " ] seconds.</i>");
             throw new ElementNotDisabledException(
@@ -741,14 +705,14 @@ public class ElementImpl implements Element {
                             + (timeLapse) / 1000.0 + " ] seconds.",
                     driver);
         } else if (!found) {
-            interfaceLog("<i>Element [<b>" + getElementLocatorInfo()
+            interfaceLog(() -> "<i>Element [<b>" + getElementLocatorInfo()
                     + " </b>] is not <b>DISABLED</b> on the page after [ "
                     + (timeLapse) / 1000.0 + " ] seconds.</i>");
             logTrace("Exiting ElementImpl#syncDisabled");
             return found;
         }
 
-        interfaceLog("<i>Element [<b>" + getElementLocatorInfo()
+        interfaceLog(() -> "<i>Element [<b>" + getElementLocatorInfo()
                 + " </b>] is <b>DISABLED</b> on the page after [ "
                 + (timeLapse) / 1000.0 + " ] seconds.</i>");
         if (Highlight.getDebugMode()) {
@@ -793,27 +757,10 @@ public class ElementImpl implements Element {
         boolean found = false;
         long timeLapse;
         StopWatch stopwatch = new StopWatch();
-        interfaceLog("<i>Syncing to text [<b>" + text + "</b> ] in element [<b>"
-                + getElementLocatorInfo() + "</b> ] to be displayed within [ <b>" + timeout + "</b> ] seconds.</i>");
+        interfaceLog("<i>Syncing to text [<b>{}</b> ] in element [<b>{}</b> ] to be displayed within [ <b>{}</b> ] seconds.</i>", text, getElementLocatorInfo(), timeout);
 
-        WebDriverWait wait = new WebDriverWait(driver, 0);
         stopwatch.start();
-        if (Highlight.getDebugMode()) {
-            Highlight.highlightDebug(driver, reload());
-        }
-        do {
-            try {
-                if (wait.until(ExpectedConditions.textToBePresentInElement(reload(), text)) != null) {
-                    found = true;
-                } else if (wait.until(ExpectedConditions.textToBePresentInElementValue(reload(), text)) != null) {
-                    found = true;
-                }
-                if (found) {
-                    break;
-                }
-            } catch (NoSuchElementException | ClassCastException | StaleElementReferenceException | TimeoutException te) {
-            }
-        } while (stopwatch.getTime() / 1000.0 < timeout);
+        found = new ElementSync(this).until(highlightingDebug(ElementSync.textContains(text)), timeout);
 
         stopwatch.stop();
         timeLapse = stopwatch.getTime();
@@ -822,7 +769,7 @@ public class ElementImpl implements Element {
         if (!found && failTestOnSync) {
             Highlight.highlightError(driver, element);
             interfaceLog(
-                    "<i>Element [<b>" + getElementLocatorInfo() + " </b>] did not contain the text [ " + text
+                    () -> "<i>Element [<b>" + getElementLocatorInfo() + " </b>] did not contain the text [ " + text
                             + " ] after [ " + (timeLapse) / 1000.0 + " ] seconds.</i>");
             throw new TextInElementNotPresentException(
                     "Element [ " + getElementLocatorInfo() + " ] did not contain the text [ " + text
@@ -830,13 +777,13 @@ public class ElementImpl implements Element {
                     driver);
         } else if (!found) {
             interfaceLog(
-                    "<i>Element [<b>" + getElementLocatorInfo() + " </b>] did not contain the text [ " + text
+                    () -> "<i>Element [<b>" + getElementLocatorInfo() + " </b>] did not contain the text [ " + text
                             + " ] after [ " + (timeLapse) / 1000.0 + " ] seconds.</i>");
             logTrace("Exiting ElementImpl#syncTextInElement");
             return found;
         }
         interfaceLog(
-                "<i>Element [<b>" + getElementLocatorInfo() + " </b>] contains the text [ " + text
+                () -> "<i>Element [<b>" + getElementLocatorInfo() + " </b>] contains the text [ " + text
                         + " ] after [ " + (timeLapse) / 1000.0 + " ] seconds.</i>");
         if (Highlight.getDebugMode()) {
             Highlight.highlightSuccess(driver, reload());
@@ -880,27 +827,9 @@ public class ElementImpl implements Element {
         boolean found = false;
         long timeLapse;
         StopWatch stopwatch = new StopWatch();
-        interfaceLog("<i>Syncing to text regular expression [<b>" + regex + "</b> ] in element [<b>"
-                + getElementLocatorInfo() + "</b> ] to be displayed within [ <b>" + timeout + "</b> ] seconds.</i>");
+        interfaceLog("<i>Syncing to text regular expression [<b>{}</b> ] in element [<b>{}</b> ] to be displayed within [ <b>{}</b> ] seconds.</i>", regex, getElementLocatorInfo(), timeout);
         stopwatch.start();
-        WebDriverWait wait = new WebDriverWait(driver, 0);
-        do {
-
-            try {
-                if (Highlight.getDebugMode()) {
-                    Highlight.highlightDebug(driver, reload());
-                }
-                if (wait.until(ExtendedExpectedConditions.textToMatchInElement(reload(), regex)) != null) {
-                    found = true;
-                } else if (wait.until(ExtendedExpectedConditions.textToMatchInElementAttribute(reload(), "value", regex)) != null) {
-                    found = true;
-                }
-                if (found) {
-                    break;
-                }
-            } catch (NoSuchElementException | ClassCastException | StaleElementReferenceException | TimeoutException e) {
-            }
-        } while (stopwatch.getTime() / 1000.0 < timeout);
+        found = new ElementSync(this).until(highlightingDebug(ElementSync.textMatches(regex)), timeout);
         stopwatch.stop();
         timeLapse = stopwatch.getTime();
         stopwatch.reset();
@@ -908,7 +837,7 @@ public class ElementImpl implements Element {
         if (!found && failTestOnSync) {
             Highlight.highlightError(driver, reload());
             interfaceLog(
-                    "<i>Element [<b>" + getElementLocatorInfo() + " </b>] did not contain the text [ " + regex
+                    () -> "<i>Element [<b>" + getElementLocatorInfo() + " </b>] did not contain the text [ " + regex
                             + " ] after [ " + (timeLapse) / 1000.0 + " ] seconds.</i>");
             throw new TextInElementNotPresentException(
                     "Element [ " + getElementLocatorInfo() + " ] did not contain the text [ " + regex
@@ -916,14 +845,14 @@ public class ElementImpl implements Element {
                     driver);
         } else if (!found) {
             interfaceLog(
-                    "<i>Element [<b>" + getElementLocatorInfo() + " </b>] did not contain the text [ " + regex
+                    () -> "<i>Element [<b>" + getElementLocatorInfo() + " </b>] did not contain the text [ " + regex
                             + " ] after [ " + (timeLapse) / 1000.0 + " ] seconds.</i>");
             logTrace("Exiting ElementImpl#syncTextMatchesInElement");
             return found;
         }
 
         interfaceLog(
-                "<i>Element [<b>" + getElementLocatorInfo() + " </b>] contains the text [ " + regex
+                () -> "<i>Element [<b>" + getElementLocatorInfo() + " </b>] contains the text [ " + regex
                         + " ] after [ " + (timeLapse) / 1000.0 + " ] seconds.</i>");
         if (Highlight.getDebugMode()) {
             Highlight.highlightSuccess(driver, reload());
@@ -968,20 +897,9 @@ public class ElementImpl implements Element {
         boolean found = false;
         long timeLapse;
         StopWatch stopwatch = new StopWatch();
-        interfaceLog("<i>Syncing to attribute [<b> " + attribute + "</b> ] to contain [<b> " + value + "</b> ] in element [<b>"
-                + getElementLocatorInfo() + "</b> ] to be displayed within [ <b> " + timeout + "</b> ] seconds.</i>");
+        interfaceLog("<i>Syncing to attribute [<b> {}</b> ] to contain [<b> {}</b> ] in element [<b>{}</b> ] to be displayed within [ <b> {}</b> ] seconds.</i>", attribute, value, getElementLocatorInfo(), timeout);
         stopwatch.start();
-        WebDriverWait wait = new WebDriverWait(driver, 1);
-
-        while (((stopwatch.getTime()) / 1000.0) < timeout && !found) {
-            try {
-                if (Highlight.getDebugMode()) {
-                    Highlight.highlightDebug(driver, reload());
-                }
-                found = wait.pollingEvery(MILLISECONDS_TO_POLL_FOR_ELEMENT, TimeUnit.MILLISECONDS).until(ExtendedExpectedConditions.textToBePresentInElementAttribute(reload(), attribute, value));
-            } catch (NoSuchElementException | ClassCastException | StaleElementReferenceException | TimeoutException te) {
-            }
-        }
+        found = new ElementSync(this).until(highlightingDebug(ElementSync.attributeContains(attribute, value)), timeout);
 
         stopwatch.stop();
         timeLapse = stopwatch.getTime();
@@ -990,7 +908,7 @@ public class ElementImpl implements Element {
         if (!found && failTestOnSync) {
             Highlight.highlightError(driver, reload());
             interfaceLog(
-                    "<i>Element [<b>" + getElementLocatorInfo() + " </b>] attribute [<b>" + attribute + "</b> ] did not contain the text [ " + value
+                    () -> "<i>Element [<b>" + getElementLocatorInfo() + " </b>] attribute [<b>" + attribute + "</b> ] did not contain the text [ " + value
                             + " ] after [ " + (timeLapse) / 1000.0 + " ] seconds.</i>");
             throw new ElementAttributeValueNotMatchingException(
                     "Element [ " + getElementLocatorInfo() + " ]attribute [" + attribute + "] did not contain the text [ " + value
@@ -998,14 +916,14 @@ public class ElementImpl implements Element {
                     driver);
         } else if (!found) {
             interfaceLog(
-                    "<i>Element [<b>" + getElementLocatorInfo() + " </b>] attribute [<b>" + attribute + "</b> ] did not contain the text [ " + value
+                    () -> "<i>Element [<b>" + getElementLocatorInfo() + " </b>] attribute [<b>" + attribute + "</b> ] did not contain the text [ " + value
                             + " ] after [ " + (timeLapse) / 1000.0 + " ] seconds.</i>");
             logTrace("Exiting ElementImpl#syncAttributeContainsValue");
             return found;
         }
 
         interfaceLog(
-                "<i>Element [<b>" + getElementLocatorInfo() + " </b>] attribute [<b>" + attribute + "</b> ] contains the text [ " + value
+                () -> "<i>Element [<b>" + getElementLocatorInfo() + " </b>] attribute [<b>" + attribute + "</b> ] contains the text [ " + value
                         + " ] after [ " + (timeLapse) / 1000.0 + " ] seconds.</i>");
         if (Highlight.getDebugMode()) {
             Highlight.highlightSuccess(driver, reload());
@@ -1051,21 +969,9 @@ public class ElementImpl implements Element {
         boolean found = false;
         long timeLapse;
         StopWatch stopwatch = new StopWatch();
-        interfaceLog("<i>Syncing to attribute [<b> " + attribute + "</b> ] to match the regular expression of [<b> " + regex + "</b> ] in element [<b>"
-                + getElementLocatorInfo() + "</b> ] to be displayed within [ <b> " + timeout + "</b> ] seconds.</i>");
-        WebDriverWait wait = new WebDriverWait(driver, 1);
-
+        interfaceLog("<i>Syncing to attribute [<b> {}</b> ] to match the regular expression of [<b> {}</b> ] in element [<b>{}</b> ] to be displayed within [ <b> {}</b> ] seconds.</i>", attribute, regex, getElementLocatorInfo(), timeout);
         stopwatch.start();
-        while (((stopwatch.getTime()) / 1000.0) < timeout && !found) {
-            try {
-                if (Highlight.getDebugMode()) {
-                    Highlight.highlightDebug(driver, reload());
-                }
-                found = wait.pollingEvery(MILLISECONDS_TO_POLL_FOR_ELEMENT, TimeUnit.MILLISECONDS).until(ExtendedExpectedConditions.textToMatchInElementAttribute(reload(), attribute, regex));
-            } catch (NoSuchElementException | ClassCastException | StaleElementReferenceException | TimeoutException te) {
-                found = false;
-            }
-        }
+        found = new ElementSync(this).until(highlightingDebug(ElementSync.attributeMatches(attribute, regex)), timeout);
 
         stopwatch.stop();
         timeLapse = stopwatch.getTime();
@@ -1074,7 +980,7 @@ public class ElementImpl implements Element {
         if (!found && failTestOnSync) {
             Highlight.highlightError(driver, reload());
             interfaceLog(
-                    "<i>Element [<b>" + getElementLocatorInfo() + " </b>] attribute [<b>" + attribute + "</b> ] did not match the regular expression of [ " + regex
+                    () -> "<i>Element [<b>" + getElementLocatorInfo() + " </b>] attribute [<b>" + attribute + "</b> ] did not match the regular expression of [ " + regex
                             + " ] after [ " + (timeLapse) / 1000.0 + " ] seconds.</i>");
             throw new ElementAttributeValueNotMatchingException(
                     "Element [ " + getElementLocatorInfo() + " ]attribute [" + attribute + "] did not match the regular expression of [ " + regex
@@ -1082,13 +988,13 @@ public class ElementImpl implements Element {
                     driver);
         } else if (!found) {
             interfaceLog(
-                    "<i>Element [<b>" + getElementLocatorInfo() + " </b>] attribute [<b>" + attribute + "</b> ] did not match the regular expression of [ " + regex
+                    () -> "<i>Element [<b>" + getElementLocatorInfo() + " </b>] attribute [<b>" + attribute + "</b> ] did not match the regular expression of [ " + regex
                             + " ] after [ " + (timeLapse) / 1000.0 + " ] seconds.</i>");
             logTrace("Exiting ElementImpl#syncAttributeMatchesValue");
             return found;
         }
         interfaceLog(
-                "<i>Element [<b>" + getElementLocatorInfo() + " </b>] attribute [<b>" + attribute + "</b> ] matches the regular expression of [ " + regex
+                () -> "<i>Element [<b>" + getElementLocatorInfo() + " </b>] attribute [<b>" + attribute + "</b> ] matches the regular expression of [ " + regex
                         + " ] after [ " + (timeLapse) / 1000.0 + " ] seconds.</i>");
         if (Highlight.getDebugMode()) {
             Highlight.highlightSuccess(driver, reload());
@@ -1134,21 +1040,10 @@ public class ElementImpl implements Element {
         boolean found = false;
         long timeLapse;
         StopWatch stopwatch = new StopWatch();
-        interfaceLog("<i>Syncing to CSS Property [<b> " + cssProperty + "</b> ] to contain [<b> " + value + "</b> ] in element [<b>"
-                + getElementLocatorInfo() + "</b> ] to be displayed within [ <b> " + timeout + "</b> ] seconds.</i>");
+        interfaceLog("<i>Syncing to CSS Property [<b> {}</b> ] to contain [<b> {}</b> ] in element [<b>{}</b> ] to be displayed within [ <b> {}</b> ] seconds.</i>", cssProperty, value, getElementLocatorInfo(), timeout);
 
-        WebDriverWait wait = new WebDriverWait(driver, 1);
         stopwatch.start();
-        while (((stopwatch.getTime()) / 1000.0) < timeout && !found) {
-            try {
-                if (Highlight.getDebugMode()) {
-                    Highlight.highlightDebug(driver, reload());
-                }
-                found = wait.pollingEvery(MILLISECONDS_TO_POLL_FOR_ELEMENT, TimeUnit.MILLISECONDS).until(ExtendedExpectedConditions.textToBePresentInElementCssProperty(reload(), cssProperty, value));
-            } catch (NoSuchElementException | ClassCastException | StaleElementReferenceException | TimeoutException te) {
-                found = false;
-            }
-        }
+        found = new ElementSync(this).until(highlightingDebug(ElementSync.cssPropertyContains(cssProperty, value)), timeout);
 
         stopwatch.stop();
         timeLapse = stopwatch.getTime();
@@ -1157,20 +1052,20 @@ public class ElementImpl implements Element {
         if (!found && failTestOnSync) {
             Highlight.highlightError(driver, reload());
             interfaceLog(
-                    "<i>Element [<b>" + getElementLocatorInfo() + " </b>] CSS Property [<b>" + cssProperty + "</b> ] did not contain the text [ " + value
+                    () -> "<i>Element [<b>" + getElementLocatorInfo() + " </b>] CSS Property [<b>" + cssProperty + "</b> ] did not contain the text [ " + value
                             + " ] after [ " + (timeLapse) / 1000.0 + " ] seconds.</i>");
             throw new ElementCssValueNotMatchingException("Element [ " + getElementLocatorInfo() + " ] CSS Property [" + cssProperty + " ] did not contain the text [ " + value
                     + " ] after [ " + (timeLapse) / 1000.0 + " ] seconds.", driver);
         } else if (!found) {
             interfaceLog(
-                    "<i>Element [<b>" + getElementLocatorInfo() + " </b>] CSS Property [<b>" + cssProperty + "</b> ] did not contain the text [ " + value
+                    () -> "<i>Element [<b>" + getElementLocatorInfo() + " </b>] CSS Property [<b>" + cssProperty + "</b> ] did not contain the text [ " + value
                             + " ] after [ " + (timeLapse) / 1000.0 + " ] seconds.</i>");
             logTrace("Exiting ElementImpl#syncCssPropertyContainsValue");
             return found;
         }
 
         interfaceLog(
-                "<i>Element [<b>" + getElementLocatorInfo() + " </b>] CSS Property [<b>" + cssProperty + "</b> ] contains the text [ " + value
+                () -> "<i>Element [<b>" + getElementLocatorInfo() + " </b>] CSS Property [<b>" + cssProperty + "</b> ] contains the text [ " + value
                         + " ] after [ " + (timeLapse) / 1000.0 + " ] seconds.</i>");
         if (Highlight.getDebugMode()) {
             Highlight.highlightSuccess(driver, reload());
@@ -1216,20 +1111,9 @@ public class ElementImpl implements Element {
         boolean found = false;
         long timeLapse;
         StopWatch stopwatch = new StopWatch();
-        interfaceLog("<i>Syncing to CSS Property [<b> " + cssProperty + "</b> ] to contain [<b> " + regex + "</b> ] in element [<b>"
-                + getElementLocatorInfo() + "</b> ] to be displayed within [ <b> " + timeout + "</b> ] seconds.</i>");
-        WebDriverWait wait = new WebDriverWait(driver, 0);
+        interfaceLog("<i>Syncing to CSS Property [<b> {}</b> ] to contain [<b> {}</b> ] in element [<b>{}</b> ] to be displayed within [ <b> {}</b> ] seconds.</i>", cssProperty, regex, getElementLocatorInfo(), timeout);
         stopwatch.start();
-        while (((stopwatch.getTime()) / 1000.0) < timeout && !found) {
-            try {
-                if (Highlight.getDebugMode()) {
-                    Highlight.highlightDebug(driver, reload());
-                }
-                found = wait.pollingEvery(MILLISECONDS_TO_POLL_FOR_ELEMENT, TimeUnit.MILLISECONDS).until(ExtendedExpectedConditions.textToMatchInElementCssProperty(reload(), cssProperty, regex));
-            } catch (NoSuchElementException | ClassCastException | StaleElementReferenceException | TimeoutException te) {
-                found = false;
-            }
-        }
+        found = new ElementSync(this).until(highlightingDebug(ElementSync.cssPropertyMatches(cssProperty, regex)), timeout);
 
         stopwatch.stop();
         timeLapse = stopwatch.getTime();
@@ -1238,7 +1122,7 @@ public class ElementImpl implements Element {
         if (!found && failTestOnSync) {
             Highlight.highlightError(driver, reload());
             interfaceLog(
-                    "<i>Element [<b>" + getElementLocatorInfo() + " </b>] CSS Property [<b>" + cssProperty + "</b> ] did not match the regular expression of [ " + regex
+                    () -> "<i>Element [<b>" + getElementLocatorInfo() + " </b>] CSS Property [<b>" + cssProperty + "</b> ] did not match the regular expression of [ " + regex
                             + " ] after [ " + (timeLapse) / 1000.0 + " ] seconds.</i>");
             throw new ElementCssValueNotMatchingException(
                     "Element [ " + getElementLocatorInfo() + " ] CSS Property [" + cssProperty + "] did not match the regular expression of [ " + regex
@@ -1246,13 +1130,13 @@ public class ElementImpl implements Element {
                     driver);
         } else if (!found) {
             interfaceLog(
-                    "<i>Element [<b>" + getElementLocatorInfo() + " </b>] CSS Property [<b>" + cssProperty + "</b> ] did not match the regular expression of [ " + regex
+                    () -> "<i>Element [<b>" + getElementLocatorInfo() + " </b>] CSS Property [<b>" + cssProperty + "</b> ] did not match the regular expression of [ " + regex
                             + " ] after [ " + (timeLapse) / 1000.0 + " ] seconds.</i>");
             logTrace("Exiting ElementImpl#syncCssPropertyMatchesValue");
             return found;
         }
         interfaceLog(
-                "<i>Element [<b>" + getElementLocatorInfo() + " </b>] CSS Property [<b>" + cssProperty + "</b> ] matches the regular expression of [ " + regex
+                () -> "<i>Element [<b>" + getElementLocatorInfo() + " </b>] CSS Property [<b>" + cssProperty + "</b> ] matches the regular expression of [ " + regex
                         + " ] after [ " + (timeLapse) / 1000.0 + " ] seconds.</i>");
         if (Highlight.getDebugMode()) {
             Highlight.highlightSuccess(driver, reload());
@@ -1261,11 +1145,24 @@ public class ElementImpl implements Element {
         return found;
     }
 
+    /**
+     * Highlights the element before every check when debug mode is on
+     */
+    private Predicate<WebElement> highlightingDebug(Predicate<WebElement> condition) {
+        if (!Highlight.getDebugMode()) {
+            return condition;
+        }
+        return webElement -> {
+            Highlight.highlightDebug(driver, webElement);
+            return condition.test(webElement);
+        };
+    }
+
     @Beta
     protected WebElement reload() {
         logTrace("Entering ElementImpl#reload");
         WebElement el = null;
-        logTrace("Search DOM for element [ " + by.toString() + " ]");
+        logTrace(() -> "Search DOM for element [ " + by.toString() + " ]");
 
         try {
             WebDriverWait wait = new WebDriverWait(getWrappedDriver().getWebDriver(), getWrappedDriver().getElementTimeout());
@@ -1273,7 +1170,7 @@ public class ElementImpl implements Element {
         } catch (WebDriverException wde) {
             throw new NoSuchElementException("Failed locate element [ " + by.toString() + " ]");
         }
-        logTrace("Found element [ " + by.toString() + " ]");
+        logTrace(() -> "Found element [ " + by.toString() + " ]");
         logTrace("Exiting ElementImpl#reload");
         return el;
     }
@@ -1297,28 +1194,27 @@ public class ElementImpl implements Element {
         } catch (ArrayIndexOutOfBoundsException aiobe) {
         }
 
-        interfaceLog("<i>Syncing to element [<b>" + getElementLocatorInfo()
-                + "</b> ] to be " + action + " within [ <b>" + timeout + "</b> ] seconds.</i>");
+        interfaceLog("<i>Syncing to element [<b>{}</b> ] to be {} within [ <b>{}</b> ] seconds.</i>", getElementLocatorInfo(), action, timeout);
 
         StopWatch stopwatch = new StopWatch();
         boolean found = false;
         long timeLapse;
 
-        WebDriverWait wait = new WebDriverWait(driver, 1);
         stopwatch.start();
-        while (((stopwatch.getTime()) / 1000.0) < timeout && !found) {
+        found = new ElementSync(this).until(() -> {
             try {
-                found = wait.pollingEvery(MILLISECONDS_TO_POLL_FOR_ELEMENT, TimeUnit.MILLISECONDS).until(ExtendedExpectedConditions.elementToFoundInFrame(by));
-            } catch (NoSuchElementException | ClassCastException | StaleElementReferenceException | TimeoutException te) {
+                return ExtendedExpectedConditions.elementToFoundInFrame(by).apply(driver);
+            } catch (NoSuchElementException | ClassCastException | StaleElementReferenceException te) {
+                return false;
             }
-        }
+        }, timeout);
         stopwatch.stop();
         timeLapse = stopwatch.getTime();
         stopwatch.reset();
 
         if (!found && failTestOnSync) {
-            logTrace("Element not " + action + " and failTestOnSync is [ TRUE ]");
-            interfaceLog("<i>Element [<b>" + getElementLocatorInfo()
+            logTrace(() -> "Element not " + action + " and failTestOnSync is [ TRUE ]");
+            interfaceLog(() -> "<i>Element [<b>" + getElementLocatorInfo()
                     + " </b>] is not " + action + " on the page after [ "
                     + (timeLapse) / 1000.0 + " ] seconds.</i>");
             throw new ElementNotFoundInFrameException(
@@ -1326,7 +1222,7 @@ public class ElementImpl implements Element {
                             + (timeLapse) / 1000.0 + " ] seconds.",
                     driver);
         } else if (!found) {
-            interfaceLog("<i>Element [<b>" + getElementLocatorInfo()
+            interfaceLog(() -> "<i>Element [<b>" + getElementLocatorInfo()
                     + " </b>] is not " + action + " on the page after [ "
                     + (timeLapse) / 1000.0 + " ] seconds.</i>");
             logTrace("Exiting ElementImpl#syncInFrame");
@@ -1334,7 +1230,7 @@ public class ElementImpl implements Element {
             return found;
         }
 
-        interfaceLog("<i>Element [<b>" + getElementLocatorInfo() + " </b>] is " + action + " on the page after [ " + (timeLapse) / 1000.0 + " ] seconds.</i>");
+        interfaceLog(() -> "<i>Element [<b>" + getElementLocatorInfo() + " </b>] is " + action + " on the page after [ " + (timeLapse) / 1000.0 + " ] seconds.</i>");
         getWrappedDriver().setElementTimeout(originalDriverTimeout);
         logTrace("Exiting ElementImpl#syncInFrame");
         return found;
@@ -0,0 +1,254 @@
+package com.orasi.web.webelements.impl;
+
+import static com.orasi.utils.Constants.MILLISECONDS_TO_POLL_FOR_ELEMENT;
+import static com.orasi.utils.TestReporter.logTrace;
+
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import com.orasi.web.OrasiDriver;
+
+/**
+ * Waits for a condition of an element, used by all sync methods of {@link ElementImpl}. The element is looked up once
+ * and the same reference is checked until the condition is met, it is only looked up again once it went stale or was
+ * not on the page yet. The implicit wait is turned off while syncing, so a missing element does not hold up a check.<br/>
+ * <br/>
+ * Between checks the engine waits 50 milliseconds at first and twice as long after every check, up to
+ * {@link com.orasi.utils.Constants#MILLISECONDS_TO_POLL_FOR_ELEMENT}. When {@link OrasiDriver#setSyncOnDomChanges(boolean)}
+ * is on it instead waits in the browser for the next change of the page, so a check runs as soon as something changed.
+ * Changes that do not touch the DOM, ie CSS transitions, are still picked up within a second. If the browser cannot run
+ * the script the engine falls back to waiting between checks.
+ */
+final class ElementSync {
+    static final long FIRST_POLL_MILLIS = 50;
+    static final long MAX_DOM_WAIT_MILLIS = 1000;
+
+    /**
+     * Resolves once the DOM changed, but not before the minimum wait, or once the maximum wait is over
+     */
+    private static final String WAIT_FOR_DOM_CHANGE = "var callback = arguments[arguments.length - 1];"
+            + "var minWait = arguments[0], maxWait = arguments[1], start = Date.now(), done = false, observer;"
+            + "function finish(changed) { if (!done) { done = true; if (observer) { observer.disconnect(); } callback(changed); } }"
+            + "if (!window.MutationObserver) { setTimeout(function() { finish(false); }, minWait); return; }"
+            + "observer = new MutationObserver(function() { setTimeout(function() { finish(true); }, Math.max(0, start + minWait - Date.now())); });"
+            + "observer.observe(document, { attributes: true, childList: true, characterData: true, subtree: true });"
+            + "setTimeout(function() { finish(false); }, maxWait);";
+
+    private final ElementImpl element;
+    private final OrasiDriver driver;
+    private boolean observeDom;
+
+    ElementSync(ElementImpl element) {
+        this.element = element;
+        this.driver = element.getWrappedDriver();
+        this.observeDom = driver.isSyncOnDomChanges();
+    }
+
+    /**
+     * Checks the condition against the element until it is met or the timeout is over. The condition is only checked
+     * while the element is on the page
+     *
+     * @param condition
+     *            Condition of the element. Can be combined with {@link Predicate#and(Predicate)} and
+     *            {@link Predicate#or(Predicate)}
+     * @param timeout
+     *            Seconds to wait. The condition is always checked at least once
+     * @return True once the condition was met, false if the timeout is over
+     */
+    boolean until(Predicate<WebElement> condition, int timeout) {
+        return until(() -> {
+            WebElement current = element.element;
+            if (current == null) {
+                current = find();
+            }
+
+            for (int attempt = 0; current != null && attempt < 2; attempt++) {
+                try {
+                    return condition.test(current);
+                } catch (StaleElementReferenceException sere) {
+                    logTrace(() -> "Element [ " + element.by + " ] went stale, searching again");
+                    current = find();
+                } catch (NoSuchElementException | ClassCastException e) {
+                    return false;
+                }
+            }
+            return false;
+        }, timeout);
+    }
+
+    /**
+     * Runs the check until it returns true or the timeout is over
+     *
+     * @param check
+     *            Check to run, ie one that does not need the element
+     * @param timeout
+     *            Seconds to wait. The check is always run at least once
+     * @return True once the check returned true, false if the timeout is over
+     */
+    boolean until(BooleanSupplier check, int timeout) {
+        long deadline = System.currentTimeMillis() + timeout * 1000L;
+        int elementTimeout = driver.getElementTimeout();
+        if (elementTimeout != 0) {
+            driver.setElementTimeout(0);
+        }
+
+        try {
+            long delay = FIRST_POLL_MILLIS;
+            int checks = 0;
+            do {
+                checks++;
+                if (check.getAsBoolean()) {
+                    logTrace("Sync condition met after [ {} ] checks", checks);
+                    return true;
+                }
+                delay = waitForNextCheck(delay, deadline);
+            } while (System.currentTimeMillis() < deadline);
+
+            logTrace("Sync condition not met after [ {} ] checks", checks);
+            return false;
+        } finally {
+            if (elementTimeout != 0) {
+                driver.setElementTimeout(elementTimeout);
+            }
+        }
+    }
+
+    /**
+     * Looks the element up without waiting and keeps the reference in the element
+     *
+     * @return The element, or null if it is not on the page
+     */
+    private WebElement find() {
+        List<WebElement> found = driver.getWebDriver().findElements(element.by);
+        element.element = found.isEmpty() ? null : found.get(0);
+        return element.element;
+    }
+
+    /**
+     * @return How long to wait after the next check
+     */
+    private long waitForNextCheck(long delay, long deadline) {
+        long remaining = deadline - System.currentTimeMillis();
+        if (remaining <= 0) {
+            return delay;
+        }
+
+        if (observeDom) {
+            try {
+                driver.executeAsyncJavaScript(WAIT_FOR_DOM_CHANGE, Math.min(FIRST_POLL_MILLIS, remaining), Math.min(MAX_DOM_WAIT_MILLIS, remaining));
+                return delay;
+            } catch (WebDriverException wde) {
+                logTrace(() -> "Failed to wait for DOM changes, polling instead: " + wde.getMessage());
+                observeDom = false;
+            }
+        }
+
+        try {
+            Thread.sleep(Math.min(delay, remaining));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return Math.min(delay * 2, MILLISECONDS_TO_POLL_FOR_ELEMENT);
+    }
+
+    /**
+     * Same check as {@link com.orasi.web.ExtendedExpectedConditions#elementToBeVisible(WebElement)}
+     */
+    static Predicate<WebElement> visible() {
+        return element -> {
+            try {
+                Point location = element.getLocation();
+                Dimension size = element.getSize();
+                if (!((location.getX() > 0 & location.getY() > 0) | (size.getHeight() > 0 & size.getWidth() > 0))) {
+                    return false;
+                }
+                String hidden = element.getAttribute("hidden");
+                if (hidden != null && hidden.toLowerCase().equals("true")) {
+                    return false;
+                }
+                return !"hidden".equals(element.getAttribute("type"));
+            } catch (StaleElementReferenceException sere) {
+                throw sere;
+            } catch (WebDriverException | NullPointerException e) {
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Same check as {@link com.orasi.web.ExtendedExpectedConditions#elementToBeHidden(WebElement)}
+     */
+    static Predicate<WebElement> hidden() {
+        return element -> {
+            try {
+                String hidden = element.getAttribute("hidden");
+                if (hidden != null && hidden.toLowerCase().equals("true")) {
+                    return true;
+                }
+                if ("hidden".equals(element.getAttribute("type"))) {
+                    return true;
+                }
+                Point location = element.getLocation();
+                Dimension size = element.getSize();
+                return (location.getX() <= 0 & location.getY() <= 0) | (size.getHeight() <= 0 & size.getWidth() <= 0);
+            } catch (StaleElementReferenceException sere) {
+                throw sere;
+            } catch (WebDriverException | NullPointerException e) {
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Displayed and enabled, same as {@link org.openqa.selenium.support.ui.ExpectedConditions#elementToBeClickable(WebElement)}
+     */
+    static Predicate<WebElement> enabled() {
+        return element -> element.isDisplayed() && element.isEnabled();
+    }
+
+    static Predicate<WebElement> textContains(String text) {
+        Predicate<WebElement> inText = element -> element.getText().contains(text);
+        return inText.or(attributeContains("value", text));
+    }
+
+    static Predicate<WebElement> textMatches(String regex) {
+        Predicate<WebElement> inText = element -> element.getText().matches(regex);
+        return inText.or(attributeMatches("value", regex));
+    }
+
+    static Predicate<WebElement> attributeContains(String attribute, String value) {
+        return element -> {
+            String text = element.getAttribute(attribute);
+            return text != null && text.contains(value);
+        };
+    }
+
+    static Predicate<WebElement> attributeMatches(String attribute, String regex) {
+        return element -> {
+            String text = element.getAttribute(attribute);
+            return text != null && text.matches(regex);
+        };
+    }
+
+    static Predicate<WebElement> cssPropertyContains(String cssProperty, String value) {
+        return element -> {
+            String text = element.getCssValue(cssProperty);
+            return text != null && text.contains(value);
+        };
+    }
+
+    static Predicate<WebElement> cssPropertyMatches(String cssProperty, String regex) {
+        return element -> {
+            String text = element.getCssValue(cssProperty);
+            return text != null && text.matches(regex);
+        };
+    }
+}
@@ -33,10 +33,10 @@ public class LinkImpl extends ElementImpl implements Link {
                             + ";arguments[0].dispatchEvent(click_ev);} else { arguments[0].click();}",
                     element);
         } catch (RuntimeException rte) {
-            interfaceLog(" Click Link [ <b>" + getElementLocatorInfo() + " </b> ]", true);
+            interfaceLog(() -> " Click Link [ <b>" + getElementLocatorInfo() + " </b> ]", true);
             throw rte;
         }
-        interfaceLog(" Click Link [ <b>" + getElementLocatorInfo() + " </b> ]");
+        interfaceLog(() -> " Click Link [ <b>" + getElementLocatorInfo() + " </b> ]");
         logTrace("Exiting CheckboxImpl#jsClick");
 
     }
@@ -47,10 +47,10 @@ public class LinkImpl extends ElementImpl implements Link {
         try {
             getWrappedElement().click();
         } catch (RuntimeException rte) {
-            interfaceLog(" Click Link [ <b>" + getElementLocatorInfo() + " </b> ]", true);
+            interfaceLog(() -> " Click Link [ <b>" + getElementLocatorInfo() + " </b> ]", true);
             throw rte;
         }
-        interfaceLog(" Click Link [ <b>" + getElementLocatorInfo() + " </b> ]");
+        interfaceLog(() -> " Click Link [ <b>" + getElementLocatorInfo() + " </b> ]");
         logTrace("Exiting LinkImpl#click");
     }
 
@@ -46,12 +46,12 @@ public class ListboxImpl extends ElementImpl implements Listbox {
                 try {
                     innerSelect.selectByVisibleText(text);
                 } catch (RuntimeException rte) {
-                    interfaceLog("Select option [ <b>" + text.toString()
+                    interfaceLog(() -> "Select option [ <b>" + text.toString()
                             + "</b> ] from Listbox [  <b>" + getElementLocatorInfo() + " </b>]", true);
                     throw rte;
                 }
 
-                interfaceLog("Select option [ <b>" + text.toString()
+                interfaceLog(() -> "Select option [ <b>" + text.toString()
                         + "</b> ] from Listbox [  <b>" + getElementLocatorInfo() + " </b>]");
             } catch (NoSuchElementException e) {
                 String optionList = "";
@@ -59,14 +59,13 @@ public class ListboxImpl extends ElementImpl implements Listbox {
                 for (WebElement option : optionsList) {
                     optionList += option.getText() + " | ";
                 }
-                interfaceLog(" The value of <b>[ " + text + "</b> ] was not found in Listbox [  <b>"
-                        + getElementLocatorInfo() + " </b>]. Acceptable values are " + optionList + " ]");
+                interfaceLog(" The value of <b>[ {}</b> ] was not found in Listbox [  <b>{} </b>]. Acceptable values are {} ]", text, getElementLocatorInfo(), optionList);
                 logTrace("Exiting ListboxImpl#select");
                 throw new OptionNotInListboxException("The value of [ " + text + " ] was not found in Listbox [  "
                         + getElementLocatorInfo() + " ]. Acceptable values are " + optionList, getWrappedDriver());
             }
         } else {
-            interfaceLog("Skipping input to Textbox [ <b>" + getElementLocatorInfo() + " </b> ]");
+            interfaceLog(() -> "Skipping input to Textbox [ <b>" + getElementLocatorInfo() + " </b> ]");
         }
 
         logTrace("Exiting ListboxImpl#select");
@@ -86,12 +85,12 @@ public class ListboxImpl extends ElementImpl implements Listbox {
                 try {
                     innerSelect.selectByValue(value);
                 } catch (RuntimeException rte) {
-                    interfaceLog("Select option [ <b>" + value.toString()
+                    interfaceLog(() -> "Select option [ <b>" + value.toString()
                             + "</b> ] from Listbox [  <b>" + getElementLocatorInfo() + " </b>]", true);
                     throw rte;
                 }
 
-                interfaceLog("Select option [ <b>" + value.toString()
+                interfaceLog(() -> "Select option [ <b>" + value.toString()
                         + "</b> ] from Listbox [  <b>" + getElementLocatorInfo() + " </b>]");
             } catch (NoSuchElementException e) {
                 String optionList = "";
@@ -99,14 +98,13 @@ public class ListboxImpl extends ElementImpl implements Listbox {
                 for (WebElement option : optionsList) {
                     optionList += option.getAttribute("value") + " | ";
                 }
-                interfaceLog(" The value of <b>[ " + value + "</b> ] was not found in Listbox [  <b>"
-                        + getElementLocatorInfo() + " </b>]. Acceptable values are " + optionList + " ]");
+                interfaceLog(" The value of <b>[ {}</b> ] was not found in Listbox [  <b>{} </b>]. Acceptable values are {} ]", value, getElementLocatorInfo(), optionList);
                 logTrace("Exiting ListboxImpl#selectValue");
                 throw new OptionNotInListboxException("The value of [ " + value + " ] was not found in Listbox [  "
                         + getElementLocatorInfo() + " ]. Acceptable values are " + optionList, getWrappedDriver());
             }
         } else {
-            interfaceLog("Skipping input to Textbox [ <b>" + getElementLocatorInfo() + " </b> ]");
+            interfaceLog(() -> "Skipping input to Textbox [ <b>" + getElementLocatorInfo() + " </b> ]");
         }
         logTrace("Exiting ListboxImpl#selectValue");
     }
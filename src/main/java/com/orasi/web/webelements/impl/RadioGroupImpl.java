@@ -82,12 +82,12 @@ public class RadioGroupImpl extends ElementImpl implements RadioGroup {
         try {
             radioButtons.get(currentIndex).click();
         } catch (RuntimeException rte) {
-            interfaceLog("Select option <b> [ " + currentIndex
+            interfaceLog(() -> "Select option <b> [ " + currentIndex
                     + " ] </b> from the radio group [ <b>" + getElementLocatorInfo() + " </b> ]", true);
             logTrace("Exiting RadioGroupImpl#selectByIndex");
             throw rte;
         }
-        interfaceLog("Select option <b> [ " + currentIndex + " ] </b> from the radio group [ <b>"
+        interfaceLog(() -> "Select option <b> [ " + currentIndex + " ] </b> from the radio group [ <b>"
                 + getElementLocatorInfo() + " </b> ]", true);
 
         setSelectedOption();
@@ -151,13 +151,13 @@ public class RadioGroupImpl extends ElementImpl implements RadioGroup {
                 try {
                     new ElementImpl(getWrappedDriver(), By.xpath("//input[" + (currentIndex + 1) + "]")).click();
                 } catch (RuntimeException rte) {
-                    interfaceLog("Select option <b> [ " + option
+                    interfaceLog(() -> "Select option <b> [ " + option
                             + " ] </b> from the radio group [ <b>" + getElementLocatorInfo() + " </b> ]",
                             true);
                     logTrace("Exiting RadioGroupImpl#selectByOption");
                     throw rte;
                 }
-                interfaceLog("Select option <b> [ " + option
+                interfaceLog(() -> "Select option <b> [ " + option
                         + " ] </b> from the radio group [ <b>" + getElementLocatorInfo() + " </b> ]");
 
                 getSelectedOption();
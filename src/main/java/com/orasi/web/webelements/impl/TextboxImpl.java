@@ -40,9 +40,9 @@ public class TextboxImpl extends ElementImpl implements Textbox {
         logTrace("Entering TextboxImpl#clear");
         try {
             getWrappedElement().clear();
-            interfaceLog("Clear text from Textbox [<b>" + getElementLocatorInfo() + " </b>]");
+            interfaceLog(() -> "Clear text from Textbox [<b>" + getElementLocatorInfo() + " </b>]");
         } catch (RuntimeException rte) {
-            interfaceLog("Clear text from Textbox [<b>" + getElementLocatorInfo() + " </b>]",
+            interfaceLog(() -> "Clear text from Textbox [<b>" + getElementLocatorInfo() + " </b>]",
                     true);
             logTrace("Exiting TextboxImpl#clear");
             throw rte;
@@ -66,13 +66,13 @@ public class TextboxImpl extends ElementImpl implements Textbox {
                 getWrappedElement().clear();
                 getWrappedElement().sendKeys(text);
             } catch (RuntimeException rte) {
-                interfaceLog("Send Keys [ <b>" + text + "</b> ] to Textbox [ <b>"
+                interfaceLog(() -> "Send Keys [ <b>" + text + "</b> ] to Textbox [ <b>"
                         + getElementLocatorInfo() + " </b>  ]", true);
                 logTrace("Exiting TextboxImpl#set");
                 throw rte;
             }
         } else {
-            interfaceLog("Skipping input to Textbox [ <b>" + getElementLocatorInfo() + " </b> ]");
+            interfaceLog(() -> "Skipping input to Textbox [ <b>" + getElementLocatorInfo() + " </b> ]");
         }
         logTrace("Exiting TextboxImpl#set");
     }
@@ -94,10 +94,10 @@ public class TextboxImpl extends ElementImpl implements Textbox {
         }
         if (!text.isEmpty()) {
             if (text.equalsIgnoreCase("<blank>") || text.equalsIgnoreCase("(blank)")) {
-                interfaceLog(" Request to blank text field sent. Clearing Textbox [ <b>" + getElementLocatorInfo() + " </b> ]");
+                interfaceLog(() -> " Request to blank text field sent. Clearing Textbox [ <b>" + getElementLocatorInfo() + " </b> ]");
                 getWrappedElement().clear();
             } else {
-                interfaceLog(" Send Keys [ <b>" + text + "</b> ] to Textbox [ <b>" + getElementLocatorInfo() + " </b> ]");
+                interfaceLog(" Send Keys [ <b>{}</b> ] to Textbox [ <b>{} </b> ]", text, getElementLocatorInfo());
                 try {
                     getWrappedDriver().executeJavaScript("arguments[0].scrollIntoView(true);arguments[0].setAttribute('value', arguments[1])", getWrappedElement(), text);
                 } catch (WebDriverException wde) {
@@ -106,7 +106,7 @@ public class TextboxImpl extends ElementImpl implements Textbox {
                 }
             }
         } else {
-            interfaceLog("Skipping input to Textbox [ <b>" + getElementLocatorInfo() + " </b> ]");
+            interfaceLog(() -> "Skipping input to Textbox [ <b>" + getElementLocatorInfo() + " </b> ]");
         }
         logTrace("Exiting TextboxImpl#jsSet");
     }
@@ -129,17 +129,17 @@ public class TextboxImpl extends ElementImpl implements Textbox {
                 getWrappedDriver().executeJavaScript("arguments[0].scrollIntoView(true);arguments[0].click();", getWrappedElement());
                 getWrappedElement().clear();
                 getWrappedElement().sendKeys(text);
-                interfaceLog(" Send Keys [ <b>" + text + "</b> ] to Textbox [ <b>"
+                interfaceLog(() -> " Send Keys [ <b>" + text + "</b> ] to Textbox [ <b>"
                         + getElementLocatorInfo() + " </b> ]");
 
             } catch (RuntimeException rte) {
-                interfaceLog("Send Keys [ <b>" + text + "</b> ] to Textbox [ <b>"
+                interfaceLog(() -> "Send Keys [ <b>" + text + "</b> ] to Textbox [ <b>"
                         + getElementLocatorInfo() + " </b> ]", true);
                 logTrace("Exiting TextboxImpl#scrollAndSet");
                 throw rte;
             }
         } else {
-            interfaceLog("Skipping input to Textbox [ <b>" + getElementLocatorInfo() + " </b> ]");
+            interfaceLog(() -> "Skipping input to Textbox [ <b>" + getElementLocatorInfo() + " </b> ]");
         }
         logTrace("Exiting TextboxImpl#scrollAndSet");
     }
@@ -163,15 +163,15 @@ public class TextboxImpl extends ElementImpl implements Textbox {
                 getWrappedDriver().executeJavaScript("arguments[0].setAttribute('value', arguments[1])", getWrappedElement(), "");
                 getWrappedElement().sendKeys(text);
                 getWrappedElement().sendKeys(Keys.TAB);
-                interfaceLog(" Send Keys [ <b>" + text + "</b> ] to Textbox [  <b>"
+                interfaceLog(() -> " Send Keys [ <b>" + text + "</b> ] to Textbox [  <b>"
                         + getElementLocatorInfo() + " </b> ]");
             } catch (RuntimeException rte) {
-                interfaceLog("Send Keys [ <b>" + text + "</b> ] to Textbox [  <b>"
+                interfaceLog(() -> "Send Keys [ <b>" + text + "</b> ] to Textbox [  <b>"
                         + getElementLocatorInfo() + " </b> ]", true);
                 throw rte;
             }
         } else {
-            interfaceLog("Skipping input to Textbox [ <b>" + getElementLocatorInfo() + " </b> ]");
+            interfaceLog(() -> "Skipping input to Textbox [ <b>" + getElementLocatorInfo() + " </b> ]");
         }
         logTrace("Exiting TextboxImpl#safeSet");
     }
@@ -190,15 +190,15 @@ public class TextboxImpl extends ElementImpl implements Textbox {
         if (!text.isEmpty()) {
             try {
                 getWrappedElement().sendKeys(decodeString(text));
-                interfaceLog(" Send encoded text [ <b>" + text
+                interfaceLog(() -> " Send encoded text [ <b>" + text
                         + "</b> ] to Textbox [  <b>" + getElementLocatorInfo() + " </b> ]");
             } catch (RuntimeException rte) {
-                interfaceLog("Send encoded text [ <b>" + text
+                interfaceLog(() -> "Send encoded text [ <b>" + text
                         + "</b> ] to Textbox [  <b>" + getElementLocatorInfo() + " </b> ]", true);
                 throw rte;
             }
         } else {
-            interfaceLog("Skipping input to Textbox [ <b>" + getElementLocatorInfo() + " </b> ]");
+            interfaceLog(() -> "Skipping input to Textbox [ <b>" + getElementLocatorInfo() + " </b> ]");
         }
         logTrace("Exiting TextboxImpl#setSecure");
     }
@@ -222,17 +222,17 @@ public class TextboxImpl extends ElementImpl implements Textbox {
                 getWrappedDriver().executeJavaScript("arguments[0].setAttribute('value', arguments[1])", getWrappedElement(), "");
                 getWrappedElement().sendKeys(decodeString(text));
                 getWrappedElement().sendKeys(Keys.TAB);
-                interfaceLog(" Send encoded text [ <b>" + text + "</b> ] to Textbox [  <b>"
+                interfaceLog(() -> " Send encoded text [ <b>" + text + "</b> ] to Textbox [  <b>"
                         + getElementLocatorInfo() + " </b> ]");
             } catch (RuntimeException rte) {
-                interfaceLog("Send encoded text [ <b>" + text
+                interfaceLog(() -> "Send encoded text [ <b>" + text
                         + "</b> ] to Textbox [  <b>" + getElementLocatorInfo() + " </b> ]", true);
                 logTrace("Exiting TextboxImpl#safeSetSecure");
                 throw rte;
             }
 
         } else {
-            interfaceLog("Skipping input to Textbox [ <b>" + getElementLocatorInfo() + " </b> ]");
+            interfaceLog(() -> "Skipping input to Textbox [ <b>" + getElementLocatorInfo() + " </b> ]");
         }
 
         logTrace("Exiting TextboxImpl#safeSetSecure");
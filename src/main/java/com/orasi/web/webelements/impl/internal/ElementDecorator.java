@@ -58,15 +58,15 @@ public class ElementDecorator implements FieldDecorator {
         logTrace("Entering ElementDecorator#ElementDecorator");
         final OrasiDriver driverRef = driver;
 
-        logTrace("Creating proxy for element with field name [ " + field.getName() + " ]");
-        logTrace("Validate element with field name [ " + field.getName() + " ] is type and is decoratable");
+        logTrace(() -> "Creating proxy for element with field name [ " + field.getName() + " ]");
+        logTrace(() -> "Validate element with field name [ " + field.getName() + " ] is type and is decoratable");
 
         logTrace("Create locator from CustomElementLocatorFactory");
         ElementLocator locator = factory.createLocator(field);
         if (locator == null) {
             return null;
         }
-        logTrace("Successfully created element locator for field name [ " + field.getName() + " ]");
+        logTrace(() -> "Successfully created element locator for field name [ " + field.getName() + " ]");
 
         logTrace("Ensure field interface is Element or inherited from Element");
         Class<?> fieldType = field.getType();
@@ -74,16 +74,16 @@ public class ElementDecorator implements FieldDecorator {
             fieldType = Element.class;
         }
 
-        logTrace("Create Element Proxy for field name [ " + field.getName() + " ]");
+        logTrace(() -> "Create Element Proxy for field name [ " + field.getName() + " ]");
         if (WebElement.class.isAssignableFrom(fieldType)) {
             Object proxy = proxyForLocator(loader, fieldType, locator, driverRef);
-            logTrace("Successfully created element Proxy for field name [ " + field.getName() + " ]");
+            logTrace(() -> "Successfully created element Proxy for field name [ " + field.getName() + " ]");
             logTrace("Exiting ElementDecorator#ElementDecorator");
             return proxy;
         } else if (List.class.isAssignableFrom(fieldType)) {
             Class<?> erasureClass = getErasureClass(field);
             Object proxy = proxyForListLocator(loader, erasureClass, locator);
-            logTrace("Successfully created element Proxy for field name [ " + field.getName() + " ]");
+            logTrace(() -> "Successfully created element Proxy for field name [ " + field.getName() + " ]");
             logTrace("Exiting ElementDecorator#ElementDecorator");
             return proxy;
         } else {
@@ -10,12 +10,12 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 
 import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.support.pagefactory.ElementLocator;
 
 import com.orasi.web.OrasiDriver;
 import com.orasi.web.WebException;
-import com.orasi.web.by.angular.AngularElementLocator;
 import com.orasi.web.webelements.Element;
 
 /**
@@ -26,6 +26,9 @@ public class ElementHandler implements InvocationHandler {
     private final ElementLocator locator;
     private final Class<?> wrappingType;
     private OrasiDriver driver;
+    private volatile By by;
+    private volatile Constructor<?> constructor;
+    private volatile Object cachedWrapper;
 
     /**
      * Generates a handler to retrieve the WebElement from a locator for a given WebElement interface descendant.
@@ -56,23 +59,10 @@ public class ElementHandler implements InvocationHandler {
         this.wrappingType = getWrapperClass(interfaceType);
     }
 
-    @SuppressWarnings("rawtypes")
     @Override
     public Object invoke(Object object, Method method, Object[] objects) throws Throwable {
         logTrace("Entering ElementHandler#invoke");
-        logTrace("Attempting to invoke method [ " + method.getName() + " ]");
-
-        By by = null;
-        Field elementField = null;
-
-        logTrace("Get locator By information");
-        try {
-            elementField = locator.getClass().getDeclaredField("by");
-            elementField.setAccessible(true);
-            by = (By) elementField.get(locator);
-        } catch (Exception e) {
-            throw new WebException("Failed to obtain element locator", driver);
-        }
+        logTrace(() -> "Attempting to invoke method [ " + method.getName() + " ]");
 
         if ("getWrappedElement".equals(method.getName())) {
             logTrace("Returning internal element");
@@ -84,23 +74,25 @@ public class ElementHandler implements InvocationHandler {
             return driver;
         }
 
-        logTrace("Generate constructor for element");
-        Constructor cons = null;
-        cons = wrappingType.getConstructor(OrasiDriver.class, By.class);
-        logTrace("Successfully created constructor");
-
-        logTrace("Creating new instance of element");
-        Object thing = null;
-        if (locator instanceof AngularElementLocator) {
-            thing = cons.newInstance(driver, by);
-        } else {
-            thing = cons.newInstance(driver, by);
+        if ("getElementLocator".equals(method.getName())) {
+            logTrace("Returning element locator");
+            return getBy();
+        }
+
+        try {
+            return invokeOnWrapper(getWrapper(), method, objects);
+        } catch (StaleElementReferenceException sere) {
+            logTrace(() -> "Cached element is stale, rebuilding element and retrying method [ " + method.getName() + " ]");
+            cachedWrapper = null;
+            return invokeOnWrapper(getWrapper(), method, objects);
         }
-        logTrace("Successfully created element instance");
+    }
+
+    private Object invokeOnWrapper(Object thing, Method method, Object[] objects) throws Throwable {
         try {
-            logTrace("Calling method [ " + method.getName() + " ]");
+            logTrace(() -> "Calling method [ " + method.getName() + " ]");
             Object response = method.invoke(wrappingType.cast(thing), objects);
-            logTrace("Successfully called method [ " + method.getName() + " ]");
+            logTrace(() -> "Successfully called method [ " + method.getName() + " ]");
             return response;
         } catch (InvocationTargetException e) {
             // Unwrap the underlying exception
@@ -109,4 +101,42 @@ public class ElementHandler implements InvocationHandler {
             return false;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the element instance wrapped by this proxy, creating it on first use. The instance is reused for every
+     * following method call so the element is only searched for again once it has gone stale.
+     */
+    private Object getWrapper() throws ReflectiveOperationException {
+        Object thing = cachedWrapper;
+        if (thing == null) {
+            logTrace("Creating new instance of element");
+            thing = getConstructor().newInstance(driver, getBy());
+            cachedWrapper = thing;
+            logTrace("Successfully created element instance");
+        }
+        return thing;
+    }
+
+    private By getBy() {
+        if (by == null) {
+            logTrace("Get locator By information");
+            try {
+                Field elementField = locator.getClass().getDeclaredField("by");
+                elementField.setAccessible(true);
+                by = (By) elementField.get(locator);
+            } catch (Exception e) {
+                throw new WebException("Failed to obtain element locator", driver);
+            }
+        }
+        return by;
+    }
+
+    private Constructor<?> getConstructor() throws NoSuchMethodException {
+        if (constructor == null) {
+            logTrace("Generate constructor for element");
+            constructor = wrappingType.getConstructor(OrasiDriver.class, By.class);
+            logTrace("Successfully created constructor");
+        }
+        return constructor;
+    }
+}
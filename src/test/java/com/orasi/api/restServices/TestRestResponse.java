@@ -202,4 +202,54 @@ public class TestRestResponse extends APIBaseTest {
         response = rest.sendGetRequest(basePostsUrl + "/1");
         response.mapJSONToTree("{{blah:1}");
     }
+
+    @Features("API")
+    @Stories("RestServices")
+    @Title("streamingMapJSONToObject")
+    @Test
+    public void streamingMapJSONToObject() {
+        RestService rest = new RestService();
+        rest.setStreamingResponses(true);
+        response = rest.sendGetRequest(basePostsUrl + "/1");
+        Assert.assertTrue(response.isStreaming());
+        PostsResponse post = response.mapJSONToObject(PostsResponse.class);
+        Assert.assertTrue(post.getId() == 1);
+        Assert.assertTrue(StringUtils.isNotEmpty(response.getResponse()));
+    }
+
+    @Features("API")
+    @Stories("RestServices")
+    @Title("streamingSpilledToDisk")
+    @Test
+    public void streamingSpilledToDisk() {
+        RestService rest = new RestService();
+        rest.setStreamingResponses(true);
+        rest.setSpillThreshold(16);
+        response = rest.sendGetRequest(basePostsUrl);
+        Assert.assertTrue(response.mapJSONToTree().size() > 0);
+        Assert.assertTrue(response.getResponse().startsWith("["));
+        response.discardBody();
+    }
+
+    @Features("API")
+    @Stories("RestServices")
+    @Title("getJsonValue")
+    @Test
+    public void getJsonValue() {
+        RestService rest = new RestService();
+        rest.setStreamingResponses(true);
+        response = rest.sendGetRequest(basePostsUrl);
+        Assert.assertEquals(response.getJsonValue("/1/id").asInt(), 2);
+        Assert.assertNull(response.getJsonValue("/1/blah"));
+    }
+
+    @Features("API")
+    @Stories("RestServices")
+    @Title("getJsonValueInvalidPointer")
+    @Test(expectedExceptions = RestException.class)
+    public void getJsonValueInvalidPointer() {
+        RestService rest = new RestService();
+        response = rest.sendGetRequest(basePostsUrl + "/1");
+        response.getJsonValue("id");
+    }
 }
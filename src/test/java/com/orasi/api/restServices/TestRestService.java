@@ -2,6 +2,7 @@ package com.orasi.api.restServices;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 
 import org.apache.http.NameValuePair;
 import org.apache.http.message.BasicNameValuePair;
@@ -321,4 +322,68 @@ public class TestRestService extends APIBaseTest {
         RestResponse response = rest.sendGetRequest("http://google.com", HeaderType.BASIC_CONVO);
         Assert.assertTrue("blahValue".equals(response.getRequest().getFirstHeader("blah").getValue()));
     }
+
+    @Features("API")
+    @Stories("RestServices")
+    @Title("sendGetRequestReusesPooledConnection")
+    @Test
+    public void sendGetRequestReusesPooledConnection() {
+        try (RestClientPool pool = new RestClientPool.Builder().maxPerRoute(1).build()) {
+            RestService rest = new RestService();
+            rest.setClientPool(pool);
+            Assert.assertTrue(rest.sendGetRequest(basePostsUrl + "/1").getStatusCode() == ResponseCodes.OK);
+            Assert.assertTrue(rest.sendGetRequest(basePostsUrl + "/2").getStatusCode() == ResponseCodes.OK);
+            Assert.assertEquals(pool.getStats().getLeased(), 0);
+            Assert.assertEquals(pool.getStats().getAvailable(), 1);
+        }
+    }
+
+    @Features("API")
+    @Stories("RestServices")
+    @Title("restClientPoolInvalidMaxPerRoute")
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void restClientPoolInvalidMaxPerRoute() {
+        new RestClientPool.Builder().maxPerRoute(0);
+    }
+
+    @Features("API")
+    @Stories("RestServices")
+    @Title("sendGetRequestAsync")
+    @Test
+    public void sendGetRequestAsync() {
+        RestService rest = new RestService();
+        Assert.assertTrue(rest.sendGetRequestAsync(basePostsUrl + "/1").join().getStatusCode() == ResponseCodes.OK);
+    }
+
+    @Features("API")
+    @Stories("RestServices")
+    @Title("sendBatch")
+    @Test
+    public void sendBatch() {
+        RestService rest = new RestService();
+        List<Function<RestService, RestResponse>> requests = new ArrayList<>();
+        for (int x = 1; x <= 10; x++) {
+            String url = basePostsUrl + "/" + x;
+            requests.add(r -> r.sendGetRequest(url));
+        }
+
+        List<RestResponse> responses = rest.sendBatch(requests, 3);
+        Assert.assertEquals(responses.size(), 10);
+        for (int x = 1; x <= 10; x++) {
+            Assert.assertEquals(responses.get(x - 1).getURL(), basePostsUrl + "/" + x);
+            Assert.assertTrue(responses.get(x - 1).getStatusCode() == ResponseCodes.OK);
+        }
+    }
+
+    @Features("API")
+    @Stories("RestServices")
+    @Title("sendBatchInvalidURL")
+    @Test(expectedExceptions = RestException.class)
+    public void sendBatchInvalidURL() {
+        RestService rest = new RestService();
+        List<Function<RestService, RestResponse>> requests = new ArrayList<>();
+        requests.add(r -> r.sendGetRequest(basePostsUrl + "/1"));
+        requests.add(r -> r.sendGetRequest("ht://jsplaceholder.typicode.com/posts"));
+        rest.sendBatch(requests, 2);
+    }
 }
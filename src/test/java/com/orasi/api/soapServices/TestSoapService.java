@@ -1,5 +1,7 @@
 package com.orasi.api.soapServices;
 
+import javax.xml.ws.WebServiceException;
+
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -497,6 +499,33 @@ public class TestSoapService extends APIBaseTest {
         Assert.assertFalse(getInfo.validateResponse("/excelsheets/GetInfoByZipResponse_ExpectErrors.csv", "Main"));
     }
 
+    @Features("API")
+    @Stories("SoapServices")
+    @Title("getTestScenario")
+    @Test(dependsOnMethods = "createOperation")
+    public void getTestScenario() {
+        GetInfoByZip getInfo = new GetInfoByZip();
+        Object[][] scenario = getInfo.getTestScenario("/excelsheets/GetInfoByZipResponse_xlsx.xlsx", "Main");
+        Assert.assertEquals(scenario.length, 5);
+        Assert.assertEquals(scenario[2][0], "/Envelope/Body/GetInfoByZIPResponse/GetInfoByZIPResult/NewDataSet/Table[1]/ZIP");
+
+        scenario[2][1] = "changed";
+        Object[][] xlsx = getInfo.getTestScenario("/excelsheets/GetInfoByZipResponse_xlsx.xlsx", "Main");
+        Object[][] csv = getInfo.getTestScenario("/excelsheets/GetInfoByZipResponse_csv.csv", "Main");
+        Assert.assertEquals(xlsx.length, csv.length);
+        for (int row = 0; row < xlsx.length; row++) {
+            Assert.assertEquals(xlsx[row], csv[row]);
+        }
+    }
+
+    @Features("API")
+    @Stories("SoapServices")
+    @Title("getTestScenario_Missing")
+    @Test(dependsOnMethods = "createOperation", expectedExceptions = WebServiceException.class)
+    public void getTestScenario_Missing() {
+        new GetInfoByZip().getTestScenario("/excelsheets/GetInfoByZipResponse_csv.csv", "blah");
+    }
+
     private void sleep() {
         Sleeper.sleep(1000);
     }
@@ -0,0 +1,206 @@
+package com.orasi.database;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+import ru.yandex.qatools.allure.annotations.Title;
+
+public class TestQueryCache {
+    private static final String CONNECTION = "jdbc:test://localhost/db";
+    private static final String USER = "user";
+    private static final String SQL = "SELECT * FROM STATES WHERE CODE = ?";
+
+    private static Supplier<Object[][]> counting(AtomicInteger loads) {
+        return () -> new Object[][] { { "COUNT" }, { String.valueOf(loads.incrementAndGet()) } };
+    }
+
+    @Features("Utilities")
+    @Stories("QueryCache")
+    @Title("getCachesResult")
+    @Test(groups = { "regression", "utils", "database" })
+    public void getCachesResult() {
+        QueryCache cache = new QueryCache();
+        AtomicInteger loads = new AtomicInteger();
+
+        Object[][] first = cache.get(CONNECTION, USER, SQL, new Object[] { "GA" }, counting(loads));
+        Object[][] second = cache.get(CONNECTION, USER, SQL, new Object[] { "GA" }, counting(loads));
+
+        Assert.assertEquals(loads.get(), 1);
+        Assert.assertEquals(second[1][0], first[1][0]);
+        Assert.assertEquals(cache.getHitCount(), 1);
+        Assert.assertEquals(cache.getMissCount(), 1);
+    }
+
+    @Features("Utilities")
+    @Stories("QueryCache")
+    @Title("getKeysByQueryAndParameters")
+    @Test(groups = { "regression", "utils", "database" })
+    public void getKeysByQueryAndParameters() {
+        QueryCache cache = new QueryCache();
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(CONNECTION, USER, SQL, new Object[] { "GA" }, counting(loads));
+        cache.get(CONNECTION, USER, SQL, new Object[] { "FL" }, counting(loads));
+        cache.get(CONNECTION, "other", SQL, new Object[] { "GA" }, counting(loads));
+        cache.get("jdbc:test://otherhost/db", USER, SQL, new Object[] { "GA" }, counting(loads));
+
+        Assert.assertEquals(loads.get(), 4);
+        Assert.assertEquals(cache.size(), 4);
+    }
+
+    @Features("Utilities")
+    @Stories("QueryCache")
+    @Title("getReturnsCopies")
+    @Test(groups = { "regression", "utils", "database" })
+    public void getReturnsCopies() {
+        QueryCache cache = new QueryCache();
+        Object[] params = { "GA" };
+
+        Object[][] result = cache.get(CONNECTION, USER, SQL, params, () -> new Object[][] { { "CODE" }, { "GA" } });
+        result[1][0] = "changed";
+        result[0] = null;
+        params[0] = "FL";
+
+        Object[][] cached = cache.get(CONNECTION, USER, SQL, new Object[] { "GA" }, () -> new Object[][] { { "reloaded" } });
+        Assert.assertEquals(cached[0][0], "CODE");
+        Assert.assertEquals(cached[1][0], "GA");
+    }
+
+    @Features("Utilities")
+    @Stories("QueryCache")
+    @Title("getExpiresAfterTimeToLive")
+    @Test(groups = { "regression", "utils", "database" })
+    public void getExpiresAfterTimeToLive() throws InterruptedException {
+        QueryCache cache = new QueryCache(10, 50);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(CONNECTION, USER, SQL, null, counting(loads));
+        cache.get(CONNECTION, USER, SQL, null, counting(loads));
+        Assert.assertEquals(loads.get(), 1);
+
+        Thread.sleep(100);
+        Object[][] result = cache.get(CONNECTION, USER, SQL, null, counting(loads));
+        Assert.assertEquals(loads.get(), 2);
+        Assert.assertEquals(result[1][0], "2");
+    }
+
+    @Features("Utilities")
+    @Stories("QueryCache")
+    @Title("getEvictsLeastRecentlyUsed")
+    @Test(groups = { "regression", "utils", "database" })
+    public void getEvictsLeastRecentlyUsed() {
+        QueryCache cache = new QueryCache(2, QueryCache.DEFAULT_TIME_TO_LIVE);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(CONNECTION, USER, "first", null, counting(loads));
+        cache.get(CONNECTION, USER, "second", null, counting(loads));
+        cache.get(CONNECTION, USER, "first", null, counting(loads));
+        cache.get(CONNECTION, USER, "third", null, counting(loads));
+        Assert.assertEquals(cache.size(), 2);
+        Assert.assertEquals(loads.get(), 3);
+
+        // "second" was used least recently, so it was dropped
+        cache.get(CONNECTION, USER, "first", null, counting(loads));
+        Assert.assertEquals(loads.get(), 3);
+        cache.get(CONNECTION, USER, "second", null, counting(loads));
+        Assert.assertEquals(loads.get(), 4);
+    }
+
+    @Features("Utilities")
+    @Stories("QueryCache")
+    @Title("getLoadsOncePerKey")
+    @Test(groups = { "regression", "utils", "database" })
+    public void getLoadsOncePerKey() throws Exception {
+        QueryCache cache = new QueryCache();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<Object[][]> slow = () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new Object[][] { { "CODE" }, { "GA" } };
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Object[][]>> results = new ArrayList<>();
+            results.add(executor.submit(() -> cache.get(CONNECTION, USER, SQL, null, slow)));
+            Assert.assertTrue(loading.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 3; i++) {
+                results.add(executor.submit(() -> cache.get(CONNECTION, USER, SQL, null, slow)));
+            }
+            release.countDown();
+
+            for (Future<Object[][]> result : results) {
+                Assert.assertEquals(result.get(5, TimeUnit.SECONDS)[1][0], "GA");
+            }
+            Assert.assertEquals(loads.get(), 1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Features("Utilities")
+    @Stories("QueryCache")
+    @Title("getDoesNotCacheFailures")
+    @Test(groups = { "regression", "utils", "database" })
+    public void getDoesNotCacheFailures() {
+        QueryCache cache = new QueryCache();
+        try {
+            cache.get(CONNECTION, USER, SQL, null, () -> {
+                throw new IllegalStateException("Query failed");
+            });
+            Assert.fail("Expected the failure of the loader");
+        } catch (IllegalStateException e) {
+            Assert.assertEquals(e.getMessage(), "Query failed");
+        }
+
+        Assert.assertEquals(cache.size(), 0);
+        Object[][] result = cache.get(CONNECTION, USER, SQL, null, () -> new Object[][] { { "CODE" } });
+        Assert.assertEquals(result[0][0], "CODE");
+    }
+
+    @Features("Utilities")
+    @Stories("QueryCache")
+    @Title("invalidate")
+    @Test(groups = { "regression", "utils", "database" })
+    public void invalidate() {
+        QueryCache cache = new QueryCache();
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(CONNECTION, USER, SQL, new Object[] { "GA" }, counting(loads));
+        cache.get(CONNECTION, USER, SQL, new Object[] { "FL" }, counting(loads));
+        cache.get(CONNECTION, USER, "SELECT * FROM PRODUCTS", null, counting(loads));
+
+        cache.invalidate(SQL);
+        Assert.assertEquals(cache.size(), 1);
+
+        cache.invalidateAll();
+        Assert.assertEquals(cache.size(), 0);
+    }
+
+    @Features("Utilities")
+    @Stories("QueryCache")
+    @Title("constructorRejectsInvalidLimits")
+    @Test(groups = { "regression", "utils", "database" }, expectedExceptions = IllegalArgumentException.class)
+    public void constructorRejectsInvalidLimits() {
+        new QueryCache(0, QueryCache.DEFAULT_TIME_TO_LIVE);
+    }
+}
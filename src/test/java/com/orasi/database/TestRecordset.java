@@ -0,0 +1,217 @@
+package com.orasi.database;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.orasi.database.exceptions.DatabaseException;
+
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+import ru.yandex.qatools.allure.annotations.Title;
+
+public class TestRecordset {
+    private static final Object[][] TABLE = {
+            { "ID", "Name", "Amount" },
+            { "1", "first", "0.5" },
+            { "2", null, "12" }
+    };
+
+    private static final String[] COLUMN_NAMES = { "ID", "PRICE", "TOTAL", "CREATED", "NAME" };
+    private static final int[] COLUMN_TYPES = { Types.INTEGER, Types.REAL, Types.DOUBLE, Types.TIMESTAMP, Types.VARCHAR };
+
+    /**
+     * Reads a Recordset from an in memory ResultSet with the column types of a typical table. Numbers are converted
+     * the way drivers do, so a REAL read with getDouble is widened from single precision, and getString prints
+     * floating point numbers without a trailing zero or exponent, the way MySQL does
+     */
+    private static Recordset readTypedRecordset() throws SQLException {
+        Object[][] rows = {
+                { 1, 0.1f, 2.5d, Timestamp.valueOf("2017-01-02 03:04:05.123456789"), "first" },
+                { null, null, null, null, null }
+        };
+        return Recordset.read(resultSet(rows));
+    }
+
+    private static ResultSet resultSet(Object[][] rows) {
+        ResultSetMetaData metaData = (ResultSetMetaData) Proxy.newProxyInstance(TestRecordset.class.getClassLoader(),
+                new Class<?>[] { ResultSetMetaData.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getColumnCount":
+                            return COLUMN_NAMES.length;
+                        case "getColumnName":
+                            return COLUMN_NAMES[(int) args[0] - 1];
+                        case "getColumnType":
+                            return COLUMN_TYPES[(int) args[0] - 1];
+                        default:
+                            return 0;
+                    }
+                });
+
+        int[] row = { -1 };
+        Object[] last = { null };
+        return (ResultSet) Proxy.newProxyInstance(TestRecordset.class.getClassLoader(), new Class<?>[] { ResultSet.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getMetaData":
+                            return metaData;
+                        case "next":
+                            return ++row[0] < rows.length;
+                        case "wasNull":
+                            return last[0] == null;
+                        default:
+                            break;
+                    }
+
+                    Object value = last[0] = rows[row[0]][(int) args[0] - 1];
+                    switch (method.getName()) {
+                        case "getLong":
+                            return value == null ? 0L : ((Number) value).longValue();
+                        case "getDouble":
+                            return value == null ? 0d : ((Number) value).doubleValue();
+                        case "getFloat":
+                            return value == null ? 0f : ((Number) value).floatValue();
+                        case "getTimestamp":
+                            return value;
+                        case "getString":
+                            if (value instanceof Float || value instanceof Double) {
+                                return new BigDecimal(value.toString()).stripTrailingZeros().toPlainString();
+                            }
+                            return value == null ? null : value.toString();
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    @Features("Utilities")
+    @Stories("Recordset")
+    @Title("getValueFromArray")
+    @Test(groups = { "regression", "utils", "database" })
+    public void getValueFromArray() {
+        Recordset recordset = new Recordset(TABLE);
+
+        Assert.assertEquals(recordset.getRowCount(), 2);
+        Assert.assertEquals(recordset.getColumnCount(), 3);
+        Assert.assertEquals(recordset.getValue("Name"), "first");
+        Assert.assertEquals(recordset.getValue("Name", 2), "NULL");
+        Assert.assertEquals(recordset.getValue(3, 2), "12");
+        Assert.assertEquals(recordset.getValue(1, 0), "ID");
+    }
+
+    @Features("Utilities")
+    @Stories("Recordset")
+    @Title("getColumnIndexIgnoresCase")
+    @Test(groups = { "regression", "utils", "database" })
+    public void getColumnIndexIgnoresCase() {
+        Recordset recordset = new Recordset(TABLE);
+
+        Assert.assertEquals(recordset.getColumnIndex("amount"), 3);
+        Assert.assertEquals(recordset.getColumnIndex("NAME"), 2);
+        Assert.assertEquals(recordset.getColumnIndex("Missing"), 0);
+        Assert.assertEquals(recordset.getValue("Missing"), "");
+    }
+
+    @Features("Utilities")
+    @Stories("Recordset")
+    @Title("moveThroughRows")
+    @Test(groups = { "regression", "utils", "database" })
+    public void moveThroughRows() {
+        Recordset recordset = new Recordset(TABLE);
+
+        Assert.assertTrue(recordset.isFirst());
+        recordset.moveNext();
+        Assert.assertEquals(recordset.getValue("ID"), "2");
+        Assert.assertEquals(recordset.getDouble("Amount"), 12.0);
+        Assert.assertTrue(recordset.isNull("Name"));
+        recordset.moveNext();
+        Assert.assertTrue(recordset.isLast());
+        Assert.assertFalse(recordset.hasNext());
+        recordset.moveFirst();
+        Assert.assertEquals(recordset.getLong("ID"), 1);
+    }
+
+    @Features("Utilities")
+    @Stories("Recordset")
+    @Title("getValueOutsideRecordset")
+    @Test(groups = { "regression", "utils", "database" }, expectedExceptions = DatabaseException.class)
+    public void getValueOutsideRecordset() {
+        Recordset recordset = new Recordset(TABLE);
+        recordset.moveLast();
+        recordset.moveNext();
+        recordset.getLong("ID");
+    }
+
+    @Features("Utilities")
+    @Stories("Recordset")
+    @Title("readTypedColumns")
+    @Test(groups = { "regression", "utils", "database" })
+    public void readTypedColumns() throws SQLException {
+        Recordset recordset = readTypedRecordset();
+
+        Assert.assertEquals(recordset.getRowCount(), 2);
+        Assert.assertEquals(recordset.getValue("ID"), "1");
+        Assert.assertEquals(recordset.getLong("id"), 1);
+        Assert.assertEquals(recordset.getValue("PRICE"), "0.1");
+        Assert.assertEquals(recordset.getValue("TOTAL"), "2.5");
+        Assert.assertEquals(recordset.getDouble("TOTAL"), 2.5);
+        Assert.assertEquals(recordset.getValue("CREATED"), "2017-01-02 03:04:05.123456789");
+        Assert.assertEquals(recordset.getTimestamp("CREATED"), Timestamp.valueOf("2017-01-02 03:04:05.123456789"));
+        Assert.assertEquals(recordset.getValue("NAME"), "first");
+    }
+
+    @Features("Utilities")
+    @Stories("Recordset")
+    @Title("readKeepsDriverText")
+    @Test(groups = { "regression", "utils", "database" })
+    public void readKeepsDriverText() throws SQLException {
+        Recordset recordset = Recordset.read(resultSet(new Object[][] {
+                { 2, 1.0f, 1.0E-5d, Timestamp.valueOf("2017-01-02 03:04:05"), "second" }
+        }));
+
+        Assert.assertEquals(recordset.getValue("PRICE"), "1");
+        Assert.assertEquals(recordset.getDouble("PRICE"), 1.0);
+        Assert.assertEquals(recordset.getValue("TOTAL"), "0.00001");
+        Assert.assertEquals(recordset.getDouble("TOTAL"), 1.0E-5);
+        Assert.assertEquals(recordset.getArray()[1][2], "0.00001");
+    }
+
+    @Features("Utilities")
+    @Stories("Recordset")
+    @Title("readNullColumns")
+    @Test(groups = { "regression", "utils", "database" })
+    public void readNullColumns() throws SQLException {
+        Recordset recordset = readTypedRecordset();
+        recordset.moveNext();
+
+        for (String column : COLUMN_NAMES) {
+            Assert.assertTrue(recordset.isNull(column), column);
+            Assert.assertEquals(recordset.getValue(column), "NULL", column);
+        }
+        Assert.assertEquals(recordset.getLong("ID"), 0);
+        Assert.assertNull(recordset.getTimestamp("CREATED"));
+
+        recordset.moveFirst();
+        Assert.assertFalse(recordset.isNull("ID"));
+    }
+
+    @Features("Utilities")
+    @Stories("Recordset")
+    @Title("getArrayRebuildsTable")
+    @Test(groups = { "regression", "utils", "database" })
+    public void getArrayRebuildsTable() throws SQLException {
+        Object[][] table = readTypedRecordset().getArray();
+
+        Assert.assertEquals(table.length, 3);
+        Assert.assertEquals(table[0], COLUMN_NAMES);
+        Assert.assertEquals(table[1], new Object[] { "1", "0.1", "2.5", "2017-01-02 03:04:05.123456789", "first" });
+        Assert.assertEquals(table[2], new Object[] { "NULL", "NULL", "NULL", "NULL", "NULL" });
+    }
+}
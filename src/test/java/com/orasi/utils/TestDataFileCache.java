@@ -0,0 +1,149 @@
+package com.orasi.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.orasi.utils.dataProviders.CSVDataProvider;
+import com.orasi.utils.io.DataFileCache;
+
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+import ru.yandex.qatools.allure.annotations.Title;
+
+public class TestDataFileCache {
+    private static File createFile(String contents) throws IOException {
+        File file = File.createTempFile("DataFileCache", ".csv");
+        file.deleteOnExit();
+        Files.write(file.toPath(), contents.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    @Features("Utilities")
+    @Stories("DataFileCache")
+    @Title("getCachesParsedFile")
+    @Test(groups = { "regression", "utils", "dataProviders" })
+    public void getCachesParsedFile() throws IOException {
+        File file = createFile("Column1,Column2\nvalue1,value2\n");
+        long misses = DataFileCache.getInstance().getMissCount();
+
+        Object[][] data = CSVDataProvider.getData(file.getAbsolutePath());
+        data[1][0] = "changed";
+        Object[][] cached = CSVDataProvider.getData(file.getAbsolutePath());
+
+        Assert.assertEquals(DataFileCache.getInstance().getMissCount(), misses + 1);
+        Assert.assertEquals(cached[1][0], "value1");
+    }
+
+    @Features("Utilities")
+    @Stories("DataFileCache")
+    @Title("getReloadsChangedFile")
+    @Test(groups = { "regression", "utils", "dataProviders" })
+    public void getReloadsChangedFile() throws IOException {
+        File file = createFile("Column1,Column2\nvalue1,value2\n");
+        Assert.assertEquals(CSVDataProvider.getData(file.getAbsolutePath()).length, 2);
+
+        Files.write(file.toPath(), "Column1,Column2\nvalue1,value2\nvalue3,value4\n".getBytes(StandardCharsets.UTF_8));
+        Object[][] data = CSVDataProvider.getData(file.getAbsolutePath());
+
+        Assert.assertEquals(data.length, 3);
+        Assert.assertEquals(data[2][1], "value4");
+    }
+
+    @Features("Utilities")
+    @Stories("DataFileCache")
+    @Title("getEvictsLeastRecentlyUsed")
+    @Test(groups = { "regression", "utils", "dataProviders" })
+    public void getEvictsLeastRecentlyUsed() throws IOException {
+        File file = createFile("data");
+        DataFileCache cache = new DataFileCache(5);
+        AtomicInteger loads = new AtomicInteger();
+        Object[][] table = { { "a", "b", "c" } };
+
+        cache.get(file.getAbsolutePath(), "first", () -> {
+            loads.incrementAndGet();
+            return table;
+        });
+        cache.get(file.getAbsolutePath(), "second", () -> {
+            loads.incrementAndGet();
+            return table;
+        });
+        Assert.assertEquals(cache.size(), 1);
+
+        cache.get(file.getAbsolutePath(), "second", () -> {
+            loads.incrementAndGet();
+            return table;
+        });
+        Assert.assertEquals(loads.get(), 2);
+        Assert.assertEquals(cache.getHitCount(), 1);
+    }
+
+    @Features("Utilities")
+    @Stories("DataFileCache")
+    @Title("getDerivedDroppedWithTable")
+    @Test(groups = { "regression", "utils", "dataProviders" })
+    public void getDerivedDroppedWithTable() throws IOException {
+        File file = createFile("data");
+        File other = createFile("other");
+        DataFileCache cache = new DataFileCache(4);
+        AtomicInteger loads = new AtomicInteger();
+        Object[][] table = { { "a", "b", "c" } };
+
+        Object[][] derived = cache.getDerived(file.getAbsolutePath(), "first column", () -> {
+            loads.incrementAndGet();
+            return new Object[][] { { cache.get(file.getAbsolutePath(), null, () -> table)[0][0] } };
+        });
+        Assert.assertEquals(derived[0][0], "a");
+        Assert.assertEquals(cache.size(), 2);
+
+        cache.getDerived(file.getAbsolutePath(), "first column", () -> new Object[][] { { loads.incrementAndGet() } });
+        Assert.assertEquals(loads.get(), 1);
+
+        // Caching another file drops the table and the table derived from it
+        cache.get(other.getAbsolutePath(), null, () -> table);
+        Assert.assertEquals(cache.size(), 1);
+        cache.getDerived(file.getAbsolutePath(), "first column", () -> new Object[][] { { loads.incrementAndGet() } });
+        Assert.assertEquals(loads.get(), 2);
+    }
+
+    @Features("Utilities")
+    @Stories("DataFileCache")
+    @Title("getInvalidate")
+    @Test(groups = { "regression", "utils", "dataProviders" })
+    public void getInvalidate() throws IOException {
+        File file = createFile("data");
+        DataFileCache cache = new DataFileCache(DataFileCache.DEFAULT_MAX_CELLS);
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            cache.get(file.getAbsolutePath(), null, () -> new Object[][] { { loads.incrementAndGet() } });
+        }
+        cache.invalidate(file.getAbsolutePath());
+        Object[][] data = cache.get(file.getAbsolutePath(), null, () -> new Object[][] { { loads.incrementAndGet() } });
+
+        Assert.assertEquals(data[0][0], 2);
+        Assert.assertEquals(cache.size(), 1);
+    }
+
+    @Features("Utilities")
+    @Stories("DataFileCache")
+    @Title("getDisabled")
+    @Test(groups = { "regression", "utils", "dataProviders" })
+    public void getDisabled() throws IOException {
+        File file = createFile("data");
+        DataFileCache cache = new DataFileCache(DataFileCache.DEFAULT_MAX_CELLS);
+        cache.setEnabled(false);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(file.getAbsolutePath(), null, () -> new Object[][] { { loads.incrementAndGet() } });
+        cache.get(file.getAbsolutePath(), null, () -> new Object[][] { { loads.incrementAndGet() } });
+
+        Assert.assertEquals(loads.get(), 2);
+        Assert.assertEquals(cache.size(), 0);
+    }
+}
@@ -1,9 +1,14 @@
 package com.orasi.utils;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
 import org.junit.Assert;
 import org.testng.annotations.Test;
 
 import com.orasi.AutomationException;
+import com.orasi.utils.dataProviders.ExcelDataProvider;
 import com.orasi.utils.io.ExcelDocumentReader;
 import com.orasi.web.WebBaseTest;
 
@@ -172,4 +177,73 @@ public class TestExcelDocumentReader extends WebBaseTest {
         Assert.assertTrue(data[0][0].toString().equals("DataSet1"));
 
     }
+
+    @Features("Utilities")
+    @Stories("ExcelDocumentReader")
+    @Title("readDataStreaming")
+    @Test(groups = "regression")
+    public void readDataStreaming() {
+        String[] filepaths = { "/excelsheets/TestData.xlsx", "/excelsheets/GetInfoByZipRequest_xlsx.xlsx", "/excelsheets/GetInfoByZipResponse_xlsx.xlsx" };
+        for (String filepath : filepaths) {
+            ExcelDocumentReader streamed = new ExcelDocumentReader(filepath);
+            streamed.setStreaming(true);
+            Assert.assertArrayEquals(new ExcelDocumentReader(filepath).readData("0"), streamed.readData("0"));
+
+            streamed = new ExcelDocumentReader(filepath);
+            streamed.setStreaming(true);
+            Assert.assertArrayEquals(new ExcelDocumentReader(filepath).readData("0", -1, 0), streamed.readData("0", -1, 0));
+        }
+
+        ExcelDocumentReader streamed = new ExcelDocumentReader("/excelsheets/TestData.xlsx");
+        streamed.setStreaming(true);
+        Assert.assertArrayEquals(new ExcelDocumentReader("/excelsheets/TestData.xlsx").readData("Data", 2), streamed.readData("Data", 2));
+    }
+
+    @Features("Utilities")
+    @Stories("ExcelDocumentReader")
+    @Title("readRows")
+    @Test(groups = "regression")
+    public void readRows() {
+        String filepath = "/excelsheets/TestData.xlsx";
+        Object[][] data = new ExcelDocumentReader(filepath).readData("Data", -1, 0);
+        List<Object[]> rows = new ArrayList<>();
+        new ExcelDocumentReader(filepath).readRows("Data", 0, -1).forEachRemaining(rows::add);
+
+        Assert.assertArrayEquals(data, rows.toArray(new Object[rows.size()][]));
+    }
+
+    @Features("Utilities")
+    @Stories("ExcelDocumentReader")
+    @Title("readRowsXlsFile")
+    @Test(groups = "regression")
+    public void readRowsXlsFile() {
+        Iterator<Object[]> rows = new ExcelDocumentReader("/excelsheets/TestData_xls.xls").readRows("Data", 1, 1);
+
+        Assert.assertTrue(rows.hasNext());
+        Object[] row = rows.next();
+        Assert.assertTrue(row.length == 5);
+        Assert.assertTrue(row[0].toString().equals("DataSet1"));
+        Assert.assertFalse(rows.hasNext());
+    }
+
+    @Features("Utilities")
+    @Stories("ExcelDocumentReader")
+    @Title("readRowsMissingSheet")
+    @Test(groups = "regression", expectedExceptions = { AutomationException.class })
+    public void readRowsMissingSheet() {
+        new ExcelDocumentReader("/excelsheets/TestData.xlsx").readRows("blah", 1, -1);
+    }
+
+    @Features("Utilities")
+    @Stories("ExcelDataProvider")
+    @Title("getTestDataIterator")
+    @Test(groups = "regression")
+    public void getTestDataIterator() {
+        ExcelDataProvider provider = new ExcelDataProvider("/excelsheets/TestData.xlsx", "Data");
+        Object[][] data = provider.getTestData();
+        List<Object[]> rows = new ArrayList<>();
+        provider.getTestDataIterator().forEachRemaining(rows::add);
+
+        Assert.assertArrayEquals(data, rows.toArray(new Object[rows.size()][]));
+    }
 }
@@ -0,0 +1,56 @@
+package com.orasi.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+import ru.yandex.qatools.allure.annotations.Title;
+
+public class TestJsonMapper {
+    public static class Post {
+        public int id;
+        public String title;
+    }
+
+    @Features("Utilities")
+    @Stories("JsonMapper")
+    @Title("readerIsCached")
+    @Test(groups = { "regression", "utils" })
+    public void readerIsCached() {
+        Assert.assertSame(JsonMapper.getReader(Post.class), JsonMapper.getReader(Post.class));
+        Assert.assertSame(JsonMapper.getWriter(Post.class), JsonMapper.getWriter(Post.class));
+        Assert.assertSame(JsonMapper.getPrettyWriter(Post.class), JsonMapper.getPrettyWriter(Post.class));
+    }
+
+    @Features("Utilities")
+    @Stories("JsonMapper")
+    @Title("readIgnoringUnknownProperties")
+    @Test(groups = { "regression", "utils" })
+    public void readIgnoringUnknownProperties() throws Exception {
+        Post post = JsonMapper.getReader(Post.class, false).readValue("{\"id\":1,\"title\":\"blah\",\"body\":\"unknown\"}");
+        Assert.assertEquals(post.id, 1);
+        Assert.assertEquals(post.title, "blah");
+    }
+
+    @Features("Utilities")
+    @Stories("JsonMapper")
+    @Title("readFailingOnUnknownProperties")
+    @Test(groups = { "regression", "utils" }, expectedExceptions = JsonMappingException.class)
+    public void readFailingOnUnknownProperties() throws Exception {
+        JsonMapper.getReader(Post.class).readValue("{\"id\":1,\"title\":\"blah\",\"body\":\"unknown\"}");
+    }
+
+    @Features("Utilities")
+    @Stories("JsonMapper")
+    @Title("writeValue")
+    @Test(groups = { "regression", "utils" })
+    public void writeValue() throws Exception {
+        Post post = new Post();
+        post.id = 2;
+        post.title = "blah";
+        Assert.assertEquals(JsonMapper.getWriter(Post.class).writeValueAsString(post), "{\"id\":2,\"title\":\"blah\"}");
+    }
+}
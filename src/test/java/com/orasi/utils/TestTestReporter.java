@@ -353,6 +353,44 @@ public class TestTestReporter extends WebBaseTest {
         Assert.assertTrue(logHelper(Reporter.getOutput(), log));
     }
 
+    @Test
+    public void testLogTraceSupplier() {
+        int level = TestReporter.getDebugLevel();
+        TestReporter.setDebugLevel(TestReporter.TRACE);
+        try {
+            String log = "testLogTraceSupplier";
+            TestReporter.logTrace(() -> "Supplied " + log);
+            Assert.assertTrue(logHelper(Reporter.getOutput(), "Supplied " + log));
+        } finally {
+            TestReporter.setDebugLevel(level);
+        }
+    }
+
+    @Test
+    public void testLogTraceParameterized() {
+        int level = TestReporter.getDebugLevel();
+        TestReporter.setDebugLevel(TestReporter.TRACE);
+        try {
+            TestReporter.logTrace("testLogTraceParameterized [ {} ] [ {} ]", 1, "two");
+            Assert.assertTrue(logHelper(Reporter.getOutput(), "testLogTraceParameterized [ 1 ] [ two ]"));
+        } finally {
+            TestReporter.setDebugLevel(level);
+        }
+    }
+
+    @Test
+    public void testLogTraceSupplierNotCalledBelowTrace() {
+        int level = TestReporter.getDebugLevel();
+        TestReporter.setDebugLevel(TestReporter.INFO);
+        try {
+            TestReporter.logTrace(() -> {
+                throw new AssertionError("Supplier should not be called when TRACE is disabled");
+            });
+        } finally {
+            TestReporter.setDebugLevel(level);
+        }
+    }
+
     @Test
     public void testLogScreenshot() {
 
@@ -1,10 +1,12 @@
 package com.orasi.utils;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 
 import javax.xml.soap.MessageFactory;
 import javax.xml.soap.MimeHeaders;
@@ -112,6 +114,44 @@ public class TestXMLTools extends WebBaseTest {
         XMLTools.makeXMLDocument(xml);
     }
 
+    @Features("Utilities")
+    @Stories("XMLTools")
+    @Title("makeXMLDocumentWithInputStream")
+    @Test(groups = { "regression", "utils", "XMLTools" })
+    public void makeXMLDocumentWithInputStream() throws IOException {
+        try (InputStream in = this.getClass().getResourceAsStream("/xmls/books.xml")) {
+            Document doc = XMLTools.makeXMLDocument(in);
+            Assert.assertNotNull(doc);
+            Assert.assertEquals("catalog", doc.getDocumentElement().getNodeName());
+        }
+    }
+
+    @Features("Utilities")
+    @Stories("XMLTools")
+    @Title("makeXMLDocumentWithInputStreamNegativeInvalidXML")
+    @Test(groups = { "regression", "utils", "XMLTools" }, expectedExceptions = AutomationException.class)
+    public void makeXMLDocumentWithInputStreamNegativeInvalidXML() throws IOException {
+        try (InputStream in = this.getClass().getResourceAsStream("/xmls/books_invalid_xml.xml")) {
+            XMLTools.makeXMLDocument(in);
+        }
+    }
+
+    @Features("Utilities")
+    @Stories("XMLTools")
+    @Title("makeXMLDocumentAfterFailedParse")
+    @Test(groups = { "regression", "utils", "XMLTools" })
+    public void makeXMLDocumentAfterFailedParse() {
+        String xml = "<catalog><book><author>Gambardella, Matthew</author><title>XML Developers Guide</title><genre>Computer</genre><price>44.95</price></book></catalog>";
+        try {
+            XMLTools.makeXMLDocument("<catalog><book></catalog>");
+            Assert.fail("Invalid xml was parsed");
+        } catch (AutomationException expected) {
+        }
+        Document doc = XMLTools.makeXMLDocument(xml);
+        Assert.assertEquals("Gambardella, Matthew", XMLTools.getValueByXpath(doc, "/catalog/book/author"));
+        Assert.assertEquals(XMLTools.transformXmlToString(doc), XMLTools.transformXmlToString(doc));
+    }
+
     @Features("Utilities")
     @Stories("XMLTools")
     @Title("transformXmlToString")
@@ -122,6 +162,19 @@ public class TestXMLTools extends WebBaseTest {
         Assert.assertTrue(XMLTools.transformXmlToString(doc).replaceAll("\\r|\\n|\\t| ", "").contains(xml.replaceAll(" ", "")));
     }
 
+    @Features("Utilities")
+    @Stories("XMLTools")
+    @Title("transformXmlToStream")
+    @Test(groups = { "regression", "utils", "XMLTools" })
+    public void transformXmlToStream() throws IOException {
+        String xml = "<catalog><book><author>Gambardella, Matthew</author><title>XML Developers Guide</title><genre>Computer</genre><price>44.95</price></book></catalog>";
+        Document doc = XMLTools.makeXMLDocument(xml);
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            XMLTools.transformXmlToStream(doc, out);
+            Assert.assertEquals(XMLTools.transformXmlToString(doc), new String(out.toByteArray(), StandardCharsets.UTF_8));
+        }
+    }
+
     @Features("Utilities")
     @Stories("XMLTools")
     @Title("getValueByXpathNode")
@@ -0,0 +1,58 @@
+package com.orasi.utils;
+
+import java.util.concurrent.CompletableFuture;
+
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+import ru.yandex.qatools.allure.annotations.Title;
+
+public class TestXPathCache {
+    @Features("Utilities")
+    @Stories("XPathCache")
+    @Title("compileReusesExpression")
+    @Test(groups = { "regression", "utils", "XMLTools" })
+    public void compileReusesExpression() throws XPathExpressionException {
+        XPathExpression expression = XPathCache.compile("/catalog/book/title");
+        Assert.assertSame(XPathCache.compile("/catalog/book/title"), expression);
+    }
+
+    @Features("Utilities")
+    @Stories("XPathCache")
+    @Title("compilePerThread")
+    @Test(groups = { "regression", "utils", "XMLTools" })
+    public void compilePerThread() throws Exception {
+        XPathExpression expression = XPathCache.compile("/catalog/book/author");
+        XPathExpression otherThread = CompletableFuture.supplyAsync(() -> {
+            try {
+                return XPathCache.compile("/catalog/book/author");
+            } catch (XPathExpressionException e) {
+                throw new RuntimeException(e);
+            }
+        }).get();
+        Assert.assertNotSame(otherThread, expression);
+    }
+
+    @Features("Utilities")
+    @Stories("XPathCache")
+    @Title("clear")
+    @Test(groups = { "regression", "utils", "XMLTools" })
+    public void clear() throws XPathExpressionException {
+        XPathExpression expression = XPathCache.compile("/catalog/book/price");
+        XPathCache.clear();
+        Assert.assertNotSame(XPathCache.compile("/catalog/book/price"), expression);
+    }
+
+    @Features("Utilities")
+    @Stories("XPathCache")
+    @Title("compileInvalidXpath")
+    @Test(groups = { "regression", "utils", "XMLTools" }, expectedExceptions = XPathExpressionException.class)
+    public void compileInvalidXpath() throws XPathExpressionException {
+        XPathCache.compile("/catalog/book[");
+    }
+}
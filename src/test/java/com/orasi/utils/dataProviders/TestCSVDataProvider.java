@@ -1,8 +1,12 @@
 package com.orasi.utils.dataProviders;
 
+import java.io.StringReader;
+import java.util.Iterator;
+
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import com.orasi.AutomationException;
 import com.orasi.utils.exception.DataProviderInputFileNotFound;
 
 import ru.yandex.qatools.allure.annotations.Features;
@@ -36,4 +40,88 @@ public class TestCSVDataProvider {
         Object[][] data = CSVDataProvider.getData("blah");
         Assert.assertNotNull(data);
     }
+
+    @Features("Utilities")
+    @Stories("CSVDataProvider")
+    @Title("csvReaderLineEndings")
+    @Test(groups = { "regression", "utils", "dataProviders" })
+    public void csvReaderLineEndings() {
+        try (CSVReader reader = new CSVReader(new StringReader("\uFEFFa|b\r\n\"1\r\n2\"|3\r4|\n\n5"), '|')) {
+            Assert.assertEquals(reader.next(), new String[] { "a", "b" });
+            Assert.assertEquals(reader.next(), new String[] { "1\r\n2", "3" });
+            Assert.assertEquals(reader.next(), new String[] { "4", "" });
+            Assert.assertEquals(reader.next(), new String[] { "" });
+            Assert.assertEquals(reader.next(), new String[] { "5" });
+            Assert.assertFalse(reader.hasNext());
+        }
+    }
+
+    @Features("Utilities")
+    @Stories("CSVDataProvider")
+    @Title("getDataQuotedFields")
+    @Test(groups = { "regression", "utils", "dataProviders" })
+    public void getDataQuotedFields() {
+        Object[][] data = CSVDataProvider.getData("/excelsheets/TestData_quoted_csv.csv");
+        Assert.assertEquals(data.length, 4);
+        Assert.assertEquals(data[1], new Object[] { "DataSet1", "abc, def", "say \"hi\"" });
+        Assert.assertEquals(data[2], new Object[] { "DataSet2", "line one\nline two", "" });
+        Assert.assertEquals(data[3], new Object[] { "DataSet3", "", "" });
+    }
+
+    @Features("Utilities")
+    @Stories("CSVDataProvider")
+    @Title("getDataWithEscapedDelimiter")
+    @Test(groups = { "regression", "utils", "dataProviders" })
+    public void getDataWithEscapedDelimiter() {
+        Object[][] data = CSVDataProvider.getData("/excelsheets/TestData_quoted_csv.csv", "\\|");
+        Assert.assertEquals(data[0][0], "Column1,Column2,Column3");
+    }
+
+    @Features("Utilities")
+    @Stories("CSVDataProvider")
+    @Title("getDataIterator")
+    @Test(groups = { "regression", "utils", "dataProviders" })
+    public void getDataIterator() {
+        Object[][] data = CSVDataProvider.getData("/excelsheets/TestData_quoted_csv.csv");
+        Iterator<Object[]> iterator = CSVDataProvider.getDataIterator("/excelsheets/TestData_quoted_csv.csv");
+        for (Object[] row : data) {
+            Assert.assertTrue(iterator.hasNext());
+            Assert.assertEquals(iterator.next(), row);
+        }
+        Assert.assertFalse(iterator.hasNext());
+    }
+
+    @Features("Utilities")
+    @Stories("CSVDataProvider")
+    @Title("getDataIteratorMemoryMapped")
+    @Test(groups = { "regression", "utils", "dataProviders" })
+    public void getDataIteratorMemoryMapped() {
+        Object[][] data = CSVDataProvider.getData("/excelsheets/TestData_csv.csv");
+        Iterator<Object[]> iterator = CSVDataProvider.getDataIterator("/excelsheets/TestData_csv.csv", ",", true);
+        for (Object[] row : data) {
+            Assert.assertTrue(iterator.hasNext());
+            Assert.assertEquals(iterator.next(), row);
+        }
+        Assert.assertFalse(iterator.hasNext());
+    }
+
+    @Features("Utilities")
+    @Stories("CSVDataProvider")
+    @Title("getDataIteratorNoFileFound")
+    @Test(groups = { "regression", "utils", "dataProviders" }, expectedExceptions = DataProviderInputFileNotFound.class)
+    public void getDataIteratorNoFileFound() {
+        CSVDataProvider.getDataIterator("blah");
+    }
+
+    @Features("Utilities")
+    @Stories("CSVDataProvider")
+    @Title("csvReaderUnclosedQuote")
+    @Test(groups = { "regression", "utils", "dataProviders" }, expectedExceptions = AutomationException.class)
+    public void csvReaderUnclosedQuote() {
+        try (CSVReader reader = new CSVReader(new StringReader("a,b\n1,\"2\n"), ',')) {
+            while (reader.hasNext()) {
+                reader.next();
+            }
+        }
+    }
 }
@@ -0,0 +1,76 @@
+package com.orasi.utils.dataProviders;
+
+import java.util.Iterator;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.orasi.utils.exception.DataProviderInputFileException;
+import com.orasi.utils.exception.InvalidFileException;
+
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+import ru.yandex.qatools.allure.annotations.Title;
+
+public class TestJsonDataProvider {
+    @Features("Utilities")
+    @Stories("JsonDataProvider")
+    @Title("getData")
+    @Test(groups = { "regression", "utils", "dataProviders" })
+    public void getData() {
+        Object[][] data = JsonDataProvider.getData("/json/sample.json");
+        Assert.assertEquals(data.length, 2);
+        Assert.assertEquals(data[0].length, 4);
+        Assert.assertEquals(data[0][0], "Login with Admin Role");
+        Assert.assertEquals(data[0][1], "jphlegar");
+        Assert.assertEquals(data[1][3], "Developer");
+    }
+
+    @Features("Utilities")
+    @Stories("JsonDataProvider")
+    @Title("getDataNoFileFound")
+    @Test(groups = { "regression", "utils", "dataProviders" }, expectedExceptions = InvalidFileException.class)
+    public void getDataNoFileFound() {
+        JsonDataProvider.getData("blah");
+    }
+
+    @Features("Utilities")
+    @Stories("JsonDataProvider")
+    @Title("getDataIterator")
+    @Test(groups = { "regression", "utils", "dataProviders" })
+    public void getDataIterator() {
+        Object[][] data = JsonDataProvider.getData("/json/sample.json");
+        Iterator<Object[]> iterator = JsonDataProvider.getDataIterator("/json/sample.json");
+        for (Object[] row : data) {
+            Assert.assertTrue(iterator.hasNext());
+            Assert.assertEquals(iterator.next(), row);
+        }
+        Assert.assertFalse(iterator.hasNext());
+    }
+
+    @Features("Utilities")
+    @Stories("JsonDataProvider")
+    @Title("getDataIteratorNoFileFound")
+    @Test(groups = { "regression", "utils", "dataProviders" }, expectedExceptions = InvalidFileException.class)
+    public void getDataIteratorNoFileFound() {
+        JsonDataProvider.getDataIterator("blah");
+    }
+
+    @Features("Utilities")
+    @Stories("JsonDataProvider")
+    @Title("getDataExtraParameter")
+    @Test(groups = { "regression", "utils", "dataProviders" }, expectedExceptions = DataProviderInputFileException.class)
+    public void getDataExtraParameter() {
+        JsonDataProvider.getData("/json/sampleExtraParameter.json");
+    }
+
+    @Features("Utilities")
+    @Stories("JsonDataProvider")
+    @Title("getDataIteratorExtraParameter")
+    @Test(groups = { "regression", "utils", "dataProviders" }, expectedExceptions = DataProviderInputFileException.class)
+    public void getDataIteratorExtraParameter() {
+        Iterator<Object[]> iterator = JsonDataProvider.getDataIterator("/json/sampleExtraParameter.json");
+        Assert.assertEquals(iterator.next()[2], "admin");
+        iterator.next();
+    }
+}
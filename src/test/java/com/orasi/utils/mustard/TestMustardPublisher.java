@@ -0,0 +1,152 @@
+package com.orasi.utils.mustard;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.IOUtils;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+public class TestMustardPublisher {
+    private HttpServer server;
+    private String url;
+    private final List<String> received = new CopyOnWriteArrayList<>();
+    private final AtomicInteger failuresLeft = new AtomicInteger();
+
+    @BeforeMethod
+    public void startServer() throws IOException {
+        received.clear();
+        failuresLeft.set(0);
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/results", exchange -> {
+            try (InputStream body = exchange.getRequestBody()) {
+                String json = IOUtils.toString(body, StandardCharsets.UTF_8);
+                int status = 201;
+                if (failuresLeft.getAndDecrement() > 0) {
+                    status = 503;
+                } else {
+                    received.add(json);
+                }
+                exchange.sendResponseHeaders(status, -1);
+            } finally {
+                exchange.close();
+            }
+        });
+        server.start();
+        url = "http://localhost:" + server.getAddress().getPort() + "/results";
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    private static MustardResult createResult(String testcaseId) {
+        MustardResult result = new MustardResult();
+        result.getResult().setTestcaseId(testcaseId);
+        result.getResult().setStatus("pass");
+        return result;
+    }
+
+    @Test
+    public void testPublishSendsBatches() throws IOException {
+        MustardPublisher publisher = new MustardPublisher(url, Files.createTempDirectory("MustardSpool").toFile(), 100, 4);
+        for (int i = 0; i < 10; i++) {
+            publisher.publish(createResult("test_" + i), i == 0 ? new byte[] { 1, 2, 3 } : null);
+        }
+        publisher.flush();
+
+        Assert.assertEquals(received.size(), 10);
+        Assert.assertEquals(publisher.getSentCount(), 10);
+        Assert.assertEquals(publisher.getSpooledCount(), 0);
+        Assert.assertTrue(received.stream().anyMatch(json -> json.contains("\"test_9\"")));
+        Assert.assertTrue(received.stream().anyMatch(json -> json.contains("data:image/png;base64,AQID")));
+    }
+
+    @Test
+    public void testPublishRetriesServerErrors() throws IOException {
+        MustardPublisher publisher = new MustardPublisher(url, Files.createTempDirectory("MustardSpool").toFile());
+        publisher.setRetryDelay(10);
+        failuresLeft.set(2);
+
+        publisher.publish(createResult("retried"), null);
+        publisher.flush();
+
+        Assert.assertEquals(received.size(), 1);
+        Assert.assertEquals(publisher.getSpooledCount(), 0);
+    }
+
+    @Test
+    public void testPublishSpoolsAndResends() throws IOException {
+        File spool = Files.createTempDirectory("MustardSpool").toFile();
+        MustardPublisher publisher = new MustardPublisher(url, spool);
+        publisher.setRetryDelay(10);
+        publisher.setMaxAttempts(2);
+        failuresLeft.set(2);
+
+        publisher.publish(createResult("spooled"), null);
+        // The first flush waits for the result to be spooled, then sends it again
+        publisher.flush();
+
+        Assert.assertEquals(publisher.getSpooledCount(), 1);
+        Assert.assertEquals(received.size(), 1);
+        Assert.assertTrue(received.get(0).contains("\"spooled\""));
+        Assert.assertEquals(spool.list().length, 0);
+    }
+
+    @Test
+    public void testPublishAfterShutdownSpools() throws IOException {
+        File spool = Files.createTempDirectory("MustardSpool").toFile();
+        MustardPublisher publisher = new MustardPublisher(url, spool, 1, 1);
+        publisher.shutdown();
+
+        publisher.publish(createResult("late"), null);
+
+        Assert.assertEquals(publisher.getSpooledCount(), 1);
+        Assert.assertEquals(spool.list().length, 1);
+    }
+
+    @Test
+    public void testSpoolFolderPerProject() throws IOException {
+        File parent = Files.createTempDirectory("MustardSpool").toFile();
+        File folder = MustardPublisher.getSpoolFolder(parent, url, "project/one");
+
+        Assert.assertEquals(folder.getParentFile(), parent);
+        Assert.assertEquals(MustardPublisher.getSpoolFolder(parent, url, "project/one"), folder);
+        Assert.assertNotEquals(MustardPublisher.getSpoolFolder(parent, url, "project-two"), folder);
+        Assert.assertNotEquals(MustardPublisher.getSpoolFolder(parent, url + "/other", "project/one"), folder);
+    }
+
+    @Test
+    public void testResendSkipsClaimedFiles() throws IOException {
+        File spool = Files.createTempDirectory("MustardSpool").toFile();
+        Files.write(new File(spool, "mustard-result-1-1.json").toPath(), "{\"run\":\"earlier\"}".getBytes(StandardCharsets.UTF_8));
+        // Being sent by another run
+        File claimed = new File(spool, "mustard-result-1-2.json.sending");
+        Files.write(claimed.toPath(), "{\"run\":\"other\"}".getBytes(StandardCharsets.UTF_8));
+        // Claimed by a run that stopped while sending
+        File stale = new File(spool, "mustard-result-1-3.json.sending");
+        Files.write(stale.toPath(), "{\"run\":\"stopped\"}".getBytes(StandardCharsets.UTF_8));
+        Assert.assertTrue(stale.setLastModified(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1)));
+
+        MustardPublisher publisher = new MustardPublisher(url, spool);
+        publisher.flush();
+
+        Assert.assertEquals(received.size(), 2);
+        Assert.assertTrue(received.stream().anyMatch(json -> json.contains("earlier")));
+        Assert.assertTrue(received.stream().anyMatch(json -> json.contains("stopped")));
+        Assert.assertEquals(spool.list(), new String[] { claimed.getName() });
+    }
+}
@@ -0,0 +1,78 @@
+package com.orasi.utils.reporting;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.Assert;
+import org.testng.Reporter;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import com.orasi.utils.TestReporter;
+
+public class TestAsyncReporterSink {
+
+    @AfterMethod(alwaysRun = true)
+    public void resetSink() {
+        TestReporter.setReporterSink(new SynchronousReporterSink());
+    }
+
+    @Test
+    public void testFlushWritesToReport() {
+        TestReporter.setReporterSink(new AsyncReporterSink());
+        String log = "testAsyncFlushWritesToReport";
+        TestReporter.log(log);
+        TestReporter.flush();
+        Assert.assertTrue(Reporter.getOutput().stream().anyMatch(str -> str.contains(log)));
+    }
+
+    @Test
+    public void testKeepsOrderPerThread() throws InterruptedException {
+        AsyncReporterSink sink = new AsyncReporterSink(16, 4);
+        TestReporter.setReporterSink(sink);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int thread = 0; thread < 4; thread++) {
+            String name = "testAsyncOrder" + thread + "-";
+            executor.submit(() -> {
+                for (int line = 0; line < 50; line++) {
+                    TestReporter.logStep(name + line);
+                }
+            });
+        }
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        TestReporter.flush();
+        Assert.assertEquals(sink.getPendingCount(), 0);
+
+        List<String> output = new ArrayList<>(Reporter.getOutput());
+        for (int thread = 0; thread < 4; thread++) {
+            String name = "testAsyncOrder" + thread + "-";
+            int expected = 0;
+            for (String entry : output) {
+                if (entry.contains(name)) {
+                    Assert.assertTrue(entry.contains(name + expected + "<"), "Expected [ " + name + expected + " ] but found [ " + entry + " ]");
+                    expected++;
+                }
+            }
+            Assert.assertEquals(expected, 50);
+        }
+    }
+
+    @Test
+    public void testWritesDirectlyAfterShutdown() {
+        AsyncReporterSink sink = new AsyncReporterSink();
+        sink.shutdown();
+        String log = "testAsyncWritesDirectlyAfterShutdown";
+        sink.write(null, log, false, null);
+        Assert.assertTrue(Reporter.getOutput().stream().anyMatch(str -> str.contains(log)));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidCapacity() {
+        new AsyncReporterSink(0, 1);
+    }
+}
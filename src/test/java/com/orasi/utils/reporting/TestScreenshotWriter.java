@@ -0,0 +1,39 @@
+package com.orasi.utils.reporting;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class TestScreenshotWriter {
+
+    @Test
+    public void testWriteCreatesFolders() throws IOException {
+        File folder = Files.createTempDirectory("ScreenshotWriter").toFile();
+        File destination = new File(folder, "nested" + File.separator + "screenshot.png");
+        byte[] png = { (byte) 0x89, 'P', 'N', 'G' };
+
+        ScreenshotWriter.write(png, destination);
+        ScreenshotWriter.flush();
+
+        Assert.assertEquals(Files.readAllBytes(destination.toPath()), png);
+    }
+
+    @Test
+    public void testWriteFailureCompletesExceptionally() throws IOException, InterruptedException {
+        File file = File.createTempFile("ScreenshotWriter", ".png");
+        file.deleteOnExit();
+        CompletableFuture<Void> written = ScreenshotWriter.write(new byte[] { 1 }, new File(file, "screenshot.png"));
+
+        try {
+            written.get();
+            Assert.fail("Writing below a file should fail");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause().getMessage().contains("Failed to write screenshot"));
+        }
+    }
+}
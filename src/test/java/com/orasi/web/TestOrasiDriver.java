@@ -3,6 +3,7 @@ package com.orasi.web;
 import java.io.File;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -241,6 +242,39 @@ public class TestOrasiDriver extends WebBaseTest {
         Assert.assertNotNull(element);
     }
 
+    @Features("Utilities")
+    @Stories("OrasiDriver")
+    @Title("getElementStates")
+    @Test(groups = { "regression", "utils", "orasidriver" })
+    public void getElementStates() {
+        Element element = driver.findElement(By.id("FirstName"));
+        By missing = By.id("DoesNotExist");
+        ElementStates states = driver.getElementStates(Arrays.asList(element, By.tagName("input"), missing),
+                ElementProperty.DISPLAYED, ElementProperty.TAG_NAME);
+
+        Assert.assertEquals(states.size(), 3);
+        Assert.assertTrue(states.get(element).isDisplayed());
+        Assert.assertEquals(states.get(1).getTagName(), "input");
+        Assert.assertFalse(states.get(missing).isPresent());
+        Assert.assertFalse(states.allPresent());
+    }
+
+    @Features("Utilities")
+    @Stories("OrasiDriver")
+    @Title("pageReadiness")
+    @Test(groups = { "regression", "utils", "orasidriver" })
+    public void pageReadiness() {
+        PageReadiness readiness = PageReadiness.domComplete().withNoPendingRequests().withQuietPeriod(100);
+        driver.setPageReadiness(readiness);
+        try {
+            Assert.assertEquals(driver.getPageReadiness(), readiness);
+            Assert.assertTrue(PageLoaded.isPageReady(driver));
+            Assert.assertTrue(PageLoaded.isDomInteractive(driver, 1));
+        } finally {
+            driver.setPageReadiness(PageReadiness.domComplete());
+        }
+    }
+
     @Features("Utilities")
     @Stories("OrasiDriver")
     @Title("findElements")
@@ -615,6 +615,32 @@ public class TestElement extends WebBaseTest {
         Assert.assertFalse(element.syncCssPropertyMatchesValue("display", "(.*Inline-Block.*)", 2, false));
     }
 
+    @Features("Element Interfaces")
+    @Stories("Element")
+    @Title("syncVisibleAfterElementReplaced")
+    @Test(groups = { "regression", "element" }, dependsOnMethods = "elementWired", alwaysRun = true)
+    public void syncVisibleAfterElementReplaced() {
+        Element element = getDriver().findElement(By.id("buttonForText1"));
+        Assert.assertTrue(element.syncVisible());
+        getDriver().executeJavaScript("arguments[0].outerHTML = arguments[0].outerHTML;", element.getWrappedElement());
+        Assert.assertTrue(element.syncVisible(2, false));
+    }
+
+    @Features("Element Interfaces")
+    @Stories("Element")
+    @Title("syncVisibleOnDomChanges")
+    @Test(groups = { "regression", "element" }, dependsOnMethods = "elementWired", alwaysRun = true)
+    public void syncVisibleOnDomChanges() {
+        getDriver().setSyncOnDomChanges(true);
+        try {
+            Element element = getDriver().findElement(By.id("text1"));
+            Assert.assertTrue(element.syncVisible(2, false));
+            Assert.assertFalse(element.syncHidden(1, false));
+        } finally {
+            getDriver().setSyncOnDomChanges(false);
+        }
+    }
+
     @Features("Element Interfaces")
     @Stories("Element")
     @Title("syncInFrame")